@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+#
+# Bot run: ให้ BotDriver เล่นเกมจริง (ทุก stage จนถึง Boss3) พร้อมบันทึก telemetry ไว้วิเคราะห์ภายหลัง
+#
+# Usage:
+#   mvn -Pstartup clean package
+#   scripts/bot-run.sh [policy[:seed]] [ticks] [telemetry.csv]
+#       policy: strafe | hopper | special | anti-air | mixed  (default mixed:1)
+#       ticks:  จำนวน tick ก่อนปิดเกม (default 36000 = 10 นาทีที่ 60 tick/s, 0 = เล่นจนจบเกม)
+#
+# บนเครื่องที่ไม่มีจอ script จะรันผ่าน xvfb-run ให้เอง (ต้องติดตั้ง xvfb)
+set -euo pipefail
+
+BOT="${1:-mixed:1}"
+TICKS="${2:-36000}"
+TELEMETRY="${3:-bot-telemetry.csv}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$ROOT"/target/project2-*-executable.jar 2>/dev/null | head -n 1 || true)"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+if [ -z "$JAR" ]; then
+    echo "No executable jar in $ROOT/target - run 'mvn -Pstartup clean package' first" >&2
+    exit 1
+fi
+
+RUNNER=()
+if [ -z "${DISPLAY:-}" ] && command -v xvfb-run > /dev/null; then
+    RUNNER=(xvfb-run -a -s "-screen 0 1280x720x24")
+fi
+
+"${RUNNER[@]}" "$JAVA" -Dgame.bot="$BOT" -Dgame.botTicks="$TICKS" -Dgame.telemetry="$TELEMETRY" \
+    -cp "$JAR" se233.project2.JarLauncher | grep '^BOT'
@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+#
+# Rollback benchmark: เล่นสอง peer ผ่าน UDP บน 127.0.0.1 (มี latency / jitter / loss จำลอง)
+# แล้ววัดเวลา restore + re-simulate ต่อ rollback depth
+#
+# Usage:
+#   mvn package
+#   scripts/rollback-benchmark.sh [--latency=50] [--jitter=10] [--loss=0.05] [--ticks=1200] [--rollback=8]
+#
+# พิมพ์เฉพาะบรรทัด "ROLLBACK ..." (log ของเกมถูกตัดออก)
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET="$ROOT/target"
+JAR="$(ls "$TARGET"/project2-*-executable.jar 2>/dev/null | head -n 1 || true)"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+if [ -z "$JAR" ]; then
+    echo "No executable jar in $TARGET - run 'mvn package' first" >&2
+    exit 1
+fi
+
+"$JAVA" -cp "$JAR" se233.project2.controller.net.RollbackBenchmark "$@" 2>/dev/null | grep '^ROLLBACK'
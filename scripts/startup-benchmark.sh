@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+#
+# Startup benchmark: เวลาตั้งแต่ launch JVM จนถึง frame แรกของ StartScreen และ GameLoop.handle ครั้งแรก
+# เปรียบเทียบ shaded jar ปกติ, shaded jar + AppCDS และ jlink runtime + AppCDS
+#
+# Usage:
+#   mvn -Pstartup clean package
+#   scripts/startup-benchmark.sh [runs]        (default 10 runs ต่อ configuration)
+#
+# ต้องมี display - บนเครื่องที่ไม่มีจอใช้ xvfb-run scripts/startup-benchmark.sh
+set -euo pipefail
+
+RUNS="${1:-10}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET="$ROOT/target"
+JAR="$(ls "$TARGET"/project2-*-executable.jar 2>/dev/null | head -n 1 || true)"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+if [ -z "$JAR" ]; then
+    echo "No executable jar in $TARGET - run 'mvn -Pstartup clean package' first" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# run_config <name> <command...> - พิมพ์ median ของ firstFrameMs และ firstTickMs
+run_config() {
+    local name="$1"
+    shift
+    local frames=() ticks=()
+    for ((i = 0; i < RUNS; i++)); do
+        local line
+        line="$("$@" 2>/dev/null | grep '^STARTUP' | tail -n 1 || true)"
+        if [ -z "$line" ]; then
+            echo "$name: run $i produced no STARTUP line" >&2
+            continue
+        fi
+        frames+=("$(sed -E 's/.*firstFrameMs=([0-9-]+).*/\1/' <<< "$line")")
+        ticks+=("$(sed -E 's/.*firstTickMs=([0-9-]+).*/\1/' <<< "$line")")
+    done
+    if [ "${#ticks[@]}" -eq 0 ]; then
+        printf "%-24s %12s %12s\n" "$name" "n/a" "n/a"
+        return
+    fi
+    local frame_median tick_median
+    frame_median="$(printf '%s\n' "${frames[@]}" | sort -n | awk '{a[NR]=$1} END {print a[int((NR+1)/2)]}')"
+    tick_median="$(printf '%s\n' "${ticks[@]}" | sort -n | awk '{a[NR]=$1} END {print a[int((NR+1)/2)]}')"
+    printf "%-24s %12s %12s\n" "$name" "$frame_median" "$tick_median"
+}
+
+# -Dgame.launchMillis ถูกประเมินตอน exec → รวมเวลา boot ของ JVM ด้วย
+launch_jar() {
+    "$JAVA" -Dgame.launchMillis="$(now_ms)" -Dgame.startupProbe=true "$@" \
+        -cp "$JAR" se233.project2.JarLauncher
+}
+
+launch_runtime() {
+    "$TARGET/runtime/bin/java" -Dgame.launchMillis="$(now_ms)" -Dgame.startupProbe=true "$@" \
+        -m se233.project2/se233.project2.Launcher
+}
+
+echo "Runs per configuration: $RUNS"
+printf "%-24s %12s %12s\n" "configuration" "frame (ms)" "tick (ms)"
+
+run_config "jar" launch_jar -Xshare:auto
+
+if [ -f "$TARGET/project2-cds.jsa" ]; then
+    run_config "jar + AppCDS" launch_jar -XX:SharedArchiveFile="$TARGET/project2-cds.jsa"
+else
+    echo "(skipping jar + AppCDS: $TARGET/project2-cds.jsa not found)"
+fi
+
+if [ -x "$TARGET/runtime/bin/java" ]; then
+    run_config "jlink" launch_runtime -Xshare:auto
+    if [ -f "$TARGET/runtime/lib/project2-cds.jsa" ]; then
+        run_config "jlink + AppCDS" launch_runtime -XX:SharedArchiveFile="$TARGET/runtime/lib/project2-cds.jsa"
+    fi
+else
+    echo "(skipping jlink: $TARGET/runtime not found)"
+fi
@@ -3,6 +3,8 @@ module se233.project2 {
     requires javafx.fxml;
     requires javafx.media;
     requires org.slf4j;
+    requires jdk.jfr;
+    requires java.management;
 
     opens se233.project2 to javafx.fxml;
     exports se233.project2;
@@ -4,30 +4,64 @@ import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
-import se233.project2.controller.GameLoop;
-import se233.project2.controller.SoundController;
+import se233.project2.controller.AssetLoader;
+import se233.project2.controller.PulseProfiler;
+import se233.project2.controller.ScreenManager;
+import se233.project2.controller.StartupProbe;
+import se233.project2.controller.TelemetryRecorder;
+import se233.project2.controller.bot.BotDriver;
+import se233.project2.controller.net.NetplayDriver;
+import se233.project2.controller.jfr.GameRecording;
+import se233.project2.controller.replay.ReplayRecorder;
+import se233.project2.model.ScoreStore;
 import se233.project2.view.GameStage;
 import se233.project2.view.StartScreen;
 
 public class Launcher extends Application {
     private GameStage gameStage;
-    private GameLoop gameLoop;
     private Scene scene;
     private Stage primaryStage;
     private StartScreen startScreen;
-    private SoundController soundController;
+    private ScreenManager screenManager;
 
     @Override
     public void start(Stage primaryStage) {
         this.primaryStage = primaryStage;
-        soundController = SoundController.getInstance();
+
+        // ⭐ JFR recording (เปิดเมื่อรันด้วย -Dgame.jfr=<file>)
+        GameRecording.startIfRequested();
+
+        // ⭐ Telemetry CSV (เปิดเมื่อรันด้วย --telemetry=<file> หรือ -Dgame.telemetry=<file>)
+        TelemetryRecorder.startIfRequested(getParameters().getNamed().get("telemetry"));
+
+        // ⭐ Replay (เปิดเมื่อรันด้วย --replay=<file> หรือ -Dgame.replay=<file>) ต้องเริ่มก่อนสร้าง GameStage (seed)
+        ReplayRecorder.startIfRequested(getParameters().getNamed().get("replay"));
+
+        // ⭐ Netplay co-op (เปิดเมื่อรันด้วย --netplay=<localPort:host:remotePort:player> หรือ -Dgame.netplay=...)
+        NetplayDriver.startIfRequested(getParameters().getNamed().get("netplay"));
+
+        // ⭐ Pulse profiler (เปิดเมื่อรันด้วย --pulse-profile=true หรือ -Dgame.pulseProfile=true)
+        PulseProfiler profiler = PulseProfiler.startIfRequested(getParameters().getNamed().get("pulse-profile"));
+
+        // ⭐ Bot player (เปิดเมื่อรันด้วย --bot=<policy>[:seed] หรือ -Dgame.bot=<policy>[:seed])
+        BotDriver.startIfRequested(getParameters().getNamed().get("bot"));
+
+        // ⭐ เปิด leaderboard ไว้ก่อนบน thread แยก (ไม่ให้ไปเปิดบน FX thread ตอน game over)
+        // bot run ไม่บันทึกคะแนน จึงไม่ต้องเปิด
+        if (BotDriver.getInstance() == null) {
+            ScoreStore.openInBackground();
+        }
 
         // Load start screen background
-        Image startBg = loadImage("stage/StartScreen.png");
+        Image startBg = AssetLoader.getInstance().load("stage/StartScreen.png", 1280, 720);
 
-        // Create start screen
+        // Create start screen (⭐ instance เดียว ใช้ซ้ำทุกครั้งที่กด HOME)
         startScreen = new StartScreen(startBg, this::startGame, this::showStartScreen);
         scene = new Scene(startScreen, 1280, 720);
+        screenManager = new ScreenManager(scene);
+        if (profiler != null) {
+            profiler.install(scene);
+        }
 
         // Set up stage
         primaryStage.setTitle("Contra-Style Game");
@@ -35,61 +69,59 @@ public class Launcher extends Application {
         primaryStage.setResizable(false);
         primaryStage.show();
 
-        // ⭐ เล่นเพลงหน้า Start Screen
-        soundController.playStartScreenMusic();
+        // ⭐ เล่นเพลงหน้า Start Screen (StartScreen.resume)
+        screenManager.show(startScreen);
+
+        // ⭐ Startup benchmark: จับ pulse แรกของ StartScreen แล้วเริ่มเกมอัตโนมัติ
+        if (StartupProbe.isEnabled()) {
+            scene.addPostLayoutPulseListener(new Runnable() {
+                @Override
+                public void run() {
+                    StartupProbe.markFirstFrame();
+                    scene.removePostLayoutPulseListener(this);
+                    javafx.application.Platform.runLater(Launcher.this::startGame);
+                }
+            });
+        } else if (BotDriver.getInstance() != null || NetplayDriver.getInstance() != null) {
+            // ⭐ Bot run / netplay: ข้าม Start Screen (netplay เริ่มพร้อมกันทั้งสองเครื่อง)
+            javafx.application.Platform.runLater(this::startGame);
+        }
     }
 
     private void startGame() {
-        // ⭐ หยุดเพลงหน้า Start Screen
-        soundController.stopStartScreenMusic();
-
-        // Create game stage
-        gameStage = new GameStage(this::showStartScreen);
-        scene.setRoot(gameStage);
-
-        // Request focus for key events
-        gameStage.requestFocus();
-
-        // Start game loop
-        gameLoop = new GameLoop(gameStage);
-        gameLoop.start();
+        if (gameStage == null) {
+            // ⭐ ครั้งแรก: สร้าง GameStage (โหลด asset ทั้งหมดครั้งเดียว)
+            gameStage = new GameStage(this::showStartScreen);
+            AssetLoader.getInstance().logReport();
+            screenManager.show(gameStage);
+        } else {
+            // ⭐ ครั้งต่อไป: reset instance เดิมจาก checkpoint
+            screenManager.showFresh(gameStage);
+        }
     }
 
     // ⭐ Method สำหรับย้อนกลับไปหน้า Start Screen
     private void showStartScreen() {
-        // Stop game loop if running
-        if (gameLoop != null) {
-            gameLoop.stop();
-        }
-
-        // Create new start screen
-        Image startBg = loadImage("stage/StartScreen.png");
-        startScreen = new StartScreen(startBg, this::startGame, this::showStartScreen);
-        scene.setRoot(startScreen);
-
-        // Play start screen music
-        soundController.playStartScreenMusic();
-    }
-
-    private Image loadImage(String filename) {
-        try {
-            String path = "/se233/project2/assets/" + filename;
-            var stream = getClass().getResourceAsStream(path);
-            if (stream != null) return new Image(stream);
-        } catch (Exception e) {
-            System.err.println("Error loading " + filename);
-        }
-        return null;
+        screenManager.show(startScreen);
     }
 
     @Override
     public void stop() {
-        if (gameLoop != null) {
-            gameLoop.stop();
+        if (screenManager != null) {
+            screenManager.suspendCurrent();
+        }
+        if (gameStage != null) {
+            gameStage.shutdown();
         }
+        ScoreStore.shutdown();
+        TelemetryRecorder.stop();
+        ReplayRecorder.stop();
+        NetplayDriver.stop();
+        PulseProfiler.stop();
+        GameRecording.stop();
     }
 
     public static void main(String[] args) {
         launch(args);
     }
-}
\ No newline at end of file
+}
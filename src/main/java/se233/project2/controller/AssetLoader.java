@@ -0,0 +1,182 @@
+package se233.project2.controller;
+
+import javafx.scene.image.Image;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se233.project2.controller.jfr.AssetDecodeEvent;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * AssetLoader - โหลดรูปจาก resource ครั้งเดียวต่อ (ไฟล์, ขนาด) แล้วใช้ Image เดิมร่วมกัน
+ * - load(file): decode เต็มขนาด - ใช้กับรูปที่ต้อง pixel-exact (sprite sheet ที่ตัดด้วย viewport)
+ * - load(file, w, h): decode ที่ขนาดที่แสดงจริง (รักษาสัดส่วน, nearest-neighbour ไม่เบลอ pixel art)
+ *   ถ้าขนาดที่แสดงใหญ่กว่าไฟล์จะ decode ขนาดเดิม (ขยายตอน decode = เปลือง memory เปล่า ๆ ให้ ImageView ขยายแทน)
+ * - เก็บขนาดก่อน/หลัง decode ของทุกรูปไว้รายงาน memory ที่ประหยัดได้ (logReport)
+ *
+ * -Dgame.assetDecode=full = decode เต็มขนาดทุกรูป (ไว้เทียบ memory)
+ */
+public class AssetLoader {
+    private static final Logger logger = LoggerFactory.getLogger(AssetLoader.class);
+
+    public static final String PROPERTY = "game.assetDecode";
+    public static final String ROOT = "/se233/project2/assets/";
+
+    private static final int PNG_HEADER_SIZE = 24;
+    private static final long PNG_SIGNATURE = 0x89504E470D0A1A0AL;
+
+    private static AssetLoader instance;
+
+    /**
+     * ขนาดก่อน/หลัง decode ของรูปหนึ่งรูป
+     */
+    public static final class Entry {
+        private final String file;
+        private final int sourceWidth, sourceHeight;
+        private final int width, height;
+
+        Entry(String file, int sourceWidth, int sourceHeight, int width, int height) {
+            this.file = file;
+            this.sourceWidth = sourceWidth;
+            this.sourceHeight = sourceHeight;
+            this.width = width;
+            this.height = height;
+        }
+
+        public String getFile() { return file; }
+        public int getSourceWidth() { return sourceWidth; }
+        public int getSourceHeight() { return sourceHeight; }
+        public int getWidth() { return width; }
+        public int getHeight() { return height; }
+        public long getSourceBytes() { return (long) sourceWidth * sourceHeight * 4; }
+        public long getDecodedBytes() { return (long) width * height * 4; }
+        public long getSavedBytes() { return getSourceBytes() - getDecodedBytes(); }
+    }
+
+    private final boolean displaySize;
+    private final Map<String, Image> cache = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+
+    public AssetLoader(boolean displaySize) {
+        this.displaySize = displaySize;
+    }
+
+    public static synchronized AssetLoader getInstance() {
+        if (instance == null) {
+            instance = new AssetLoader(!"full".equalsIgnoreCase(System.getProperty(PROPERTY)));
+        }
+        return instance;
+    }
+
+    /**
+     * decode เต็มขนาด (pixel-exact) - null ถ้าไม่มีไฟล์หรือ decode ไม่ได้
+     */
+    public synchronized Image load(String file) {
+        return load(file, 0, 0);
+    }
+
+    /**
+     * decode ให้พอดีกรอบที่แสดงจริง (displayWidth x displayHeight) - 0 = เต็มขนาด
+     */
+    public synchronized Image load(String file, int displayWidth, int displayHeight) {
+        String key = file + '@' + displayWidth + 'x' + displayHeight;
+        Image cached = cache.get(key);
+        if (cached != null) return cached;
+
+        String path = ROOT + file;
+        try (InputStream resource = AssetLoader.class.getResourceAsStream(path)) {
+            if (resource == null) {
+                logger.warn("Could not load {}: resource not found", file);
+                return null;
+            }
+            BufferedInputStream stream = new BufferedInputStream(resource);
+            int[] source = readPngSize(stream);
+
+            Image image;
+            if (displaySize && displayWidth > 0 && displayHeight > 0 && source != null
+                    && (displayWidth < source[0] || displayHeight < source[1])) {
+                image = AssetDecodeEvent.decode(path, stream, displayWidth, displayHeight, source[0], source[1]);
+            } else {
+                image = AssetDecodeEvent.decode(path, stream);
+            }
+            if (image.isError()) {
+                logger.warn("Could not load {}", file, image.getException());
+                return null;
+            }
+
+            int width = (int) image.getWidth();
+            int height = (int) image.getHeight();
+            Entry entry = source != null
+                    ? new Entry(file, source[0], source[1], width, height)
+                    : new Entry(file, width, height, width, height);
+            entries.add(entry);
+            cache.put(key, image);
+            if (entry.getSavedBytes() > 0) {
+                logger.debug("Decoded {} at {}x{} (source {}x{})", file, width, height, source[0], source[1]);
+            }
+            return image;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not load {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * ขนาดจาก IHDR ของ PNG โดยไม่ decode (mark/reset กลับไปต้นไฟล์) - null ถ้าไม่ใช่ PNG
+     */
+    static int[] readPngSize(BufferedInputStream stream) throws IOException {
+        stream.mark(PNG_HEADER_SIZE);
+        byte[] header = stream.readNBytes(PNG_HEADER_SIZE);
+        stream.reset();
+        if (header.length < PNG_HEADER_SIZE || readLong(header, 0) != PNG_SIGNATURE) return null;
+        return new int[]{readInt(header, 16), readInt(header, 20)};
+    }
+
+    private static int readInt(byte[] bytes, int at) {
+        return (bytes[at] & 0xFF) << 24 | (bytes[at + 1] & 0xFF) << 16
+                | (bytes[at + 2] & 0xFF) << 8 | (bytes[at + 3] & 0xFF);
+    }
+
+    private static long readLong(byte[] bytes, int at) {
+        return (long) readInt(bytes, at) << 32 | (readInt(bytes, at + 4) & 0xFFFFFFFFL);
+    }
+
+    // ==================== Report ====================
+
+    public synchronized List<Entry> getEntries() {
+        return new ArrayList<>(entries);
+    }
+
+    public synchronized long getSavedBytes() {
+        long saved = 0;
+        for (Entry entry : entries) saved += entry.getSavedBytes();
+        return saved;
+    }
+
+    public synchronized long getDecodedBytes() {
+        long decoded = 0;
+        for (Entry entry : entries) decoded += entry.getDecodedBytes();
+        return decoded;
+    }
+
+    /**
+     * log ขนาดของทุกรูปที่ย่อตอน decode และ memory รวมที่ประหยัดได้
+     */
+    public synchronized void logReport() {
+        for (Entry entry : entries) {
+            if (entry.getSavedBytes() <= 0) continue;
+            logger.info(String.format(Locale.ROOT, "Asset %s decoded %dx%d (source %dx%d) saved %.1f KB",
+                    entry.file, entry.width, entry.height, entry.sourceWidth, entry.sourceHeight,
+                    entry.getSavedBytes() / 1024.0));
+        }
+        logger.info(String.format(Locale.ROOT, "Assets: %d decoded, %.1f KB in textures, %.1f KB saved by display-size decode",
+                entries.size(), getDecodedBytes() / 1024.0, getSavedBytes() / 1024.0));
+    }
+}
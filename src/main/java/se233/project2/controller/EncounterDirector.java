@@ -0,0 +1,259 @@
+package se233.project2.controller;
+
+import se233.project2.controller.event.GameEventBatch;
+import se233.project2.controller.event.GameEventListener;
+import se233.project2.controller.event.GameEventType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * EncounterDirector - state machine ของ wave ใน stage ขับด้วย SPAWN / KILL event จาก GameEventBus
+ * - นับศัตรูที่ spawn / ตายของแต่ละ wave (O(1) ต่อ event) แทนการไล่เช็คทุกตัวทุก tick
+ * - ทุก transition (spawn wave ถัดไป, stage clear, stage complete) ผ่าน timer queue
+ *   tick() ที่ไม่มี timer ครบกำหนดแค่เทียบตัวเลขตัวเดียว
+ * - action จาก timer ทำงานใน tick() (ไม่ใช่ตอน dispatch) host จึง publish event ได้
+ */
+public class EncounterDirector implements GameEventListener, Snapshotable {
+
+    /**
+     * ฝั่งเกมที่ director สั่ง - spawnWave ต้อง publish SPAWN หนึ่งครั้งต่อศัตรูที่ spawn
+     */
+    public interface Host {
+        void spawnWave(EncounterScript.Wave wave);
+
+        void onWaveQueued(EncounterScript.Wave wave);
+
+        void onEncounterCleared();
+
+        void onStageComplete();
+    }
+
+    // ⭐ Action ใน timer queue
+    private static final int ACTION_SPAWN = 0;
+    private static final int ACTION_CLEAR = 1;
+    private static final int ACTION_COMPLETE = 2;
+    private static final int MAX_TIMERS = 4;
+
+    private final Host host;
+    private EncounterScript script;
+
+    private long tick = 0;
+    private int waveIndex = -1;        // wave ล่าสุดที่ spawn แล้ว (-1 = ยังไม่มี)
+    private int[] spawned = new int[0];
+    private int[] killed = new int[0];
+    private boolean cleared = false;
+
+    // Timer queue เรียงตาม due tick (จำนวนน้อยมาก → insertion sort ใน array)
+    private final long[] timerDue = new long[MAX_TIMERS];
+    private final int[] timerAction = new int[MAX_TIMERS];
+    private final int[] timerArg = new int[MAX_TIMERS];
+    private int timerCount = 0;
+
+    public EncounterDirector(Host host) {
+        this.host = host;
+    }
+
+    /**
+     * เริ่ม script ใหม่ - wave แรกที่ไม่มี delay ถูก spawn ทันที
+     */
+    public void start(EncounterScript script) {
+        this.script = script;
+        tick = 0;
+        waveIndex = -1;
+        spawned = new int[script.getWaveCount()];
+        killed = new int[script.getWaveCount()];
+        cleared = false;
+        timerCount = 0;
+
+        EncounterScript.Wave first = script.getWave(0);
+        if (first.getDelayTicks() == 0) {
+            spawnWave(0);
+        } else {
+            queueWave(0);
+        }
+    }
+
+    /**
+     * เรียกครั้งเดียวต่อ simulation tick (รวมช่วง stage transition)
+     */
+    public void tick() {
+        tick++;
+        while (timerCount > 0 && timerDue[0] <= tick) {
+            int action = timerAction[0];
+            int arg = timerArg[0];
+            popTimer();
+            // action อาจเรียก start() ของ stage ถัดไป → loop ดู queue ใหม่ต่อ
+            runAction(action, arg);
+        }
+    }
+
+    @Override
+    public void onEvents(GameEventBatch batch) {
+        if (waveIndex < 0 || cleared) return;
+
+        for (int i = 0; i < batch.size(); i++) {
+            GameEventType type = batch.getType(i);
+            if (type == GameEventType.SPAWN) {
+                spawned[waveIndex]++;
+            } else if (type == GameEventType.KILL) {
+                killed[waveIndex]++;
+            }
+        }
+
+        if (spawned[waveIndex] > 0 && killed[waveIndex] >= spawned[waveIndex]
+                && !isWaveQueued(waveIndex + 1)) {
+            onWaveCleared();
+        }
+    }
+
+    private void onWaveCleared() {
+        int next = waveIndex + 1;
+        if (next < script.getWaveCount()) {
+            queueWave(next);
+        } else if (!hasTimer(ACTION_CLEAR)) {
+            schedule(0, ACTION_CLEAR, 0);
+        }
+    }
+
+    private void queueWave(int index) {
+        EncounterScript.Wave wave = script.getWave(index);
+        schedule(wave.getDelayTicks(), ACTION_SPAWN, index);
+        host.onWaveQueued(wave);
+    }
+
+    private void spawnWave(int index) {
+        waveIndex = index;
+        host.spawnWave(script.getWave(index));
+    }
+
+    private void runAction(int action, int arg) {
+        switch (action) {
+            case ACTION_SPAWN:
+                spawnWave(arg);
+                break;
+            case ACTION_CLEAR:
+                cleared = true;
+                schedule(script.getClearDelayTicks(), ACTION_COMPLETE, 0);
+                host.onEncounterCleared();
+                break;
+            case ACTION_COMPLETE:
+                host.onStageComplete();
+                break;
+            default:
+                throw new IllegalStateException("Unknown encounter action " + action);
+        }
+    }
+
+    // ==================== Timer queue ====================
+
+    private void schedule(int delayTicks, int action, int arg) {
+        if (timerCount == MAX_TIMERS) {
+            throw new IllegalStateException("Encounter timer queue is full");
+        }
+        long due = tick + delayTicks;
+        int i = timerCount++;
+        while (i > 0 && timerDue[i - 1] > due) {
+            timerDue[i] = timerDue[i - 1];
+            timerAction[i] = timerAction[i - 1];
+            timerArg[i] = timerArg[i - 1];
+            i--;
+        }
+        timerDue[i] = due;
+        timerAction[i] = action;
+        timerArg[i] = arg;
+    }
+
+    private void popTimer() {
+        timerCount--;
+        System.arraycopy(timerDue, 1, timerDue, 0, timerCount);
+        System.arraycopy(timerAction, 1, timerAction, 0, timerCount);
+        System.arraycopy(timerArg, 1, timerArg, 0, timerCount);
+    }
+
+    private boolean hasTimer(int action) {
+        for (int i = 0; i < timerCount; i++) {
+            if (timerAction[i] == action) return true;
+        }
+        return false;
+    }
+
+    /**
+     * wave ที่ตั้งเวลา spawn ไว้ (ยังไม่ spawn) หรือ null - ใช้ตั้ง label หลัง restore checkpoint
+     */
+    public EncounterScript.Wave getQueuedWave() {
+        for (int i = 0; i < timerCount; i++) {
+            if (timerAction[i] == ACTION_SPAWN) return script.getWave(timerArg[i]);
+        }
+        return null;
+    }
+
+    private boolean isWaveQueued(int index) {
+        for (int i = 0; i < timerCount; i++) {
+            if (timerAction[i] == ACTION_SPAWN && timerArg[i] == index) return true;
+        }
+        return false;
+    }
+
+    // ==================== Snapshot ====================
+
+    /**
+     * ⭐ State: stage, tick, wave ปัจจุบัน, ตัวนับทุก wave, cleared แล้วตามด้วย timer queue
+     */
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putInt(script.getStage());
+        out.putLong(tick);
+        out.putInt(waveIndex);
+        out.put((byte) (cleared ? 1 : 0));
+        for (int i = 0; i < spawned.length; i++) {
+            out.putInt(spawned[i]);
+            out.putInt(killed[i]);
+        }
+        out.putInt(timerCount);
+        for (int i = 0; i < timerCount; i++) {
+            out.putLong(timerDue[i]);
+            out.putInt(timerAction[i]);
+            out.putInt(timerArg[i]);
+        }
+    }
+
+    @Override
+    public void loadState(ByteBuffer in) {
+        int stage = in.getInt();
+        if (script == null || script.getStage() != stage) {
+            script = EncounterScript.forStage(stage);
+        }
+        tick = in.getLong();
+        waveIndex = in.getInt();
+        cleared = in.get() != 0;
+        spawned = new int[script.getWaveCount()];
+        killed = new int[script.getWaveCount()];
+        for (int i = 0; i < spawned.length; i++) {
+            spawned[i] = in.getInt();
+            killed[i] = in.getInt();
+        }
+        timerCount = in.getInt();
+        if (timerCount < 0 || timerCount > MAX_TIMERS) {
+            throw new IllegalStateException("Invalid encounter timer count " + timerCount);
+        }
+        for (int i = 0; i < timerCount; i++) {
+            timerDue[i] = in.getLong();
+            timerAction[i] = in.getInt();
+            timerArg[i] = in.getInt();
+        }
+    }
+
+    // ==================== Getters ====================
+
+    public EncounterScript getScript() { return script; }
+    public int getWaveIndex() { return waveIndex; }
+    public boolean isCleared() { return cleared; }
+    public int getPendingTimers() { return timerCount; }
+
+    /**
+     * ศัตรูของ wave ปัจจุบันที่ยังไม่ตาย
+     */
+    public int getLiveCount() {
+        return waveIndex < 0 ? 0 : spawned[waveIndex] - killed[waveIndex];
+    }
+}
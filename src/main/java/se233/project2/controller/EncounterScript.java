@@ -0,0 +1,91 @@
+package se233.project2.controller;
+
+/**
+ * EncounterScript - ลำดับ wave ของแต่ละ stage ประกาศเป็นข้อมูล
+ * wave ถัดไปถูกตั้งเวลาหลังศัตรูทุกตัวของ wave ก่อนตาย (delay เป็นจำนวน tick)
+ * หลัง wave สุดท้ายหมด stage จะจบหลัง clearDelay tick
+ */
+public final class EncounterScript {
+
+    /**
+     * ชนิดของกลุ่มศัตรูที่ wave หนึ่ง spawn
+     */
+    public enum Kind {
+        REGULAR_MINIONS,
+        SECOND_TIER_MINIONS,
+        WALL_BOSS,
+        JAVA_BOSS,
+        SMALL_BOSS,
+        BOSS3
+    }
+
+    /**
+     * หนึ่ง wave: ชนิด, delay ก่อน spawn, ข้อความตอนรอ (null = ไม่เปลี่ยน) และข้อความตอน spawn
+     */
+    public static final class Wave {
+        private final Kind kind;
+        private final int delayTicks;
+        private final String incomingLabel;
+        private final String label;
+
+        public Wave(Kind kind, int delayTicks, String incomingLabel, String label) {
+            if (delayTicks < 0) {
+                throw new IllegalArgumentException("delayTicks must be >= 0: " + delayTicks);
+            }
+            this.kind = kind;
+            this.delayTicks = delayTicks;
+            this.incomingLabel = incomingLabel;
+            this.label = label;
+        }
+
+        public Kind getKind() { return kind; }
+        public int getDelayTicks() { return delayTicks; }
+        public String getIncomingLabel() { return incomingLabel; }
+        public String getLabel() { return label; }
+    }
+
+    public static final int BOSS_SPAWN_WAIT = 120;
+    public static final int WAVE_WAIT = 90;
+    public static final int STAGE_CLEAR_WAIT = 180;
+
+    // ⭐ Script ของเกม (index = stage)
+    private static final EncounterScript[] STAGES = {
+            null,
+            new EncounterScript(1, STAGE_CLEAR_WAIT,
+                    new Wave(Kind.REGULAR_MINIONS, 0, null, null),
+                    new Wave(Kind.WALL_BOSS, BOSS_SPAWN_WAIT, "Boss Incoming...", "BOSS FIGHT!")),
+            new EncounterScript(2, STAGE_CLEAR_WAIT,
+                    new Wave(Kind.SECOND_TIER_MINIONS, 0, null, null),
+                    new Wave(Kind.JAVA_BOSS, BOSS_SPAWN_WAIT, "Boss Incoming...", "BOSS FIGHT!")),
+            new EncounterScript(3, STAGE_CLEAR_WAIT,
+                    new Wave(Kind.SMALL_BOSS, BOSS_SPAWN_WAIT, "Small Boss Wave 1 Incoming...", "Small Boss Wave 1"),
+                    new Wave(Kind.SMALL_BOSS, WAVE_WAIT, null, "Small Boss Wave 2"),
+                    new Wave(Kind.SMALL_BOSS, WAVE_WAIT, null, "Small Boss Wave 3"),
+                    new Wave(Kind.BOSS3, 0, null, "FINAL BOSS!"))
+    };
+
+    private final int stage;
+    private final int clearDelayTicks;
+    private final Wave[] waves;
+
+    public EncounterScript(int stage, int clearDelayTicks, Wave... waves) {
+        if (waves.length == 0) {
+            throw new IllegalArgumentException("Script for stage " + stage + " has no waves");
+        }
+        this.stage = stage;
+        this.clearDelayTicks = clearDelayTicks;
+        this.waves = waves.clone();
+    }
+
+    public static EncounterScript forStage(int stage) {
+        if (stage < 1 || stage >= STAGES.length) {
+            throw new IllegalArgumentException("No encounter script for stage " + stage);
+        }
+        return STAGES[stage];
+    }
+
+    public int getStage() { return stage; }
+    public int getClearDelayTicks() { return clearDelayTicks; }
+    public int getWaveCount() { return waves.length; }
+    public Wave getWave(int index) { return waves[index]; }
+}
@@ -159,4 +159,11 @@ public class GameLogger {
         long usedMemory = (runtime.totalMemory() - runtime.freeMemory()) / 1_048_576; // MB
         logger.debug("Memory usage: {} MB", usedMemory);
     }
+
+    public void logQualityChange(String fromLevel, String toLevel, String description,
+                                 double avgUpdateMs, double avgPulseMs) {
+        logger.info("Quality {} -> {} ({}) - avg update: {} ms, avg pulse: {} ms",
+                fromLevel, toLevel, description,
+                String.format("%.2f", avgUpdateMs), String.format("%.2f", avgPulseMs));
+    }
 }
\ No newline at end of file
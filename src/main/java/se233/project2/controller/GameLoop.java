@@ -5,16 +5,48 @@ import javafx.animation.AnimationTimer;
 public class GameLoop extends AnimationTimer {
     private Updatable stage;
     private long lastUpdate = 0;
-    private final long FRAME_TIME = 16_666_666; // ~60 FPS
+    private long lastPulse = 0;  // ⭐ pulse ก่อนหน้า (ทุก handle ไม่ใช่เฉพาะที่ update)
+    public static final long FRAME_TIME = 16_666_666; // ~60 FPS (เวลาเกมของ GameStage ก็นับ tick ละเท่านี้)
+    private final QualityGovernor governor = QualityGovernor.getInstance();
 
     public GameLoop(Updatable stage) {
         this.stage = stage;
     }
 
+    @Override
+    public void start() {
+        lastUpdate = 0;
+        lastPulse = 0;
+        super.start();
+    }
+
     @Override
     public void handle(long now) {
+        StartupProbe.markFirstTick();
+        long pulseInterval = lastPulse != 0 ? now - lastPulse : 0;
+        lastPulse = now;
         if (now - lastUpdate >= FRAME_TIME) {
+            long start = System.nanoTime();
             stage.update(now);
+            long updateTime = System.nanoTime() - start;
+
+            // ⭐ ส่งเวลา frame ให้ governor (ข้าม pulse แรกที่ยังไม่มีช่วงห่าง)
+            // ใช้ช่วงห่างของ pulse จริง - ช่วงระหว่าง update ยาว ~33ms ทุกครั้งที่ gate ข้าม pulse ที่มาเร็วกว่า FRAME_TIME
+            if (pulseInterval != 0) {
+                governor.recordFrame(updateTime, pulseInterval);
+            }
+
+            // ⭐ Pulse profiler (เปิดด้วย -Dgame.pulseProfile=true)
+            PulseProfiler profiler = PulseProfiler.getInstance();
+            if (profiler != null) {
+                profiler.recordSimulation(updateTime);
+            }
+
+            // ⭐ Telemetry (เปิดด้วย --telemetry=<file>)
+            TelemetryRecorder telemetry = TelemetryRecorder.getInstance();
+            if (telemetry != null) {
+                telemetry.recordTick(now, updateTime);
+            }
             lastUpdate = now;
         }
     }
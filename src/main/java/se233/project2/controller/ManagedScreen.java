@@ -0,0 +1,15 @@
+package se233.project2.controller;
+
+/**
+ * Interface สำหรับหน้าจอที่ ScreenManager เก็บไว้ใช้ซ้ำ (สร้างครั้งเดียวตลอดอายุโปรแกรม)
+ * - reset: กลับสู่ state เริ่มต้นโดยใช้ node/asset เดิม
+ * - suspend: ถูกซ่อน - หยุด timer, เสียง และล้าง input ที่ค้าง
+ * - resume: ถูกแสดงอีกครั้ง
+ */
+public interface ManagedScreen {
+    void reset();
+
+    void suspend();
+
+    void resume();
+}
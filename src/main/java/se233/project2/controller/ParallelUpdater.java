@@ -0,0 +1,77 @@
+package se233.project2.controller;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ParallelUpdater - update entity หลายตัวด้วย compute phase แบบขนาน
+ * ถ้าจำนวน entity ถึง threshold (-Dgame.parallelEnemyThreshold=N, default 64)
+ * compute จะถูกแบ่งช่วงให้ ForkJoinPool.commonPool() แล้ว apply ทีละตัวบน thread ที่เรียก
+ * ถ้าน้อยกว่านั้นจะ update ทีละตัวตามเดิม (ไม่มี overhead ของ task)
+ */
+public final class ParallelUpdater {
+    public static final int DEFAULT_THRESHOLD = 64;
+    private static final int LEAF_SIZE = 16;
+
+    private static int threshold = Integer.getInteger("game.parallelEnemyThreshold", DEFAULT_THRESHOLD);
+
+    private ParallelUpdater() {}
+
+    public static <T extends SplitUpdatable> void update(List<T> entities, long now) {
+        int size = entities.size();
+        if (size < threshold) {
+            for (int i = 0; i < size; i++) {
+                entities.get(i).update(now);
+            }
+            return;
+        }
+
+        ForkJoinPool.commonPool().invoke(new ComputeTask(entities, now, 0, size));
+
+        // invoke() join แล้ว → ผลของ compute มองเห็นได้บน thread นี้
+        for (int i = 0; i < size; i++) {
+            entities.get(i).apply();
+        }
+    }
+
+    public static int getThreshold() {
+        return threshold;
+    }
+
+    public static void setThreshold(int value) {
+        threshold = Math.max(1, value);
+    }
+
+    /**
+     * แบ่งช่วง [from, to) ครึ่งๆ จนเหลือไม่เกิน LEAF_SIZE แล้ว compute ตรงๆ
+     */
+    private static class ComputeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<? extends SplitUpdatable> entities;
+        private final long now;
+        private final int from;
+        private final int to;
+
+        ComputeTask(List<? extends SplitUpdatable> entities, long now, int from, int to) {
+            this.entities = entities;
+            this.now = now;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    entities.get(i).compute(now);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ComputeTask(entities, now, from, mid),
+                    new ComputeTask(entities, now, mid, to));
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package se233.project2.controller;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+
+/**
+ * PulseProfiler - แยกเวลาของแต่ละ pulse ของ JavaFX เป็นช่วง ๆ เพื่อแยก cost ของ simulation ออกจาก scene graph
+ * - SIMULATION: GameStage.update (GameLoop รายงาน)
+ * - ANIMATION: AnimationTimer อื่น ๆ ในช่วงเดียวกัน (เริ่ม pulse → pre-layout) ลบ simulation
+ * - CSS_LAYOUT: pre-layout → post-layout listener ของ Scene (CSS pass + layout pass)
+ * - SYNC_RENDER: post-layout → FX thread ว่าง (copy state ไป render graph รวมเวลารอ render ของ frame ก่อน)
+ * ใช้ pulse listener ที่เป็น public API (pulse logger ภายในของ JavaFX ไม่มีแล้วใน 21)
+ * ผลเก็บแยกตาม stage พร้อมจำนวน node ของ GameStage แล้วพิมพ์เป็นบรรทัด "PULSE ..." ตอนปิดเกม
+ * (pulse ที่ไม่มี simulation tick เช่นหน้า Start Screen นับเป็น stage 0)
+ *
+ * เปิดด้วย -Dgame.pulseProfile=true หรือ --pulse-profile=true
+ * ทุก method เรียกบน FX thread
+ */
+public class PulseProfiler {
+    private static final Logger logger = LoggerFactory.getLogger(PulseProfiler.class);
+
+    public static final String PROPERTY = "game.pulseProfile";
+    public static final long FRAME_BUDGET = 16_666_666;
+
+    /**
+     * ช่วงของ pulse (index ใน array ของสถิติ)
+     */
+    public enum Phase { SIMULATION, ANIMATION, CSS_LAYOUT, SYNC_RENDER }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final int STAGES = 4;
+
+    private static PulseProfiler instance;
+
+    private TelemetrySource source;
+
+    // ⭐ Pulse ปัจจุบัน (-1 = ยังไม่ถึงจุดนั้น)
+    private long pulseStart = -1;
+    private long preLayout = -1;
+    private long postLayout = -1;
+    private long simulationNanos = -1;
+    private int simulationStage = 0;
+    private int nodes = 0;
+    private long lastPulseStart = -1;
+    private final Runnable pulseEnd = () -> endPulse(System.nanoTime());
+
+    // ⭐ สถิติต่อ stage (index = stage, 0 = ไม่มี simulation tick)
+    private final long[] pulses = new long[STAGES];
+    private final long[][] phaseSum = new long[STAGES][PHASES.length];
+    private final long[][] phaseMax = new long[STAGES][PHASES.length];
+    private final long[] totalSum = new long[STAGES];
+    private final long[] totalMax = new long[STAGES];
+    private final long[] intervalMax = new long[STAGES];
+    private final long[] nodeSum = new long[STAGES];
+    private final int[] nodeMax = new int[STAGES];
+    private final long[] spikes = new long[STAGES];
+    private final long[][] spikesBy = new long[STAGES][PHASES.length];
+
+    /**
+     * เปิด profiler ถ้ามี --pulse-profile=true หรือ -Dgame.pulseProfile=true
+     *
+     * @param argument ค่าจาก command line (null ถ้าไม่ได้ระบุ)
+     */
+    public static PulseProfiler startIfRequested(String argument) {
+        if (instance != null) return instance;
+        boolean enabled = argument != null ? Boolean.parseBoolean(argument) : Boolean.getBoolean(PROPERTY);
+        if (!enabled) return null;
+        instance = new PulseProfiler();
+        logger.info("Pulse profiler enabled");
+        return instance;
+    }
+
+    /**
+     * profiler ที่เปิดอยู่ หรือ null ถ้าไม่ได้เปิด
+     */
+    public static PulseProfiler getInstance() {
+        return instance;
+    }
+
+    /**
+     * พิมพ์สรุปแล้วปิด profiler (เรียกตอนปิดเกม)
+     */
+    public static void stop() {
+        if (instance == null) return;
+        instance.printReport();
+        instance = null;
+    }
+
+    /**
+     * ติดตั้งกับ scene: timer จับเวลาเริ่ม pulse และ listener ก่อน/หลัง layout
+     */
+    public void install(Scene scene) {
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                beginPulse(now);
+            }
+        }.start();
+        scene.addPreLayoutPulseListener(() -> markPreLayout(System.nanoTime()));
+        scene.addPostLayoutPulseListener(() -> {
+            markPostLayout(System.nanoTime());
+            // runLater ทำงานหลัง pulse จบ (หลัง sync ไป render graph)
+            Platform.runLater(pulseEnd);
+        });
+    }
+
+    public void setSource(TelemetrySource source) {
+        this.source = source;
+    }
+
+    // ==================== Pulse ====================
+
+    /**
+     * เริ่ม pulse (now = timestamp ของ pulse ที่ส่งให้ AnimationTimer ทุกตัว)
+     */
+    public void beginPulse(long now) {
+        pulseStart = now;
+        preLayout = -1;
+        postLayout = -1;
+        simulationNanos = -1;
+    }
+
+    /**
+     * GameLoop รายงานเวลา GameStage.update ของ pulse นี้
+     */
+    public void recordSimulation(long updateNanos) {
+        simulationNanos = Math.max(simulationNanos, 0) + updateNanos;
+        simulationStage = source != null ? source.getTelemetryStage() : 0;
+    }
+
+    public void markPreLayout(long nanos) {
+        preLayout = nanos;
+    }
+
+    public void markPostLayout(long nanos) {
+        postLayout = nanos;
+        nodes = source != null ? source.getNodeCount() : 0;
+    }
+
+    /**
+     * FX thread ว่างหลัง pulse - รวมเวลาของ pulse นี้เข้าสถิติ
+     */
+    public void endPulse(long nanos) {
+        if (pulseStart < 0 || preLayout < 0 || postLayout < 0) return;
+
+        int stage = simulationNanos >= 0 ? Math.min(Math.max(simulationStage, 0), STAGES - 1) : 0;
+        long simulation = Math.max(simulationNanos, 0);
+        long animation = Math.max(preLayout - pulseStart - simulation, 0);
+        long cssLayout = postLayout - preLayout;
+        long syncRender = Math.max(nanos - postLayout, 0);
+
+        pulses[stage]++;
+        Phase dominant = Phase.SIMULATION;
+        long dominantNanos = -1;
+        long total = 0;
+        for (Phase phase : PHASES) {
+            long value = phase == Phase.SIMULATION ? simulation
+                    : phase == Phase.ANIMATION ? animation
+                    : phase == Phase.CSS_LAYOUT ? cssLayout : syncRender;
+            phaseSum[stage][phase.ordinal()] += value;
+            if (value > phaseMax[stage][phase.ordinal()]) phaseMax[stage][phase.ordinal()] = value;
+            if (value > dominantNanos) {
+                dominant = phase;
+                dominantNanos = value;
+            }
+            total += value;
+        }
+        totalSum[stage] += total;
+        if (total > totalMax[stage]) totalMax[stage] = total;
+        if (lastPulseStart >= 0 && pulseStart - lastPulseStart > intervalMax[stage]) {
+            intervalMax[stage] = pulseStart - lastPulseStart;
+        }
+        nodeSum[stage] += nodes;
+        if (nodes > nodeMax[stage]) nodeMax[stage] = nodes;
+
+        // ⭐ Spike = pulse ที่ใช้ FX thread เกิน 1 frame - นับว่าช่วงไหนกินเวลามากที่สุด
+        if (total > FRAME_BUDGET) {
+            spikes[stage]++;
+            spikesBy[stage][dominant.ordinal()]++;
+        }
+
+        lastPulseStart = pulseStart;
+        pulseStart = -1;
+    }
+
+    // ==================== Report ====================
+
+    /**
+     * บรรทัดสรุปของ stage (null ถ้ายังไม่มี pulse)
+     */
+    public String summarize(int stage) {
+        long n = pulses[stage];
+        if (n == 0) return null;
+        StringBuilder line = new StringBuilder("PULSE stage=").append(stage).append(" pulses=").append(n);
+        for (Phase phase : PHASES) {
+            String name = phase.name().toLowerCase(Locale.ROOT);
+            line.append(String.format(Locale.ROOT, " %sMeanMs=%.3f %sMaxMs=%.3f",
+                    name, phaseSum[stage][phase.ordinal()] / (double) n / 1e6,
+                    name, phaseMax[stage][phase.ordinal()] / 1e6));
+        }
+        line.append(String.format(Locale.ROOT, " totalMeanMs=%.3f totalMaxMs=%.3f intervalMaxMs=%.3f",
+                totalSum[stage] / (double) n / 1e6, totalMax[stage] / 1e6, intervalMax[stage] / 1e6));
+        line.append(String.format(Locale.ROOT, " nodesMean=%.1f nodesMax=%d spikes=%d",
+                nodeSum[stage] / (double) n, nodeMax[stage], spikes[stage]));
+        for (Phase phase : PHASES) {
+            line.append(" spikes_").append(phase.name().toLowerCase(Locale.ROOT))
+                    .append('=').append(spikesBy[stage][phase.ordinal()]);
+        }
+        return line.toString();
+    }
+
+    /**
+     * พิมพ์บรรทัด "PULSE ..." ลง stdout (สำหรับ script เหมือน STARTUP/BOT) - logger แค่ debug กันซ้ำบน console
+     */
+    public void printReport() {
+        for (int stage = 0; stage < STAGES; stage++) {
+            String line = summarize(stage);
+            if (line != null) {
+                System.out.println(line);
+                logger.debug(line);
+            }
+        }
+    }
+
+    public long getPulseCount(int stage) { return pulses[stage]; }
+    public long getSpikeCount(int stage) { return spikes[stage]; }
+    public long getSpikeCount(int stage, Phase phase) { return spikesBy[stage][phase.ordinal()]; }
+    public long getPhaseMax(int stage, Phase phase) { return phaseMax[stage][phase.ordinal()]; }
+
+    public double getPhaseMeanMillis(int stage, Phase phase) {
+        return pulses[stage] == 0 ? 0 : phaseSum[stage][phase.ordinal()] / (double) pulses[stage] / 1e6;
+    }
+
+    public double getNodeMean(int stage) {
+        return pulses[stage] == 0 ? 0 : nodeSum[stage] / (double) pulses[stage];
+    }
+}
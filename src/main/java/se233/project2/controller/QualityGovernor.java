@@ -0,0 +1,144 @@
+package se233.project2.controller;
+
+/**
+ * QualityGovernor - ปรับคุณภาพอัตโนมัติตามเวลาที่ใช้ต่อ frame
+ * เมื่อ frame เกิน budget ต่อเนื่อง จะลดงานที่ไม่จำเป็นทีละขั้นตามลำดับตายตัว
+ * และคืนค่าเมื่อมี headroom (ใช้ threshold และระยะเวลาต่างกัน = hysteresis)
+ */
+public class QualityGovernor {
+    private static QualityGovernor instance;
+
+    /**
+     * ขั้นของการลดคุณภาพ - ขั้นที่สูงกว่ารวมการลดของขั้นก่อนหน้าทั้งหมด
+     */
+    public enum Level {
+        FULL("Full quality"),
+        REDUCED_EXPLOSIONS("Half explosion density"),
+        REDUCED_ANIMATION("Half-rate sprite animation"),
+        NO_SMOOTHING("Background smoothing off"),
+        NO_WEAPON_FLASH("Boss weapon flash off"),
+        REDUCED_HUD("HUD refresh every 4 frames");
+
+        private final String description;
+
+        Level(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    public static final long FRAME_BUDGET = 16_666_666;       // 60 Hz
+    public static final long UPDATE_BUDGET = 10_000_000;      // เวลาของ GameStage.update ที่ยอมรับได้
+
+    private static final double EMA_ALPHA = 0.1;
+    private static final double PRESSURE_PULSE = FRAME_BUDGET * 1.25;
+    private static final double HEADROOM_PULSE = FRAME_BUDGET * 1.05;
+    private static final double HEADROOM_UPDATE = UPDATE_BUDGET * 0.5;
+
+    private static final int PRESSURE_FRAMES = 60;    // ~1 วินาทีของ frame ที่เกิน budget
+    private static final int HEADROOM_FRAMES = 240;   // ~4 วินาทีของ frame ที่เหลือเวลา
+    private static final int COOLDOWN_FRAMES = 120;   // รอให้ค่าเฉลี่ยนิ่งหลังเปลี่ยนขั้น
+
+    private final GameLogger logger = GameLogger.getInstance();
+
+    private Level level = Level.FULL;
+    private double avgUpdateNanos = 0;
+    private double avgPulseNanos = FRAME_BUDGET;
+    private int pressureFrames = 0;
+    private int headroomFrames = 0;
+    private int cooldown = 0;
+    private boolean enabled = true;
+
+    private QualityGovernor() {}
+
+    public static QualityGovernor getInstance() {
+        if (instance == null) {
+            instance = new QualityGovernor();
+        }
+        return instance;
+    }
+
+    /**
+     * บันทึกเวลาของ frame ล่าสุด (เรียกจาก GameLoop ทุกครั้งที่ update)
+     *
+     * @param updateNanos เวลาที่ใช้ใน GameStage.update
+     * @param pulseNanos  ระยะห่างจาก pulse ก่อนหน้าของ JavaFX (ไม่ใช่จาก update ครั้งก่อน)
+     */
+    public void recordFrame(long updateNanos, long pulseNanos) {
+        avgUpdateNanos += EMA_ALPHA * (updateNanos - avgUpdateNanos);
+        avgPulseNanos += EMA_ALPHA * (pulseNanos - avgPulseNanos);
+
+        if (!enabled) return;
+        if (cooldown > 0) {
+            cooldown--;
+            return;
+        }
+
+        boolean underPressure = avgUpdateNanos > UPDATE_BUDGET || avgPulseNanos > PRESSURE_PULSE;
+        boolean hasHeadroom = avgUpdateNanos < HEADROOM_UPDATE && avgPulseNanos < HEADROOM_PULSE;
+
+        pressureFrames = underPressure ? pressureFrames + 1 : 0;
+        headroomFrames = hasHeadroom ? headroomFrames + 1 : 0;
+
+        if (pressureFrames >= PRESSURE_FRAMES && level.ordinal() < Level.values().length - 1) {
+            changeLevel(Level.values()[level.ordinal() + 1]);
+        } else if (headroomFrames >= HEADROOM_FRAMES && level.ordinal() > 0) {
+            changeLevel(Level.values()[level.ordinal() - 1]);
+        }
+    }
+
+    private void changeLevel(Level newLevel) {
+        Level oldLevel = level;
+        level = newLevel;
+        pressureFrames = 0;
+        headroomFrames = 0;
+        cooldown = COOLDOWN_FRAMES;
+        logger.logQualityChange(oldLevel.name(), newLevel.name(), newLevel.getDescription(),
+                avgUpdateNanos / 1_000_000, avgPulseNanos / 1_000_000);
+    }
+
+    /**
+     * กลับไปคุณภาพเต็ม (เริ่มเกมใหม่ / ใช้ใน test)
+     */
+    public void reset() {
+        level = Level.FULL;
+        avgUpdateNanos = 0;
+        avgPulseNanos = FRAME_BUDGET;
+        pressureFrames = 0;
+        headroomFrames = 0;
+        cooldown = 0;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // ==================== Settings ที่ระบบอื่นอ่าน ====================
+
+    public boolean isReducedExplosions() {
+        return level.ordinal() >= Level.REDUCED_EXPLOSIONS.ordinal();
+    }
+
+    public int getAnimationFrameSkip() {
+        return level.ordinal() >= Level.REDUCED_ANIMATION.ordinal() ? 2 : 1;
+    }
+
+    public boolean isSmoothingEnabled() {
+        return level.ordinal() < Level.NO_SMOOTHING.ordinal();
+    }
+
+    public boolean isWeaponFlashEnabled() {
+        return level.ordinal() < Level.NO_WEAPON_FLASH.ordinal();
+    }
+
+    public int getHudRefreshInterval() {
+        return level.ordinal() >= Level.REDUCED_HUD.ordinal() ? 4 : 1;
+    }
+
+    public Level getLevel() { return level; }
+    public double getAverageUpdateMillis() { return avgUpdateNanos / 1_000_000; }
+    public double getAveragePulseMillis() { return avgPulseNanos / 1_000_000; }
+}
@@ -0,0 +1,63 @@
+package se233.project2.controller;
+
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ScreenManager - สลับหน้าจอบน Scene เดียวโดยใช้ instance เดิมของแต่ละหน้าจอ
+ * หน้าจอที่ถูกซ่อนจะถูก suspend (ไม่ถูกทิ้งให้ GC) และ resume เมื่อกลับมาแสดง
+ */
+public class ScreenManager {
+    private static final Logger logger = LoggerFactory.getLogger(ScreenManager.class);
+
+    private final Scene scene;
+    private ManagedScreen current;
+
+    public ScreenManager(Scene scene) {
+        this.scene = scene;
+    }
+
+    /**
+     * แสดงหน้าจอตาม state ที่ค้างไว้
+     */
+    public <T extends Parent & ManagedScreen> void show(T screen) {
+        if (current == screen) return;
+        if (current != null) {
+            current.suspend();
+        }
+        current = screen;
+        if (scene.getRoot() != screen) {
+            scene.setRoot(screen);
+        }
+        screen.resume();
+        logger.debug("Showing {}", screen.getClass().getSimpleName());
+    }
+
+    /**
+     * reset หน้าจอให้เริ่มใหม่แล้วแสดง
+     */
+    public <T extends Parent & ManagedScreen> void showFresh(T screen) {
+        if (current == screen) {
+            screen.suspend();
+            current = null;
+        }
+        screen.reset();
+        show(screen);
+    }
+
+    /**
+     * suspend หน้าจอปัจจุบัน (ตอนปิดโปรแกรม)
+     */
+    public void suspendCurrent() {
+        if (current != null) {
+            current.suspend();
+            current = null;
+        }
+    }
+
+    public ManagedScreen getCurrent() {
+        return current;
+    }
+}
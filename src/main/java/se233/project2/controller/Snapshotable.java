@@ -0,0 +1,14 @@
+package se233.project2.controller;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interface สำหรับ object ที่เขียน/อ่าน state ของตัวเองลง buffer ได้
+ * ใช้กับ StageCheckpoint / replay / rollback - loadState ต้องอ่านเป็นลำดับเดียวกับที่ saveState เขียน
+ * และต้องไม่โหลด asset ใหม่ (กระสุนและบอสที่ขาดไปสร้างจาก sprite ที่ decode ไว้แล้วได้)
+ */
+public interface Snapshotable {
+    void saveState(ByteBuffer out);
+
+    void loadState(ByteBuffer in);
+}
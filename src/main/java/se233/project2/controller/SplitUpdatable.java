@@ -0,0 +1,21 @@
+package se233.project2.controller;
+
+/**
+ * Interface สำหรับ entity ที่แยก update เป็น 2 phase
+ * - compute: คำนวณล้วนๆ (movement, timer, ตัดสินใจยิง) ห้ามแตะ scene graph
+ *   อาจถูกเรียกจาก worker thread พร้อมกับ entity อื่น
+ * - apply: เขียนผลลง JavaFX node (translate, sprite frame, สร้างกระสุน) บน FX thread เท่านั้น
+ */
+public interface SplitUpdatable {
+    void compute(long now);
+
+    void apply();
+
+    /**
+     * update แบบ sequential (compute แล้ว apply ทันที)
+     */
+    default void update(long now) {
+        compute(now);
+        apply();
+    }
+}
@@ -0,0 +1,51 @@
+package se233.project2.controller;
+
+import java.nio.ByteBuffer;
+
+/**
+ * StageCheckpoint - snapshot ของ simulation ตอนเริ่ม stage เก็บใน buffer เดียวที่ใช้ซ้ำ
+ * capture ครั้งใหม่เขียนทับของเดิม ไม่มีการ allocate หลังสร้าง
+ */
+public class StageCheckpoint {
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final ByteBuffer buffer;
+    private int size = 0;
+    private boolean valid = false;
+
+    public StageCheckpoint() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public StageCheckpoint(int capacity) {
+        this.buffer = ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * บันทึก state ของ source ทับ checkpoint เดิม
+     */
+    public void capture(Snapshotable source) {
+        valid = false;
+        buffer.clear();
+        source.saveState(buffer);
+        size = buffer.position();
+        valid = true;
+    }
+
+    /**
+     * คืน state ให้ target - คืน false ถ้ายังไม่เคย capture
+     */
+    public boolean restore(Snapshotable target) {
+        if (!valid) return false;
+        buffer.position(0).limit(size);
+        target.loadState(buffer);
+        return true;
+    }
+
+    public void invalidate() {
+        valid = false;
+    }
+
+    public boolean isValid() { return valid; }
+    public int getSize() { return size; }
+}
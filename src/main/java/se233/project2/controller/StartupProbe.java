@@ -0,0 +1,53 @@
+package se233.project2.controller;
+
+import java.time.Instant;
+
+/**
+ * StartupProbe - วัดเวลาตั้งแต่ JVM เริ่มจนถึง frame แรกของ StartScreen และ GameLoop.handle ครั้งแรก
+ * เปิดด้วย -Dgame.startupProbe=true: เกมจะกด START ให้เอง, พิมพ์ผลเป็นบรรทัด "STARTUP ..." แล้วปิดตัว
+ * (ใช้ทั้งกับ benchmark และ training run ของ AppCDS ในโปรไฟล์ startup)
+ *
+ * ถ้ามี -Dgame.launchMillis=<epoch ms> (ตั้งโดย script ก่อน exec java) จะใช้เป็นจุดเริ่ม
+ * ไม่งั้นใช้เวลาเริ่ม process จาก OS
+ */
+public final class StartupProbe {
+    private static final boolean ENABLED = Boolean.getBoolean("game.startupProbe");
+    private static final long LAUNCH_MILLIS = resolveLaunchMillis();
+
+    private static long firstFrameMillis = -1;
+    private static long firstTickMillis = -1;
+
+    private StartupProbe() {}
+
+    private static long resolveLaunchMillis() {
+        Long configured = Long.getLong("game.launchMillis");
+        if (configured != null) return configured;
+        return ProcessHandle.current().info().startInstant()
+                .map(Instant::toEpochMilli)
+                .orElse(System.currentTimeMillis());
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * pulse แรกหลัง StartScreen ถูกแสดง
+     */
+    public static void markFirstFrame() {
+        if (!ENABLED || firstFrameMillis >= 0) return;
+        firstFrameMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * GameLoop.handle ครั้งแรก - พิมพ์ผลแล้วปิดเกม
+     */
+    public static void markFirstTick() {
+        if (!ENABLED || firstTickMillis >= 0) return;
+        firstTickMillis = System.currentTimeMillis();
+
+        System.out.println("STARTUP firstFrameMs=" + (firstFrameMillis - LAUNCH_MILLIS)
+                + " firstTickMs=" + (firstTickMillis - LAUNCH_MILLIS));
+        javafx.application.Platform.exit();
+    }
+}
@@ -0,0 +1,239 @@
+package se233.project2.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TelemetryRecorder - บันทึก time series ของประสิทธิภาพลงไฟล์ CSV วินาทีละหนึ่งแถว
+ * (FPS, p99/avg tick time, จำนวนศัตรู/บอส/กระสุน, จำนวน node, heap, GC)
+ * - FX thread แค่เก็บเวลา tick ลง array ที่จองไว้ และสร้างแถวครั้งเดียวต่อวินาที
+ * - การเขียนไฟล์ทำบน thread "telemetry-writer" ผ่าน FileChannel
+ * - คิวระหว่างสอง thread มีขนาดจำกัด ถ้าดิสก์ช้าจนคิวเต็ม แถวจะถูกทิ้งและนับไว้ (ไม่ block เกม)
+ *
+ * Usage: java -jar project2.jar --telemetry=session.csv  (หรือ -Dgame.telemetry=session.csv)
+ */
+public class TelemetryRecorder {
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryRecorder.class);
+
+    public static final String PROPERTY = "game.telemetry";
+    public static final String HEADER = "timestamp_ms,elapsed_s,stage,fps,tick_p99_ms,tick_avg_ms,"
+            + "enemies,bosses,player_projectiles,enemy_projectiles,nodes,"
+            + "heap_used_kb,gc_count,gc_time_ms,dropped_rows\n";
+
+    static final long SAMPLE_INTERVAL = 1_000_000_000L;
+    private static final int MAX_TICKS_PER_SAMPLE = 1024;
+    private static final int QUEUE_CAPACITY = 120;   // ~2 นาทีของแถวที่ยังไม่ได้เขียน
+
+    private static TelemetryRecorder instance;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ArrayBlockingQueue<ByteBuffer> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong droppedRows = new AtomicLong();
+    private final AtomicLong writtenRows = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closed = false;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    // ⭐ Window ของ sample ปัจจุบัน (FX thread เท่านั้น)
+    private final long[] tickNanos = new long[MAX_TICKS_PER_SAMPLE];
+    private int tickCount = 0;
+    private int frames = 0;
+    private long windowStart = 0;
+    private long lastTick = 0;
+    private long sessionStart = 0;
+
+    private TelemetrySource source;
+
+    private TelemetryRecorder(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+        this.writer = new Thread(this::runWriter, "telemetry-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * เปิดไฟล์แบบต่อท้าย (เขียน header ถ้าไฟล์ยังว่าง)
+     */
+    public static TelemetryRecorder open(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.wrap(HEADER.getBytes(StandardCharsets.US_ASCII));
+            while (header.hasRemaining()) channel.write(header);
+        }
+        return new TelemetryRecorder(file, channel);
+    }
+
+    /**
+     * เริ่ม recorder ถ้ามี --telemetry=<file> หรือ -Dgame.telemetry=<file>
+     *
+     * @param argument ค่าจาก command line (null ถ้าไม่ได้ระบุ)
+     */
+    public static TelemetryRecorder startIfRequested(String argument) {
+        if (instance != null) return instance;
+        String destination = (argument != null && !argument.isBlank()) ? argument : System.getProperty(PROPERTY);
+        if (destination == null || destination.isBlank()) return null;
+
+        try {
+            instance = open(Path.of(destination));
+            logger.info("Telemetry recording started -> {}", destination);
+        } catch (IOException e) {
+            logger.error("Could not start telemetry recording: {}", e.getMessage(), e);
+            instance = null;
+        }
+        return instance;
+    }
+
+    /**
+     * recorder ที่เปิดอยู่ หรือ null ถ้าไม่ได้เปิด telemetry
+     */
+    public static TelemetryRecorder getInstance() {
+        return instance;
+    }
+
+    /**
+     * ปิด recorder ที่เปิดจาก command line (เรียกตอนปิดเกม)
+     */
+    public static void stop() {
+        if (instance == null) return;
+        instance.close();
+        logger.info("Telemetry written to {} ({} rows, {} dropped)",
+                instance.file, instance.getWrittenRows(), instance.getDroppedRows());
+        instance = null;
+    }
+
+    public void setSource(TelemetrySource source) {
+        this.source = source;
+    }
+
+    /**
+     * บันทึกหนึ่ง tick (เรียกจาก GameLoop)
+     *
+     * @param now         timestamp ของ pulse (nanoTime)
+     * @param updateNanos เวลาที่ใช้ใน update ของ tick นี้
+     */
+    public void recordTick(long now, long updateNanos) {
+        if (closed) return;
+
+        // ⭐ เริ่ม window ใหม่หลังช่วงที่ loop หยุด (เช่นอยู่หน้า Start Screen) ไม่ให้ FPS ตก
+        if (windowStart == 0 || now - lastTick > SAMPLE_INTERVAL) {
+            if (sessionStart == 0) sessionStart = now;
+            windowStart = now;
+            tickCount = 0;
+            frames = 0;
+        }
+        lastTick = now;
+
+        frames++;
+        if (tickCount < MAX_TICKS_PER_SAMPLE) {
+            tickNanos[tickCount++] = updateNanos;
+        }
+
+        if (now - windowStart >= SAMPLE_INTERVAL) {
+            sample(now);
+            windowStart = now;
+            tickCount = 0;
+            frames = 0;
+        }
+    }
+
+    private void sample(long now) {
+        double seconds = (now - windowStart) / 1e9;
+        double fps = frames / seconds;
+
+        Arrays.sort(tickNanos, 0, tickCount);
+        long total = 0;
+        for (int i = 0; i < tickCount; i++) total += tickNanos[i];
+        int p99Index = Math.max(0, (int) Math.ceil(tickCount * 0.99) - 1);
+        double p99Ms = tickCount == 0 ? 0 : tickNanos[p99Index] / 1e6;
+        double avgMs = tickCount == 0 ? 0 : total / (double) tickCount / 1e6;
+
+        long gcCount = 0;
+        long gcTime = 0;
+        for (int i = 0; i < collectors.size(); i++) {
+            GarbageCollectorMXBean gc = collectors.get(i);
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcTime += Math.max(0, gc.getCollectionTime());
+        }
+        long heapKb = memory.getHeapMemoryUsage().getUsed() / 1024;
+
+        TelemetrySource s = source;
+        String row = String.format(Locale.ROOT, "%d,%.3f,%d,%.1f,%.3f,%.3f,%d,%d,%d,%d,%d,%d,%d,%d,%d%n",
+                System.currentTimeMillis(),
+                (now - sessionStart) / 1e9,
+                s == null ? 0 : s.getTelemetryStage(),
+                fps, p99Ms, avgMs,
+                s == null ? 0 : s.getEnemyCount(),
+                s == null ? 0 : s.getBossCount(),
+                s == null ? 0 : s.getPlayerProjectileCount(),
+                s == null ? 0 : s.getEnemyProjectileCount(),
+                s == null ? 0 : s.getNodeCount(),
+                heapKb, gcCount, gcTime,
+                droppedRows.get());
+
+        if (!queue.offer(ByteBuffer.wrap(row.getBytes(StandardCharsets.US_ASCII)))) {
+            droppedRows.incrementAndGet();
+        }
+    }
+
+    private void runWriter() {
+        try {
+            while (!closed || !queue.isEmpty()) {
+                ByteBuffer row = queue.poll(200, TimeUnit.MILLISECONDS);
+                while (row != null) {
+                    while (row.hasRemaining()) channel.write(row);
+                    writtenRows.incrementAndGet();
+                    row = queue.poll();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.error("Telemetry write failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * เขียนแถวที่ค้างอยู่ให้หมดแล้วปิดไฟล์
+     */
+    public void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            writer.join(5000);
+            channel.force(true);
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.error("Could not close telemetry file: {}", e.getMessage(), e);
+        }
+    }
+
+    public long getWrittenRows() { return writtenRows.get(); }
+    public long getDroppedRows() { return droppedRows.get(); }
+}
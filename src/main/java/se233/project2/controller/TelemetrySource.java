@@ -0,0 +1,18 @@
+package se233.project2.controller;
+
+/**
+ * TelemetrySource - ให้ค่านับของ scene ตอน TelemetryRecorder เก็บ sample (เรียกบน FX thread)
+ */
+public interface TelemetrySource {
+    int getTelemetryStage();
+
+    int getEnemyCount();
+
+    int getBossCount();
+
+    int getPlayerProjectileCount();
+
+    int getEnemyProjectileCount();
+
+    int getNodeCount();
+}
@@ -0,0 +1,274 @@
+package se233.project2.controller.bot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se233.project2.controller.net.InputBits;
+import se233.project2.model.GameCharacter;
+import se233.project2.model.Keys;
+import se233.project2.model.Platform;
+import se233.project2.model.collision.Hittable;
+import se233.project2.model.enemy.SecondTierEnemy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * BotDriver - ผู้เล่นสังเคราะห์สำหรับ benchmark / telemetry run
+ * - ทุก tick อ่าน BotView แล้วเลือก input (InputBits) ตาม BotPolicy แล้วเขียนลง Keys
+ *   ก่อน GameStage เรียก keys.beginTick() - เกมเห็นเหมือนคนกดปุ่มจริง
+ * - การสุ่มทั้งหมดมาจาก seed เดียว (policy + seed เดิม = การตัดสินใจชุดเดิมเมื่อเห็น state เดิม)
+ *
+ * เปิดด้วย --bot=<policy>[:seed] หรือ -Dgame.bot=<policy>[:seed] (เช่น --bot=mixed:7)
+ * -Dgame.botTicks=N = เล่น N tick แล้วพิมพ์บรรทัด "BOT ..." และปิดเกม (0 = ไม่จำกัด)
+ */
+public class BotDriver {
+    public static final String PROPERTY = "game.bot";
+    public static final String TICKS_PROPERTY = "game.botTicks";
+
+    private static final Logger logger = LoggerFactory.getLogger(BotDriver.class);
+    private static BotDriver instance;
+
+    private static final int EDGE_MARGIN = 40;
+    private static final int MIN_HOLD_TICKS = 20;
+    private static final int MAX_HOLD_TICKS = 60;
+    private static final int MIN_KEEP_DISTANCE = 200;
+    private static final int MAX_KEEP_DISTANCE = 420;
+    private static final double AIM_TOLERANCE = 40;
+    private static final double AIR_HEIGHT = 80;       // เป้าสูงกว่านี้ = ยิงขึ้น
+    private static final double MAX_HOP_HEIGHT = 130;  // กระโดดได้ ~144px (JUMP_FORCE 12, GRAVITY 0.5)
+    private static final double HOP_LOOKAHEAD = 70;
+    private static final int RANDOM_HOP_CHANCE = 45;   // 1 ใน N tick
+
+    private final BotPolicy policy;
+    private final long seed;
+    private final SplittableRandom random;
+    private final long tickLimit;
+    private final List<Hittable> targets = new ArrayList<>();
+
+    private long ticks = 0;
+    private int direction = 1;
+    private int holdTicks = 0;
+    private boolean retreating = false;
+    private int keepDistance = MIN_KEEP_DISTANCE;
+    private int lastInput = 0;
+    private int retries = 0;
+    private boolean finished = false;
+
+    public BotDriver(BotPolicy policy, long seed) {
+        this(policy, seed, 0);
+    }
+
+    public BotDriver(BotPolicy policy, long seed, long tickLimit) {
+        this.policy = policy;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        this.tickLimit = tickLimit;
+    }
+
+    /**
+     * เปิด bot ถ้ามี --bot=<policy>[:seed] หรือ -Dgame.bot=<policy>[:seed]
+     *
+     * @param argument ค่าจาก command line (null ถ้าไม่ได้ระบุ)
+     */
+    public static BotDriver startIfRequested(String argument) {
+        if (instance != null) return instance;
+        String spec = (argument != null && !argument.isBlank()) ? argument : System.getProperty(PROPERTY);
+        if (spec == null || spec.isBlank()) return null;
+
+        try {
+            instance = fromSpec(spec, Long.getLong(TICKS_PROPERTY, 0));
+            logger.info("Bot player enabled: policy={} seed={} tickLimit={}",
+                    instance.policy, instance.seed, instance.tickLimit);
+        } catch (IllegalArgumentException e) {
+            logger.error("Could not start bot player: {}", e.getMessage());
+            instance = null;
+        }
+        return instance;
+    }
+
+    /**
+     * "policy" หรือ "policy:seed" (seed default = 1)
+     */
+    public static BotDriver fromSpec(String spec, long tickLimit) {
+        int colon = spec.indexOf(':');
+        BotPolicy policy = BotPolicy.parse(colon < 0 ? spec : spec.substring(0, colon));
+        long seed = colon < 0 ? 1 : Long.parseLong(spec.substring(colon + 1).trim());
+        return new BotDriver(policy, seed, tickLimit);
+    }
+
+    /**
+     * bot ที่เปิดจาก command line หรือ null ถ้าไม่ได้เปิด
+     */
+    public static BotDriver getInstance() {
+        return instance;
+    }
+
+    /**
+     * เลือก input ของ tick นี้แล้วกด/ปล่อยปุ่มใน keys (เรียกก่อน keys.beginTick บน thread เดียวกัน)
+     */
+    public void drive(BotView view, Keys keys, long nowNanos) {
+        InputBits.write(nextInput(view), keys, nowNanos);
+    }
+
+    /**
+     * input (InputBits) ของ tick ถัดไป
+     */
+    public int nextInput(BotView view) {
+        ticks++;
+        GameCharacter player = view.getPlayer();
+        if (player == null || player.isDead()) {
+            lastInput = 0;
+            return lastInput;
+        }
+
+        // ⭐ ช่วงเวลาของการตัดสินใจ: เปลี่ยนระยะที่รักษาไว้ และบางช่วงถอยหนี
+        if (--holdTicks <= 0) {
+            holdTicks = random.nextInt(MIN_HOLD_TICKS, MAX_HOLD_TICKS + 1);
+            keepDistance = random.nextInt(MIN_KEEP_DISTANCE, MAX_KEEP_DISTANCE + 1);
+            retreating = !retreating && random.nextInt(3) == 0;
+            if (random.nextInt(4) == 0) direction = -direction;
+        }
+
+        targets.clear();
+        view.collectBotTargets(targets);
+        Hittable target = pickTarget(player);
+
+        int bits = InputBits.SHOOT;
+        int move;
+        if (target == null) {
+            move = direction;
+        } else {
+            double dx = centerX(target) - player.getCenterX();
+            double dy = centerY(target) - player.getCenterY();
+            int toward = dx >= 0 ? 1 : -1;
+            boolean facingTarget = player.isFacingRight() == (toward > 0);
+
+            if (policy.aimsAtAir() && dy < -AIR_HEIGHT) {
+                // เป้าลอยอยู่สูง → เดินไปใต้เป้าแล้วยิงขึ้น
+                move = Math.abs(dx) <= AIM_TOLERANCE ? 0 : toward;
+                if (move == 0) bits |= InputBits.SHOOT_UP;
+            } else if (policy.aimsAtAir() && dy > AIM_TOLERANCE
+                    && Math.abs(Math.abs(dx) - dy) <= AIM_TOLERANCE) {
+                // อยู่ในแนวเฉียง 45° ลง → หันหาเป้าแล้วยิงลง
+                move = facingTarget ? 0 : toward;
+                bits |= InputBits.SHOOT_DOWN;
+            } else if (retreating) {
+                move = -toward;
+            } else if (Math.abs(dx) > keepDistance) {
+                move = toward;
+            } else {
+                // อยู่ในระยะแล้ว - หยุดยิง (หันกลับหาเป้าก่อนถ้าหันผิดทาง)
+                move = facingTarget ? 0 : toward;
+            }
+        }
+
+        // ไม่เดินออกนอกจอ
+        if (player.getHitX() < EDGE_MARGIN && move < 0) {
+            move = 1;
+            direction = 1;
+        } else if (player.getHitX() + player.getHitWidth() > view.getWorldWidth() - EDGE_MARGIN && move > 0) {
+            move = -1;
+            direction = -1;
+        }
+        if (move < 0) bits |= InputBits.LEFT;
+        if (move > 0) bits |= InputBits.RIGHT;
+
+        if (policy.hopsPlatforms()
+                && ((move != 0 && platformAhead(view.getPlatforms(), player, move))
+                || random.nextInt(RANDOM_HOP_CHANCE) == 0)) {
+            bits |= InputBits.JUMP;
+        }
+
+        // ⭐ กด F ค้างไว้ - GameStage ยิงทันทีที่ cooldown หมด
+        if (policy.usesSpecial()) bits |= InputBits.SPECIAL;
+
+        lastInput = bits;
+        return bits;
+    }
+
+    /**
+     * เป้าที่ใกล้ที่สุด - policy ที่เล็งอากาศเลือก SecondTierEnemy ก่อนถ้ามี
+     */
+    private Hittable pickTarget(GameCharacter player) {
+        Hittable best = null;
+        double bestDistance = Double.MAX_VALUE;
+        boolean bestAir = false;
+        for (int i = 0; i < targets.size(); i++) {
+            Hittable target = targets.get(i);
+            if (!target.isCollidable()) continue;
+            boolean air = policy.aimsAtAir() && target instanceof SecondTierEnemy;
+            if (bestAir && !air) continue;
+
+            double dx = centerX(target) - player.getCenterX();
+            double dy = centerY(target) - player.getCenterY();
+            double distance = dx * dx + dy * dy;
+            if ((air && !bestAir) || distance < bestDistance) {
+                best = target;
+                bestDistance = distance;
+                bestAir = air;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * มี platform ที่สูงกว่าเท้าแต่กระโดดถึงอยู่ข้างหน้าในระยะ HOP_LOOKAHEAD
+     */
+    private static boolean platformAhead(List<Platform> platforms, GameCharacter player, int move) {
+        double feet = player.getHitY() + player.getHitHeight();
+        double front = move > 0 ? player.getHitX() + player.getHitWidth() : player.getHitX();
+        double reachStart = move > 0 ? front : front - HOP_LOOKAHEAD;
+        double reachEnd = move > 0 ? front + HOP_LOOKAHEAD : front;
+
+        for (int i = 0; i < platforms.size(); i++) {
+            Platform platform = platforms.get(i);
+            double rise = feet - platform.getTop();
+            if (rise <= 4 || rise > MAX_HOP_HEIGHT) continue;
+            if (platform.getRight() > reachStart && platform.getLeft() < reachEnd) return true;
+        }
+        return false;
+    }
+
+    private static double centerX(Hittable target) {
+        return target.getHitX() + target.getHitWidth() / 2;
+    }
+
+    private static double centerY(Hittable target) {
+        return target.getHitY() + target.getHitHeight() / 2;
+    }
+
+    // ==================== Run control ====================
+
+    /**
+     * นับการเริ่ม stage ใหม่หลังตาย (GameStage retry ให้เองเมื่อ bot เล่นอยู่)
+     */
+    public void onRetry() {
+        retries++;
+    }
+
+    /**
+     * ครบ tickLimit แล้ว (tickLimit = 0 ไม่มีวันครบ)
+     */
+    public boolean isLimitReached() {
+        return tickLimit > 0 && ticks >= tickLimit;
+    }
+
+    /**
+     * พิมพ์ผลเป็นบรรทัด "BOT ..." แล้วปิดเกม (ครั้งเดียว)
+     */
+    public void finish(int stage, int score, boolean completed) {
+        if (finished) return;
+        finished = true;
+        System.out.println("BOT policy=" + policy + " seed=" + seed + " ticks=" + ticks + " stage=" + stage
+                + " score=" + score + " retries=" + retries + " completed=" + completed);
+        javafx.application.Platform.exit();
+    }
+
+    public BotPolicy getPolicy() { return policy; }
+    public long getSeed() { return seed; }
+    public long getTicks() { return ticks; }
+    public int getRetries() { return retries; }
+    public int getLastInput() { return lastInput; }
+    public boolean isFinished() { return finished; }
+}
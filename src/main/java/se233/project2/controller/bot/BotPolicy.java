@@ -0,0 +1,32 @@
+package se233.project2.controller.bot;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * BotPolicy - รูปแบบการเล่นของ bot
+ * - STRAFE: เดินเข้า-ถอยจากเป้าที่ใกล้ที่สุดพร้อมยิงตลอด
+ * - HOPPER: เดินข้ามจอและกระโดดขึ้น platform ที่อยู่ข้างหน้า พร้อมยิง
+ * - SPECIAL: เหมือน STRAFE และกด F ทันทีที่ cooldown หมด
+ * - ANTI_AIR: เล็งขึ้น / ลงเฉียงใส่ SecondTierEnemy (ศัตรูที่ลอย) ก่อนเป้าอื่น
+ * - MIXED: ANTI_AIR + กระโดดแบบ HOPPER + F ตาม cooldown (ค่า default - โหลดใกล้เคียงคนเล่นจริงที่สุด)
+ */
+public enum BotPolicy {
+    STRAFE, HOPPER, SPECIAL, ANTI_AIR, MIXED;
+
+    /**
+     * ชื่อแบบไม่สนตัวพิมพ์ ('-' ใช้แทน '_' ได้) เช่น "anti-air"
+     */
+    public static BotPolicy parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown bot policy '" + name + "' (expected one of "
+                    + Arrays.toString(values()) + ")");
+        }
+    }
+
+    boolean aimsAtAir() { return this == ANTI_AIR || this == MIXED; }
+    boolean hopsPlatforms() { return this == HOPPER || this == MIXED; }
+    boolean usesSpecial() { return this == SPECIAL || this == MIXED; }
+}
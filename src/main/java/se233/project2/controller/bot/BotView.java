@@ -0,0 +1,26 @@
+package se233.project2.controller.bot;
+
+import se233.project2.model.GameCharacter;
+import se233.project2.model.Platform;
+import se233.project2.model.collision.Hittable;
+
+import java.util.List;
+
+/**
+ * BotView - สิ่งที่ bot "มองเห็น" ในแต่ละ tick (GameStage implement)
+ */
+public interface BotView {
+    GameCharacter getPlayer();
+
+    List<Platform> getPlatforms();
+
+    /**
+     * ความกว้างของพื้นที่เล่น (bot ไม่เดินออกนอกขอบ)
+     */
+    double getWorldWidth();
+
+    /**
+     * ใส่เป้าที่ยังมีชีวิตทั้งหมด (ศัตรูและบอส) ลง out
+     */
+    void collectBotTargets(List<Hittable> out);
+}
@@ -0,0 +1,104 @@
+package se233.project2.controller.event;
+
+import java.util.Arrays;
+
+/**
+ * GameEventBatch - event ของหนึ่ง tick เก็บแบบ struct-of-arrays ที่จองไว้ล่วงหน้า
+ * ⭐ การเพิ่ม event ไม่สร้าง object (ชื่อเป็น String คงที่ของแต่ละ entity)
+ * ถ้า tick ไหน event เกิน capacity จะขยาย array เป็นสองเท่า (ครั้งเดียว แล้วใช้ขนาดนั้นต่อไป)
+ */
+public class GameEventBatch {
+    private static final GameEventType[] TYPES = GameEventType.values();
+
+    private int capacity;
+    private byte[] types;
+    private String[] sources;
+    private String[] targets;
+    private double[] xs;
+    private double[] ys;
+    private int[] values;
+    private int[] totals;
+    private boolean[] flags;
+
+    private int size = 0;
+    private long tick = 0;
+
+    public GameEventBatch(int capacity) {
+        this.capacity = capacity;
+        types = new byte[capacity];
+        sources = new String[capacity];
+        targets = new String[capacity];
+        xs = new double[capacity];
+        ys = new double[capacity];
+        values = new int[capacity];
+        totals = new int[capacity];
+        flags = new boolean[capacity];
+    }
+
+    void add(GameEventType type, String source, String target, double x, double y,
+             int value, int total, boolean flag) {
+        if (size == capacity) ensureCapacity(capacity * 2);
+        int i = size++;
+        types[i] = (byte) type.ordinal();
+        sources[i] = source;
+        targets[i] = target;
+        xs[i] = x;
+        ys[i] = y;
+        values[i] = value;
+        totals[i] = total;
+        flags[i] = flag;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= capacity) return;
+        capacity = Math.max(required, 1);
+        types = Arrays.copyOf(types, capacity);
+        sources = Arrays.copyOf(sources, capacity);
+        targets = Arrays.copyOf(targets, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        totals = Arrays.copyOf(totals, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+    }
+
+    /**
+     * คัดลอก event ทั้งหมดจาก batch อื่น (ใช้ส่งต่อให้ subscriber บน thread อื่น)
+     */
+    void copyFrom(GameEventBatch other) {
+        int n = other.size;
+        ensureCapacity(n);
+        System.arraycopy(other.types, 0, types, 0, n);
+        System.arraycopy(other.sources, 0, sources, 0, n);
+        System.arraycopy(other.targets, 0, targets, 0, n);
+        System.arraycopy(other.xs, 0, xs, 0, n);
+        System.arraycopy(other.ys, 0, ys, 0, n);
+        System.arraycopy(other.values, 0, values, 0, n);
+        System.arraycopy(other.totals, 0, totals, 0, n);
+        System.arraycopy(other.flags, 0, flags, 0, n);
+        size = n;
+        tick = other.tick;
+    }
+
+    void clear(long nextTick) {
+        // ล้าง reference ของชื่อ ไม่ให้ค้างอยู่ใน array
+        for (int i = 0; i < size; i++) {
+            sources[i] = null;
+            targets[i] = null;
+        }
+        size = 0;
+        tick = nextTick;
+    }
+
+    public int getCapacity() { return capacity; }
+    public int size() { return size; }
+    public long getTick() { return tick; }
+    public GameEventType getType(int i) { return TYPES[types[i]]; }
+    public String getSource(int i) { return sources[i]; }
+    public String getTarget(int i) { return targets[i]; }
+    public double getX(int i) { return xs[i]; }
+    public double getY(int i) { return ys[i]; }
+    public int getValue(int i) { return values[i]; }
+    public int getTotal(int i) { return totals[i]; }
+    public boolean getFlag(int i) { return flags[i]; }
+}
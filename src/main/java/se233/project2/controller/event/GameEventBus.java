@@ -0,0 +1,195 @@
+package se233.project2.controller.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se233.project2.controller.GameLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GameEventBus - เก็บ event ของ gameplay (hit, kill, spawn, player hit, stage) ระหว่าง simulation
+ * แล้วส่งให้ subscriber เป็น batch เดียวตอนท้าย tick
+ * - publish ระหว่าง collision loop แค่เขียนลง batch ที่จองไว้ (ไม่มี side effect, ไม่สร้าง object)
+ *   batch เต็มจะขยายเอง - subscriber ทำงานใน dispatch() เท่านั้น ไม่เคยทำงานกลาง collision loop
+ * - subscriber แบบปกติทำงานบน thread เดียวกับ simulation ตอน dispatch()
+ * - subscriber แบบ async ได้ batch สำเนาบน thread "game-events" (สำเนามาจาก pool ที่จองไว้)
+ *   ถ้า thread นั้นตามไม่ทัน batch ของ tick นั้นจะถูกข้ามสำหรับ async เท่านั้น (นับไว้ + log เตือน)
+ */
+public class GameEventBus {
+    private static final Logger logger = LoggerFactory.getLogger(GameEventBus.class);
+    public static final int DEFAULT_CAPACITY = 256;
+    private static final int ASYNC_BUFFERS = 4;
+
+    private final GameEventBatch batch;
+    private final List<GameEventListener> listeners = new ArrayList<>();
+    private final List<GameEventListener> asyncListeners = new CopyOnWriteArrayList<>();
+
+    // ⭐ Pool ของ batch สำหรับ async: free → (copy) → ready → worker → free
+    private final ArrayBlockingQueue<GameEventBatch> freeBatches = new ArrayBlockingQueue<>(ASYNC_BUFFERS);
+    private final ArrayBlockingQueue<GameEventBatch> readyBatches = new ArrayBlockingQueue<>(ASYNC_BUFFERS);
+    private final AtomicLong droppedAsyncBatches = new AtomicLong();
+    private Thread worker;
+
+    private long tick = 0;
+    private boolean dispatching = false;
+
+    public GameEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GameEventBus(int capacity) {
+        batch = new GameEventBatch(capacity);
+        for (int i = 0; i < ASYNC_BUFFERS; i++) {
+            freeBatches.add(new GameEventBatch(capacity));
+        }
+    }
+
+    // ==================== Subscription ====================
+
+    public void subscribe(GameEventListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * subscriber ที่ทำงานบน thread อื่น (เช่น logging) - ต้อง thread-safe เอง
+     */
+    public synchronized void subscribeAsync(GameEventListener listener) {
+        asyncListeners.add(listener);
+        if (worker == null) {
+            worker = new Thread(this::runWorker, "game-events");
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    public void unsubscribe(GameEventListener listener) {
+        listeners.remove(listener);
+        asyncListeners.remove(listener);
+    }
+
+    // ==================== Publish (simulation) ====================
+
+    public void hit(String source, String target, double x, double y, int points) {
+        publish(GameEventType.BULLET_HIT, source, target, x, y, points, 0, false);
+    }
+
+    public void kill(String target, double x, double y, int points, int totalScore, boolean boss) {
+        publish(GameEventType.KILL, null, target, x, y, points, totalScore, boss);
+    }
+
+    public void spawn(String name, double x, double y, boolean boss) {
+        publish(GameEventType.SPAWN, null, name, x, y, 0, 0, boss);
+    }
+
+    public void playerHit(double x, double y, int livesRemaining) {
+        publish(GameEventType.PLAYER_HIT, null, "Player", x, y, livesRemaining, 0, false);
+    }
+
+    public void stageStart(int stage) {
+        publish(GameEventType.STAGE_START, null, null, 0, 0, stage, 0, false);
+    }
+
+    public void stageComplete(int stage, int totalScore) {
+        publish(GameEventType.STAGE_COMPLETE, null, null, 0, 0, stage, totalScore, false);
+    }
+
+    public void gameComplete(int finalScore) {
+        publish(GameEventType.GAME_COMPLETE, null, null, 0, 0, 0, finalScore, false);
+    }
+
+    public void gameOver(int finalScore) {
+        publish(GameEventType.GAME_OVER, null, null, 0, 0, 0, finalScore, false);
+    }
+
+    private void publish(GameEventType type, String source, String target, double x, double y,
+                         int value, int total, boolean flag) {
+        if (dispatching) {
+            throw new IllegalStateException("Cannot publish " + type + " while dispatching");
+        }
+        batch.add(type, source, target, x, y, value, total, flag);
+    }
+
+    // ==================== Dispatch ====================
+
+    /**
+     * ส่ง event ทั้งหมดของ tick นี้ให้ subscriber แล้วเริ่ม tick ใหม่ - เรียกครั้งเดียวต่อ tick
+     */
+    public void dispatch() {
+        deliver();
+        tick++;
+        batch.clear(tick);
+    }
+
+    /**
+     * ทิ้ง event ที่ยังไม่ได้ส่ง (ใช้ตอน restore checkpoint - event ของรอบที่ถูกทิ้งไม่ต้องส่งต่อ)
+     */
+    public void discard() {
+        batch.clear(tick);
+    }
+
+    private void deliver() {
+        if (batch.size() == 0) return;
+
+        dispatching = true;
+        try {
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).onEvents(batch);
+            }
+        } finally {
+            dispatching = false;
+        }
+
+        if (!asyncListeners.isEmpty()) {
+            GameEventBatch copy = freeBatches.poll();
+            if (copy == null) {
+                long dropped = droppedAsyncBatches.incrementAndGet();
+                // ⭐ เตือนครั้งแรกแล้วทุก 100 ครั้ง (ไม่ให้ log ท่วมตอน worker ค้าง)
+                if (dropped == 1 || dropped % 100 == 0) {
+                    logger.warn("Async event subscribers are behind: {} batch(es) dropped (tick {})", dropped, tick);
+                }
+            } else {
+                copy.copyFrom(batch);
+                readyBatches.offer(copy);
+            }
+        }
+    }
+
+    private void runWorker() {
+        try {
+            while (true) {
+                GameEventBatch ready = readyBatches.take();
+                for (GameEventListener listener : asyncListeners) {
+                    try {
+                        listener.onEvents(ready);
+                    } catch (RuntimeException e) {
+                        GameLogger.getInstance().logError("EventBus", "Async subscriber failed", e);
+                    }
+                }
+                ready.clear(0);
+                freeBatches.offer(ready);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * รอจน async subscriber ประมวลผล batch ที่ส่งไปแล้วครบ (GameStage.shutdown ตอนปิดเกม และในเทสต์)
+     */
+    public boolean awaitAsync(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (freeBatches.size() < ASYNC_BUFFERS) {
+            if (System.currentTimeMillis() > deadline) return false;
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    public long getTick() { return tick; }
+    public int getPendingCount() { return batch.size(); }
+    public long getDroppedAsyncBatches() { return droppedAsyncBatches.get(); }
+}
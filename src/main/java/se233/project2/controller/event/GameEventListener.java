@@ -0,0 +1,9 @@
+package se233.project2.controller.event;
+
+/**
+ * GameEventListener - subscriber ของ GameEventBus
+ * ได้รับ event ทั้ง tick เป็น batch เดียว - batch ใช้ได้แค่ระหว่างการเรียกนี้ (ห้ามเก็บ reference ไว้)
+ */
+public interface GameEventListener {
+    void onEvents(GameEventBatch batch);
+}
@@ -0,0 +1,22 @@
+package se233.project2.controller.event;
+
+/**
+ * GameEventType - ชนิดของ event ที่ simulation ส่งเข้า GameEventBus
+ * ความหมายของ field ใน GameEventBatch ขึ้นกับชนิด:
+ * - BULLET_HIT: source = ผู้ยิง, target = เป้า, x/y = จุดกระทบ, value = คะแนนจากการโดน
+ * - KILL: target = เป้า, x/y = จุดกระทบ, value = คะแนน, total = คะแนนรวมหลังบวก, flag = เป็นบอส
+ * - SPAWN: target = ชื่อที่เกิด, x/y = ตำแหน่ง, flag = เป็นบอส
+ * - PLAYER_HIT: x/y = จุดกระทบ, value = ชีวิตที่เหลือ
+ * - STAGE_START / STAGE_COMPLETE: value = stage, total = คะแนนรวม
+ * - GAME_COMPLETE / GAME_OVER: total = คะแนนสุดท้าย
+ */
+public enum GameEventType {
+    BULLET_HIT,
+    KILL,
+    SPAWN,
+    PLAYER_HIT,
+    STAGE_START,
+    STAGE_COMPLETE,
+    GAME_COMPLETE,
+    GAME_OVER
+}
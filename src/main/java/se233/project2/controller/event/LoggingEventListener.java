@@ -0,0 +1,51 @@
+package se233.project2.controller.event;
+
+import se233.project2.controller.GameLogger;
+
+/**
+ * LoggingEventListener - เขียน event ของ gameplay ลง GameLogger
+ * ลงทะเบียนแบบ async เพื่อให้การ format/เขียน log ไม่อยู่บน thread ของ simulation
+ */
+public class LoggingEventListener implements GameEventListener {
+    private final GameLogger logger = GameLogger.getInstance();
+
+    @Override
+    public void onEvents(GameEventBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            switch (batch.getType(i)) {
+                case BULLET_HIT:
+                    logger.logBulletHit(batch.getSource(i), batch.getTarget(i), batch.getX(i), batch.getY(i));
+                    break;
+                case KILL:
+                    if (batch.getFlag(i)) {
+                        logger.logBossDefeated(batch.getTarget(i), batch.getValue(i), batch.getTotal(i));
+                    } else {
+                        logger.logEnemyDefeated(batch.getTarget(i), batch.getValue(i), batch.getTotal(i));
+                    }
+                    break;
+                case SPAWN:
+                    if (batch.getFlag(i)) {
+                        logger.logBossSpawn(batch.getTarget(i), batch.getX(i), batch.getY(i));
+                    } else {
+                        logger.logEnemySpawn(batch.getTarget(i), batch.getX(i), batch.getY(i));
+                    }
+                    break;
+                case PLAYER_HIT:
+                    logger.logPlayerHit(batch.getValue(i));
+                    break;
+                case STAGE_START:
+                    logger.logStageStart(batch.getValue(i));
+                    break;
+                case STAGE_COMPLETE:
+                    logger.logStageComplete(batch.getValue(i), batch.getTotal(i));
+                    break;
+                case GAME_COMPLETE:
+                    logger.logGameComplete(batch.getTotal(i));
+                    break;
+                case GAME_OVER:
+                    logger.logGameOver(batch.getTotal(i));
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package se233.project2.controller.jfr;
+
+import javafx.scene.image.Image;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.io.InputStream;
+
+/**
+ * JFR event ตอน decode รูปจาก resource
+ */
+@Name("se233.project2.AssetDecode")
+@Label("Asset Decode")
+@Category({"SE233 Game", "Loading"})
+@Description("Image decoded from a bundled resource")
+public class AssetDecodeEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Width")
+    public int width;
+
+    @Label("Height")
+    public int height;
+
+    @Label("Source Width")
+    public int sourceWidth;
+
+    @Label("Source Height")
+    public int sourceHeight;
+
+    @Label("Decoded Size")
+    @DataAmount
+    public long decodedBytes;
+
+    /**
+     * decode รูปจาก stream พร้อมบันทึก event (ขนาด decoded = width * height * 4 byte)
+     */
+    public static Image decode(String path, InputStream stream) {
+        AssetDecodeEvent event = new AssetDecodeEvent();
+        event.begin();
+        Image image = new Image(stream);
+        commit(event, path, image, (int) image.getWidth(), (int) image.getHeight());
+        return image;
+    }
+
+    /**
+     * decode แบบย่อให้พอดีกรอบ width x height ตอน decode (รักษาสัดส่วน, nearest-neighbour)
+     * sourceWidth / sourceHeight = ขนาดจริงของไฟล์ (ใช้ใน event เท่านั้น)
+     */
+    public static Image decode(String path, InputStream stream, int width, int height,
+                               int sourceWidth, int sourceHeight) {
+        AssetDecodeEvent event = new AssetDecodeEvent();
+        event.begin();
+        Image image = new Image(stream, width, height, true, false);
+        commit(event, path, image, sourceWidth, sourceHeight);
+        return image;
+    }
+
+    private static void commit(AssetDecodeEvent event, String path, Image image, int sourceWidth, int sourceHeight) {
+        if (!event.shouldCommit()) return;
+        event.path = path;
+        event.width = (int) image.getWidth();
+        event.height = (int) image.getHeight();
+        event.sourceWidth = sourceWidth;
+        event.sourceHeight = sourceHeight;
+        event.decodedBytes = (long) event.width * event.height * 4;
+        event.commit();
+    }
+}
@@ -0,0 +1,29 @@
+package se233.project2.controller.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event ของ collision pass ต่อ tick (กระสุนผู้เล่น vs ศัตรู และกระสุนศัตรู vs ผู้เล่น)
+ */
+@Name("se233.project2.CollisionPass")
+@Label("Collision Pass")
+@Category({"SE233 Game", "Simulation"})
+@Description("Bullet collision checks for one tick")
+public class CollisionPassEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(CollisionPassEvent.class);
+
+    @Label("Pairs Tested")
+    public int pairsTested;
+
+    @Label("Hits")
+    public int hits;
+
+    public static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+}
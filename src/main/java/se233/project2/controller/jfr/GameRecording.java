@@ -0,0 +1,70 @@
+package se233.project2.controller.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * GameRecording - เปิด JFR recording ด้วย settings profile ที่ bundle มากับเกม
+ *
+ * Usage: java -Dgame.jfr=game.jfr -jar project2.jar
+ * (หรือ extract se233/project2/jfr/game.jfc แล้วใช้ -XX:StartFlightRecording:settings=game.jfc)
+ */
+public class GameRecording {
+    private static final Logger logger = LoggerFactory.getLogger(GameRecording.class);
+    private static final String PROFILE = "/se233/project2/jfr/game.jfc";
+
+    private static Recording recording;
+
+    private GameRecording() {}
+
+    /**
+     * เริ่ม recording ถ้ามี system property game.jfr (path ของไฟล์ .jfr ที่จะเขียน)
+     */
+    public static void startIfRequested() {
+        String destination = System.getProperty("game.jfr");
+        if (destination == null || destination.isBlank() || recording != null) return;
+
+        try (InputStream stream = GameRecording.class.getResourceAsStream(PROFILE)) {
+            if (stream == null) {
+                logger.error("JFR profile not found: {}", PROFILE);
+                return;
+            }
+            Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8);
+            Configuration configuration = Configuration.create(reader);
+
+            recording = new Recording(configuration);
+            recording.setName("SE233 Game");
+            recording.setToDisk(true);
+            recording.setDestination(Path.of(destination));
+            recording.start();
+            logger.info("JFR recording started -> {}", destination);
+        } catch (Exception e) {
+            logger.error("Could not start JFR recording: {}", e.getMessage(), e);
+            recording = null;
+        }
+    }
+
+    /**
+     * หยุด recording และเขียนไฟล์ (เรียกตอนปิดเกม)
+     */
+    public static void stop() {
+        if (recording == null) return;
+        try {
+            recording.stop();
+            logger.info("JFR recording written to {}", recording.getDestination());
+        } catch (Exception e) {
+            logger.error("Could not stop JFR recording: {}", e.getMessage(), e);
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package se233.project2.controller.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event ครอบ GameStage.update หนึ่ง tick
+ */
+@Name("se233.project2.SimulationTick")
+@Label("Simulation Tick")
+@Category({"SE233 Game", "Simulation"})
+@Description("One GameStage.update call")
+public class SimulationTickEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(SimulationTickEvent.class);
+
+    @Label("Stage")
+    public int stage;
+
+    @Label("Scene Nodes")
+    @Description("Children of the game pane at the end of the tick")
+    public int nodeCount;
+
+    /**
+     * เช็คก่อนสร้าง event เพื่อไม่ให้ allocate ทุก tick ตอนไม่ได้ record
+     */
+    public static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,49 @@
+package se233.project2.controller.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event ตอนสร้าง entity หลายตัวพร้อมกัน (bullet pattern, wave ของศัตรู)
+ */
+@Name("se233.project2.SpawnBurst")
+@Label("Spawn Burst")
+@Category({"SE233 Game", "Spawning"})
+@Description("A group of entities created in one call")
+public class SpawnBurstEvent extends Event {
+    private static final EventType TYPE = EventType.getEventType(SpawnBurstEvent.class);
+
+    @Label("Source")
+    public String source;
+
+    @Label("Count")
+    public int count;
+
+    public static boolean enabled() {
+        return TYPE.isEnabled();
+    }
+
+    /**
+     * เริ่มจับเวลา burst - คืน null ถ้าไม่ได้ record อยู่
+     */
+    public static SpawnBurstEvent start(String source) {
+        if (!TYPE.isEnabled()) return null;
+        SpawnBurstEvent event = new SpawnBurstEvent();
+        event.source = source;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * ปิด burst ที่ได้จาก start() (รับ null ได้)
+     */
+    public static void finish(SpawnBurstEvent event, int count) {
+        if (event == null) return;
+        event.count = count;
+        event.commit();
+    }
+}
@@ -0,0 +1,22 @@
+package se233.project2.controller.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event ครอบ GameStage.loadStage และการ restore จาก checkpoint
+ */
+@Name("se233.project2.StageLoad")
+@Label("Stage Load")
+@Category({"SE233 Game", "Loading"})
+@Description("Scene rebuild or checkpoint restore for a stage")
+public class StageLoadEvent extends Event {
+    @Label("Stage")
+    public int stage;
+
+    @Label("Restored From Checkpoint")
+    public boolean restored;
+}
@@ -0,0 +1,56 @@
+package se233.project2.controller.net;
+
+import javafx.scene.input.KeyCode;
+import se233.project2.model.Keys;
+
+/**
+ * InputBits - input ของผู้เล่นหนึ่งคนใน tick หนึ่ง เก็บเป็น bitmask 8 bit (ส่งผ่าน network ได้ 1 byte)
+ * apply() กลับด้านเป็นสถานะของ Keys ทำให้ GameCharacter.update ใช้ input ของ peer ได้ตรง ๆ
+ */
+public final class InputBits {
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int JUMP = 1 << 2;
+    public static final int PRONE = 1 << 3;
+    public static final int SHOOT = 1 << 4;
+    public static final int SHOOT_UP = 1 << 5;
+    public static final int SHOOT_DOWN = 1 << 6;
+    public static final int SPECIAL = 1 << 7;
+
+    // ⭐ index = bit
+    private static final KeyCode[] CODES = {
+            KeyCode.A, KeyCode.D, KeyCode.W, KeyCode.S,
+            KeyCode.SPACE, KeyCode.UP, KeyCode.DOWN, KeyCode.F
+    };
+
+    private InputBits() {}
+
+    /**
+     * อ่านปุ่มที่กดอยู่ใน tick นี้ (หลัง keys.beginTick())
+     */
+    public static int fromKeys(Keys keys) {
+        int bits = 0;
+        for (int i = 0; i < CODES.length; i++) {
+            if (keys.isPressed(CODES[i])) bits |= 1 << i;
+        }
+        return bits;
+    }
+
+    /**
+     * ตั้งสถานะ keys ให้ตรงกับ bits แล้วเริ่ม tick - หลังเรียก isPressed ตรงกับ bits ทุกปุ่ม
+     * (ใช้ timestamp = tick เพื่อให้ re-simulation ได้ผลเดิม)
+     */
+    public static void apply(int bits, Keys keys, long tick) {
+        write(bits, keys, tick);
+        keys.beginTick();
+    }
+
+    /**
+     * กด/ปล่อยปุ่มให้ตรงกับ bits โดยไม่เริ่ม tick (ให้เจ้าของ keys เรียก beginTick เอง เช่น bot ใน GameStage)
+     */
+    public static void write(int bits, Keys keys, long timestampNanos) {
+        for (int i = 0; i < CODES.length; i++) {
+            keys.update(CODES[i], (bits & (1 << i)) != 0, timestampNanos);
+        }
+    }
+}
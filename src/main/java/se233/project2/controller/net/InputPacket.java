@@ -0,0 +1,60 @@
+package se233.project2.controller.net;
+
+import java.nio.ByteBuffer;
+
+/**
+ * InputPacket - รูปแบบ datagram ของ input
+ * [magic:2][player:1][ack:4][startTick:4][count:1][input:1 × count]
+ * ส่ง input ที่ peer ยังไม่ ack ซ้ำทุก packet (สูงสุด MAX_INPUTS) - packet หายก็ไม่ต้องส่งใหม่แยก
+ */
+public final class InputPacket {
+    public static final short MAGIC = 0x5250;  // "RP"
+    public static final int HEADER_SIZE = 12;
+    public static final int MAX_INPUTS = 32;
+    public static final int MAX_SIZE = HEADER_SIZE + MAX_INPUTS;
+
+    /**
+     * รับ input แต่ละ tick ตอน decode
+     */
+    public interface InputSink {
+        void onInput(int tick, int input);
+    }
+
+    private InputPacket() {}
+
+    /**
+     * เขียน packet ของ input tick [startTick, startTick + count) ลง out (ไม่ flip)
+     */
+    public static void encode(ByteBuffer out, int player, int ack, int startTick, int count,
+                              RollbackSession source) {
+        if (count < 0 || count > MAX_INPUTS) {
+            throw new IllegalArgumentException("count must be 0.." + MAX_INPUTS + ": " + count);
+        }
+        out.putShort(MAGIC);
+        out.put((byte) player);
+        out.putInt(ack);
+        out.putInt(startTick);
+        out.put((byte) count);
+        for (int i = 0; i < count; i++) {
+            out.put((byte) source.getLocalInput(startTick + i));
+        }
+    }
+
+    /**
+     * อ่าน packet แล้วส่ง input ให้ sink - คืน ack ของผู้ส่ง หรือ Integer.MIN_VALUE ถ้า packet ไม่ถูกต้อง
+     */
+    public static int decode(ByteBuffer in, int expectedPlayer, InputSink sink) {
+        if (in.remaining() < HEADER_SIZE || in.getShort() != MAGIC) return Integer.MIN_VALUE;
+        int player = in.get();
+        int ack = in.getInt();
+        int startTick = in.getInt();
+        int count = in.get() & 0xFF;
+        if (player != expectedPlayer || count > MAX_INPUTS || in.remaining() < count) {
+            return Integer.MIN_VALUE;
+        }
+        for (int i = 0; i < count; i++) {
+            sink.onInput(startTick + i, in.get() & 0xFF);
+        }
+        return ack;
+    }
+}
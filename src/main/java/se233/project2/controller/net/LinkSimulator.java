@@ -0,0 +1,98 @@
+package se233.project2.controller.net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * LinkSimulator - จำลอง latency, jitter และ packet loss ฝั่งส่ง (ใช้ทดสอบบน 127.0.0.1)
+ * packet ถูก copy เก็บไว้แล้วส่งจริงตอน flush() เมื่อถึงเวลา - jitter ทำให้ลำดับสลับได้เหมือน network จริง
+ * ใช้ seed เดียวกันได้ผลเหมือนเดิมทุกครั้ง
+ */
+public class LinkSimulator {
+
+    /**
+     * ปลายทางของ packet ที่ถึงเวลาส่ง
+     */
+    public interface PacketSink {
+        void send(ByteBuffer packet) throws IOException;
+    }
+
+    private static final class Pending implements Comparable<Pending> {
+        final byte[] data = new byte[InputPacket.MAX_SIZE];
+        int length;
+        long dueMillis;
+        long sequence;
+
+        @Override
+        public int compareTo(Pending other) {
+            int byDue = Long.compare(dueMillis, other.dueMillis);
+            return byDue != 0 ? byDue : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final int latencyMillis;
+    private final int jitterMillis;
+    private final double lossRate;
+    private final Random random;
+
+    private final PriorityQueue<Pending> queue = new PriorityQueue<>();
+    private final ArrayDeque<Pending> free = new ArrayDeque<>();
+    private final ByteBuffer view = ByteBuffer.allocate(InputPacket.MAX_SIZE);
+    private long sequence = 0;
+    private long sent = 0;
+    private long dropped = 0;
+
+    public LinkSimulator(int latencyMillis, int jitterMillis, double lossRate, long seed) {
+        if (latencyMillis < 0 || jitterMillis < 0) {
+            throw new IllegalArgumentException("latency and jitter must be >= 0");
+        }
+        if (lossRate < 0 || lossRate >= 1) {
+            throw new IllegalArgumentException("lossRate must be in [0, 1): " + lossRate);
+        }
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.lossRate = lossRate;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * รับ packet (position..limit) เข้าคิว หรือทิ้งตาม lossRate
+     */
+    public void offer(ByteBuffer packet, long nowMillis) {
+        if (lossRate > 0 && random.nextDouble() < lossRate) {
+            dropped++;
+            return;
+        }
+        int length = packet.remaining();
+        if (length > InputPacket.MAX_SIZE) {
+            throw new IllegalArgumentException("Packet too large: " + length);
+        }
+        Pending pending = free.isEmpty() ? new Pending() : free.poll();
+        packet.get(pending.data, 0, length);
+        pending.length = length;
+        pending.dueMillis = nowMillis + latencyMillis + (jitterMillis > 0 ? random.nextInt(jitterMillis + 1) : 0);
+        pending.sequence = sequence++;
+        queue.add(pending);
+    }
+
+    /**
+     * ส่ง packet ที่ถึงเวลาแล้วทั้งหมด
+     */
+    public void flush(long nowMillis, PacketSink sink) throws IOException {
+        while (!queue.isEmpty() && queue.peek().dueMillis <= nowMillis) {
+            Pending pending = queue.poll();
+            view.clear();
+            view.put(pending.data, 0, pending.length).flip();
+            sink.send(view);
+            sent++;
+            free.add(pending);
+        }
+    }
+
+    public int getQueued() { return queue.size(); }
+    public long getSent() { return sent; }
+    public long getDropped() { return dropped; }
+}
@@ -0,0 +1,189 @@
+package se233.project2.controller.net;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * NetplayDriver - เล่น GameStage สองเครื่องผ่าน UDP (co-op) ด้วย RollbackSession + UdpPeer
+ * - ทุก frame: รับ input ของ peer → rollback ถ้าเดาผิด → เดิน tick ด้วย input ของเครื่องนี้ → ส่ง input
+ * - ทั้งสองเครื่องต้องใช้ seed เดียวกัน (GameStage seed random จาก getSeed())
+ * - เครื่องที่เริ่มก่อนเดินล่วงหน้าได้ไม่เกิน maxRollback tick แล้วรอ (stall) จนอีกเครื่องเริ่ม
+ * - latency / loss > 0 = ส่งผ่าน LinkSimulator (ทดสอบบน 127.0.0.1)
+ *
+ * เปิดด้วย --netplay=localPort:remoteHost:remotePort:player[:seed[:latencyMs[:loss]]]
+ * หรือ -Dgame.netplay=... เช่น
+ *   เครื่อง A: --netplay=7000:127.0.0.1:7001:0
+ *   เครื่อง B: --netplay=7001:127.0.0.1:7000:1
+ */
+public class NetplayDriver implements Closeable {
+    public static final String PROPERTY = "game.netplay";
+    public static final long DISCONNECT_MILLIS = 5000;  // ไม่มี packet นานเท่านี้ (หลังเคยได้รับ) = peer หลุด
+
+    private static final Logger logger = LoggerFactory.getLogger(NetplayDriver.class);
+    private static NetplayDriver instance;
+
+    private final int localPort;
+    private final String remoteHost;
+    private final int remotePort;
+    private final int localPlayer;
+    private final long seed;
+    private final int latencyMillis;
+    private final double loss;
+
+    private RollbackSession session;
+    private UdpPeer peer;
+    private long lastReceived = 0;
+    private long lastReceiveMillis = 0;
+
+    public NetplayDriver(int localPort, String remoteHost, int remotePort, int localPlayer,
+                         long seed, int latencyMillis, double loss) {
+        if (localPlayer < 0 || localPlayer >= RollbackSession.PLAYERS) {
+            throw new IllegalArgumentException("player must be 0 or 1: " + localPlayer);
+        }
+        this.localPort = localPort;
+        this.remoteHost = remoteHost;
+        this.remotePort = remotePort;
+        this.localPlayer = localPlayer;
+        this.seed = seed;
+        this.latencyMillis = latencyMillis;
+        this.loss = loss;
+    }
+
+    /**
+     * เปิด netplay ถ้ามี --netplay=<spec> หรือ -Dgame.netplay=<spec> (socket เปิดตอน attach)
+     *
+     * @param argument ค่าจาก command line (null ถ้าไม่ได้ระบุ)
+     */
+    public static NetplayDriver startIfRequested(String argument) {
+        if (instance != null) return instance;
+        String spec = (argument != null && !argument.isBlank()) ? argument : System.getProperty(PROPERTY);
+        if (spec == null || spec.isBlank()) return null;
+
+        try {
+            instance = fromSpec(spec);
+            logger.info("Netplay enabled: player={} port={} remote={}:{} seed={} latencyMs={} loss={}",
+                    instance.localPlayer, instance.localPort, instance.remoteHost, instance.remotePort,
+                    instance.seed, instance.latencyMillis, instance.loss);
+        } catch (IllegalArgumentException e) {
+            logger.error("Could not start netplay: {}", e.getMessage());
+            instance = null;
+        }
+        return instance;
+    }
+
+    /**
+     * "localPort:remoteHost:remotePort:player[:seed[:latencyMs[:loss]]]" (seed default = 1)
+     */
+    public static NetplayDriver fromSpec(String spec) {
+        String[] parts = spec.trim().split(":");
+        if (parts.length < 4 || parts.length > 7) {
+            throw new IllegalArgumentException(
+                    "Expected localPort:remoteHost:remotePort:player[:seed[:latencyMs[:loss]]] but got " + spec);
+        }
+        return new NetplayDriver(
+                Integer.parseInt(parts[0].trim()),
+                parts[1].trim(),
+                Integer.parseInt(parts[2].trim()),
+                Integer.parseInt(parts[3].trim()),
+                parts.length > 4 ? Long.parseLong(parts[4].trim()) : 1,
+                parts.length > 5 ? Integer.parseInt(parts[5].trim()) : 0,
+                parts.length > 6 ? Double.parseDouble(parts[6].trim()) : 0);
+    }
+
+    /**
+     * netplay ที่เปิดจาก command line หรือ null ถ้าไม่ได้เปิด
+     */
+    public static NetplayDriver getInstance() {
+        return instance;
+    }
+
+    /**
+     * ปิด socket ของ netplay ที่เปิดจาก command line (เรียกตอนจบ match / ปิดเกม)
+     */
+    public static void stop() {
+        if (instance == null) return;
+        instance.close();
+        instance = null;
+    }
+
+    /**
+     * สร้าง RollbackSession ของ simulation แล้วเปิด socket (เรียกหลัง simulation อยู่ใน state เริ่มต้นแล้ว)
+     */
+    public void attach(RollbackSimulation simulation, int stateCapacity) throws IOException {
+        session = new RollbackSession(simulation, localPlayer, RollbackSession.DEFAULT_MAX_ROLLBACK, stateCapacity);
+        LinkSimulator link = (latencyMillis > 0 || loss > 0)
+                ? new LinkSimulator(latencyMillis, latencyMillis / 5, loss, seed + localPlayer)
+                : null;
+        peer = UdpPeer.open(new InetSocketAddress(localPort), new InetSocketAddress(remoteHost, remotePort),
+                session, link);
+    }
+
+    /**
+     * หนึ่ง frame ของเกม - คืน false ถ้า tick นี้ต้องรอ input ของ peer (simulation ไม่เดิน)
+     */
+    public boolean tick(int localInput, long nowMillis) throws IOException {
+        receive(nowMillis);
+        boolean advanced = session.advance(localInput);
+        if (!advanced) {
+            session.reconcile();
+        }
+        peer.sendInputs(nowMillis);
+        return advanced;
+    }
+
+    /**
+     * รับ/ส่งโดยไม่เดิน simulation (หลังจบ match ให้ peer ยังได้ ack ของ input สุดท้าย)
+     */
+    public void service(long nowMillis) throws IOException {
+        receive(nowMillis);
+        session.reconcile();
+        peer.sendInputs(nowMillis);
+    }
+
+    private void receive(long nowMillis) throws IOException {
+        peer.poll(nowMillis);
+        if (peer.getPacketsReceived() != lastReceived) {
+            lastReceived = peer.getPacketsReceived();
+            lastReceiveMillis = nowMillis;
+        }
+    }
+
+    /**
+     * tick นี้ถูกยืนยันทั้งสองฝั่งแล้ว - ผลของ tick (เช่นจบเกม) จะไม่ถูก rollback อีก
+     * และ peer ได้ input ของเครื่องนี้ครบถึง tick นี้แล้ว
+     */
+    public boolean isConfirmed(int tick) {
+        return session.getConfirmedTick() >= tick && peer.getRemoteAck() >= tick && !session.hasPendingRollback();
+    }
+
+    /**
+     * peer เคยส่งมาแล้วเงียบไปนานเกิน DISCONNECT_MILLIS
+     */
+    public boolean isDisconnected(long nowMillis) {
+        return lastReceived > 0 && nowMillis - lastReceiveMillis > DISCONNECT_MILLIS;
+    }
+
+    public long getSeed() { return seed; }
+    public int getLocalPlayer() { return localPlayer; }
+    public RollbackSession getSession() { return session; }
+
+    @Override
+    public void close() {
+        if (peer == null) return;
+        try {
+            peer.close();
+        } catch (IOException e) {
+            logger.warn("Could not close netplay socket: {}", e.getMessage());
+        }
+        if (session != null) {
+            logger.info("Netplay closed: ticks={} rollbacks={} resimTicks={} maxDepth={} stalls={}",
+                    session.getCurrentTick(), session.getRollbackCount(), session.getResimulatedTicks(),
+                    session.getMaxRollbackDepth(), session.getStallCount());
+        }
+        peer = null;
+    }
+}
@@ -0,0 +1,154 @@
+package se233.project2.controller.net;
+
+import se233.project2.model.GameCharacter;
+import se233.project2.model.Keys;
+import se233.project2.model.Platform;
+import se233.project2.view.GameStage;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NetplaySimulation - simulation ของผู้เล่น 2 คนบน platform ของ stage ที่ rollback ได้
+ * - ผู้เล่นใช้ GameCharacter เดิม (physics เดียวกับเกม) ขับด้วย InputBits แทนคีย์บอร์ด
+ * - กระสุนเก็บเป็น array ของตัวเลข (ไม่มี node) ให้ snapshot เล็กและ restore เร็ว
+ * - VERSUS: กระสุนโดนอีกฝ่ายได้ 1 แต้ม / COOP: ไม่มี friendly fire
+ * ไม่ใช้เวลา (nanoTime) หรือ random ใน advance - ผลขึ้นกับ state + input เท่านั้น
+ */
+public class NetplaySimulation implements RollbackSimulation {
+
+    public enum Mode { VERSUS, COOP }
+
+    public static final int MAX_BULLETS = 64;
+    public static final int SHOOT_COOLDOWN_TICKS = 12;  // เท่ากับ SHOOT_DELAY 200ms ที่ 60 tick/s
+    private static final int BULLET_SPEED = 10;
+    private static final int BULLET_SIZE = 8;
+
+    private final Mode mode;
+    private final List<Platform> platforms = new ArrayList<>();
+    private final GameCharacter[] players = new GameCharacter[RollbackSession.PLAYERS];
+    private final Keys[] keys = new Keys[RollbackSession.PLAYERS];
+
+    private int tick = 0;
+    private final int[] cooldowns = new int[RollbackSession.PLAYERS];
+    private final int[] scores = new int[RollbackSession.PLAYERS];
+
+    // ⭐ กระสุนแบบ struct-of-arrays (ตำแหน่งเป็น int เพื่อให้ทุกเครื่องได้ผลเท่ากัน)
+    private int bulletCount = 0;
+    private final int[] bulletX = new int[MAX_BULLETS];
+    private final int[] bulletY = new int[MAX_BULLETS];
+    private final int[] bulletVX = new int[MAX_BULLETS];
+    private final int[] bulletOwner = new int[MAX_BULLETS];
+
+    public NetplaySimulation(int stage, Mode mode) {
+        this.mode = mode;
+        GameStage.createPlatforms(stage, platforms);
+        players[0] = new GameCharacter(100, 100);
+        players[1] = new GameCharacter(GameStage.WIDTH - 200, 100);
+        for (int p = 0; p < keys.length; p++) {
+            keys[p] = new Keys();
+        }
+    }
+
+    @Override
+    public void advance(int[] inputs) {
+        for (int p = 0; p < players.length; p++) {
+            InputBits.apply(inputs[p], keys[p], tick);
+            players[p].update(keys[p], platforms);
+
+            if (cooldowns[p] > 0) cooldowns[p]--;
+            if ((inputs[p] & InputBits.SHOOT) != 0 && cooldowns[p] == 0 && !players[p].isDead()) {
+                fire(p);
+                cooldowns[p] = SHOOT_COOLDOWN_TICKS;
+            }
+        }
+        updateBullets();
+        tick++;
+    }
+
+    private void fire(int owner) {
+        if (bulletCount == MAX_BULLETS) return;
+        GameCharacter player = players[owner];
+        boolean right = player.isFacingRight();
+        int i = bulletCount++;
+        bulletX[i] = (int) player.getCenterX() + (right ? 30 : -30);
+        bulletY[i] = (int) player.getCenterY();
+        bulletVX[i] = right ? BULLET_SPEED : -BULLET_SPEED;
+        bulletOwner[i] = owner;
+    }
+
+    private void updateBullets() {
+        int live = 0;
+        for (int i = 0; i < bulletCount; i++) {
+            int x = bulletX[i] + bulletVX[i];
+            int y = bulletY[i];
+            int owner = bulletOwner[i];
+            if (x < -BULLET_SIZE || x > GameStage.WIDTH) continue;
+
+            if (mode == Mode.VERSUS && hits(players[1 - owner], x, y)) {
+                scores[owner]++;
+                continue;
+            }
+
+            bulletX[live] = x;
+            bulletY[live] = y;
+            bulletVX[live] = bulletVX[i];
+            bulletOwner[live] = owner;
+            live++;
+        }
+        bulletCount = live;
+    }
+
+    private static boolean hits(GameCharacter target, int x, int y) {
+        if (!target.isCollidable()) return false;
+        return x + BULLET_SIZE > target.getHitX() && x < target.getHitX() + target.getHitWidth()
+                && y + BULLET_SIZE > target.getHitY() && y < target.getHitY() + target.getHitHeight();
+    }
+
+    /**
+     * ⭐ State: tick, ผู้เล่นทั้งสอง, cooldown, คะแนน แล้วตามด้วยกระสุน
+     */
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putInt(tick);
+        for (int p = 0; p < players.length; p++) {
+            players[p].saveState(out);
+            out.putInt(cooldowns[p]);
+            out.putInt(scores[p]);
+        }
+        out.putInt(bulletCount);
+        for (int i = 0; i < bulletCount; i++) {
+            out.putInt(bulletX[i]);
+            out.putInt(bulletY[i]);
+            out.putInt(bulletVX[i]);
+            out.put((byte) bulletOwner[i]);
+        }
+    }
+
+    @Override
+    public void loadState(ByteBuffer in) {
+        tick = in.getInt();
+        for (int p = 0; p < players.length; p++) {
+            players[p].loadState(in);
+            cooldowns[p] = in.getInt();
+            scores[p] = in.getInt();
+        }
+        bulletCount = in.getInt();
+        if (bulletCount < 0 || bulletCount > MAX_BULLETS) {
+            throw new IllegalStateException("Invalid bullet count " + bulletCount);
+        }
+        for (int i = 0; i < bulletCount; i++) {
+            bulletX[i] = in.getInt();
+            bulletY[i] = in.getInt();
+            bulletVX[i] = in.getInt();
+            bulletOwner[i] = in.get();
+        }
+    }
+
+    public int getTick() { return tick; }
+    public int getScore(int player) { return scores[player]; }
+    public int getBulletCount() { return bulletCount; }
+    public GameCharacter getPlayer(int player) { return players[player]; }
+    public Mode getMode() { return mode; }
+}
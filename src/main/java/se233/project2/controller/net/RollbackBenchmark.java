@@ -0,0 +1,257 @@
+package se233.project2.controller.net;
+
+import se233.project2.controller.replay.ReplayFormat;
+import se233.project2.controller.replay.ReplayPlayer;
+import se233.project2.controller.replay.ReplayReader;
+import se233.project2.controller.replay.ReplayWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * RollbackBenchmark - ทดสอบ rollback netcode บน 127.0.0.1 และวัดเวลา re-simulation
+ * 1) loopback: สอง session คุยกันผ่าน UDP จริงโดยมี LinkSimulator (latency / jitter / loss)
+ *    เล่นด้วย bot input แล้วตรวจว่า state สุดท้ายของทั้งสองฝั่งตรงกันทุก byte
+ * 2) depth sweep: เวลา restore + re-simulate ต่อ rollback depth 1..maxRollback
+ *
+ * Usage: java -cp <jar> se233.project2.controller.net.RollbackBenchmark
+ *        [--latency=ms] [--jitter=ms] [--loss=0.05] [--ticks=1200] [--rollback=8] [--iterations=200] [--seed=1]
+ *        [--replay=file.rpl]   (บันทึก replay ของ peer 0 แล้ววัดเวลา seek)
+ * ผลเป็นบรรทัด "ROLLBACK ..." (อ่านง่ายทั้งคนและ script)
+ */
+public final class RollbackBenchmark {
+    private static final int TICK_MILLIS_NUM = 1000;
+    private static final int TICKS_PER_SECOND = 60;
+    private static final int BOT_HOLD_TICKS = 15;
+
+    private RollbackBenchmark() {}
+
+    public static void main(String[] args) throws IOException {
+        int latency = intArg(args, "latency", 50);
+        int jitter = intArg(args, "jitter", 10);
+        double loss = Double.parseDouble(stringArg(args, "loss", "0.05"));
+        int ticks = intArg(args, "ticks", 1200);
+        int maxRollback = intArg(args, "rollback", RollbackSession.DEFAULT_MAX_ROLLBACK);
+        int iterations = intArg(args, "iterations", 200);
+        long seed = intArg(args, "seed", 1);
+        String replay = stringArg(args, "replay", null);
+
+        Path replayFile = replay != null ? Path.of(replay) : null;
+        LoopbackResult result = runLoopback(ticks, maxRollback, latency, jitter, loss, seed, replayFile);
+        System.out.printf("ROLLBACK loopback ticks=%d latencyMs=%d jitterMs=%d loss=%.2f inSync=%b%n",
+                ticks, latency, jitter, loss, result.inSync);
+        for (int p = 0; p < result.sessions.length; p++) {
+            RollbackSession s = result.sessions[p];
+            System.out.printf("ROLLBACK peer=%d rollbacks=%d resimTicks=%d maxDepth=%d stalls=%d dropped=%d%n",
+                    p, s.getRollbackCount(), s.getResimulatedTicks(), s.getMaxRollbackDepth(),
+                    s.getStallCount(), result.dropped[p]);
+        }
+        if (replayFile != null) {
+            reportReplay(replayFile, result.simulations[0]);
+        }
+
+        System.out.println("ROLLBACK depth meanMicros maxMicros microsPerTick");
+        for (int depth = 1; depth <= maxRollback; depth++) {
+            long[] nanos = measureDepth(depth, maxRollback, iterations);
+            long total = 0, max = 0;
+            for (long n : nanos) {
+                total += n;
+                if (n > max) max = n;
+            }
+            double mean = total / (double) nanos.length / 1000.0;
+            System.out.printf("ROLLBACK %d %.1f %.1f %.1f%n", depth, mean, max / 1000.0, mean / depth);
+        }
+    }
+
+    // ==================== Loopback ====================
+
+    /**
+     * ผลของการเล่นผ่าน loopback
+     */
+    public static final class LoopbackResult {
+        public final RollbackSession[] sessions;
+        public final NetplaySimulation[] simulations;
+        public final long[] dropped;
+        public final boolean inSync;
+
+        LoopbackResult(RollbackSession[] sessions, NetplaySimulation[] simulations, long[] dropped, boolean inSync) {
+            this.sessions = sessions;
+            this.simulations = simulations;
+            this.dropped = dropped;
+            this.inSync = inSync;
+        }
+    }
+
+    /**
+     * เล่น ticks tick ด้วย bot input บนสอง peer ใน process เดียว (socket จริงบน 127.0.0.1, เวลาแบบ virtual)
+     */
+    public static LoopbackResult runLoopback(int ticks, int maxRollback, int latencyMillis, int jitterMillis,
+                                             double loss, long seed) throws IOException {
+        return runLoopback(ticks, maxRollback, latencyMillis, jitterMillis, loss, seed, null);
+    }
+
+    /**
+     * เหมือนด้านบน และถ้า replayFile ไม่ใช่ null จะบันทึก tick ที่ยืนยันแล้วของ peer 0 ลงไฟล์นั้น
+     */
+    public static LoopbackResult runLoopback(int ticks, int maxRollback, int latencyMillis, int jitterMillis,
+                                             double loss, long seed, Path replayFile) throws IOException {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        NetplaySimulation[] sims = new NetplaySimulation[RollbackSession.PLAYERS];
+        RollbackSession[] sessions = new RollbackSession[RollbackSession.PLAYERS];
+        UdpPeer[] peers = new UdpPeer[RollbackSession.PLAYERS];
+        ReplayWriter recorder = null;
+        try {
+            for (int p = 0; p < peers.length; p++) {
+                sims[p] = new NetplaySimulation(1, NetplaySimulation.Mode.VERSUS);
+                sessions[p] = new RollbackSession(sims[p], p, maxRollback, RollbackSession.DEFAULT_STATE_CAPACITY);
+                LinkSimulator link = new LinkSimulator(latencyMillis, jitterMillis, loss, seed + p);
+                peers[p] = UdpPeer.open(new InetSocketAddress(loopback, 0), null, sessions[p], link);
+            }
+            if (replayFile != null) {
+                ReplayWriter writer = ReplayWriter.create(replayFile, RollbackSession.PLAYERS, seed, 1,
+                        ReplayFormat.DEFAULT_TICK_RATE * ReplayFormat.DEFAULT_KEYFRAME_SECONDS,
+                        RollbackSession.DEFAULT_STATE_CAPACITY);
+                recorder = writer;
+                sessions[0].setConfirmedListener((tick, inputs, state) -> {
+                    try {
+                        writer.record(tick, inputs, state);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            peers[0].setRemote(new InetSocketAddress(loopback, peers[1].getLocalPort()));
+            peers[1].setRemote(new InetSocketAddress(loopback, peers[0].getLocalPort()));
+
+            long frameLimit = (long) ticks * 50 + 10_000;
+            for (long frame = 0; frame < frameLimit; frame++) {
+                long now = frame * TICK_MILLIS_NUM / TICKS_PER_SECOND;
+                boolean done = true;
+                for (int p = 0; p < peers.length; p++) {
+                    RollbackSession session = sessions[p];
+                    peers[p].poll(now);
+                    if (session.getCurrentTick() < ticks) {
+                        session.advance(botInput(p, session.getCurrentTick(), seed));
+                    } else {
+                        session.reconcile();
+                    }
+                    peers[p].sendInputs(now);
+                    done &= session.getConfirmedTick() == ticks - 1 && !session.hasPendingRollback();
+                }
+                if (done) break;
+                // ให้ kernel ส่ง datagram ถึงอีกฝั่งก่อน frame ถัดไป
+                LockSupport.parkNanos(100_000);
+            }
+
+            long[] dropped = new long[peers.length];
+            for (int p = 0; p < peers.length; p++) {
+                dropped[p] = peers[p].getLink().getDropped();
+            }
+            return new LoopbackResult(sessions, sims, dropped, sameState(sims[0], sims[1]));
+        } finally {
+            for (UdpPeer peer : peers) {
+                if (peer != null) peer.close();
+            }
+            if (recorder != null) recorder.close();
+        }
+    }
+
+    /**
+     * เปิด replay ที่บันทึกไว้ ตรวจว่า tick สุดท้ายตรงกับ simulation จริง แล้ววัดเวลา seek แบบสุ่ม
+     */
+    private static void reportReplay(Path file, NetplaySimulation live) throws IOException {
+        try (ReplayReader reader = ReplayReader.open(file)) {
+            NetplaySimulation sim = new NetplaySimulation(reader.getStage(), live.getMode());
+            ReplayPlayer player = new ReplayPlayer(reader, sim);
+            player.seek(reader.getTickCount());
+            boolean matches = sameState(sim, live);
+
+            int seeks = 200;
+            long total = 0;
+            long h = reader.getSeed();
+            for (int i = 0; i < seeks; i++) {
+                h = h * 6364136223846793005L + 1442695040888963407L;
+                int target = (int) ((h >>> 33) % (reader.getTickCount() + 1));
+                long start = System.nanoTime();
+                reader.seek(sim, target);
+                total += System.nanoTime() - start;
+            }
+            System.out.printf("ROLLBACK replay ticks=%d keyframes=%d bytes=%d matches=%b seekMeanMicros=%.1f%n",
+                    reader.getTickCount(), reader.getKeyframeCount(), reader.getFileSize(), matches,
+                    total / (double) seeks / 1000.0);
+        }
+    }
+
+    /**
+     * input ของ bot - เปลี่ยนทุก BOT_HOLD_TICKS tick ขึ้นกับ (seed, player, tick) เท่านั้น
+     */
+    public static int botInput(int player, int tick, long seed) {
+        long h = seed * 0x9E3779B97F4A7C15L + player * 0xBF58476D1CE4E5B9L + (tick / BOT_HOLD_TICKS);
+        h ^= h >>> 31;
+        h *= 0x94D049BB133111EBL;
+        h ^= h >>> 29;
+        int bits = (int) h & (InputBits.LEFT | InputBits.RIGHT | InputBits.JUMP | InputBits.SHOOT);
+        if ((bits & InputBits.LEFT) != 0) bits &= ~InputBits.RIGHT;
+        return bits;
+    }
+
+    /**
+     * เทียบ snapshot ของสอง simulation ทีละ byte
+     */
+    public static boolean sameState(RollbackSimulation a, RollbackSimulation b) {
+        ByteBuffer left = ByteBuffer.allocate(RollbackSession.DEFAULT_STATE_CAPACITY);
+        ByteBuffer right = ByteBuffer.allocate(RollbackSession.DEFAULT_STATE_CAPACITY);
+        a.saveState(left);
+        b.saveState(right);
+        left.flip();
+        right.flip();
+        return left.equals(right);
+    }
+
+    // ==================== Depth sweep ====================
+
+    /**
+     * เวลา (nanos) ของ rollback ที่ depth เดียวกัน iterations ครั้ง (มี warm-up ก่อน)
+     */
+    public static long[] measureDepth(int depth, int maxRollback, int iterations) {
+        NetplaySimulation sim = new NetplaySimulation(1, NetplaySimulation.Mode.VERSUS);
+        RollbackSession session = new RollbackSession(sim, 0, maxRollback, RollbackSession.DEFAULT_STATE_CAPACITY);
+        int warmup = Math.max(20, iterations / 5);
+        long[] nanos = new long[iterations];
+        int remote = 0;
+
+        for (int i = 0; i < warmup + iterations; i++) {
+            int start = session.getCurrentTick();
+            for (int k = 0; k < depth; k++) {
+                session.advance(botInput(0, start + k, 7));
+            }
+            // input จริงต่างจากที่เดาตั้งแต่ tick แรก → rollback ทั้ง depth tick
+            remote ^= InputBits.JUMP;
+            for (int k = 0; k < depth; k++) {
+                session.receiveRemote(start + k, remote);
+            }
+            session.reconcile();
+            if (i >= warmup) nanos[i - warmup] = session.getLastRollbackNanos();
+        }
+        return nanos;
+    }
+
+    // ==================== Args ====================
+
+    private static String stringArg(String[] args, String name, String fallback) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) return arg.substring(prefix.length());
+        }
+        return fallback;
+    }
+
+    private static int intArg(String[] args, String name, int fallback) {
+        return Integer.parseInt(stringArg(args, name, Integer.toString(fallback)));
+    }
+}
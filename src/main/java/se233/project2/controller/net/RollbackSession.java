@@ -0,0 +1,223 @@
+package se233.project2.controller.net;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * RollbackSession - rollback netcode สำหรับผู้เล่น 2 คน (local + remote)
+ * - ทุก tick เก็บ snapshot ของ simulation ลง ring ของ buffer ที่จองไว้ แล้วเดินด้วย input จริงของ local
+ *   และ input ที่ "เดา" ของ remote (ซ้ำ input ล่าสุดที่ยืนยันแล้ว)
+ * - input จริงของ remote มาถึงแล้วไม่ตรงกับที่เดา → restore snapshot ของ tick นั้นแล้ว re-simulate ถึงปัจจุบัน
+ * - เดาล่วงหน้าได้ไม่เกิน maxRollback tick ถ้าเกินจะ stall (advance คืน false) จนกว่า input จะมา
+ * ทุก method เรียกจาก thread เดียว (simulation)
+ */
+public class RollbackSession {
+
+    /**
+     * รับ tick ที่ input ของทุกคนยืนยันแล้ว (ตามลำดับ tick) - ใช้บันทึก replay
+     * stateBefore = snapshot ตอนเริ่ม tick นั้น (ใช้ได้แค่ระหว่างการเรียก)
+     */
+    public interface ConfirmedTickListener {
+        void onConfirmedTick(int tick, int[] inputs, ByteBuffer stateBefore);
+    }
+
+    public static final int PLAYERS = 2;
+    public static final int DEFAULT_MAX_ROLLBACK = 8;
+    public static final int DEFAULT_STATE_CAPACITY = 4096;
+
+    private final RollbackSimulation simulation;
+    private final int localPlayer;
+    private final int remotePlayer;
+    private final int maxRollback;
+    private final int mask;
+
+    // ⭐ Ring (index = tick & mask) - ขนาดครอบ tick ที่ rollback ได้และ input ของ remote ที่มาก่อน
+    private final ByteBuffer[] snapshots;
+    private final int[] localInputs;
+    private final int[] remoteInputs;
+    private final int[] remoteTicks;   // tick ของ remoteInputs ใน slot นั้น (-1 = ว่าง)
+    private final int[] usedRemote;    // input ของ remote ที่ใช้ตอน simulate tick นั้นจริง
+    private final int[] frameInputs = new int[PLAYERS];
+    private final int[] confirmedInputs = new int[PLAYERS];
+    private ConfirmedTickListener confirmedListener;
+    private int emittedTick = -1;
+
+    private int currentTick = 0;        // tick ถัดไปที่จะ simulate
+    private int confirmedRemote = -1;   // tick สูงสุดที่ input ของ remote มาครบต่อเนื่อง
+    private int lastRemoteInput = 0;
+    private int rollbackFrom = Integer.MAX_VALUE;
+
+    // Stats
+    private long rollbacks = 0;
+    private long resimulatedTicks = 0;
+    private long stalls = 0;
+    private int maxDepth = 0;
+    private long lastRollbackNanos = 0;
+    private long totalRollbackNanos = 0;
+
+    public RollbackSession(RollbackSimulation simulation, int localPlayer) {
+        this(simulation, localPlayer, DEFAULT_MAX_ROLLBACK, DEFAULT_STATE_CAPACITY);
+    }
+
+    public RollbackSession(RollbackSimulation simulation, int localPlayer, int maxRollback, int stateCapacity) {
+        if (localPlayer < 0 || localPlayer >= PLAYERS) {
+            throw new IllegalArgumentException("localPlayer must be 0 or 1: " + localPlayer);
+        }
+        if (maxRollback < 1) {
+            throw new IllegalArgumentException("maxRollback must be >= 1: " + maxRollback);
+        }
+        this.simulation = simulation;
+        this.localPlayer = localPlayer;
+        this.remotePlayer = 1 - localPlayer;
+        this.maxRollback = maxRollback;
+
+        // ต้องเก็บได้ทั้ง maxRollback tick ที่ผ่านมาและ maxRollback tick ที่ remote อาจนำอยู่
+        int size = Integer.highestOneBit(2 * maxRollback + 2) << 1;
+        this.mask = size - 1;
+        this.snapshots = new ByteBuffer[size];
+        for (int i = 0; i < size; i++) {
+            snapshots[i] = ByteBuffer.allocateDirect(stateCapacity);
+        }
+        this.localInputs = new int[size];
+        this.remoteInputs = new int[size];
+        this.remoteTicks = new int[size];
+        this.usedRemote = new int[size];
+        Arrays.fill(remoteTicks, -1);
+    }
+
+    /**
+     * เดินหนึ่ง tick ด้วย input ของ local - คืน false ถ้าต้องรอ input ของ remote (stall)
+     */
+    public boolean advance(int localInput) {
+        if (currentTick - confirmedRemote > maxRollback) {
+            stalls++;
+            return false;
+        }
+        reconcile();
+
+        localInputs[currentTick & mask] = localInput;
+        step(currentTick);
+        currentTick++;
+        return true;
+    }
+
+    /**
+     * รับ input ของ remote สำหรับ tick หนึ่ง (ซ้ำหรือเก่าเกินถูกข้าม)
+     * ถ้า tick นั้นถูก simulate ด้วยค่าที่เดาผิดจะ rollback ตอน reconcile / advance ครั้งถัดไป
+     */
+    public void receiveRemote(int tick, int input) {
+        if (tick <= confirmedRemote || tick > currentTick + maxRollback) return;
+
+        int slot = tick & mask;
+        if (remoteTicks[slot] == tick) return;
+        remoteInputs[slot] = input;
+        remoteTicks[slot] = tick;
+
+        if (tick < currentTick && usedRemote[slot] != input && tick < rollbackFrom) {
+            rollbackFrom = tick;
+        }
+
+        while (remoteTicks[(confirmedRemote + 1) & mask] == confirmedRemote + 1) {
+            confirmedRemote++;
+            lastRemoteInput = remoteInputs[confirmedRemote & mask];
+        }
+    }
+
+    /**
+     * ทำ rollback ที่ค้างอยู่ (ถ้ามี) ให้ state ตรงกับ input ที่รู้ทั้งหมด
+     */
+    public void reconcile() {
+        if (rollbackFrom == Integer.MAX_VALUE) {
+            emitConfirmed();
+            return;
+        }
+        int from = rollbackFrom;
+        rollbackFrom = Integer.MAX_VALUE;
+
+        long start = System.nanoTime();
+        ByteBuffer snapshot = snapshots[from & mask];
+        snapshot.position(0);
+        simulation.loadState(snapshot);
+        for (int tick = from; tick < currentTick; tick++) {
+            step(tick);
+        }
+        lastRollbackNanos = System.nanoTime() - start;
+        totalRollbackNanos += lastRollbackNanos;
+
+        int depth = currentTick - from;
+        rollbacks++;
+        resimulatedTicks += depth;
+        if (depth > maxDepth) maxDepth = depth;
+        emitConfirmed();
+    }
+
+    /**
+     * ส่ง tick ที่เพิ่งยืนยันให้ listener - snapshot ของ tick เหล่านี้ถูกต้องแล้วหลัง reconcile
+     */
+    private void emitConfirmed() {
+        if (confirmedListener == null) return;
+        int upTo = getConfirmedTick();
+        while (emittedTick < upTo) {
+            int slot = ++emittedTick & mask;
+            confirmedInputs[localPlayer] = localInputs[slot];
+            confirmedInputs[remotePlayer] = remoteInputs[slot];
+            ByteBuffer snapshot = snapshots[slot];
+            snapshot.position(0);
+            confirmedListener.onConfirmedTick(emittedTick, confirmedInputs, snapshot);
+        }
+    }
+
+    private void step(int tick) {
+        int slot = tick & mask;
+
+        ByteBuffer snapshot = snapshots[slot];
+        snapshot.clear();
+        simulation.saveState(snapshot);
+        snapshot.flip();
+
+        int remote = remoteTicks[slot] == tick ? remoteInputs[slot] : lastRemoteInput;
+        usedRemote[slot] = remote;
+        frameInputs[localPlayer] = localInputs[slot];
+        frameInputs[remotePlayer] = remote;
+        simulation.advance(frameInputs);
+    }
+
+    /**
+     * input ของ local สำหรับส่งซ้ำ - ใช้ได้เฉพาะ tick ในช่วง ring (ไม่เกิน maxRollback tick ก่อน)
+     */
+    public int getLocalInput(int tick) {
+        if (tick < 0 || tick >= currentTick || currentTick - tick > mask) {
+            throw new IllegalArgumentException("Local input for tick " + tick + " is not buffered");
+        }
+        return localInputs[tick & mask];
+    }
+
+    /**
+     * tick ล่าสุดที่ทั้งสองฝั่งยืนยัน input แล้ว (state ถึง tick นี้จะไม่ถูก rollback อีก)
+     */
+    public int getConfirmedTick() {
+        return Math.min(currentTick - 1, confirmedRemote);
+    }
+
+    /**
+     * ตั้งก่อน advance ครั้งแรก (tick ที่ยืนยันก่อนหน้านั้นจะไม่ถูกส่ง)
+     */
+    public void setConfirmedListener(ConfirmedTickListener listener) {
+        this.confirmedListener = listener;
+        this.emittedTick = getConfirmedTick();
+    }
+
+    public int getCurrentTick() { return currentTick; }
+    public int getConfirmedRemoteTick() { return confirmedRemote; }
+    public int getLocalPlayer() { return localPlayer; }
+    public int getMaxRollback() { return maxRollback; }
+    public int getBufferedTicks() { return mask + 1; }
+    public boolean hasPendingRollback() { return rollbackFrom != Integer.MAX_VALUE; }
+
+    public long getRollbackCount() { return rollbacks; }
+    public long getResimulatedTicks() { return resimulatedTicks; }
+    public long getStallCount() { return stalls; }
+    public int getMaxRollbackDepth() { return maxDepth; }
+    public long getLastRollbackNanos() { return lastRollbackNanos; }
+    public long getTotalRollbackNanos() { return totalRollbackNanos; }
+}
@@ -0,0 +1,14 @@
+package se233.project2.controller.net;
+
+import se233.project2.controller.Snapshotable;
+
+/**
+ * Simulation ที่ rollback ได้ - advance ต้อง deterministic (ผลขึ้นกับ state + inputs เท่านั้น)
+ * และ saveState / loadState ต้องเก็บทุกอย่างที่ advance อ่าน
+ */
+public interface RollbackSimulation extends Snapshotable {
+    /**
+     * เดินหนึ่ง tick ด้วย input ของผู้เล่นทุกคน (index = player)
+     */
+    void advance(int[] inputs);
+}
@@ -0,0 +1,124 @@
+package se233.project2.controller.net;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * UdpPeer - ส่ง/รับ input ของ RollbackSession ผ่าน UDP แบบ non-blocking
+ * - ทุก sendInputs() ส่ง input ของ local ที่ peer ยังไม่ ack (ซ้ำได้) ใน packet เดียว
+ * - poll() อ่านทุก datagram ที่ค้างอยู่แล้วส่ง input ต่อให้ session
+ * - ถ้ามี LinkSimulator packet ขาออกจะผ่าน latency / loss ก่อนถึง socket
+ */
+public class UdpPeer implements Closeable {
+    private final DatagramChannel channel;
+    private SocketAddress remote;
+    private final RollbackSession session;
+    private final LinkSimulator link;
+
+    private final ByteBuffer sendBuffer = ByteBuffer.allocateDirect(InputPacket.MAX_SIZE);
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(512);
+    private final InputPacket.InputSink sink;
+    private final LinkSimulator.PacketSink socketSink;
+
+    private int remoteAck = -1;  // tick สูงสุดของ local ที่ peer ยืนยันว่าได้รับแล้ว
+    private long packetsSent = 0;
+    private long packetsReceived = 0;
+    private long packetsRejected = 0;
+
+    private UdpPeer(DatagramChannel channel, SocketAddress remote, RollbackSession session, LinkSimulator link) {
+        this.channel = channel;
+        this.remote = remote;
+        this.session = session;
+        this.link = link;
+        this.sink = session::receiveRemote;
+        this.socketSink = packet -> channel.send(packet, this.remote);
+    }
+
+    /**
+     * เปิด socket บน localAddress (port 0 = ให้ OS เลือก) แล้วส่งหา remoteAddress
+     * (remoteAddress = null ได้ ถ้ายังไม่รู้ port ของ peer - ตั้งทีหลังด้วย setRemote)
+     */
+    public static UdpPeer open(InetSocketAddress localAddress, InetSocketAddress remoteAddress,
+                               RollbackSession session, LinkSimulator link) throws IOException {
+        DatagramChannel channel = DatagramChannel.open();
+        try {
+            channel.configureBlocking(false);
+            channel.bind(localAddress);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new UdpPeer(channel, remoteAddress, session, link);
+    }
+
+    /**
+     * ส่ง input ที่ peer ยังไม่ ack (ไม่เกิน InputPacket.MAX_INPUTS tick ล่าสุด)
+     */
+    public void sendInputs(long nowMillis) throws IOException {
+        if (remote == null) {
+            throw new IllegalStateException("Remote address is not set");
+        }
+        int end = session.getCurrentTick();
+        int start = Math.max(remoteAck + 1, end - Math.min(InputPacket.MAX_INPUTS, session.getBufferedTicks() - 1));
+        start = Math.max(start, 0);
+
+        sendBuffer.clear();
+        InputPacket.encode(sendBuffer, session.getLocalPlayer(), session.getConfirmedRemoteTick(),
+                start, end - start, session);
+        sendBuffer.flip();
+
+        if (link != null) {
+            link.offer(sendBuffer, nowMillis);
+        } else {
+            channel.send(sendBuffer, remote);
+        }
+        packetsSent++;
+    }
+
+    /**
+     * ส่ง packet ที่ LinkSimulator ถือไว้ (ถึงเวลาแล้ว) และรับทุก datagram ที่ค้าง
+     */
+    public void poll(long nowMillis) throws IOException {
+        if (link != null) {
+            link.flush(nowMillis, socketSink);
+        }
+
+        int expectedPlayer = 1 - session.getLocalPlayer();
+        while (true) {
+            receiveBuffer.clear();
+            if (channel.receive(receiveBuffer) == null) break;
+            receiveBuffer.flip();
+
+            int ack = InputPacket.decode(receiveBuffer, expectedPlayer, sink);
+            if (ack == Integer.MIN_VALUE) {
+                packetsRejected++;
+                continue;
+            }
+            packetsReceived++;
+            if (ack > remoteAck) remoteAck = ack;
+        }
+    }
+
+    public int getLocalPort() throws IOException {
+        return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+    }
+
+    public void setRemote(SocketAddress remote) {
+        this.remote = remote;
+    }
+
+    public int getRemoteAck() { return remoteAck; }
+    public long getPacketsSent() { return packetsSent; }
+    public long getPacketsReceived() { return packetsReceived; }
+    public long getPacketsRejected() { return packetsRejected; }
+    public LinkSimulator getLink() { return link; }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
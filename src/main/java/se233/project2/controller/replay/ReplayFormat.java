@@ -0,0 +1,27 @@
+package se233.project2.controller.replay;
+
+/**
+ * ReplayFormat - layout ของไฟล์ replay (big-endian)
+ * <pre>
+ * header   : magic:4 version:2 players:2 seed:8 tickRate:4 keyframeInterval:4 stage:4 reserved:4  (32 byte)
+ * segment  : 'K':1 tick:4 length:4 state:length  input[players] × (ไม่เกิน keyframeInterval tick)
+ * footer   : (tick:4 offset:8) × count  count:4 tickCount:4 magic:4
+ * </pre>
+ * ทุก segment เริ่มด้วย keyframe ที่ tick = k × keyframeInterval แล้วตามด้วย input ของ tick ถัด ๆ ไป
+ * ทำให้หา input ของ tick ใดก็ได้ด้วยการคำนวณ ไม่ต้องอ่านไล่
+ * footer ถูกเขียนตอน close - ไฟล์ที่ไม่มี footer (เกมปิดไม่ปกติ) ยังอ่านได้โดยไล่ segment ใหม่
+ */
+public final class ReplayFormat {
+    public static final int MAGIC = 0x52504C59;         // "RPLY"
+    public static final int FOOTER_MAGIC = 0x52494458;  // "RIDX"
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+    public static final byte KEYFRAME_TAG = 'K';
+    public static final int KEYFRAME_HEADER_SIZE = 9;
+    public static final int INDEX_ENTRY_SIZE = 12;
+    public static final int TRAILER_SIZE = 12;
+    public static final int DEFAULT_TICK_RATE = 60;
+    public static final int DEFAULT_KEYFRAME_SECONDS = 5;
+
+    private ReplayFormat() {}
+}
@@ -0,0 +1,49 @@
+package se233.project2.controller.replay;
+
+import se233.project2.controller.net.RollbackSimulation;
+
+/**
+ * ReplayPlayer - เล่น replay บน simulation หนึ่งตัว (เดินหน้าทีละ tick หรือกระโดดไป tick ใดก็ได้)
+ * กระโดดไปข้างหน้าใน segment เดียวกัน = simulate ต่อจากตำแหน่งปัจจุบัน ไม่ต้อง restore keyframe
+ */
+public class ReplayPlayer {
+    private final ReplayReader reader;
+    private final RollbackSimulation simulation;
+    private int tick = 0;
+    private boolean positioned = false;  // simulation อยู่ที่ state ของ tick แล้ว
+    private long simulatedTicks = 0;
+
+    public ReplayPlayer(ReplayReader reader, RollbackSimulation simulation) {
+        this.reader = reader;
+        this.simulation = simulation;
+        seek(0);
+    }
+
+    /**
+     * เดินหนึ่ง tick - คืน false ถ้าถึงท้าย replay แล้ว
+     */
+    public boolean stepForward() {
+        if (tick >= reader.getTickCount()) return false;
+        reader.step(simulation, tick++);
+        simulatedTicks++;
+        return true;
+    }
+
+    /**
+     * ไปที่ state ก่อน simulate target
+     */
+    public void seek(int target) {
+        int interval = reader.getKeyframeInterval();
+        if (positioned && target >= tick && target / interval == tick / interval) {
+            while (tick < target) stepForward();
+            return;
+        }
+        simulatedTicks += reader.seek(simulation, target);
+        tick = target;
+        positioned = true;
+    }
+
+    public int getTick() { return tick; }
+    public long getSimulatedTicks() { return simulatedTicks; }
+    public ReplayReader getReader() { return reader; }
+}
@@ -0,0 +1,223 @@
+package se233.project2.controller.replay;
+
+import se233.project2.controller.net.RollbackSimulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * ReplayReader - เปิดไฟล์ replay แบบ memory-mapped (ไม่โหลดทั้งไฟล์เข้า heap)
+ * - input ของ tick ใดก็ได้อ่านตรงจาก offset ที่คำนวณจาก keyframe index
+ * - seek(tick) = restore keyframe ที่ใกล้ที่สุดก่อน tick นั้นแล้ว simulate ต่อไม่เกิน keyframeInterval tick
+ * - ไฟล์ที่ไม่มี footer (เกมปิดไม่ปกติ) ถูก index ใหม่จากการไล่ segment ตอนเปิด
+ */
+public class ReplayReader implements Closeable {
+    private final FileChannel channel;
+    private final MappedByteBuffer data;
+
+    private final int players;
+    private final long seed;
+    private final int tickRate;
+    private final int keyframeInterval;
+    private final int stage;
+
+    private int[] keyframeTicks;
+    private long[] keyframeOffsets;
+    private int keyframeCount;
+    private int tickCount;
+    private boolean recovered = false;
+
+    private final int[] frameInputs;
+
+    private ReplayReader(FileChannel channel, MappedByteBuffer data) throws IOException {
+        this.channel = channel;
+        this.data = data;
+
+        if (data.limit() < ReplayFormat.HEADER_SIZE || data.getInt(0) != ReplayFormat.MAGIC) {
+            throw new IOException("Not a replay file");
+        }
+        short version = data.getShort(4);
+        if (version != ReplayFormat.VERSION) {
+            throw new IOException("Unsupported replay version " + version);
+        }
+        players = data.getShort(6);
+        seed = data.getLong(8);
+        tickRate = data.getInt(16);
+        keyframeInterval = data.getInt(20);
+        stage = data.getInt(24);
+        if (players < 1 || keyframeInterval < 1) {
+            throw new IOException("Corrupt replay header");
+        }
+        frameInputs = new int[players];
+
+        if (!readFooter()) {
+            scanSegments();
+            recovered = true;
+        }
+    }
+
+    public static ReplayReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Replay file too large to map: " + size);
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new ReplayReader(channel, data);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // ==================== Index ====================
+
+    private boolean readFooter() {
+        int size = data.limit();
+        if (size < ReplayFormat.HEADER_SIZE + ReplayFormat.TRAILER_SIZE) return false;
+        int trailer = size - ReplayFormat.TRAILER_SIZE;
+        if (data.getInt(trailer + 8) != ReplayFormat.FOOTER_MAGIC) return false;
+
+        int count = data.getInt(trailer);
+        int ticks = data.getInt(trailer + 4);
+        long indexStart = trailer - (long) count * ReplayFormat.INDEX_ENTRY_SIZE;
+        if (count < 0 || ticks < 0 || indexStart < ReplayFormat.HEADER_SIZE) return false;
+
+        keyframeTicks = new int[Math.max(count, 1)];
+        keyframeOffsets = new long[Math.max(count, 1)];
+        for (int i = 0; i < count; i++) {
+            int entry = (int) indexStart + i * ReplayFormat.INDEX_ENTRY_SIZE;
+            keyframeTicks[i] = data.getInt(entry);
+            keyframeOffsets[i] = data.getLong(entry + 4);
+        }
+        keyframeCount = count;
+        tickCount = ticks;
+        return true;
+    }
+
+    /**
+     * ไล่ segment จาก header - segment สุดท้ายที่เขียนไม่ครบถูกตัดทิ้งที่ tick สุดท้ายที่อ่านได้ครบ
+     */
+    private void scanSegments() {
+        keyframeTicks = new int[16];
+        keyframeOffsets = new long[16];
+        keyframeCount = 0;
+        tickCount = 0;
+
+        int size = data.limit();
+        long offset = ReplayFormat.HEADER_SIZE;
+        while (offset + ReplayFormat.KEYFRAME_HEADER_SIZE <= size) {
+            int at = (int) offset;
+            if (data.get(at) != ReplayFormat.KEYFRAME_TAG) break;
+            int tick = data.getInt(at + 1);
+            int length = data.getInt(at + 5);
+            long inputsStart = offset + ReplayFormat.KEYFRAME_HEADER_SIZE + length;
+            if (length < 0 || inputsStart > size || tick != keyframeCount * keyframeInterval) break;
+
+            if (keyframeCount == keyframeTicks.length) {
+                keyframeTicks = Arrays.copyOf(keyframeTicks, keyframeCount * 2);
+                keyframeOffsets = Arrays.copyOf(keyframeOffsets, keyframeCount * 2);
+            }
+            keyframeTicks[keyframeCount] = tick;
+            keyframeOffsets[keyframeCount] = offset;
+            keyframeCount++;
+
+            long segmentInputs = (long) keyframeInterval * players;
+            long available = Math.min(segmentInputs, size - inputsStart);
+            tickCount = tick + (int) (available / players);
+            if (available < segmentInputs) break;
+            offset = inputsStart + segmentInputs;
+        }
+    }
+
+    private int keyframeFor(int tick) {
+        int k = tick / keyframeInterval;
+        if (k >= keyframeCount) {
+            throw new IllegalArgumentException("No keyframe for tick " + tick);
+        }
+        return k;
+    }
+
+    // ==================== Playback ====================
+
+    /**
+     * input ของทุกผู้เล่นใน tick นั้น (out ยาว players) - อ่านตรงจาก mapped file
+     */
+    public void readInputs(int tick, int[] out) {
+        checkTick(tick);
+        int k = keyframeFor(tick);
+        int keyframe = (int) keyframeOffsets[k];
+        int length = data.getInt(keyframe + 5);
+        int at = keyframe + ReplayFormat.KEYFRAME_HEADER_SIZE + length + (tick - keyframeTicks[k]) * players;
+        for (int p = 0; p < players; p++) {
+            out[p] = data.get(at + p) & 0xFF;
+        }
+    }
+
+    /**
+     * state ของ keyframe (view ของ mapped file ไม่มีการ copy)
+     */
+    public ByteBuffer keyframeState(int keyframe) {
+        int at = (int) keyframeOffsets[keyframe];
+        int length = data.getInt(at + 5);
+        return data.duplicate().position(at + ReplayFormat.KEYFRAME_HEADER_SIZE)
+                .limit(at + ReplayFormat.KEYFRAME_HEADER_SIZE + length).slice();
+    }
+
+    /**
+     * ทำให้ simulation อยู่ที่ state ก่อน simulate tick นั้น - คืนจำนวน tick ที่ต้อง simulate ต่อจาก keyframe
+     * (tick == getTickCount() ได้ = state หลัง tick สุดท้าย)
+     */
+    public int seek(RollbackSimulation simulation, int tick) {
+        if (tick < 0 || tick > tickCount) {
+            throw new IllegalArgumentException("Tick " + tick + " is outside 0.." + tickCount);
+        }
+        int k = Math.min(tick / keyframeInterval, keyframeCount - 1);
+        simulation.loadState(keyframeState(k));
+        int from = keyframeTicks[k];
+        for (int t = from; t < tick; t++) {
+            step(simulation, t);
+        }
+        return tick - from;
+    }
+
+    /**
+     * simulate tick นั้นหนึ่ง tick ด้วย input ที่บันทึกไว้
+     */
+    public void step(RollbackSimulation simulation, int tick) {
+        readInputs(tick, frameInputs);
+        simulation.advance(frameInputs);
+    }
+
+    private void checkTick(int tick) {
+        if (tick < 0 || tick >= tickCount) {
+            throw new IllegalArgumentException("Tick " + tick + " is outside 0.." + (tickCount - 1));
+        }
+    }
+
+    public int getPlayers() { return players; }
+    public long getSeed() { return seed; }
+    public int getTickRate() { return tickRate; }
+    public int getKeyframeInterval() { return keyframeInterval; }
+    public int getStage() { return stage; }
+    public int getTickCount() { return tickCount; }
+    public int getKeyframeCount() { return keyframeCount; }
+    public long getFileSize() { return data.limit(); }
+
+    /**
+     * true = ไฟล์ไม่มี footer และ index ถูกสร้างใหม่จากการไล่ segment
+     */
+    public boolean isRecovered() { return recovered; }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
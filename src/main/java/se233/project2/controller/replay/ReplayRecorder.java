@@ -0,0 +1,130 @@
+package se233.project2.controller.replay;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se233.project2.controller.Snapshotable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * ReplayRecorder - บันทึกเกมที่เล่นจริงลงไฟล์ replay (input ทุก tick + keyframe ของ state ทุก 5 วินาที)
+ * - GameStage seed random จาก getSeed() และเรียก record หลัง keys.beginTick() ทุก tick (FX thread)
+ * - หนึ่งไฟล์ต่อหนึ่ง run: RESTART / RETRY STAGE ปิดไฟล์เดิม แล้ว run ถัดไปเขียน name-2.ext, name-3.ext ...
+ * - เขียนไม่ได้ → log แล้วหยุดบันทึก (ไม่ทำให้เกมล้ม)
+ *
+ * Usage: java -jar project2.jar --replay=run.rpl  (หรือ -Dgame.replay=run.rpl)
+ */
+public class ReplayRecorder {
+    private static final Logger logger = LoggerFactory.getLogger(ReplayRecorder.class);
+
+    public static final String PROPERTY = "game.replay";
+    public static final int STATE_CAPACITY = 256 * 1024;  // ⭐ ขนาดสูงสุดของ state กลางเกม (กระสุนเต็มจอ)
+    private static final int KEYFRAME_INTERVAL = ReplayFormat.DEFAULT_KEYFRAME_SECONDS * ReplayFormat.DEFAULT_TICK_RATE;
+
+    private static ReplayRecorder instance;
+
+    private final Path file;
+    private final long seed;
+    private final int[] inputs = new int[1];  // ⭐ ผู้เล่นคนเดียว (ใช้ซ้ำทุก tick)
+    private ReplayWriter writer;
+    private int tick = 0;
+    private int runs = 0;
+    private boolean failed = false;
+
+    public ReplayRecorder(Path file, long seed) {
+        this.file = file;
+        this.seed = seed;
+    }
+
+    /**
+     * เริ่ม recorder ถ้ามี --replay=<file> หรือ -Dgame.replay=<file> (ไฟล์ถูกสร้างตอน tick แรกของเกม)
+     *
+     * @param argument ค่าจาก command line (null ถ้าไม่ได้ระบุ)
+     */
+    public static ReplayRecorder startIfRequested(String argument) {
+        if (instance != null) return instance;
+        String destination = (argument != null && !argument.isBlank()) ? argument : System.getProperty(PROPERTY);
+        if (destination == null || destination.isBlank()) return null;
+
+        instance = new ReplayRecorder(Path.of(destination), System.nanoTime());
+        logger.info("Replay recording started -> {} (seed {})", destination, instance.seed);
+        return instance;
+    }
+
+    /**
+     * recorder ที่เปิดอยู่ หรือ null ถ้าไม่ได้เปิด replay
+     */
+    public static ReplayRecorder getInstance() {
+        return instance;
+    }
+
+    /**
+     * ปิดไฟล์ของ run ที่ค้างอยู่ (เรียกตอนปิดเกม)
+     */
+    public static void stop() {
+        if (instance == null) return;
+        instance.endRun();
+        instance = null;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * บันทึก input ของ tick นี้ - tick ที่ต้องมี keyframe ถูกเก็บ state ก่อน simulate จาก simulation
+     *
+     * @param bits  input ของผู้เล่น (InputBits)
+     * @param stage stage ปัจจุบัน (ลง header ตอนเปิดไฟล์ของ run ใหม่)
+     */
+    public void record(int bits, int stage, Snapshotable simulation) {
+        if (failed) return;
+        try {
+            if (writer == null) {
+                Path target = runFile(file, ++runs);
+                Path parent = target.toAbsolutePath().getParent();
+                if (parent != null) Files.createDirectories(parent);
+                writer = ReplayWriter.create(target, 1, seed, stage, KEYFRAME_INTERVAL, STATE_CAPACITY);
+                tick = 0;
+            }
+            inputs[0] = bits;
+            writer.record(tick++, inputs, simulation);
+        } catch (IOException | RuntimeException e) {
+            // BufferOverflowException = state ใหญ่เกิน STATE_CAPACITY
+            logger.error("Replay recording stopped: {}", e.toString(), e);
+            failed = true;
+            endRun();
+        }
+    }
+
+    /**
+     * ปิดไฟล์ของ run ปัจจุบัน (เขียน index ของ keyframe) - tick ถัดไปเริ่มไฟล์ใหม่
+     */
+    public void endRun() {
+        if (writer == null) return;
+        ReplayWriter finished = writer;
+        writer = null;
+        try {
+            finished.close();
+            logger.info("Replay written to {} ({} ticks, {} keyframes)",
+                    runFile(file, runs), finished.getTickCount(), finished.getKeyframeCount());
+        } catch (IOException e) {
+            logger.error("Could not finish replay {}: {}", runFile(file, runs), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * ชื่อไฟล์ของ run ที่ n (run แรกใช้ชื่อที่ระบุ, ถัดไปเติม -n หน้านามสกุล)
+     */
+    static Path runFile(Path file, int run) {
+        if (run <= 1) return file;
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String numbered = dot > 0
+                ? name.substring(0, dot) + "-" + run + name.substring(dot)
+                : name + "-" + run;
+        return file.resolveSibling(numbered);
+    }
+}
@@ -0,0 +1,171 @@
+package se233.project2.controller.replay;
+
+import se233.project2.controller.Snapshotable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * ReplayWriter - บันทึก input ทุก tick และ keyframe ของ state ทุก keyframeInterval tick ลงไฟล์
+ * - เขียนผ่าน direct buffer ขนาดคงที่ (ไม่มี allocation ต่อ tick)
+ * - record ต้องถูกเรียกเรียง tick จาก 0 ทีละ 1
+ * - state ที่ส่งมาคือ state "ก่อน" simulate tick นั้น
+ */
+public class ReplayWriter implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final int players;
+    private final int keyframeInterval;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer scratch;
+
+    private long position = 0;   // offset ในไฟล์ของ byte ถัดไป (รวมที่ยังอยู่ใน buffer)
+    private int nextTick = 0;
+    private int[] indexTicks = new int[64];
+    private long[] indexOffsets = new long[64];
+    private int indexCount = 0;
+    private boolean closed = false;
+
+    private ReplayWriter(FileChannel channel, int players, int keyframeInterval, int stateCapacity) {
+        this.channel = channel;
+        this.players = players;
+        this.keyframeInterval = keyframeInterval;
+        this.scratch = ByteBuffer.allocateDirect(stateCapacity);
+    }
+
+    /**
+     * สร้างไฟล์ใหม่ (ทับของเดิม) แล้วเขียน header
+     */
+    public static ReplayWriter create(Path file, int players, long seed, int stage,
+                                      int keyframeInterval, int stateCapacity) throws IOException {
+        if (players < 1 || players > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("players must be >= 1: " + players);
+        }
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("keyframeInterval must be >= 1: " + keyframeInterval);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ReplayWriter writer = new ReplayWriter(channel, players, keyframeInterval, stateCapacity);
+        ByteBuffer b = writer.buffer;
+        b.putInt(ReplayFormat.MAGIC);
+        b.putShort(ReplayFormat.VERSION);
+        b.putShort((short) players);
+        b.putLong(seed);
+        b.putInt(ReplayFormat.DEFAULT_TICK_RATE);
+        b.putInt(keyframeInterval);
+        b.putInt(stage);
+        b.putInt(0);
+        writer.position = ReplayFormat.HEADER_SIZE;
+        return writer;
+    }
+
+    /**
+     * บันทึก tick หนึ่ง - state ถูกอ่านจาก simulation เฉพาะ tick ที่ต้องมี keyframe
+     */
+    public void record(int tick, int[] inputs, Snapshotable simulation) throws IOException {
+        if (tick % keyframeInterval == 0) {
+            scratch.clear();
+            simulation.saveState(scratch);
+            scratch.flip();
+            record(tick, inputs, scratch);
+        } else {
+            record(tick, inputs, (ByteBuffer) null);
+        }
+    }
+
+    /**
+     * บันทึก tick หนึ่ง - stateBefore (position..limit) ใช้เฉพาะ tick ที่ต้องมี keyframe และไม่ถูกเลื่อน position
+     */
+    public void record(int tick, int[] inputs, ByteBuffer stateBefore) throws IOException {
+        if (closed) throw new IllegalStateException("Replay is closed");
+        if (tick != nextTick) {
+            throw new IllegalArgumentException("Expected tick " + nextTick + " but got " + tick);
+        }
+
+        if (tick % keyframeInterval == 0) {
+            if (stateBefore == null) {
+                throw new IllegalArgumentException("Tick " + tick + " needs a keyframe state");
+            }
+            writeKeyframe(tick, stateBefore);
+        }
+
+        ensureSpace(players);
+        for (int p = 0; p < players; p++) {
+            buffer.put((byte) inputs[p]);
+        }
+        position += players;
+        nextTick++;
+    }
+
+    private void writeKeyframe(int tick, ByteBuffer state) throws IOException {
+        if (indexCount == indexTicks.length) {
+            indexTicks = Arrays.copyOf(indexTicks, indexCount * 2);
+            indexOffsets = Arrays.copyOf(indexOffsets, indexCount * 2);
+        }
+        indexTicks[indexCount] = tick;
+        indexOffsets[indexCount] = position;
+        indexCount++;
+
+        int length = state.remaining();
+        ensureSpace(ReplayFormat.KEYFRAME_HEADER_SIZE);
+        buffer.put(ReplayFormat.KEYFRAME_TAG);
+        buffer.putInt(tick);
+        buffer.putInt(length);
+
+        ByteBuffer view = state.duplicate();
+        if (length > buffer.remaining()) {
+            flush();
+            while (view.hasRemaining()) channel.write(view);
+        } else {
+            buffer.put(view);
+        }
+        position += ReplayFormat.KEYFRAME_HEADER_SIZE + length;
+    }
+
+    private void ensureSpace(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) flush();
+    }
+
+    /**
+     * เขียน buffer ลงไฟล์ (ไม่ force ลง disk)
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * เขียน footer (index ของ keyframe) แล้วปิดไฟล์
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            for (int i = 0; i < indexCount; i++) {
+                ensureSpace(ReplayFormat.INDEX_ENTRY_SIZE);
+                buffer.putInt(indexTicks[i]);
+                buffer.putLong(indexOffsets[i]);
+            }
+            ensureSpace(ReplayFormat.TRAILER_SIZE);
+            buffer.putInt(indexCount);
+            buffer.putInt(nextTick);
+            buffer.putInt(ReplayFormat.FOOTER_MAGIC);
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    public int getTickCount() { return nextTick; }
+    public int getKeyframeCount() { return indexCount; }
+    public int getKeyframeInterval() { return keyframeInterval; }
+}
@@ -3,8 +3,13 @@ package se233.project2.model;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import se233.project2.controller.QualityGovernor;
+import se233.project2.controller.Snapshotable;
 
-public class AnimatedSprite extends ImageView {
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class AnimatedSprite extends ImageView implements Snapshotable {
     private Image spriteSheet;
     private int totalColumns;
     private int width;
@@ -20,6 +25,13 @@ public class AnimatedSprite extends ImageView {
     private int startColumn = 0;
     private int frameCount = 1;
 
+    // ⭐ tick ที่ยังไม่ได้วาด (governor อาจให้วาดทุก 2 tick - เฟรมยังเดินทุก tick แต่ viewport อัปเดตทีละ 2)
+    private int pendingTicks = 0;
+    private static final QualityGovernor governor = QualityGovernor.getInstance();
+
+    // ⭐ viewport ของแต่ละ [row][column] สร้างครั้งแรกที่ใช้ แล้วใช้ซ้ำ (ไม่ new Rectangle2D ทุก tick)
+    private Rectangle2D[][] viewports = new Rectangle2D[1][];
+
     // Constructor สำหรับ sprite sheet ที่มีขอบ
     public AnimatedSprite(Image spriteSheet, int totalColumns, int frameCount,
                           int offsetX, int offsetY, int width, int height,
@@ -34,7 +46,7 @@ public class AnimatedSprite extends ImageView {
         this.spacingY = spacingY;
         this.frameCount = frameCount;
         this.setImage(spriteSheet);
-        this.setViewport(new Rectangle2D(offsetX, offsetY, width, height));
+        this.setViewport(viewportAt(0, 0));
     }
 
     public AnimatedSprite(Image spriteSheet, int columns, int count,
@@ -43,14 +55,35 @@ public class AnimatedSprite extends ImageView {
     }
 
     public void tick() {
+        // ⭐ column เดินทุก tick เสมอ - hit mask ที่เลือกตามเฟรมจึงไม่ขึ้นกับระดับของ governor (deterministic)
         curColumnIndex = (curColumnIndex + 1) % frameCount;
+        pendingTicks++;
+        if (pendingTicks < governor.getAnimationFrameSkip()) return;
+
+        pendingTicks = 0;
         interpolate();
     }
 
     public void interpolate() {
-        final int x = offsetX + (startColumn + curColumnIndex) * spacingX;
-        final int y = offsetY + curRowIndex * spacingY;
-        this.setViewport(new Rectangle2D(x, y, width, height));
+        this.setViewport(viewportAt(curRowIndex, startColumn + curColumnIndex));
+    }
+
+    private Rectangle2D viewportAt(int row, int column) {
+        if (row >= viewports.length) {
+            viewports = Arrays.copyOf(viewports, row + 1);
+        }
+        Rectangle2D[] rowViewports = viewports[row];
+        if (rowViewports == null || column >= rowViewports.length) {
+            int length = Math.max(Math.max(totalColumns, column + 1), rowViewports == null ? 0 : rowViewports.length);
+            rowViewports = rowViewports == null ? new Rectangle2D[length] : Arrays.copyOf(rowViewports, length);
+            viewports[row] = rowViewports;
+        }
+        Rectangle2D viewport = rowViewports[column];
+        if (viewport == null) {
+            viewport = new Rectangle2D(offsetX + column * spacingX, offsetY + row * spacingY, width, height);
+            rowViewports[column] = viewport;
+        }
+        return viewport;
     }
 
     public void setAnimation(int row, int startCol, int frames) {
@@ -58,6 +91,7 @@ public class AnimatedSprite extends ImageView {
         this.startColumn = startCol;
         this.frameCount = frames;
         this.curColumnIndex = 0;
+        this.pendingTicks = 0;
         interpolate();
     }
 
@@ -73,8 +107,35 @@ public class AnimatedSprite extends ImageView {
         return curRowIndex;
     }
 
+    // ⭐ column ของเฟรมที่แสดงอยู่ (ใช้เลือก hit mask ของเฟรม)
+    public int getColumnIndex() {
+        return startColumn + curColumnIndex;
+    }
+
     public void reset() {
         curColumnIndex = 0;
+        pendingTicks = 0;
+        interpolate();
+    }
+
+    /**
+     * ⭐ เฟรมที่แสดงอยู่ (row, ช่วง column, column ปัจจุบัน) - ใช้กับ entity ที่เลือก hit mask ตามเฟรม
+     */
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putInt(curRowIndex);
+        out.putInt(startColumn);
+        out.putInt(frameCount);
+        out.putInt(curColumnIndex);
+    }
+
+    @Override
+    public void loadState(ByteBuffer in) {
+        curRowIndex = in.getInt();
+        startColumn = in.getInt();
+        frameCount = in.getInt();
+        curColumnIndex = in.getInt();
+        pendingTicks = 0;
         interpolate();
     }
 }
\ No newline at end of file
@@ -5,12 +5,17 @@ import javafx.scene.input.KeyCode;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
+import se233.project2.controller.AssetLoader;
 import se233.project2.controller.GameLogger;
+import se233.project2.controller.Snapshotable;
+import se233.project2.model.collision.Collider;
+import se233.project2.model.collision.CollisionLayer;
 import se233.project2.view.GameStage;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
-public class GameCharacter extends Pane {
+public class GameCharacter extends Pane implements Snapshotable, Collider {
     private AnimatedSprite currentSprite;
 
     // All sprite sheets
@@ -95,28 +100,23 @@ public class GameCharacter extends Pane {
     }
 
     private void loadAllSprites() {
-        walkSheet = loadSprite("/se233/project2/assets/player/kitty_walk.png");
-        jumpSheet = loadSprite("/se233/project2/assets/player/kitty_jump.png");
-        proneSheet = loadSprite("/se233/project2/assets/player/kitty_prone.png");
-        shootSheet = loadSprite("/se233/project2/assets/player/kitty_shoot.png");
-        shootUpSheet = loadSprite("/se233/project2/assets/player/kitty_shoot-up.png");
-        shootDownSheet = loadSprite("/se233/project2/assets/player/kitty_shoot-down.png");
-        walkShootSheet = loadSprite("/se233/project2/assets/player/kitty_walk_shoot.png");
-        walkShootUpSheet = loadSprite("/se233/project2/assets/player/kitty_walk_shoot-up.png");
-        walkShootDownSheet = loadSprite("/se233/project2/assets/player/kitty_walk_shoot-down.png");
-        dieSheet = loadSprite("/se233/project2/assets/player/kitty_die.png");
+        walkSheet = loadSprite("player/kitty_walk.png");
+        jumpSheet = loadSprite("player/kitty_jump.png");
+        proneSheet = loadSprite("player/kitty_prone.png");
+        shootSheet = loadSprite("player/kitty_shoot.png");
+        shootUpSheet = loadSprite("player/kitty_shoot-up.png");
+        shootDownSheet = loadSprite("player/kitty_shoot-down.png");
+        walkShootSheet = loadSprite("player/kitty_walk_shoot.png");
+        walkShootUpSheet = loadSprite("player/kitty_walk_shoot-up.png");
+        walkShootDownSheet = loadSprite("player/kitty_walk_shoot-down.png");
+        dieSheet = loadSprite("player/kitty_die.png");
     }
 
-    private Image loadSprite(String path) {
-        try {
-            var stream = getClass().getResourceAsStream(path);
-            if (stream != null) {
-                return new Image(stream);
-            }
-        } catch (Exception e) {
-            System.err.println("Error loading sprite: " + path + " - " + e.getMessage());
-        }
-        return null;
+    /**
+     * sprite sheet เต็มขนาด (pixel-exact) - decode ครั้งเดียวแล้วใช้ร่วมกันทุกตัวละคร
+     */
+    private Image loadSprite(String file) {
+        return AssetLoader.getInstance().load(file);
     }
 
     private void createAnimatedSprites() {
@@ -315,34 +315,10 @@ public class GameCharacter extends Pane {
         if (currentSprite == null) return;
 
         boolean isMoving = (velocityX != 0);
-        AnimatedSprite targetSprite = null;
+        AnimatedSprite targetSprite = selectSprite(isMoving);
 
-        // Priority: Death > Prone > Jump > Shooting + Walking > Shooting > Walking
-
-        if (isDead) {
-            targetSprite = dieSprite;
-        } else if (isProne) {
-            targetSprite = proneSprite;
-        } else if (!onGround) {
-            // In air (jumping/falling)
-            targetSprite = jumpSprite;
-        } else if (isMoving && isShootingUp) {
-            targetSprite = walkShootUpSprite;
-        } else if (isMoving && isShootingDown) {
-            targetSprite = walkShootDownSprite;
-        } else if (isMoving && isShooting) {
-            targetSprite = walkShootSprite;
-        } else if (isShootingUp) {
-            targetSprite = shootUpSprite;
-        } else if (isShootingDown) {
-            targetSprite = shootDownSprite;
-        } else if (isShooting) {
-            targetSprite = shootSprite;
-        } else if (isMoving) {
-            targetSprite = walkSprite;
-        } else {
+        if (targetSprite == walkSprite && !isMoving) {
             // Idle - use first frame of walk
-            targetSprite = walkSprite;
             if (currentSprite != walkSprite) {
                 switchSprite(targetSprite);
                 currentSprite.reset();
@@ -366,6 +342,23 @@ public class GameCharacter extends Pane {
         }
     }
 
+    /**
+     * sprite ที่ควรแสดงตาม state ปัจจุบัน
+     * Priority: Death > Prone > Jump > Shooting + Walking > Shooting > Walking (idle ใช้ walk)
+     */
+    private AnimatedSprite selectSprite(boolean isMoving) {
+        if (isDead) return dieSprite;
+        if (isProne) return proneSprite;
+        if (!onGround) return jumpSprite;  // In air (jumping/falling)
+        if (isMoving && isShootingUp) return walkShootUpSprite;
+        if (isMoving && isShootingDown) return walkShootDownSprite;
+        if (isMoving && isShooting) return walkShootSprite;
+        if (isShootingUp) return shootUpSprite;
+        if (isShootingDown) return shootDownSprite;
+        if (isShooting) return shootSprite;
+        return walkSprite;
+    }
+
     private void updateDeathAnimation() {
         if (dieSprite != null && currentSprite != dieSprite) {
             switchSprite(dieSprite);
@@ -387,6 +380,86 @@ public class GameCharacter extends Pane {
         logger.logDeath("Player", x, y);
     }
 
+    /**
+     * ⭐ เกิดใหม่ที่ตำแหน่ง (x, y) โดยใช้ node และ sprite เดิม (ไม่ decode รูปใหม่)
+     */
+    public void respawn(int x, int y) {
+        this.x = x;
+        this.y = y;
+        velocityX = 0;
+        velocityY = 0;
+        onGround = false;
+        facingRight = true;
+        isProne = false;
+        isShooting = false;
+        isShootingUp = false;
+        isShootingDown = false;
+        isDead = false;
+        animationTick = 0;
+        resetVisual();
+    }
+
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putInt(x);
+        out.putInt(y);
+        out.putDouble(velocityX);
+        out.putDouble(velocityY);
+        out.putInt(animationTick);
+        byte flags = 0;
+        if (onGround) flags |= 1;
+        if (facingRight) flags |= 2;
+        if (isProne) flags |= 4;
+        if (isDead) flags |= 8;
+        if (isShooting) flags |= 16;
+        if (isShootingUp) flags |= 32;
+        if (isShootingDown) flags |= 64;
+        out.put(flags);
+    }
+
+    @Override
+    public void loadState(ByteBuffer in) {
+        x = in.getInt();
+        y = in.getInt();
+        velocityX = in.getDouble();
+        velocityY = in.getDouble();
+        animationTick = in.getInt();
+        byte flags = in.get();
+        onGround = (flags & 1) != 0;
+        facingRight = (flags & 2) != 0;
+        isProne = (flags & 4) != 0;
+        isDead = (flags & 8) != 0;
+        isShooting = (flags & 16) != 0;
+        isShootingUp = (flags & 32) != 0;
+        isShootingDown = (flags & 64) != 0;
+        restoreVisual();
+    }
+
+    /**
+     * ⭐ เลือก sprite ให้ตรงกับ state ที่เพิ่ง restore (เหมือนหลัง update ของ tick นั้น)
+     * ทำให้ animationTick ของ tick ถัดไปได้ค่าเดิม - rollback / replay ได้ state เดียวกันทุก byte
+     */
+    private void restoreVisual() {
+        AnimatedSprite target = selectSprite(velocityX != 0);
+        if (target != null) {
+            switchSprite(target);
+            currentSprite.reset();
+            currentSprite.setScaleX(facingRight ? 1 : -1);
+        }
+        this.setTranslateX(x);
+        this.setTranslateY(y);
+    }
+
+    private void resetVisual() {
+        if (walkSprite != null) {
+            switchSprite(walkSprite);
+            currentSprite.reset();
+            currentSprite.setScaleX(facingRight ? 1 : -1);
+        }
+        this.setTranslateX(x);
+        this.setTranslateY(y);
+    }
+
     public double getCenterX() {
         return x + (SPRITE_WIDTH / 2);
     }
@@ -422,4 +495,12 @@ public class GameCharacter extends Pane {
     public boolean isDead() {
         return isDead;
     }
-}
\ No newline at end of file
+
+    // ⭐ Collider - hitbox เท่ากับขนาด sprite หนึ่งช่อง
+    @Override public int getCollisionLayer() { return CollisionLayer.PLAYER; }
+    @Override public boolean isCollidable() { return !isDead; }
+    @Override public double getHitX() { return x; }
+    @Override public double getHitY() { return y; }
+    @Override public double getHitWidth() { return SPRITE_WIDTH; }
+    @Override public double getHitHeight() { return SPRITE_HEIGHT; }
+}
@@ -0,0 +1,54 @@
+package se233.project2.model;
+
+import se233.project2.controller.Snapshotable;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * GameRandom - Random ที่ seed ได้และเก็บ state ลง snapshot ได้ (ใช้ใน simulation แทน new Random())
+ * - ใช้ LCG เดียวกับ java.util.Random → seed เดียวกันได้ลำดับเดียวกับ new Random(seed)
+ * - state คือ long ตัวเดียว ทำให้ checkpoint / replay / rollback คืนลำดับสุ่มได้ตรงทุกค่า
+ * - ไม่ thread-safe: entity ที่ compute ขนานกันต้องมีตัวของตัวเอง (ดู split)
+ * ห้ามใช้ nextGaussian (ค่าที่ cache ไว้ใน Random ไม่ถูกเก็บลง state)
+ */
+public class GameRandom extends Random implements Snapshotable {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // ⭐ ไม่มี initializer - constructor ของ Random เรียก setSeed ก่อน field ของ class นี้ถูก init
+    private long state;
+
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * ตัวสุ่มลูกที่ seed จากตัวนี้ - ลำดับของการ split กำหนดผลทั้งหมด จึงต้อง split บน thread เดียว (ตอน spawn)
+     */
+    public GameRandom split() {
+        return new GameRandom(nextLong());
+    }
+
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putLong(state);
+    }
+
+    @Override
+    public void loadState(ByteBuffer in) {
+        state = in.getLong();
+    }
+}
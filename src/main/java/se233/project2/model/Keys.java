@@ -1,16 +1,158 @@
 package se233.project2.model;
 
 import javafx.scene.input.KeyCode;
-import java.util.HashMap;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keys - สถานะปุ่มกดของผู้เล่น
+ * - สถานะปัจจุบันเก็บเป็น bitset (index = KeyCode.ordinal()) ไม่มี autoboxing
+ * - ทุกการกด/ปล่อยถูกบันทึกพร้อม timestamp (nanoTime) ลง ring buffer แบบ lock-free
+ *   (ผู้เขียน = FX thread, ผู้อ่าน = simulation thread)
+ * - beginTick() ดึง event ออกจาก ring แล้วสร้าง "กดตั้งแต่ tick ก่อน" edge
+ *   ทำให้การแตะปุ่มที่สั้นกว่า 1 frame ไม่หาย
+ */
 public class Keys {
-    private HashMap<KeyCode, Boolean> keys = new HashMap<>();
+    private static final KeyCode[] CODES = KeyCode.values();
+    private static final int WORDS = (CODES.length + 63) / 64;
+
+    // ⭐ Ring buffer ขนาดเป็นกำลังสอง (single producer / single consumer)
+    private static final int RING_SIZE = 256;
+    private static final int RING_MASK = RING_SIZE - 1;
+
+    /**
+     * รับ event ที่ถูกดึงออกจาก ring ตอน beginTick
+     */
+    public interface KeyEventSink {
+        void onKeyEvent(KeyCode code, boolean pressed, long timestampNanos);
+    }
+
+    // สถานะปัจจุบัน (เขียนโดย FX thread)
+    private final AtomicLongArray down = new AtomicLongArray(WORDS);
+
+    // Ring buffer ของ transition
+    private final long[] eventTimes = new long[RING_SIZE];
+    private final int[] eventCodes = new int[RING_SIZE];   // ordinal * 2 + (pressed ? 1 : 0)
+    private final AtomicLong head = new AtomicLong();      // ตำแหน่งที่ผู้อ่านจะอ่านต่อ
+    private final AtomicLong tail = new AtomicLong();      // ตำแหน่งที่ผู้เขียนจะเขียนต่อ
+
+    // ถ้า ring เต็ม press จะถูก latch ไว้ตรงนี้แทน (ไม่ให้ tap หาย)
+    private final AtomicLongArray overflowPresses = new AtomicLongArray(WORDS);
+    private final AtomicLong droppedEvents = new AtomicLong();
 
+    // Snapshot ของ tick ปัจจุบัน (เขียน/อ่านโดย simulation thread เท่านั้น)
+    private final long[] pressedThisTick = new long[WORDS];
+    private final long[] pressTimes = new long[CODES.length];
+
+    /**
+     * บันทึกการกด/ปล่อยปุ่ม (เรียกจาก key handler บน FX thread)
+     */
     public void update(KeyCode code, boolean isPressed) {
-        keys.put(code, isPressed);
+        update(code, isPressed, System.nanoTime());
     }
 
+    public void update(KeyCode code, boolean isPressed, long timestampNanos) {
+        int index = code.ordinal();
+        int word = index >>> 6;
+        long bit = 1L << (index & 63);
+
+        // ⭐ auto-repeat ของ OS ส่ง KEY_PRESSED ซ้ำขณะกดค้าง → ไม่นับเป็น transition
+        boolean wasDown = (down.get(word) & bit) != 0;
+        if (wasDown == isPressed) return;
+
+        if (isPressed) {
+            down.getAndUpdate(word, w -> w | bit);
+        } else {
+            down.getAndUpdate(word, w -> w & ~bit);
+        }
+
+        long t = tail.get();
+        if (t - head.get() >= RING_SIZE) {
+            // ring เต็ม (simulation ไม่ได้ drain) → เก็บเฉพาะ press edge ไว้
+            droppedEvents.incrementAndGet();
+            if (isPressed) overflowPresses.getAndUpdate(word, w -> w | bit);
+            return;
+        }
+        int slot = (int) (t & RING_MASK);
+        eventTimes[slot] = timestampNanos;
+        eventCodes[slot] = index * 2 + (isPressed ? 1 : 0);
+        tail.set(t + 1);  // publish หลังเขียน slot เสร็จ
+    }
+
+    /**
+     * เริ่ม tick ใหม่ - ดึง event ทั้งหมดที่เข้ามาตั้งแต่ tick ก่อน แล้วสร้าง press edges
+     */
+    public void beginTick() {
+        beginTick(null);
+    }
+
+    /**
+     * เหมือน beginTick() แต่ส่ง event แต่ละตัว (ตามลำดับเวลา) ให้ sink ด้วย
+     */
+    public void beginTick(KeyEventSink sink) {
+        for (int i = 0; i < WORDS; i++) {
+            pressedThisTick[i] = overflowPresses.getAndSet(i, 0);
+        }
+
+        long h = head.get();
+        long t = tail.get();
+        for (; h < t; h++) {
+            int slot = (int) (h & RING_MASK);
+            int encoded = eventCodes[slot];
+            long time = eventTimes[slot];
+            int index = encoded >>> 1;
+            boolean pressed = (encoded & 1) != 0;
+
+            if (pressed) {
+                pressedThisTick[index >>> 6] |= 1L << (index & 63);
+                pressTimes[index] = time;
+            }
+            if (sink != null) {
+                sink.onKeyEvent(CODES[index], pressed, time);
+            }
+        }
+        head.set(h);
+    }
+
+    /**
+     * ล้างสถานะทั้งหมด (ใช้ตอนหน้าจอถูกซ่อน - key release ที่เกิดระหว่างนั้นจะไม่มาถึง)
+     * เรียกจาก FX thread ตอนที่ simulation ไม่ได้ทำงาน
+     */
+    public void clear() {
+        for (int i = 0; i < WORDS; i++) {
+            down.set(i, 0);
+            overflowPresses.set(i, 0);
+            pressedThisTick[i] = 0;
+        }
+        head.set(tail.get());
+    }
+
+    /**
+     * ปุ่มถูกกดอยู่ตอนนี้ หรือถูกกดระหว่าง tick ก่อนกับ tick นี้ (แม้จะปล่อยไปแล้ว)
+     */
     public boolean isPressed(KeyCode code) {
-        return keys.getOrDefault(code, false);
+        int index = code.ordinal();
+        long bit = 1L << (index & 63);
+        return ((down.get(index >>> 6) | pressedThisTick[index >>> 6]) & bit) != 0;
+    }
+
+    /**
+     * ปุ่มเพิ่งถูกกดตั้งแต่ tick ก่อน (edge) - ใช้กับ action ที่ควรเกิดครั้งเดียวต่อการกด
+     */
+    public boolean justPressed(KeyCode code) {
+        int index = code.ordinal();
+        return (pressedThisTick[index >>> 6] & (1L << (index & 63))) != 0;
+    }
+
+    /**
+     * เวลา (nanoTime) ของการกดล่าสุดที่ beginTick เห็น
+     */
+    public long getPressTime(KeyCode code) {
+        return pressTimes[code.ordinal()];
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.get();
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,10 @@
 package se233.project2.model;
 
 import javafx.scene.shape.Rectangle;
+import se233.project2.model.collision.Collider;
+import se233.project2.model.collision.CollisionLayer;
 
-public class Platform {
+public class Platform implements Collider {
     private Rectangle bounds;
     private int x;
     private int y;
@@ -68,4 +70,12 @@ public class Platform {
         // ต้อง overlap ทั้งแนวนอนและแนวตั้ง
         return horizontalOverlap && verticalOverlap;
     }
-}
\ No newline at end of file
+
+    // ⭐ Collider
+    @Override public int getCollisionLayer() { return CollisionLayer.TERRAIN; }
+    @Override public boolean isCollidable() { return true; }
+    @Override public double getHitX() { return x; }
+    @Override public double getHitY() { return y; }
+    @Override public double getHitWidth() { return width; }
+    @Override public double getHitHeight() { return height; }
+}
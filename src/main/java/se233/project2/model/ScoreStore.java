@@ -0,0 +1,479 @@
+package se233.project2.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se233.project2.controller.GameException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * ScoreStore - เก็บ high score และประวัติการเล่นลงไฟล์ขนาดคงที่ผ่าน MappedByteBuffer
+ *
+ * Layout ของไฟล์:
+ * - Header 2 slot (A/B) แต่ละ slot มี generation, จำนวน record ที่ commit แล้ว,
+ *   ตาราง top-K แบบเรียงแล้ว และ CRC - เขียนสลับ slot เสมอ จึงมี slot ที่สมบูรณ์อย่างน้อยหนึ่งอันเสมอ
+ * - Journal ของ record ขนาดคงที่ (ring, append-only) แต่ละ record มี sequence และ CRC ของตัวเอง
+ *
+ * ลำดับการเขียน: record → header (slot ที่ไม่ active) ถ้า process ตายระหว่างกลาง
+ * ตอนเปิดไฟล์จะเลือก header ที่ CRC ถูกและ generation สูงสุด แล้ว replay record ที่เขียนเสร็จแต่ยังไม่ commit
+ *
+ * record() แค่ส่งงานให้ writer thread ตัวเดียว (O(1), ไม่ block FX thread)
+ * store หลักเปิดตอนเริ่มเกมบน thread แยก (openInBackground) - สร้างไฟล์ / mmap / recovery ไม่เกิดบน FX thread
+ * game over อ่านผ่าน getIfOpen ซึ่งไม่รอ: ยังเปิดไม่เสร็จหรือเปิดไม่ได้ = ไม่บันทึกรอบนั้น (ไม่ลองเปิดซ้ำ)
+ * Usage: -Dgame.scores=path/to/scores.dat (default: ~/.se233-project2/scores.dat)
+ */
+public class ScoreStore {
+    private static final Logger logger = LoggerFactory.getLogger(ScoreStore.class);
+    // ⭐ ผลของการเปิด store หลัก (null = ยังไม่เริ่มเปิด) - FX thread อ่านผ่าน getIfOpen โดยไม่ล็อก
+    private static volatile CompletableFuture<ScoreStore> mainStore;
+
+    public static final int TOP_K = 100;
+    public static final int JOURNAL_CAPACITY = 4096;
+
+    private static final int MAGIC = 0x53434F52;   // "SCOR"
+    private static final int VERSION = 1;
+
+    // ⭐ Header slot: magic, version, generation, committed, topCount, entries[TOP_K], crc
+    private static final int ENTRY_SIZE = 24;       // sequence(8) + timestamp(8) + score(4) + stage(2) + flags(2)
+    private static final int SLOT_FIELDS = 4 + 4 + 8 + 8 + 4;
+    private static final int SLOT_CRC_OFFSET = SLOT_FIELDS + TOP_K * ENTRY_SIZE;
+    private static final int SLOT_SIZE = 4096;
+    private static final int HEADER_SIZE = SLOT_SIZE * 2;
+
+    // ⭐ Journal record: entry + crc(4) + padding → 32 bytes
+    private static final int RECORD_SIZE = 32;
+    private static final int RECORD_CRC_OFFSET = ENTRY_SIZE;
+
+    public static final long FILE_SIZE = HEADER_SIZE + (long) JOURNAL_CAPACITY * RECORD_SIZE;
+
+    private static final int FLAG_COMPLETED = 1;
+
+    /**
+     * ผลการเล่นหนึ่งรอบ
+     */
+    public static final class Entry {
+        private final long sequence;
+        private final long timestamp;
+        private final int score;
+        private final int stage;
+        private final boolean completed;
+
+        public Entry(long sequence, long timestamp, int score, int stage, boolean completed) {
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.score = score;
+            this.stage = stage;
+            this.completed = completed;
+        }
+
+        public long getSequence() { return sequence; }
+        public long getTimestamp() { return timestamp; }
+        public int getScore() { return score; }
+        public int getStage() { return stage; }
+        public boolean isCompleted() { return completed; }
+
+        @Override
+        public String toString() {
+            return "Run #" + sequence + ": " + score + " (stage " + stage + (completed ? ", completed)" : ")");
+        }
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer map;
+    private final ExecutorService writer;
+    private final CRC32 crc = new CRC32();   // ใช้บน writer thread (หรือตอนเปิดไฟล์) เท่านั้น
+
+    // State ของ writer thread - top-K ในรูป primitive array เรียงจากมากไปน้อย
+    private final long[] topSequence = new long[TOP_K];
+    private final long[] topTimestamp = new long[TOP_K];
+    private final int[] topScore = new int[TOP_K];
+    private final int[] topStage = new int[TOP_K];
+    private final boolean[] topCompleted = new boolean[TOP_K];
+    private int topCount = 0;
+    private long committed = 0;
+    private long generation = 0;
+    private volatile int activeSlot = 0;
+    // ⭐ อัปเดตจากทั้ง FX thread (record) และ writer thread - ใช้ max แบบ atomic ไม่ให้คะแนนต่ำทับคะแนนสูง
+    private final AtomicInteger bestScore = new AtomicInteger();
+    private int recovered = 0;
+
+    private ScoreStore(Path path) throws IOException {
+        this.path = path;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+        recover();
+
+        writer = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "score-store-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * เปิด store ที่ path ที่กำหนด (ใช้ใน test หรือเมื่อต้องการหลายไฟล์)
+     */
+    public static ScoreStore open(Path path) throws GameException {
+        try {
+            return new ScoreStore(path);
+        } catch (IOException e) {
+            throw GameException.fileIOError("Could not open score store: " + path, e);
+        }
+    }
+
+    /**
+     * เปิด store หลักบน thread แยก (เรียกครั้งเดียวตอนเริ่มเกม) - เรียกซ้ำได้ คืน future เดิม
+     * future ได้ null ถ้าเปิดไฟล์ไม่ได้ (เกมเล่นต่อได้โดยไม่มี leaderboard)
+     */
+    public static synchronized CompletableFuture<ScoreStore> openInBackground() {
+        if (mainStore == null) {
+            mainStore = CompletableFuture.supplyAsync(ScoreStore::openMain, task -> {
+                Thread opener = new Thread(task, "score-store-open");
+                opener.setDaemon(true);
+                opener.start();
+            });
+        }
+        return mainStore;
+    }
+
+    /**
+     * ⭐ Store หลักถ้าเปิดเสร็จแล้ว - ไม่ block: คืน null ระหว่างเปิด, เมื่อเปิดไม่ได้ หรือเมื่อยังไม่ได้เริ่มเปิด
+     */
+    public static ScoreStore getIfOpen() {
+        CompletableFuture<ScoreStore> future = mainStore;
+        return future != null ? future.getNow(null) : null;
+    }
+
+    private static ScoreStore openMain() {
+        String configured = System.getProperty("game.scores");
+        Path path = (configured != null && !configured.isBlank())
+                ? Path.of(configured)
+                : Path.of(System.getProperty("user.home"), ".se233-project2", "scores.dat");
+        try {
+            return open(path);
+        } catch (GameException e) {
+            GameException.handle(e);
+            return null;
+        } catch (RuntimeException e) {
+            GameException.handleAny(e);
+            return null;
+        }
+    }
+
+    /**
+     * ปิด store หลัก (เรียกตอนปิดเกม) - ถ้ายังเปิดอยู่จะรอให้เปิดเสร็จก่อนแล้วค่อยปิด
+     */
+    public static synchronized void shutdown() {
+        if (mainStore != null) {
+            ScoreStore store = mainStore.join();
+            if (store != null) store.close();
+            mainStore = null;
+        }
+    }
+
+    // ==================== Write path ====================
+
+    /**
+     * บันทึกผลการเล่น - คืนทันที งานจริงทำบน writer thread
+     */
+    public void record(int score, int stage, boolean completed) {
+        long timestamp = System.currentTimeMillis();
+        bestScore.accumulateAndGet(score, Math::max);
+        writer.execute(() -> append(timestamp, score, stage, completed));
+    }
+
+    private void append(long timestamp, int score, int stage, boolean completed) {
+        long sequence = committed;
+        writeRecord(sequence, timestamp, score, stage, completed);
+        insertTop(sequence, timestamp, score, stage, completed);
+        committed = sequence + 1;
+        writeHeader();
+        map.force();
+    }
+
+    private void writeRecord(long sequence, long timestamp, int score, int stage, boolean completed) {
+        int base = HEADER_SIZE + (int) (sequence % JOURNAL_CAPACITY) * RECORD_SIZE;
+        writeEntry(base, sequence, timestamp, score, stage, completed);
+        map.putInt(base + RECORD_CRC_OFFSET, checksum(base, ENTRY_SIZE));
+    }
+
+    private void writeEntry(int at, long sequence, long timestamp, int score, int stage, boolean completed) {
+        map.putLong(at, sequence);
+        map.putLong(at + 8, timestamp);
+        map.putInt(at + 16, score);
+        map.putShort(at + 20, (short) stage);
+        map.putShort(at + 22, (short) (completed ? FLAG_COMPLETED : 0));
+    }
+
+    /**
+     * ใส่ผลลงตาราง top-K (insertion แบบ shift) - คะแนนเท่ากันให้รอบที่เก่ากว่าอยู่ก่อน
+     */
+    private void insertTop(long sequence, long timestamp, int score, int stage, boolean completed) {
+        int pos = topCount;
+        while (pos > 0 && topScore[pos - 1] < score) pos--;
+        if (pos >= TOP_K) return;
+
+        int last = Math.min(topCount, TOP_K - 1);
+        for (int i = last; i > pos; i--) {
+            topSequence[i] = topSequence[i - 1];
+            topTimestamp[i] = topTimestamp[i - 1];
+            topScore[i] = topScore[i - 1];
+            topStage[i] = topStage[i - 1];
+            topCompleted[i] = topCompleted[i - 1];
+        }
+        topSequence[pos] = sequence;
+        topTimestamp[pos] = timestamp;
+        topScore[pos] = score;
+        topStage[pos] = stage;
+        topCompleted[pos] = completed;
+        if (topCount < TOP_K) topCount++;
+        bestScore.accumulateAndGet(score, Math::max);
+    }
+
+    /**
+     * เขียน header ลง slot ที่ไม่ active แล้วสลับ - slot เดิมยังสมบูรณ์ถ้าเขียนไม่จบ
+     */
+    private void writeHeader() {
+        int slot = 1 - activeSlot;
+        int base = slot * SLOT_SIZE;
+        generation++;
+
+        map.putInt(base, MAGIC);
+        map.putInt(base + 4, VERSION);
+        map.putLong(base + 8, generation);
+        map.putLong(base + 16, committed);
+        map.putInt(base + 24, topCount);
+        for (int i = 0; i < topCount; i++) {
+            writeEntry(base + SLOT_FIELDS + i * ENTRY_SIZE,
+                    topSequence[i], topTimestamp[i], topScore[i], topStage[i], topCompleted[i]);
+        }
+        map.putInt(base + SLOT_CRC_OFFSET, checksum(base, SLOT_CRC_OFFSET));
+        activeSlot = slot;
+    }
+
+    // ==================== Recovery ====================
+
+    private void recover() {
+        int best = -1;
+        long bestGeneration = -1;
+        for (int slot = 0; slot < 2; slot++) {
+            int base = slot * SLOT_SIZE;
+            if (!validSlot(base)) continue;
+            long g = map.getLong(base + 8);
+            if (g > bestGeneration) {
+                bestGeneration = g;
+                best = slot;
+            }
+        }
+
+        if (best >= 0) {
+            int base = best * SLOT_SIZE;
+            activeSlot = best;
+            generation = bestGeneration;
+            committed = map.getLong(base + 16);
+            topCount = map.getInt(base + 24);
+            for (int i = 0; i < topCount; i++) {
+                int at = base + SLOT_FIELDS + i * ENTRY_SIZE;
+                topSequence[i] = map.getLong(at);
+                topTimestamp[i] = map.getLong(at + 8);
+                topScore[i] = map.getInt(at + 16);
+                topStage[i] = map.getShort(at + 20);
+                topCompleted[i] = (map.getShort(at + 22) & FLAG_COMPLETED) != 0;
+            }
+            bestScore.set(topCount > 0 ? topScore[0] : 0);
+        } else {
+            // ไม่มี header ที่ใช้ได้ (ไฟล์ใหม่หรือเสียทั้งสอง slot) → สร้างใหม่จาก journal
+            rebuildFromJournal();
+        }
+
+        // ⭐ Replay record ที่เขียนเสร็จแล้วแต่ header ยังไม่ทันอัปเดต
+        while (validRecord(committed)) {
+            int base = HEADER_SIZE + (int) (committed % JOURNAL_CAPACITY) * RECORD_SIZE;
+            insertTop(committed, map.getLong(base + 8), map.getInt(base + 16),
+                    map.getShort(base + 20), (map.getShort(base + 22) & FLAG_COMPLETED) != 0);
+            committed++;
+            recovered++;
+        }
+        if (recovered > 0 || best < 0) {
+            writeHeader();
+            map.force();
+        }
+        if (recovered > 0) {
+            logger.warn("Score store recovered {} uncommitted record(s) from {}", recovered, path);
+        }
+    }
+
+    /**
+     * หา sequence ล่าสุดที่ต่อเนื่องใน journal แล้วสร้าง top-K ใหม่จาก record ที่ยังอยู่ใน ring
+     */
+    private void rebuildFromJournal() {
+        long highest = -1;
+        for (int i = 0; i < JOURNAL_CAPACITY; i++) {
+            int base = HEADER_SIZE + i * RECORD_SIZE;
+            if (!validRecordAt(base)) continue;
+            long sequence = map.getLong(base);
+            if (sequence % JOURNAL_CAPACITY == i && sequence > highest) highest = sequence;
+        }
+
+        topCount = 0;
+        bestScore.set(0);
+        committed = highest + 1;
+        generation = 0;
+        activeSlot = 1;   // header แรกจะถูกเขียนลง slot 0
+
+        long first = Math.max(0, committed - JOURNAL_CAPACITY);
+        for (long sequence = first; sequence < committed; sequence++) {
+            if (!validRecord(sequence)) continue;
+            int base = HEADER_SIZE + (int) (sequence % JOURNAL_CAPACITY) * RECORD_SIZE;
+            insertTop(sequence, map.getLong(base + 8), map.getInt(base + 16),
+                    map.getShort(base + 20), (map.getShort(base + 22) & FLAG_COMPLETED) != 0);
+        }
+        if (committed > 0) {
+            logger.warn("Score store header invalid, rebuilt leaderboard from journal ({} runs)", committed);
+        }
+    }
+
+    private boolean validSlot(int base) {
+        if (map.getInt(base) != MAGIC || map.getInt(base + 4) != VERSION) return false;
+        int count = map.getInt(base + 24);
+        if (count < 0 || count > TOP_K) return false;
+        return map.getInt(base + SLOT_CRC_OFFSET) == checksum(base, SLOT_CRC_OFFSET);
+    }
+
+    private boolean validRecord(long sequence) {
+        int base = HEADER_SIZE + (int) (sequence % JOURNAL_CAPACITY) * RECORD_SIZE;
+        return validRecordAt(base) && map.getLong(base) == sequence;
+    }
+
+    private boolean validRecordAt(int base) {
+        int stored = map.getInt(base + RECORD_CRC_OFFSET);
+        // record ว่าง (ทั้งหมดเป็นศูนย์) ไม่นับว่าถูกต้อง
+        if (stored == 0 && map.getLong(base + 8) == 0) return false;
+        return stored == checksum(base, ENTRY_SIZE);
+    }
+
+    private int checksum(int offset, int length) {
+        crc.reset();
+        crc.update(map.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    // ==================== Read path ====================
+
+    /**
+     * คะแนนสูงสุดที่เคยบันทึก (รวม record ที่ยังรอ writer)
+     */
+    public int getBestScore() {
+        return bestScore.get();
+    }
+
+    /**
+     * อ่านตาราง top-K จาก header slot ที่ active (offset คงที่ ไม่ต้อง parse)
+     * ⭐ copy ทั้ง slot ก่อนแล้วตรวจ CRC ของสำเนา → entry ที่คืนมาจาก slot เวอร์ชันเดียวกันเสมอ
+     * ถ้า writer เขียนทับ slot ระหว่าง copy (CRC ไม่ตรง) จะอ่านใหม่
+     */
+    public List<Entry> getTopScores(int limit) {
+        ByteBuffer view = map.duplicate();
+        byte[] copy = new byte[SLOT_CRC_OFFSET + 4];
+        ByteBuffer slot = ByteBuffer.wrap(copy);
+        CRC32 readCrc = new CRC32();
+        while (true) {
+            view.get(activeSlot * SLOT_SIZE, copy);
+            readCrc.reset();
+            readCrc.update(copy, 0, SLOT_CRC_OFFSET);
+            if ((int) readCrc.getValue() != slot.getInt(SLOT_CRC_OFFSET)) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            int count = Math.min(Math.min(limit, TOP_K), Math.max(0, slot.getInt(24)));
+            List<Entry> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int at = SLOT_FIELDS + i * ENTRY_SIZE;
+                result.add(new Entry(slot.getLong(at), slot.getLong(at + 8), slot.getInt(at + 16),
+                        slot.getShort(at + 20), (slot.getShort(at + 22) & FLAG_COMPLETED) != 0));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * ประวัติการเล่นล่าสุด (ใหม่สุดก่อน) - อ่านจาก journal บน writer thread
+     */
+    public List<Entry> getRecentRuns(int limit) {
+        try {
+            return writer.submit(() -> {
+                List<Entry> result = new ArrayList<>();
+                long first = Math.max(0, committed - Math.min(limit, JOURNAL_CAPACITY));
+                for (long sequence = committed - 1; sequence >= first; sequence--) {
+                    if (!validRecord(sequence)) continue;
+                    int base = HEADER_SIZE + (int) (sequence % JOURNAL_CAPACITY) * RECORD_SIZE;
+                    result.add(new Entry(sequence, map.getLong(base + 8), map.getInt(base + 16),
+                            map.getShort(base + 20), (map.getShort(base + 22) & FLAG_COMPLETED) != 0));
+                }
+                return result;
+            }).get();
+        } catch (Exception e) {
+            GameException.handleAny(e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * จำนวนรอบที่ commit แล้ว (รอให้งานที่ค้างใน writer เสร็จก่อน)
+     */
+    public long getRunCount() {
+        flush();
+        return committed;
+    }
+
+    public int getRecoveredCount() {
+        return recovered;
+    }
+
+    /**
+     * รอจน writer เขียนงานที่ค้างอยู่ทั้งหมดเสร็จ
+     */
+    public void flush() {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (Exception e) {
+            GameException.handleAny(e);
+        }
+    }
+
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(2, TimeUnit.SECONDS)) {
+                logger.warn("Score store writer did not finish in time");
+            }
+            map.force();
+            channel.close();
+        } catch (Exception e) {
+            GameException.handleAny(e);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+}
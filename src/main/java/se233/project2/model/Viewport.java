@@ -0,0 +1,32 @@
+package se233.project2.model;
+
+import javafx.scene.Node;
+
+/**
+ * Viewport - ขอบเขตของจอเกม (1280×720) สำหรับ culling
+ */
+public final class Viewport {
+    public static final double WIDTH = 1280;
+    public static final double HEIGHT = 720;
+
+    private Viewport() {}
+
+    /**
+     * กล่อง (x, y, w, h) มีส่วนใดอยู่ในจอหรือไม่
+     */
+    public static boolean intersects(double x, double y, double w, double h) {
+        return x + w > 0 && x < WIDTH && y + h > 0 && y < HEIGHT;
+    }
+
+    /**
+     * ⭐ ซ่อน node ที่อยู่นอกจอทั้งตัว (JavaFX ไม่ render node ที่ invisible)
+     * แตะ node เฉพาะตอนค่าเปลี่ยน - คืนค่าว่าอยู่ในจอหรือไม่
+     */
+    public static boolean cull(Node node, double x, double y, double w, double h) {
+        boolean onScreen = intersects(x, y, w, h);
+        if (node.isVisible() != onScreen) {
+            node.setVisible(onScreen);
+        }
+        return onScreen;
+    }
+}
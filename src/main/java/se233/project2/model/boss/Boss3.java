@@ -5,12 +5,20 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
+import se233.project2.controller.QualityGovernor;
+import se233.project2.controller.Snapshotable;
+import se233.project2.model.GameRandom;
+import se233.project2.model.collision.CollisionLayer;
+import se233.project2.model.collision.HitMask;
+import se233.project2.model.collision.Hittable;
 import se233.project2.model.item.Bullet;
+import se233.project2.model.pattern.BulletPattern;
+import se233.project2.model.pattern.PatternEmitter;
 import javafx.scene.image.Image;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Boss3 (Last Boss) - บอสตัวสุดท้ายของ Stage 3
@@ -18,7 +26,7 @@ import java.util.Random;
  * - ยิง weapon พุ่งตรงไปที่ผู้เล่น
  * - Weapon animation 10 frames (custom width)
  */
-public class Boss3 extends Pane {
+public class Boss3 extends Pane implements Snapshotable, Hittable {
     private ImageView bossImageView;
     private Circle fallbackCircle;
     private CustomWeaponSprite weaponEffect;
@@ -30,18 +38,35 @@ public class Boss3 extends Pane {
     private double x, y;
     private double width = 500;
     private double height = 500;
+
+    // ⭐ รูปร่างทึบของบอส (null = ใช้ทั้งกล่อง) และขนาดที่ ImageView วาดจริง (preserveRatio ชิดซ้ายบน)
+    private HitMask hitMask;
+    private double drawWidth = width;
+    private double drawHeight = height;
     private int health;
     private int maxHealth;
     private boolean alive = true;
-    private Random random = new Random();
+    private GameRandom random;
 
     // Animation (เฉพาะ weapon effect)
     private int weaponAnimationTick = 0;
     private final int ANIMATION_SPEED = 6;
 
+    // ⭐ weapon flash แสดง ~300ms (นับเป็น frame แทนการสร้าง Thread)
+    private int weaponFlashTimer = 0;
+    private static final int WEAPON_FLASH_FRAMES = 18;
+    private final QualityGovernor governor = QualityGovernor.getInstance();
+
     // Shooting
-    private List<AnimatedBullet> bullets;
-    private List<WeaponProjectile> weapons;  // ✨ เพิ่ม weapon projectiles
+    // ⭐ bullets และ weapon projectiles อยู่ใน list เดียว → getBullets() ไม่ต้องรวม list ใหม่ทุก tick
+    private List<Bullet> projectiles;
+    private PatternEmitter bulletEmitter;
+    private PatternEmitter weaponEmitter;
+
+    // ✨ 5 ทิศสุ่ม (0–359°) ยิง 2 หรือ 3 รอบ
+    private static final BulletPattern BULLET_PATTERN_X2 = BulletPattern.random(5, 7).repeat(2, 0);
+    private static final BulletPattern BULLET_PATTERN_X3 = BulletPattern.random(5, 7).repeat(3, 0);
+    private static final BulletPattern WEAPON_PATTERN = BulletPattern.aimed(1, 8);
     private long lastShoot = 0;
     private long lastWeaponShoot = 0;  // ✨ แยก cooldown
     private long shootInterval = 1_200_000_000; // 1.2 วินาที (bullet)
@@ -52,7 +77,7 @@ public class Boss3 extends Pane {
     private double playerY = 0;
 
     public Boss3(Image bossImage, Image weaponSprite, Image bulletSprite,
-                 double x, double y, int maxHealth) {
+                 double x, double y, int maxHealth, GameRandom random) {
         this.x = x;
         this.y = y;
         this.maxHealth = maxHealth;
@@ -60,12 +85,30 @@ public class Boss3 extends Pane {
         this.bossImage = bossImage;
         this.weaponSprite = weaponSprite;
         this.bulletSprite = bulletSprite;
-        this.bullets = new ArrayList<>();
-        this.weapons = new ArrayList<>();
+        this.projectiles = new ArrayList<>();
+        this.random = random;
+        this.bulletEmitter = new PatternEmitter("Boss3.bulletPattern",
+                (bx, by, vx, vy) -> projectiles.add(new AnimatedBullet(bulletSprite, bx, by, vx, vy)), random);
+        this.weaponEmitter = new PatternEmitter("Boss3.weapon",
+                (bx, by, vx, vy) -> projectiles.add(new WeaponProjectile(weaponSprite, bx, by, vx, vy)), random);
 
         setupSprite();
         this.setTranslateX(x);
         this.setTranslateY(y);
+
+        this.hitMask = HitMask.forFrame(bossImage, null);
+        if (hitMask != null) {
+            double[] drawn = HitMask.fittedSize(bossImage.getWidth(), bossImage.getHeight(), width, height);
+            drawWidth = drawn[0];
+            drawHeight = drawn[1];
+        }
+    }
+
+    /**
+     * สร้าง hit mask ของรูปบอสไว้ก่อน (เรียกตอนโหลด ไม่ให้ไปสร้างตอน spawn)
+     */
+    public static void buildHitMasks(Image bossImage) {
+        HitMask.forFrame(bossImage, null);
     }
 
     private void setupSprite() {
@@ -101,6 +144,10 @@ public class Boss3 extends Pane {
         // Update weapon animation
         if (weaponEffect != null && weaponEffect.isVisible()) {
             updateWeaponAnimation();
+            weaponFlashTimer--;
+            if (weaponFlashTimer <= 0) {
+                weaponEffect.setVisible(false);
+            }
         }
 
         // ✨ Bullet shooting (5 ทิศทาง, สุ่ม x2 หรือ x3)
@@ -115,25 +162,11 @@ public class Boss3 extends Pane {
             lastWeaponShoot = now;
         }
 
-        // Update bullets
-        List<AnimatedBullet> bulletsToRemove = new ArrayList<>();
-        for (AnimatedBullet bullet : bullets) {
-            bullet.update();
-            if (!bullet.isActive()) {
-                bulletsToRemove.add(bullet);
-            }
-        }
-        bullets.removeAll(bulletsToRemove);
-
-        // ✨ Update weapons
-        List<WeaponProjectile> weaponsToRemove = new ArrayList<>();
-        for (WeaponProjectile weapon : weapons) {
-            weapon.update();
-            if (!weapon.isActive()) {
-                weaponsToRemove.add(weapon);
-            }
-        }
-        weapons.removeAll(weaponsToRemove);
+        bulletEmitter.update();
+        weaponEmitter.update();
+
+        // Update bullets + weapons
+        Bullet.updateAll(projectiles);
     }
 
     private void updateWeaponAnimation() {
@@ -150,29 +183,10 @@ public class Boss3 extends Pane {
     private void shootBulletPattern() {
         double bulletX = x + 220;
         double bulletY = y + 150;
-        double baseSpeed = 7;
 
         // ✨ สุ่มจำนวนรอบ: 2 หรือ 3
         int rounds = random.nextBoolean() ? 2 : 3;
-
-        for (int round = 0; round < rounds; round++) {
-            //0-359 degree
-            for (int i = 0; i < 5; i++) {
-                double angle = Math.toRadians(random.nextInt(360)); // 0–359 องศา
-                double vx = baseSpeed * Math.cos(angle);
-                double vy = baseSpeed * Math.sin(angle);
-
-                AnimatedBullet bullet = new AnimatedBullet(
-                        bulletSprite,
-                        bulletX,
-                        bulletY,
-                        vx,
-                        vy
-                );
-                bullets.add(bullet);
-            }
-
-        }
+        bulletEmitter.emit(rounds == 2 ? BULLET_PATTERN_X2 : BULLET_PATTERN_X3, bulletX, bulletY);
 
         System.out.println("🔥 Boss3 fired " + rounds + " rounds of 5-direction bullets!");
     }
@@ -181,47 +195,19 @@ public class Boss3 extends Pane {
      * ✨ ยิง weapon พุ่งตรงไปที่ผู้เล่น จากพิกัด (220, 130)
      */
     private void shootWeaponAtPlayer() {
-        // Show weapon effect
-        if (weaponEffect != null) {
+        // Show weapon effect (ปิดได้โดย governor)
+        if (weaponEffect != null && governor.isWeaponFlashEnabled()) {
             weaponEffect.setVisible(true);
             weaponEffect.reset();
+            weaponFlashTimer = WEAPON_FLASH_FRAMES;
         }
 
         // ✨ ยิงจากพิกัด x=220, y=130
         double weaponX = x + 220;
         double weaponY = y + 130;
 
-        // ✨ คำนวณทิศทางไปหาผู้เล่น
-        double dx = playerX - weaponX;
-        double dy = playerY - weaponY;
-        double distance = Math.sqrt(dx * dx + dy * dy);
-
-        if (distance > 0) {
-            double speed = 8;
-            double vx = (dx / distance) * speed;
-            double vy = (dy / distance) * speed;
-
-            WeaponProjectile weapon = new WeaponProjectile(
-                    weaponSprite,
-                    weaponX,
-                    weaponY,
-                    vx,
-                    vy
-            );
-            weapons.add(weapon);
-        }
-
-        // Hide weapon effect after delay
-        new Thread(() -> {
-            try {
-                Thread.sleep(300);
-                if (weaponEffect != null) {
-                    weaponEffect.setVisible(false);
-                }
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }).start();
+        // ✨ พุ่งไปหาผู้เล่น
+        weaponEmitter.emit(WEAPON_PATTERN, weaponX, weaponY, playerX, playerY);
 
         System.out.println("⚔️ Boss3 fired weapon towards player!");
     }
@@ -242,21 +228,62 @@ public class Boss3 extends Pane {
         }
     }
 
-    public boolean checkBulletCollision(Bullet bullet) {
-        if (!alive || !bullet.isPlayerBullet()) return false;
-
-        double bx = bullet.getCenterX();
-        double by = bullet.getCenterY();
-
-        boolean hit = bx >= x && bx <= x + width &&
-                by >= y && by <= y + height;
+    /**
+     * ⭐ เขียน state ลง keyframe - timer, ตำแหน่ง player ที่เล็งไว้, random, ชุดที่รอยิง และ projectile ทุกนัด
+     * (weapon flash ขึ้นกับ governor จึงไม่ถูกเก็บ)
+     */
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putInt(health);
+        out.put((byte) (alive ? 1 : 0));
+        out.putLong(lastShoot);
+        out.putLong(lastWeaponShoot);
+        out.putDouble(playerX);
+        out.putDouble(playerY);
+        random.saveState(out);
+        bulletEmitter.saveState(out);
+        weaponEmitter.saveState(out);
+
+        // projectile สองชนิดอยู่ใน list เดียว → นำหน้าแต่ละนัดด้วยชนิด
+        out.putInt(projectiles.size());
+        for (int i = 0; i < projectiles.size(); i++) {
+            Bullet projectile = projectiles.get(i);
+            out.put((byte) (projectile instanceof WeaponProjectile ? 1 : 0));
+            projectile.saveState(out);
+        }
+    }
 
-        if (hit) {
-            takeDamage(1);
-            bullet.deactivate();
-            return true;
+    /**
+     * คืน state ให้ node เดิม - ผู้เรียกต้องเอา bullet node ออกจาก pane ก่อน
+     */
+    @Override
+    public void loadState(ByteBuffer in) {
+        health = in.getInt();
+        alive = in.get() != 0;
+        lastShoot = in.getLong();
+        lastWeaponShoot = in.getLong();
+        playerX = in.getDouble();
+        playerY = in.getDouble();
+        random.loadState(in);
+        bulletEmitter.loadState(in);
+        weaponEmitter.loadState(in);
+
+        projectiles.clear();
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining()) {
+            throw new IllegalStateException("Invalid projectile count " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            Bullet projectile = in.get() == 1
+                    ? new WeaponProjectile(weaponSprite, x, y, 0, 0)
+                    : new AnimatedBullet(bulletSprite, x, y, 0, 0);
+            projectile.loadState(in);
+            projectiles.add(projectile);
         }
-        return false;
+
+        weaponFlashTimer = 0;
+        if (weaponEffect != null) weaponEffect.setVisible(false);
+        this.setVisible(alive);
     }
 
     public boolean checkPlayerCollision(double playerX, double playerY,
@@ -273,34 +300,44 @@ public class Boss3 extends Pane {
     public boolean isAlive() { return alive; }
 
     public List<Bullet> getBullets() {
-        // ✨ รวม bullets และ weapons เข้าด้วยกัน
-        List<Bullet> allProjectiles = new ArrayList<>();
-        allProjectiles.addAll(bullets);
-        allProjectiles.addAll(weapons);
-        return allProjectiles;
+        // ✨ bullets และ weapons อยู่ใน list เดียวกันแล้ว
+        return projectiles;
     }
 
     public void removeBullet(Bullet bullet) {
-        bullets.remove(bullet);
-        weapons.remove(bullet);
+        projectiles.remove(bullet);
     }
 
     public double getX() { return x; }
     public double getY() { return y; }
     public double getBossWidth() { return width; }
     public double getBossHeight() { return height; }
+
+    // ⭐ Hittable / Collider
+    @Override public int getCollisionLayer() { return CollisionLayer.ENEMY; }
+    @Override public boolean isCollidable() { return alive; }
+    @Override public double getHitX() { return x; }
+    @Override public double getHitY() { return y; }
+    @Override public double getHitWidth() { return width; }
+    @Override public double getHitHeight() { return height; }
+    @Override public boolean isSolidAt(double px, double py) {
+        return hitMask == null || hitMask.contains(px, py, x, y, drawWidth, drawHeight);
+    }
+    @Override public String getColliderName() { return "Boss3"; }
+    @Override public int getKillPoints() { return 5; }
+    @Override public boolean isBoss() { return true; }
     public int getHealth() { return health; }
 
     /**
      * ✨ Custom Weapon Sprite - 10 frames with variable widths
      */
-    private class CustomWeaponSprite extends ImageView {
+    private static class CustomWeaponSprite extends ImageView {
         private Image spriteSheet;
         private int currentFrame = 0;
         private final int TOTAL_FRAMES = 10;
 
         // ✨ Frame data: [x, y, width, height]
-        private final int[][] frames = {
+        private static final int[][] FRAMES = {
                 {0, 0, 16, 22},      // Frame 1
                 {15, 0, 14, 22},     // Frame 2
                 {31, 0, 18, 22},     // Frame 3
@@ -313,6 +350,15 @@ public class Boss3 extends Pane {
                 {167, 0, 18, 22}     // Frame 10
         };
 
+        // ⭐ สร้าง viewport ครั้งเดียว ไม่ new Rectangle2D ทุกครั้งที่เปลี่ยน frame
+        private static final Rectangle2D[] VIEWPORTS = new Rectangle2D[FRAMES.length];
+        static {
+            for (int i = 0; i < FRAMES.length; i++) {
+                int[] frame = FRAMES[i];
+                VIEWPORTS[i] = new Rectangle2D(frame[0], frame[1], frame[2], frame[3]);
+            }
+        }
+
         public CustomWeaponSprite(Image sprite) {
             this.spriteSheet = sprite;
             this.setImage(sprite);
@@ -330,8 +376,7 @@ public class Boss3 extends Pane {
         }
 
         private void updateViewport() {
-            int[] frame = frames[currentFrame];
-            this.setViewport(new Rectangle2D(frame[0], frame[1], frame[2], frame[3]));
+            this.setViewport(VIEWPORTS[currentFrame]);
         }
     }
 
@@ -424,10 +469,16 @@ public class Boss3 extends Pane {
     /**
      * Custom Bullet Sprite - 4 frames
      */
-    private class CustomBulletSprite extends ImageView {
+    private static class CustomBulletSprite extends ImageView {
         private Image spriteSheet;
         private int currentFrame = 0;
         private final int TOTAL_FRAMES = 4;
+        private static final Rectangle2D[] VIEWPORTS = {
+                new Rectangle2D(0, 0, 40, 36),
+                new Rectangle2D(40, 0, 40, 36),
+                new Rectangle2D(80, 0, 40, 36),
+                new Rectangle2D(120, 0, 40, 36)
+        };
 
         public CustomBulletSprite(Image sprite) {
             this.spriteSheet = sprite;
@@ -441,8 +492,7 @@ public class Boss3 extends Pane {
         }
 
         private void updateViewport() {
-            int x = currentFrame * 40;
-            this.setViewport(new Rectangle2D(x, 0, 40, 36));
+            this.setViewport(VIEWPORTS[currentFrame]);
         }
     }
 }
\ No newline at end of file
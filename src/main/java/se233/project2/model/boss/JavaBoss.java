@@ -6,13 +6,19 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
+import se233.project2.controller.Snapshotable;
 import se233.project2.model.AnimatedSprite;
+import se233.project2.model.GameRandom;
+import se233.project2.model.collision.CollisionLayer;
+import se233.project2.model.collision.HitMask;
+import se233.project2.model.collision.Hittable;
 import se233.project2.model.item.Bullet;
+import se233.project2.model.pattern.BulletPattern;
+import se233.project2.model.pattern.PatternEmitter;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Random;
 
 /**
  * JavaBoss - Stage 2 boss with animation
@@ -21,7 +27,7 @@ import java.util.Random;
  * - bullet sprite sheet 4 frames (animated) - ตกลงบนพื้น
  * - อ้าปากตอนยิงเท่านั้น
  */
-public class JavaBoss extends Pane {
+public class JavaBoss extends Pane implements Snapshotable, Hittable {
     private Rectangle hitbox;
     private Rectangle healthBar;
     private Rectangle healthBarBg;
@@ -51,8 +57,9 @@ public class JavaBoss extends Pane {
     // Shooting
     private long lastShoot = 0;
     private long shootInterval = 1_000_000_000;
-    private Random random;
+    private GameRandom random;
     private List<Bullet> bullets;
+    private PatternEmitter emitter;
     private Image bulletSpriteImage;
     private int shotPattern = 0;
 
@@ -67,11 +74,34 @@ public class JavaBoss extends Pane {
     private static final int FRAME2_WIDTH = 113;
     private static final int FRAME2_HEIGHT = 113;
 
+    // ⭐ Shot patterns (index = shotPattern)
+    private static final BulletPattern[] SHOT_PATTERNS = {
+            BulletPattern.line(1, -7, -2),                                    // Single - ยิงแบบโค้ง (มี gravity)
+            BulletPattern.line(3, -7, -2).spacing(0, 20).velocityStep(0, 1),  // Spread (3) - ยิงแบบโค้งกระจาย
+            BulletPattern.line(5, -7, -2).spacing(0, 15)                      // Rapid (5) - ยิงรัวแบบโค้ง
+    };
+
+    private static final Rectangle2D FRAME1_VIEWPORT = new Rectangle2D(FRAME1_X, FRAME1_Y, FRAME1_WIDTH, FRAME1_HEIGHT);
+    private static final Rectangle2D FRAME2_VIEWPORT = new Rectangle2D(FRAME2_X, FRAME2_Y, FRAME2_WIDTH, FRAME2_HEIGHT);
+
+    // ⭐ hit mask ต่อเฟรม (ปิดปาก/อ้าปาก) - null = ใช้ทั้งกล่อง
+    private HitMask closedMask;
+    private HitMask openMask;
+
     private static final int HEALTH_BAR_WIDTH = 200;
     private static final int HEALTH_BAR_HEIGHT = 15;
 
+    /**
+     * สร้าง hit mask ของทั้งสองเฟรมไว้ก่อน (เรียกตอนโหลด)
+     */
+    public static void buildHitMasks(Image normalImage) {
+        HitMask.forFrame(normalImage, FRAME1_VIEWPORT);
+        HitMask.forFrame(normalImage, FRAME2_VIEWPORT);
+    }
+
     public JavaBoss(double x, double y, double width, double height, int maxHealth,
-                    Image normalImage, Image deadImage, Image weaponImage, Image bulletSprite) {
+                    Image normalImage, Image deadImage, Image weaponImage, Image bulletSprite,
+                    GameRandom random) {
         // เริ่มต้นนอกจอขวาบน
         this.bossX = 1400;
         this.bossY = 100;
@@ -83,8 +113,11 @@ public class JavaBoss extends Pane {
         this.health = maxHealth;
         this.bulletSpriteImage = bulletSprite;
         this.spriteSheet = normalImage;
-        this.random = new Random();
+        this.random = random;
         this.bullets = new ArrayList<>();
+        this.emitter = new PatternEmitter("JavaBoss.shootPattern", this::createBullet, random);
+        this.closedMask = HitMask.forFrame(normalImage, FRAME1_VIEWPORT);
+        this.openMask = HitMask.forFrame(normalImage, FRAME2_VIEWPORT);
 
         // Boss sprite - ใช้ ImageView แทน AnimatedSprite เพื่อรองรับ frames ที่มีขนาดต่างกัน
         if (normalImage != null) {
@@ -95,7 +128,7 @@ public class JavaBoss extends Pane {
             sprite.setSmooth(false);
 
             // เริ่มต้นที่ Frame 1 (ปิดปาก)
-            sprite.setViewport(new Rectangle2D(FRAME1_X, FRAME1_Y, FRAME1_WIDTH, FRAME1_HEIGHT));
+            sprite.setViewport(FRAME1_VIEWPORT);
             this.getChildren().add(sprite);
         }
 
@@ -165,13 +198,14 @@ public class JavaBoss extends Pane {
             shootInterval = 800_000_000L + random.nextInt(700_000_000);
         }
 
+        emitter.update();
+
         // Update bullets
-        Iterator<Bullet> it = bullets.iterator();
-        while (it.hasNext()) {
-            Bullet b = it.next();
+        for (int i = bullets.size() - 1; i >= 0; i--) {
+            Bullet b = bullets.get(i);
             b.update();
             if (!b.isActive()) {
-                it.remove();
+                bullets.remove(i);
             }
         }
     }
@@ -181,7 +215,7 @@ public class JavaBoss extends Pane {
      */
     private void openMouth() {
         if (sprite != null && !isMouthOpen) {
-            sprite.setViewport(new Rectangle2D(FRAME2_X, FRAME2_Y, FRAME2_WIDTH, FRAME2_HEIGHT));
+            sprite.setViewport(FRAME2_VIEWPORT);
             isMouthOpen = true;
             mouthOpenTimer = 0;
         }
@@ -192,7 +226,7 @@ public class JavaBoss extends Pane {
      */
     private void closeMouth() {
         if (sprite != null && isMouthOpen) {
-            sprite.setViewport(new Rectangle2D(FRAME1_X, FRAME1_Y, FRAME1_WIDTH, FRAME1_HEIGHT));
+            sprite.setViewport(FRAME1_VIEWPORT);
             isMouthOpen = false;
             mouthOpenTimer = 0;
         }
@@ -201,24 +235,7 @@ public class JavaBoss extends Pane {
     private void shootPattern() {
         double bulletX = bossX;
         double bulletY = bossY + bossHeight / 2;
-
-        switch (shotPattern) {
-            case 0: // Single - ยิงแบบโค้ง (มี gravity)
-                createBullet(bulletX, bulletY, -7, -2);
-                break;
-
-            case 1: // Spread (3) - ยิงแบบโค้งกระจาย
-                createBullet(bulletX, bulletY - 20, -7, -3);
-                createBullet(bulletX, bulletY, -7, -2);
-                createBullet(bulletX, bulletY + 20, -7, -1);
-                break;
-
-            case 2: // Rapid (5) - ยิงรัวแบบโค้ง
-                for (int i = 0; i < 5; i++) {
-                    createBullet(bulletX, bulletY + (i * 15 - 30), -7, -2);
-                }
-                break;
-        }
+        emitter.emit(SHOT_PATTERNS[shotPattern], bulletX, bulletY);
     }
 
     private void createBullet(double x, double y, double vx, double vy) {
@@ -237,29 +254,63 @@ public class JavaBoss extends Pane {
 
         if (health <= 0) {
             alive = false;
-            hitbox.setVisible(false);
-            healthBar.setVisible(false);
-            healthBarBg.setVisible(false);
-            if (sprite != null) sprite.setVisible(false);
-            if (weaponSprite != null) weaponSprite.setVisible(false);
+            showAlive(false);
         }
     }
 
-    public boolean checkBulletCollision(Bullet bullet) {
-        if (!alive || !bullet.isPlayerBullet()) return false;
-
-        double bx = bullet.getCenterX();
-        double by = bullet.getCenterY();
+    private void showAlive(boolean visible) {
+        hitbox.setVisible(visible);
+        healthBar.setVisible(visible);
+        healthBarBg.setVisible(visible);
+        if (sprite != null) sprite.setVisible(visible);
+        if (weaponSprite != null) weaponSprite.setVisible(visible);
+    }
 
-        boolean hit = bx >= bossX && bx <= bossX + bossWidth &&
-                by >= bossY && by <= bossY + bossHeight;
+    /**
+     * ⭐ เขียน state ลง keyframe - ตำแหน่ง/การเข้าฉาก, ปาก (เลือก hit mask), timer, pattern ถัดไป, random และกระสุน
+     */
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putDouble(bossX);
+        out.putDouble(bossY);
+        out.put((byte) (isEntering ? 1 : 0));
+        out.putInt(health);
+        out.put((byte) (alive ? 1 : 0));
+        out.put((byte) (isMouthOpen ? 1 : 0));
+        out.putInt(mouthOpenTimer);
+        out.putLong(lastShoot);
+        out.putLong(shootInterval);
+        out.putInt(shotPattern);
+        random.saveState(out);
+        emitter.saveState(out);
+        Bullet.saveAll(bullets, out);
+    }
 
-        if (hit) {
-            takeDamage(1);
-            bullet.deactivate();
-            return true;
-        }
-        return false;
+    /**
+     * คืน state ให้ node เดิม - ผู้เรียกต้องเอา bullet node ออกจาก pane ก่อน
+     */
+    @Override
+    public void loadState(ByteBuffer in) {
+        bossX = in.getDouble();
+        bossY = in.getDouble();
+        isEntering = in.get() != 0;
+        health = in.getInt();
+        alive = in.get() != 0;
+        isMouthOpen = in.get() != 0;
+        mouthOpenTimer = in.getInt();
+        lastShoot = in.getLong();
+        shootInterval = in.getLong();
+        shotPattern = in.getInt();
+        random.loadState(in);
+        emitter.loadState(in);
+        bullets.clear();
+        Bullet.loadAll(in, bullets, () -> new AnimatedBullet(bulletSpriteImage, bossX, bossY, 0, 0));
+
+        if (sprite != null) sprite.setViewport(isMouthOpen ? FRAME2_VIEWPORT : FRAME1_VIEWPORT);
+        healthBar.setWidth(HEALTH_BAR_WIDTH * ((double) health / maxHealth));
+        showAlive(alive);
+        this.setTranslateX(bossX);
+        this.setTranslateY(bossY);
     }
 
     // Getters
@@ -271,6 +322,21 @@ public class JavaBoss extends Pane {
     public double getBossWidth() { return bossWidth; }
     public double getBossHeight() { return bossHeight; }
 
+    // ⭐ Hittable / Collider
+    @Override public int getCollisionLayer() { return CollisionLayer.ENEMY; }
+    @Override public boolean isCollidable() { return alive; }
+    @Override public double getHitX() { return bossX; }
+    @Override public double getHitY() { return bossY; }
+    @Override public double getHitWidth() { return bossWidth; }
+    @Override public double getHitHeight() { return bossHeight; }
+    @Override public boolean isSolidAt(double x, double y) {
+        HitMask mask = isMouthOpen ? openMask : closedMask;
+        return mask == null || mask.contains(x, y, bossX, bossY, bossWidth, bossHeight);
+    }
+    @Override public String getColliderName() { return "JavaBoss"; }
+    @Override public int getKillPoints() { return 3; }
+    @Override public boolean isBoss() { return true; }
+
     /**
      * AnimatedBullet - Inner class สำหรับกระสุนที่มี animation (4 frames)
      * bullet-java-boss.png: 4 frames แนวนอน
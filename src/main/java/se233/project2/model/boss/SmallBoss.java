@@ -3,10 +3,21 @@ package se233.project2.model.boss;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
+import se233.project2.controller.QualityGovernor;
+import se233.project2.controller.Snapshotable;
+import se233.project2.controller.SplitUpdatable;
 import se233.project2.model.AnimatedSprite;
+import se233.project2.model.GameRandom;
+import se233.project2.model.Viewport;
+import se233.project2.model.collision.CollisionLayer;
+import se233.project2.model.collision.HitMask;
+import se233.project2.model.collision.Hittable;
 import se233.project2.model.item.Bullet;
+import se233.project2.model.pattern.BulletPattern;
+import se233.project2.model.pattern.PatternEmitter;
 import javafx.scene.image.Image;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,7 +25,7 @@ import java.util.List;
  * SmallBoss - บอสตัวเล็กที่กระโดดมาโจมตี
  * ใช้ small-boss2.png (sprite sheet 4 frames)
  */
-public class SmallBoss extends Pane {
+public class SmallBoss extends Pane implements SplitUpdatable, Snapshotable, Hittable {
     private AnimatedSprite sprite;
     private AnimatedSprite weaponEffect;
     private Circle fallbackCircle;
@@ -26,6 +37,11 @@ public class SmallBoss extends Pane {
     private double x, y;
     private double width = 120;
     private double height = 120;
+
+    // ⭐ hit mask ต่อเฟรมของ sprite sheet (null = ใช้ทั้งกล่อง) และขนาดที่วาดจริงในกรอบ (preserveRatio)
+    private HitMask[] hitMasks;
+    private double drawWidth = width;
+    private double drawHeight = height;
     private int health;
     private int maxHealth;
     private boolean alive = true;
@@ -34,6 +50,11 @@ public class SmallBoss extends Pane {
     private int animationTick = 0;
     private final int ANIMATION_SPEED = 6;
 
+    // ⭐ weapon flash แสดง ~300ms (นับเป็น frame แทนการสร้าง Thread)
+    private int weaponFlashTimer = 0;
+    private static final int WEAPON_FLASH_FRAMES = 18;
+    private final QualityGovernor governor = QualityGovernor.getInstance();
+
     // Movement - กระโดดมาหา player ซ้ำๆ
     private double velocityX = 0;
     private double velocityY = 0;
@@ -49,10 +70,18 @@ public class SmallBoss extends Pane {
     private double playerX = 0;
     private double playerY = 0;
 
+    // ⭐ ผลของ compute ที่รอ apply บน FX thread
+    private boolean pendingSpriteTick = false;
+    private boolean pendingHideWeapon = false;
+    private boolean pendingShot = false;
+
     // Shooting
     private List<Bullet> bullets;
+    private PatternEmitter emitter;
+    private static final BulletPattern SHOT_PATTERN = BulletPattern.line(1, -6, 0);
     private long lastShoot = 0;
     private long shootInterval = 2_000_000_000;
+    private GameRandom random;
 
     // Sprite sheet (4 frames)
     // small-boss2.png: 4 frames แนวนอน
@@ -69,8 +98,15 @@ public class SmallBoss extends Pane {
     private static final int WEAPON_WIDTH = 32;
     private static final int WEAPON_HEIGHT = 32;
 
+    /**
+     * สร้าง hit mask ของทุกเฟรมไว้ก่อน (เรียกตอนโหลด ไม่ให้ไปสร้างตอน spawn)
+     */
+    public static void buildHitMasks(Image spriteSheet) {
+        HitMask.forStrip(spriteSheet, TOTAL_FRAMES, 0, 0, SPRITE_WIDTH, SPRITE_HEIGHT, SPRITE_SPACING);
+    }
+
     public SmallBoss(Image spriteSheet, Image weaponSprite, Image bulletSprite,
-                     double x, double y, double targetX, int maxHealth) {
+                     double x, double y, double targetX, int maxHealth, GameRandom random) {
         this.x = x;
         this.y = y;
         this.targetX = targetX;
@@ -80,10 +116,21 @@ public class SmallBoss extends Pane {
         this.weaponSprite = weaponSprite;
         this.bulletSprite = bulletSprite;
         this.bullets = new ArrayList<>();
+        this.random = random;
+        this.emitter = new PatternEmitter("SmallBoss.shoot", (bx, by, vx, vy) -> {
+            Bullet bullet = new Bullet(bulletSprite, bx, by, vx, vy, false);
+            bullet.step();  // เดินนัดใหม่ใน tick เดียวกับที่ยิงเหมือนเดิม
+            bullets.add(bullet);
+        }, random);
 
         setupSprite();
         this.setTranslateX(x);
         this.setTranslateY(y);
+
+        this.hitMasks = HitMask.forStrip(spriteSheet, TOTAL_FRAMES, 0, 0, SPRITE_WIDTH, SPRITE_HEIGHT, SPRITE_SPACING);
+        double[] drawn = HitMask.fittedSize(SPRITE_WIDTH, SPRITE_HEIGHT, width, height);
+        drawWidth = drawn[0];
+        drawHeight = drawn[1];
     }
 
     private void setupSprite() {
@@ -132,7 +179,11 @@ public class SmallBoss extends Pane {
         }
     }
 
-    public void update(long now) {
+    /**
+     * Compute phase - กระโดด, gravity, timer และเดินกระสุน (ไม่แตะ node)
+     */
+    @Override
+    public void compute(long now) {
         if (!alive) return;
 
         // ⭐ กระโดดไปหา player เรื่อยๆ ทุก 1.5 วินาที
@@ -170,73 +221,82 @@ public class SmallBoss extends Pane {
             onGround = true;
         }
 
-        this.setTranslateX(x);
-        this.setTranslateY(y);
-
         // Update animation
-        updateAnimation();
+        if (sprite != null) {
+            animationTick++;
+            if (animationTick >= ANIMATION_SPEED) {
+                animationTick = 0;
+                pendingSpriteTick = true;
+            }
+        }
+
+        if (weaponFlashTimer > 0) {
+            weaponFlashTimer--;
+            if (weaponFlashTimer == 0) {
+                pendingHideWeapon = true;
+            }
+        }
 
         // Shooting
         if (onGround && now - lastShoot > shootInterval) {
-            shoot();
+            pendingShot = true;
             lastShoot = now;
         }
 
         // Update bullets
-        List<Bullet> toRemove = new ArrayList<>();
-        for (Bullet bullet : bullets) {
-            bullet.update();
-            if (!bullet.isActive()) {
-                toRemove.add(bullet);
-            }
-        }
-        bullets.removeAll(toRemove);
+        Bullet.stepAll(bullets);
     }
 
-    private void updateAnimation() {
-        if (sprite == null) return;
+    /**
+     * Apply phase - เขียนผลของ compute ลง node (FX thread)
+     */
+    @Override
+    public void apply() {
+        if (!alive) return;
+
+        this.setTranslateX(x);
+        this.setTranslateY(y);
+
+        // ⭐ เดินเข้ามาจากนอกจอ (x=1400) → ไม่ render จนกว่าจะเข้าจอ
+        boolean onScreen = Viewport.cull(this, x, y, width, height);
+
+        if (pendingSpriteTick) {
+            pendingSpriteTick = false;
+            if (onScreen) {
+                sprite.tick();
 
-        animationTick++;
-        if (animationTick >= ANIMATION_SPEED) {
-            animationTick = 0;
-            sprite.tick();
+                if (weaponEffect != null && weaponEffect.isVisible()) {
+                    weaponEffect.tick();
+                }
+            }
+        }
 
-            if (weaponEffect != null && weaponEffect.isVisible()) {
-                weaponEffect.tick();
+        if (pendingHideWeapon) {
+            pendingHideWeapon = false;
+            if (weaponEffect != null) {
+                weaponEffect.setVisible(false);
             }
         }
+
+        if (pendingShot) {
+            pendingShot = false;
+            shoot();
+        }
+        emitter.update();
+
+        Bullet.syncAll(bullets);
     }
 
     private void shoot() {
-        if (weaponEffect != null) {
+        if (weaponEffect != null && governor.isWeaponFlashEnabled()) {
             weaponEffect.setVisible(true);
             weaponEffect.reset();
+            weaponFlashTimer = WEAPON_FLASH_FRAMES;
         }
 
         double bulletX = x - 40;
         double bulletY = y + height / 2;
-
-        Bullet bullet = new Bullet(
-                bulletSprite,
-                bulletX,
-                bulletY,
-                -6,
-                0,
-                false
-        );
-
-        bullets.add(bullet);
-
-        new Thread(() -> {
-            try {
-                Thread.sleep(300);
-                if (weaponEffect != null) {
-                    weaponEffect.setVisible(false);
-                }
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }).start();
+        emitter.emit(SHOT_PATTERN, bulletX, bulletY);
     }
 
     public void takeDamage(int damage) {
@@ -250,6 +310,63 @@ public class SmallBoss extends Pane {
         }
     }
 
+    /**
+     * ⭐ เขียน state ลง keyframe - การกระโดด, timer, เป้า, random, กระสุน และเฟรมที่เลือก hit mask
+     * (weapon flash ขึ้นกับ governor จึงไม่ถูกเก็บ)
+     */
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putDouble(x);
+        out.putDouble(y);
+        out.putDouble(velocityX);
+        out.putDouble(velocityY);
+        out.put((byte) (onGround ? 1 : 0));
+        out.putInt(health);
+        out.put((byte) (alive ? 1 : 0));
+        out.putInt(animationTick);
+        out.putLong(lastJump);
+        out.putLong(lastShoot);
+        out.putDouble(playerX);
+        out.putDouble(playerY);
+        random.saveState(out);
+        emitter.saveState(out);
+        Bullet.saveAll(bullets, out);
+        if (sprite != null) sprite.saveState(out);
+    }
+
+    /**
+     * คืน state ให้ node เดิม - ผู้เรียกต้องเอา bullet node ออกจาก pane ก่อน
+     */
+    @Override
+    public void loadState(ByteBuffer in) {
+        x = in.getDouble();
+        y = in.getDouble();
+        velocityX = in.getDouble();
+        velocityY = in.getDouble();
+        onGround = in.get() != 0;
+        health = in.getInt();
+        alive = in.get() != 0;
+        animationTick = in.getInt();
+        lastJump = in.getLong();
+        lastShoot = in.getLong();
+        playerX = in.getDouble();
+        playerY = in.getDouble();
+        random.loadState(in);
+        emitter.loadState(in);
+        bullets.clear();
+        Bullet.loadAll(in, bullets, () -> new Bullet(bulletSprite, x, y, 0, 0, false));
+        if (sprite != null) sprite.loadState(in);
+
+        pendingSpriteTick = false;
+        pendingHideWeapon = false;
+        pendingShot = false;
+        weaponFlashTimer = 0;
+        if (weaponEffect != null) weaponEffect.setVisible(false);
+        this.setVisible(alive && Viewport.intersects(x, y, width, height));
+        this.setTranslateX(x);
+        this.setTranslateY(y);
+    }
+
     /**
      * ⭐ Set player position for targeting jumps
      */
@@ -258,23 +375,6 @@ public class SmallBoss extends Pane {
         this.playerY = playerY;
     }
 
-    public boolean checkBulletCollision(Bullet bullet) {
-        if (!alive || !bullet.isPlayerBullet()) return false;
-
-        double bx = bullet.getCenterX();
-        double by = bullet.getCenterY();
-
-        boolean hit = bx >= x && bx <= x + width &&
-                by >= y && by <= y + height;
-
-        if (hit) {
-            takeDamage(1);
-            bullet.deactivate();
-            return true;
-        }
-        return false;
-    }
-
     public boolean checkPlayerCollision(double playerX, double playerY,
                                         double playerWidth, double playerHeight) {
         if (!alive) return false;
@@ -293,5 +393,20 @@ public class SmallBoss extends Pane {
     public double getY() { return y; }
     public double getBossWidth() { return width; }
     public double getBossHeight() { return height; }
+
+    // ⭐ Hittable / Collider
+    @Override public int getCollisionLayer() { return CollisionLayer.ENEMY; }
+    @Override public boolean isCollidable() { return alive; }
+    @Override public double getHitX() { return x; }
+    @Override public double getHitY() { return y; }
+    @Override public double getHitWidth() { return width; }
+    @Override public double getHitHeight() { return height; }
+    @Override public boolean isSolidAt(double px, double py) {
+        if (hitMasks == null || sprite == null) return true;
+        return hitMasks[sprite.getColumnIndex() % hitMasks.length].contains(px, py, x, y, drawWidth, drawHeight);
+    }
+    @Override public String getColliderName() { return "SmallBoss"; }
+    @Override public int getKillPoints() { return 2; }
+    @Override public boolean isBoss() { return true; }
     public int getHealth() { return health; }
 }
\ No newline at end of file
@@ -5,13 +5,18 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
+import se233.project2.controller.Snapshotable;
+import se233.project2.model.GameRandom;
+import se233.project2.model.collision.CollisionLayer;
+import se233.project2.model.collision.HitMask;
+import se233.project2.model.collision.Hittable;
 import se233.project2.model.item.Bullet;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
-public class WallBoss extends Pane {
+public class WallBoss extends Pane implements Snapshotable, Hittable {
     private Rectangle hitbox;
     private Rectangle healthBar;
     private Rectangle healthBarBg;
@@ -19,12 +24,13 @@ public class WallBoss extends Pane {
     private ImageView deadSprite;
 
     private double bossX, bossY, bossWidth, bossHeight;
+    private HitMask hitMask;  // ⭐ null = ใช้ทั้งกล่อง
     private int health;
     private int maxHealth;
     private boolean alive = true;
 
     private long lastBossShoot = 0;
-    private Random random;
+    private GameRandom random;
     private List<Bullet> bossBullets;
     private Image bossBulletSprite;
 
@@ -38,17 +44,25 @@ public class WallBoss extends Pane {
     private static final int HEALTH_BAR_WIDTH = 200;
     private static final int HEALTH_BAR_HEIGHT = 15;
 
+    /**
+     * สร้าง hit mask ของรูปบอสไว้ก่อน (เรียกตอนโหลด)
+     */
+    public static void buildHitMasks(Image normalImage) {
+        HitMask.forFrame(normalImage, null);
+    }
+
     public WallBoss(double x, double y, double width, double height, int maxHealth,
-                    Image normalImage, Image deadImage, Image bulletSprite) {
+                    Image normalImage, Image deadImage, Image bulletSprite, GameRandom random) {
         this.bossX = x;
         this.bossY = y;
         this.bossWidth = width;
         this.bossHeight = height;
         this.maxHealth = maxHealth;
         this.health = maxHealth;
-        this.random = new Random();
+        this.random = random;
         this.bossBullets = new ArrayList<>();
         this.bossBulletSprite = bulletSprite;
+        this.hitMask = HitMask.forFrame(normalImage, null);
 
         // Normal sprite
         if (normalImage != null) {
@@ -96,12 +110,7 @@ public class WallBoss extends Pane {
         }
 
         // Update bullets
-        List<Bullet> toRemove = new ArrayList<>();
-        for (Bullet b : bossBullets) {
-            b.update();
-            if (!b.isActive()) toRemove.add(b);
-        }
-        bossBullets.removeAll(toRemove);
+        Bullet.updateAll(bossBullets);
     }
 
     private void shoot() {
@@ -147,33 +156,53 @@ public class WallBoss extends Pane {
 
         if (health <= 0) {
             alive = false;
-            hitbox.setVisible(false);
-            healthBar.setVisible(false);
-            healthBarBg.setVisible(false);
-
-            // Switch to dead sprite
-            if (normalSprite != null) normalSprite.setVisible(false);
-            if (deadSprite != null) deadSprite.setVisible(true);
+            showAlive(false);
 
             System.out.println("Wall Boss defeated!");
         }
     }
 
-    public boolean checkBulletCollision(Bullet bullet) {
-        if (!alive || !bullet.isPlayerBullet()) return false;
-
-        double bx = bullet.getCenterX();
-        double by = bullet.getCenterY();
+    /**
+     * ⭐ สลับระหว่างสภาพปกติ (หลอดเลือด + sprite ปกติ) กับสภาพพัง
+     */
+    private void showAlive(boolean visible) {
+        hitbox.setVisible(visible);
+        healthBar.setVisible(visible);
+        healthBarBg.setVisible(visible);
+
+        // Switch to dead sprite
+        if (normalSprite != null) normalSprite.setVisible(visible);
+        if (deadSprite != null) deadSprite.setVisible(!visible);
+    }
 
-        boolean hit = bx >= bossX && bx <= bossX + bossWidth &&
-                by >= bossY && by <= bossY + bossHeight;
+    /**
+     * ⭐ เขียน state ลง keyframe - เลือด, timer, ตำแหน่งยิงถัดไป, random และกระสุน
+     */
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putInt(health);
+        out.put((byte) (alive ? 1 : 0));
+        out.putLong(lastBossShoot);
+        out.put((byte) (useFirstPosition ? 1 : 0));
+        random.saveState(out);
+        Bullet.saveAll(bossBullets, out);
+    }
 
-        if (hit) {
-            takeDamage(1);
-            bullet.deactivate();
-            return true;
-        }
-        return false;
+    /**
+     * คืน state ให้ node เดิม - ผู้เรียกต้องเอา bullet node ออกจาก pane ก่อน
+     */
+    @Override
+    public void loadState(ByteBuffer in) {
+        health = in.getInt();
+        alive = in.get() != 0;
+        lastBossShoot = in.getLong();
+        useFirstPosition = in.get() != 0;
+        random.loadState(in);
+        bossBullets.clear();
+        Bullet.loadAll(in, bossBullets, () -> new Bullet(bossBulletSprite, bossX, bossY, false, false));
+
+        healthBar.setWidth(HEALTH_BAR_WIDTH * ((double) health / maxHealth));
+        showAlive(alive);
     }
 
     // Getters (ใช้ชื่อที่ไม่ชนกับ Pane)
@@ -184,4 +213,18 @@ public class WallBoss extends Pane {
     public double getBossY() { return bossY; }
     public double getBossWidth() { return bossWidth; }
     public double getBossHeight() { return bossHeight; }
+
+    // ⭐ Hittable / Collider
+    @Override public int getCollisionLayer() { return CollisionLayer.ENEMY; }
+    @Override public boolean isCollidable() { return alive; }
+    @Override public double getHitX() { return bossX; }
+    @Override public double getHitY() { return bossY; }
+    @Override public double getHitWidth() { return bossWidth; }
+    @Override public double getHitHeight() { return bossHeight; }
+    @Override public boolean isSolidAt(double x, double y) {
+        return hitMask == null || hitMask.contains(x, y, bossX, bossY, bossWidth, bossHeight);
+    }
+    @Override public String getColliderName() { return "WallBoss"; }
+    @Override public int getKillPoints() { return 3; }
+    @Override public boolean isBoss() { return true; }
 }
\ No newline at end of file
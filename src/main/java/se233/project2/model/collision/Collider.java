@@ -0,0 +1,26 @@
+package se233.project2.model.collision;
+
+/**
+ * Collider - object ที่เข้าร่วม collision pass
+ * มี layer (บิตเดียว), mask (layer ที่ชนได้ - default มาจาก CollisionMatrix) และกล่อง AABB
+ */
+public interface Collider {
+    int getCollisionLayer();
+
+    default int getCollisionMask() {
+        return CollisionMatrix.getInstance().maskOf(getCollisionLayer());
+    }
+
+    /**
+     * false เมื่อ collider ไม่ควรถูกทดสอบแล้ว (ตาย / ไม่ active)
+     */
+    boolean isCollidable();
+
+    double getHitX();
+
+    double getHitY();
+
+    double getHitWidth();
+
+    double getHitHeight();
+}
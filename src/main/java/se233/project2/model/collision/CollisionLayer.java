@@ -0,0 +1,36 @@
+package se233.project2.model.collision;
+
+/**
+ * CollisionLayer - bit ของ layer สำหรับ collider แต่ละประเภท
+ * collider หนึ่งตัวอยู่ได้ layer เดียว (บิตเดียว), mask เป็น OR ของ layer ที่ชนได้
+ */
+public final class CollisionLayer {
+    public static final int PLAYER = 1;
+    public static final int PLAYER_PROJECTILE = 1 << 1;
+    public static final int ENEMY = 1 << 2;
+    public static final int ENEMY_PROJECTILE = 1 << 3;
+    public static final int TERRAIN = 1 << 4;
+    public static final int PICKUP = 1 << 5;
+
+    public static final int COUNT = 6;
+
+    private static final String[] NAMES = {
+            "PLAYER", "PLAYER_PROJECTILE", "ENEMY", "ENEMY_PROJECTILE", "TERRAIN", "PICKUP"
+    };
+
+    private CollisionLayer() {}
+
+    /**
+     * index ของ layer (0..COUNT-1) จาก bit
+     */
+    public static int indexOf(int layer) {
+        if (Integer.bitCount(layer) != 1 || layer >= (1 << COUNT)) {
+            throw new IllegalArgumentException("Not a single collision layer: " + layer);
+        }
+        return Integer.numberOfTrailingZeros(layer);
+    }
+
+    public static String nameOf(int layer) {
+        return NAMES[indexOf(layer)];
+    }
+}
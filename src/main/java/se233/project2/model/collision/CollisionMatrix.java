@@ -0,0 +1,70 @@
+package se233.project2.model.collision;
+
+/**
+ * CollisionMatrix - ตารางว่า layer ไหนชนกับ layer ไหนได้ (สมมาตร)
+ * collider ดึง mask ของ layer ตัวเองจากที่นี่ แล้ว collision pass ตัดคู่ที่ไม่เกี่ยวกัน
+ * ด้วยการ AND ครั้งเดียวก่อนทดสอบ geometry
+ */
+public class CollisionMatrix {
+    private static CollisionMatrix instance;
+
+    private final int[] masks = new int[CollisionLayer.COUNT];
+
+    private CollisionMatrix() {
+        reset();
+    }
+
+    public static CollisionMatrix getInstance() {
+        if (instance == null) {
+            instance = new CollisionMatrix();
+        }
+        return instance;
+    }
+
+    /**
+     * คืนค่าตารางเริ่มต้นของเกม
+     */
+    public void reset() {
+        for (int i = 0; i < masks.length; i++) masks[i] = 0;
+
+        setInteracts(CollisionLayer.PLAYER, CollisionLayer.ENEMY, true);
+        setInteracts(CollisionLayer.PLAYER, CollisionLayer.ENEMY_PROJECTILE, true);
+        setInteracts(CollisionLayer.PLAYER, CollisionLayer.TERRAIN, true);
+        setInteracts(CollisionLayer.PLAYER, CollisionLayer.PICKUP, true);
+        setInteracts(CollisionLayer.PLAYER_PROJECTILE, CollisionLayer.ENEMY, true);
+        setInteracts(CollisionLayer.ENEMY_PROJECTILE, CollisionLayer.TERRAIN, true);
+    }
+
+    /**
+     * เปิด/ปิดการชนระหว่างสอง layer (ทั้งสองทิศ)
+     */
+    public void setInteracts(int layerA, int layerB, boolean interacts) {
+        int a = CollisionLayer.indexOf(layerA);
+        int b = CollisionLayer.indexOf(layerB);
+        if (interacts) {
+            masks[a] |= layerB;
+            masks[b] |= layerA;
+        } else {
+            masks[a] &= ~layerB;
+            masks[b] &= ~layerA;
+        }
+    }
+
+    /**
+     * mask ของ layer (OR ของทุก layer ที่ชนได้)
+     */
+    public int maskOf(int layer) {
+        return masks[CollisionLayer.indexOf(layer)];
+    }
+
+    public boolean interacts(int layerA, int layerB) {
+        return (maskOf(layerA) & layerB) != 0;
+    }
+
+    /**
+     * ⭐ Broad filter ของคู่ collider - bitwise test เดียว
+     */
+    public static boolean canCollide(Collider a, Collider b) {
+        return (a.getCollisionMask() & b.getCollisionLayer()) != 0;
+    }
+}
@@ -0,0 +1,158 @@
+package se233.project2.model.collision;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * HitMask - รูปร่างทึบของ sprite หนึ่งเฟรม เก็บเป็น bitset (long[]) ที่ความละเอียดลดลง
+ * - สร้างครั้งเดียวตอนโหลดจาก alpha ของรูป: 1 bit ต่อ cellSize x cellSize pixel ของไฟล์
+ *   (cell ทึบถ้ามี pixel ใดมี alpha ≥ threshold - ไม่พลาดขอบบาง ๆ)
+ * - ตอนทดสอบชน: ผ่าน AABB แล้วค่อยดู bit เดียว ไม่มีการอ่าน pixel ระหว่างเล่น
+ * - mask ของแต่ละ (รูป, เฟรม) ถูก cache ไว้ ศัตรู/บอสที่ spawn ใหม่ใช้ mask เดิม
+ */
+public final class HitMask {
+    public static final int DEFAULT_CELL = 2;
+    public static final int DEFAULT_ALPHA_THRESHOLD = 32;
+
+    // ⭐ cache ต่อรูป (identity - AssetLoader ใช้ Image เดิมร่วมกัน) แล้วต่อเฟรม
+    private static final Map<Image, Map<Rectangle2D, HitMask>> cache = new IdentityHashMap<>();
+
+    private final int columns;
+    private final int rows;
+    private final long[] bits;
+    private final int solidCells;
+
+    private HitMask(int columns, int rows, long[] bits, int solidCells) {
+        this.columns = columns;
+        this.rows = rows;
+        this.bits = bits;
+        this.solidCells = solidCells;
+    }
+
+    /**
+     * สร้าง mask จาก alpha ของ frame (null = ทั้งรูป)
+     */
+    public static HitMask fromImage(Image image, Rectangle2D frame, int cellSize, int alphaThreshold) {
+        PixelReader reader = image.getPixelReader();
+        if (reader == null) {
+            throw new IllegalArgumentException("Image has no readable pixels");
+        }
+        int frameX = frame != null ? (int) frame.getMinX() : 0;
+        int frameY = frame != null ? (int) frame.getMinY() : 0;
+        int frameW = Math.min(frame != null ? (int) frame.getWidth() : (int) image.getWidth(),
+                (int) image.getWidth() - frameX);
+        int frameH = Math.min(frame != null ? (int) frame.getHeight() : (int) image.getHeight(),
+                (int) image.getHeight() - frameY);
+        if (frameW <= 0 || frameH <= 0) {
+            throw new IllegalArgumentException("Frame is outside the image: " + frame);
+        }
+
+        int columns = (frameW + cellSize - 1) / cellSize;
+        int rows = (frameH + cellSize - 1) / cellSize;
+        long[] bits = new long[(columns * rows + 63) >>> 6];
+        int solid = 0;
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                if (cellIsSolid(reader, frameX, frameY, frameW, frameH, column, row, cellSize, alphaThreshold)) {
+                    int index = row * columns + column;
+                    bits[index >>> 6] |= 1L << (index & 63);
+                    solid++;
+                }
+            }
+        }
+        return new HitMask(columns, rows, bits, solid);
+    }
+
+    private static boolean cellIsSolid(PixelReader reader, int frameX, int frameY, int frameW, int frameH,
+                                       int column, int row, int cellSize, int alphaThreshold) {
+        int endX = Math.min((column + 1) * cellSize, frameW);
+        int endY = Math.min((row + 1) * cellSize, frameH);
+        for (int y = row * cellSize; y < endY; y++) {
+            for (int x = column * cellSize; x < endX; x++) {
+                if ((reader.getArgb(frameX + x, frameY + y) >>> 24) >= alphaThreshold) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * mask ของ frame (null = ทั้งรูป) จาก cache - สร้างครั้งแรกที่ขอ, null ถ้ารูปเป็น null หรืออ่าน pixel ไม่ได้
+     */
+    public static synchronized HitMask forFrame(Image image, Rectangle2D frame) {
+        if (image == null || image.isError() || image.getPixelReader() == null) return null;
+        Map<Rectangle2D, HitMask> frames = cache.computeIfAbsent(image, k -> new HashMap<>());
+        Rectangle2D key = frame != null ? frame : new Rectangle2D(0, 0, image.getWidth(), image.getHeight());
+        HitMask mask = frames.get(key);
+        if (mask == null) {
+            mask = fromImage(image, frame, DEFAULT_CELL, DEFAULT_ALPHA_THRESHOLD);
+            frames.put(key, mask);
+        }
+        return mask;
+    }
+
+    /**
+     * mask ของทุกเฟรมในแถวเดียวของ sprite sheet (เฟรม i อยู่ที่ offsetX + i * spacingX)
+     * คืน null ถ้ารูปเป็น null
+     */
+    public static HitMask[] forStrip(Image sheet, int frames, int offsetX, int offsetY,
+                                     int width, int height, int spacingX) {
+        if (sheet == null) return null;
+        HitMask[] masks = new HitMask[frames];
+        for (int i = 0; i < frames; i++) {
+            masks[i] = forFrame(sheet, new Rectangle2D(offsetX + i * spacingX, offsetY, width, height));
+            if (masks[i] == null) return null;
+        }
+        return masks;
+    }
+
+    /**
+     * ขนาดที่ ImageView วาดเฟรม (sourceW x sourceH) ลงกรอบ fitW x fitH แบบรักษาสัดส่วน (ชิดมุมซ้ายบน)
+     * คืนเป็น {width, height}
+     */
+    public static double[] fittedSize(double sourceW, double sourceH, double fitW, double fitH) {
+        double scale = Math.min(fitW / sourceW, fitH / sourceH);
+        return new double[]{sourceW * scale, sourceH * scale};
+    }
+
+    // ==================== Lookup ====================
+
+    public boolean isSolid(int column, int row) {
+        if (column < 0 || row < 0 || column >= columns || row >= rows) return false;
+        int index = row * columns + column;
+        return (bits[index >>> 6] & (1L << (index & 63))) != 0;
+    }
+
+    /**
+     * จุด (x, y) บนจอ เมื่อเฟรมถูกวาดในกรอบ (drawX, drawY, drawW, drawH) - นอกกรอบ = ไม่ทึบ
+     */
+    public boolean contains(double x, double y, double drawX, double drawY, double drawW, double drawH) {
+        double u = (x - drawX) / drawW;
+        double v = (y - drawY) / drawH;
+        if (u < 0 || v < 0 || u > 1 || v > 1) return false;
+        // ขอบขวา/ล่างพอดี (u = 1) นับเป็น cell สุดท้าย
+        int column = Math.min((int) (u * columns), columns - 1);
+        int row = Math.min((int) (v * rows), rows - 1);
+        return isSolid(column, row);
+    }
+
+    public int getColumns() { return columns; }
+    public int getRows() { return rows; }
+    public int getSolidCells() { return solidCells; }
+
+    /**
+     * สัดส่วนของ cell ที่ทึบ (1 = ทึบทั้งกล่อง)
+     */
+    public double getCoverage() {
+        return solidCells / (double) (columns * rows);
+    }
+
+    public long getMemoryBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+}
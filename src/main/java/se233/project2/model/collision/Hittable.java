@@ -0,0 +1,92 @@
+package se233.project2.model.collision;
+
+import se233.project2.model.item.Bullet;
+
+/**
+ * Hittable - เป้าที่รับ damage จากกระสุนได้ (ศัตรูและบอส)
+ * GameStage ทดสอบกระสุนกับ Hittable ทุกตัวใน loop เดียว โดยใช้ข้อมูลจาก interface นี้
+ * สำหรับ log และคะแนน
+ */
+public interface Hittable extends Collider {
+    /**
+     * ระยะห่าง (pixel บนจอ) ระหว่างจุดที่ solidImpact ทดสอบบนเส้นทางกระสุน
+     */
+    double SOLID_SAMPLE_STEP = HitMask.DEFAULT_CELL;
+
+    void takeDamage(int damage);
+
+    /**
+     * ชื่อที่ใช้ใน log
+     */
+    String getColliderName();
+
+    /**
+     * คะแนนเมื่อถูกทำลายด้วยกระสุนธรรมดา
+     */
+    int getKillPoints();
+
+    /**
+     * คะแนนต่อการโดนกระสุนพิเศษหนึ่งครั้ง
+     */
+    default int getSpecialHitPoints() {
+        return 0;
+    }
+
+    default boolean isBoss() {
+        return false;
+    }
+
+    /**
+     * ⭐ จุด (x, y) บนจอเป็นส่วนทึบของ sprite หรือไม่ - default = ทั้งกล่องทึบ
+     * เป้าที่มี HitMask override (เรียกหลัง AABB ผ่านแล้วเท่านั้น)
+     */
+    default boolean isSolidAt(double x, double y) {
+        return true;
+    }
+
+    /**
+     * ⭐ ไล่ isSolidAt ตามเส้นทาง (x0,y0)→(x1,y1) ช่วงที่อยู่ในกล่อง ทีละไม่เกิน SOLID_SAMPLE_STEP pixel
+     * คืน t ของจุดทึบจุดแรก (= จุดกระทบ) หรือ SweptCollision.NO_HIT
+     * (กระสุนเร็วที่ผ่านแกนทึบแล้วไปจบบนขอบใสจึงไม่ทะลุ)
+     */
+    default double solidImpact(double x0, double y0, double x1, double y1) {
+        double minX = getHitX();
+        double minY = getHitY();
+        double maxX = minX + getHitWidth();
+        double maxY = minY + getHitHeight();
+
+        double tEnter = SweptCollision.segmentAabb(x0, y0, x1, y1, minX, minY, maxX, maxY);
+        if (tEnter < 0) return SweptCollision.NO_HIT;
+        double tExit = SweptCollision.segmentAabbExit(x0, y0, x1, y1, minX, minY, maxX, maxY);
+
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        double span = tExit - tEnter;
+        int steps = (int) Math.ceil(Math.hypot(dx, dy) * span / SOLID_SAMPLE_STEP);
+        for (int i = 0; i <= steps; i++) {
+            double t = steps == 0 ? tEnter : tEnter + span * i / steps;
+            // บีบเข้ากล่อง - กัน floating error ที่ขอบ
+            double px = Math.min(Math.max(x0 + dx * t, minX), maxX);
+            double py = Math.min(Math.max(y0 + dy * t, minY), maxY);
+            if (isSolidAt(px, py)) return t;
+        }
+        return SweptCollision.NO_HIT;
+    }
+
+    /**
+     * ⭐ กระสุนชนเป้านี้หรือไม่ - filter ด้วย layer/mask ก่อน แล้วไล่ hit mask ตามเส้นทางทั้ง tick
+     * ถ้าชน: รับ damage 1, ย้ายกระสุนไปที่จุดทึบแรก และปิดกระสุน
+     */
+    default boolean checkBulletCollision(Bullet bullet) {
+        if (!isCollidable() || !CollisionMatrix.canCollide(bullet, this)) return false;
+
+        double t = solidImpact(bullet.getPrevCenterX(), bullet.getPrevCenterY(),
+                bullet.getCenterX(), bullet.getCenterY());
+        if (t < 0) return false;
+
+        takeDamage(1);
+        bullet.moveToImpact(t);
+        bullet.deactivate();
+        return true;
+    }
+}
@@ -0,0 +1,88 @@
+package se233.project2.model.collision;
+
+/**
+ * SweptCollision - ทดสอบการชนแบบต่อเนื่อง (continuous) ของจุดที่เคลื่อนที่เป็นเส้นตรงภายใน 1 tick
+ * ใช้ slab method: หา time of impact (0..1) ของ segment (x0,y0)→(x1,y1) กับ AABB
+ * กระสุนที่เร็วกว่าความหนาของเป้าต่อ tick จึงไม่ทะลุผ่าน
+ *
+ * คืนค่าเป็น primitive (NO_HIT = -1) - ไม่มีการ allocate ต่อการทดสอบ
+ */
+public final class SweptCollision {
+    public static final double NO_HIT = -1;
+
+    private SweptCollision() {}
+
+    /**
+     * Time of impact ของ segment กับ AABB [minX,maxX] x [minY,maxY]
+     *
+     * @return 0..1 ถ้าชน (0 = เริ่มต้นอยู่ข้างในแล้ว), NO_HIT ถ้าไม่ชน
+     */
+    public static double segmentAabb(double x0, double y0, double x1, double y1,
+                                     double minX, double minY, double maxX, double maxY) {
+        return clip(x0, y0, x1, y1, minX, minY, maxX, maxY, false);
+    }
+
+    /**
+     * Time ที่ segment ออกจาก AABB (1 = ยังอยู่ข้างในตอนจบ tick) - ใช้คู่กับ segmentAabb
+     * เพื่อไล่ hit mask เฉพาะช่วงที่เส้นทางอยู่ในกล่อง
+     *
+     * @return 0..1 ถ้าชน, NO_HIT ถ้าไม่ชน
+     */
+    public static double segmentAabbExit(double x0, double y0, double x1, double y1,
+                                         double minX, double minY, double maxX, double maxY) {
+        return clip(x0, y0, x1, y1, minX, minY, maxX, maxY, true);
+    }
+
+    private static double clip(double x0, double y0, double x1, double y1,
+                               double minX, double minY, double maxX, double maxY, boolean exit) {
+        double tEnter = 0;
+        double tExit = 1;
+
+        // แกน X
+        double dx = x1 - x0;
+        if (dx == 0) {
+            if (x0 < minX || x0 > maxX) return NO_HIT;
+        } else {
+            double inv = 1.0 / dx;
+            double t0 = (minX - x0) * inv;
+            double t1 = (maxX - x0) * inv;
+            if (t0 > t1) { double tmp = t0; t0 = t1; t1 = tmp; }
+            if (t0 > tEnter) tEnter = t0;
+            if (t1 < tExit) tExit = t1;
+            if (tEnter > tExit) return NO_HIT;
+        }
+
+        // แกน Y
+        double dy = y1 - y0;
+        if (dy == 0) {
+            if (y0 < minY || y0 > maxY) return NO_HIT;
+        } else {
+            double inv = 1.0 / dy;
+            double t0 = (minY - y0) * inv;
+            double t1 = (maxY - y0) * inv;
+            if (t0 > t1) { double tmp = t0; t0 = t1; t1 = tmp; }
+            if (t0 > tEnter) tEnter = t0;
+            if (t1 < tExit) tExit = t1;
+            if (tEnter > tExit) return NO_HIT;
+        }
+
+        return exit ? tExit : tEnter;
+    }
+
+    /**
+     * Time of impact กับพื้นผิวด้านบนของ terrain (x ใน [minX,maxX], y ≥ topY ทั้งหมดถือเป็นของแข็ง)
+     */
+    public static double segmentTerrain(double x0, double y0, double x1, double y1,
+                                        double minX, double topY, double maxX) {
+        return segmentAabb(x0, y0, x1, y1, minX, topY, maxX, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Time of impact กับพื้นระดับ groundY (ทั้งความกว้างของจอ)
+     */
+    public static double segmentGround(double y0, double y1, double groundY) {
+        if (y0 >= groundY) return 0;
+        if (y1 < groundY) return NO_HIT;
+        return (groundY - y0) / (y1 - y0);
+    }
+}
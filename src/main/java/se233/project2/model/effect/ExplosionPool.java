@@ -0,0 +1,180 @@
+package se233.project2.model.effect;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import se233.project2.controller.QualityGovernor;
+
+/**
+ * ExplosionPool - ระบบ effect ระเบิดแบบ fixed-capacity ring
+ * - state ของแต่ละ slot เป็น primitive array (x, y, frame, lifetime) ไม่มี Pane ต่อระเบิด
+ * - แต่ละ slot มีอายุของตัวเอง: ตัวที่หมดอายุถูกตัดออกด้วยการไล่ทั้ง ring แล้วอัดตัวที่เหลือ
+ *   (ลำดับเดิมยังอยู่ ตัวที่ head จึงเป็นตัวที่ spawn ก่อนสุดเสมอ)
+ * - วาดทั้งหมดใน Canvas เดียวต่อ frame
+ * - ถ้าเต็ม cap จะเขียนทับระเบิดที่เก่าที่สุด (oldest-first eviction)
+ */
+public class ExplosionPool extends Canvas {
+    public static final int DEFAULT_CAPACITY = 64;
+
+    // ⭐ Boom.png frame definitions (แต่ละ frame กว้างไม่เท่ากัน)
+    private static final int FRAME_HEIGHT = 34;
+    private static final int TOTAL_FRAMES = 3;
+    private static final int[] FRAME_X = {0, 17, 50};
+    private static final int[] FRAME_WIDTH = {17, 33, 34};
+
+    private static final int EXPLOSION_SIZE = 80;
+    private static final int ANIMATION_SPEED = 6;   // frame ต่อ sprite frame
+    private static final int FADE_FRAMES = 12;      // fade out หลัง animation จบ
+    // ⭐ เล่น animation จบแล้ว fade ครบพอดี (ไม่ค้าง slot ไว้ตอนมองไม่เห็นแล้ว)
+    public static final int DEFAULT_LIFETIME = TOTAL_FRAMES * ANIMATION_SPEED + FADE_FRAMES;
+
+    private final Image sprite;
+    private final int capacity;
+    private final double[] xs;
+    private final double[] ys;
+    private final int[] frames;
+    private final int[] lifetimes;
+
+    // Ring: slot ที่เก่าที่สุดอยู่ที่ head, มี count slot ที่ยังเล่นอยู่
+    private int head = 0;
+    private int count = 0;
+    private boolean drawnLastFrame = false;
+    private int evictions = 0;
+    private int spawnRequests = 0;
+    private final QualityGovernor governor = QualityGovernor.getInstance();
+
+    public ExplosionPool(Image sprite, double width, double height) {
+        this(sprite, width, height, DEFAULT_CAPACITY);
+    }
+
+    public ExplosionPool(Image sprite, double width, double height, int capacity) {
+        super(width, height);
+        this.sprite = sprite;
+        this.capacity = capacity;
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.frames = new int[capacity];
+        this.lifetimes = new int[capacity];
+        this.setMouseTransparent(true);
+        this.getGraphicsContext2D().setImageSmoothing(false);
+    }
+
+    /**
+     * สร้างระเบิดที่จุดศูนย์กลาง (x, y) อายุ DEFAULT_LIFETIME frame
+     */
+    public void spawn(double x, double y) {
+        spawn(x, y, DEFAULT_LIFETIME);
+    }
+
+    /**
+     * สร้างระเบิดที่มีอายุ lifetime frame (fade ใน FADE_FRAMES frame สุดท้าย)
+     */
+    public void spawn(double x, double y, int lifetime) {
+        // ⭐ governor ลด density → สร้างแค่ครึ่งหนึ่งของที่ขอ
+        spawnRequests++;
+        if (governor.isReducedExplosions() && (spawnRequests & 1) == 0) return;
+
+        int slot;
+        if (count == capacity) {
+            // เต็มแล้ว → เขียนทับตัวที่เก่าที่สุด
+            slot = head;
+            head = (head + 1) % capacity;
+            evictions++;
+        } else {
+            slot = (head + count) % capacity;
+            count++;
+        }
+        xs[slot] = x;
+        ys[slot] = y;
+        frames[slot] = 0;
+        lifetimes[slot] = Math.max(1, lifetime);
+    }
+
+    /**
+     * เดิน frame ของทุก slot แล้ววาดใหม่ใน batch เดียว
+     */
+    public void update() {
+        if (count == 0) {
+            if (drawnLastFrame) {
+                getGraphicsContext2D().clearRect(0, 0, getWidth(), getHeight());
+                drawnLastFrame = false;
+            }
+            return;
+        }
+
+        // ⭐ เดิน frame และอัดตัวที่ยังไม่หมดอายุไปข้างหน้า (คงลำดับ spawn)
+        int live = 0;
+        for (int i = 0; i < count; i++) {
+            int slot = (head + i) % capacity;
+            int frame = frames[slot] + 1;
+            if (frame >= lifetimes[slot]) continue;
+            int target = (head + live) % capacity;
+            xs[target] = xs[slot];
+            ys[target] = ys[slot];
+            frames[target] = frame;
+            lifetimes[target] = lifetimes[slot];
+            live++;
+        }
+        count = live;
+        if (count == 0) head = 0;
+
+        render();
+    }
+
+    private void render() {
+        GraphicsContext gc = getGraphicsContext2D();
+        gc.clearRect(0, 0, getWidth(), getHeight());
+
+        int animationEndFrame = TOTAL_FRAMES * ANIMATION_SPEED;
+        for (int i = 0; i < count; i++) {
+            int slot = (head + i) % capacity;
+            int frame = frames[slot];
+
+            // fade ใน FADE_FRAMES frame สุดท้ายของอายุ (แต่ไม่ก่อน animation จบ)
+            int fadeStart = Math.max(animationEndFrame, lifetimes[slot] - FADE_FRAMES);
+            double opacity = 1.0;
+            if (frame >= fadeStart) {
+                int fadeLength = Math.max(1, lifetimes[slot] - fadeStart);
+                opacity = Math.max(0, 1.0 - (double) (frame - fadeStart) / fadeLength);
+            }
+            if (opacity <= 0) continue;
+
+            gc.setGlobalAlpha(opacity);
+            double dx = xs[slot] - EXPLOSION_SIZE / 2;
+            double dy = ys[slot] - EXPLOSION_SIZE / 2;
+
+            if (sprite != null) {
+                int spriteFrame = Math.min(frame / ANIMATION_SPEED, TOTAL_FRAMES - 1);
+                gc.drawImage(sprite,
+                        FRAME_X[spriteFrame], 0, FRAME_WIDTH[spriteFrame], FRAME_HEIGHT,
+                        dx, dy, EXPLOSION_SIZE, EXPLOSION_SIZE);
+            } else {
+                // Fallback: วงกลมสีส้ม
+                gc.setFill(Color.ORANGE);
+                gc.fillOval(dx, dy, EXPLOSION_SIZE, EXPLOSION_SIZE);
+            }
+        }
+        gc.setGlobalAlpha(1.0);
+        drawnLastFrame = true;
+    }
+
+    /**
+     * ล้างระเบิดทั้งหมด (ตอนเปลี่ยน stage)
+     */
+    public void clear() {
+        head = 0;
+        count = 0;
+        getGraphicsContext2D().clearRect(0, 0, getWidth(), getHeight());
+        drawnLastFrame = false;
+    }
+
+    public int getLiveCount() { return count; }
+
+    /**
+     * x ของระเบิดลำดับที่ index (0 = ตัวที่ spawn ก่อนสุด)
+     */
+    public double getLiveX(int index) { return xs[(head + index) % capacity]; }
+    public int getCapacity() { return capacity; }
+    public int getEvictions() { return evictions; }
+}
@@ -3,15 +3,23 @@ package se233.project2.model.enemy;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
+import se233.project2.controller.Snapshotable;
+import se233.project2.controller.SplitUpdatable;
 import se233.project2.model.AnimatedSprite;
+import se233.project2.model.GameRandom;
+import se233.project2.model.Viewport;
+import se233.project2.model.collision.CollisionLayer;
+import se233.project2.model.collision.Hittable;
 import se233.project2.model.item.Bullet;
+import se233.project2.model.pattern.BulletPattern;
+import se233.project2.model.pattern.PatternEmitter;
 import javafx.scene.image.Image;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
-public class RegularEnemy extends Pane {
+public class RegularEnemy extends Pane implements SplitUpdatable, Snapshotable, Hittable {
     private AnimatedSprite sprite;
     private Circle fallbackCircle;
     private Image spriteSheet;
@@ -30,9 +38,11 @@ public class RegularEnemy extends Pane {
 
     // Shooting
     private List<Bullet> bullets;
+    private PatternEmitter emitter;
+    private static final BulletPattern SHOT_PATTERN = BulletPattern.aimed(1, 5);
     private long lastShoot = 0;
     private long shootInterval = 1_500_000_000; // 1.5 seconds
-    private Random random;
+    private GameRandom random;  // ⭐ ของตัวเอง (compute อาจรันขนานกับศัตรูตัวอื่น)
 
     // Sprite sheet dimensions (⭐ 3 frames ไม่ใช่ 4)
     private static final int SPRITE_WIDTH = 32;
@@ -43,8 +53,13 @@ public class RegularEnemy extends Pane {
     private double playerX = 0;
     private double playerY = 0;
 
+    // ⭐ ผลของ compute ที่รอ apply บน FX thread
+    private boolean pendingSpriteTick = false;
+    private boolean pendingShot = false;
+
     public RegularEnemy(Image spriteSheet, Image bulletSprite, double x, double y,
-                        double minX, double maxX, double minY, double maxY, int maxHealth) {
+                        double minX, double maxX, double minY, double maxY, int maxHealth,
+                        GameRandom random) {
         this.x = x;
         this.y = y;
         this.maxHealth = maxHealth;
@@ -52,7 +67,12 @@ public class RegularEnemy extends Pane {
         this.spriteSheet = spriteSheet;
         this.bulletSprite = bulletSprite;
         this.bullets = new ArrayList<>();
-        this.random = new Random();
+        this.random = random;
+        this.emitter = new PatternEmitter("RegularEnemy.shoot", (bx, by, vx, vy) -> {
+            Bullet bullet = new Bullet(bulletSprite, bx, by, vx, vy, false);
+            bullet.step();  // เดินนัดใหม่ใน tick เดียวกับที่ยิงเหมือนเดิม
+            bullets.add(bullet);
+        }, random);
 
         setupSprite();
         this.setTranslateX(x);
@@ -85,71 +105,57 @@ public class RegularEnemy extends Pane {
         }
     }
 
-    public void update(long now) {
+    /**
+     * Compute phase - animation timer, ตัดสินใจยิง และเดินกระสุน (ไม่แตะ node)
+     */
+    @Override
+    public void compute(long now) {
         if (!alive) return;
 
         // ⭐ ลอยอยู่กับที่ (ไม่เคลื่อนที่)
         // Update animation
-        updateAnimation();
+        if (sprite != null) {
+            animationTick++;
+            if (animationTick >= ANIMATION_SPEED) {
+                animationTick = 0;
+                pendingSpriteTick = true;
+            }
+        }
 
         // ⭐ ยิงเล็งไปที่ player
         if (now - lastShoot > shootInterval) {
-            shoot();
+            pendingShot = true;
             lastShoot = now;
             shootInterval = 1_000_000_000L + random.nextInt(1_500_000_000);
         }
 
         // Update bullets
-        List<Bullet> toRemove = new ArrayList<>();
-        for (Bullet bullet : bullets) {
-            bullet.update();
-            if (!bullet.isActive()) {
-                toRemove.add(bullet);
-            }
-        }
-        bullets.removeAll(toRemove);
+        Bullet.stepAll(bullets);
     }
 
-    private void updateAnimation() {
-        if (sprite == null) return;
+    /**
+     * Apply phase - เขียนผลของ compute ลง node (FX thread)
+     */
+    @Override
+    public void apply() {
+        if (!alive) return;
+
+        // ⭐ นอกจอทั้งตัว → ไม่ render และไม่เดิน animation
+        boolean onScreen = Viewport.cull(this, x, y, width, height);
 
-        animationTick++;
-        if (animationTick >= ANIMATION_SPEED) {
-            animationTick = 0;
-            sprite.tick();
+        if (pendingSpriteTick) {
+            pendingSpriteTick = false;
+            if (onScreen) sprite.tick();
         }
-    }
 
-    private void shoot() {
-        double bulletX = x + width / 2;
-        double bulletY = y + height;
-
-        // ⭐ คำนวณทิศทางไปหา player
-        double dx = playerX - bulletX;
-        double dy = playerY - bulletY;
-        double distance = Math.sqrt(dx * dx + dy * dy);
-
-        // Normalize และกำหนดความเร็ว
-        double speed = 5;
-        double vx = (dx / distance) * speed;
-        double vy = (dy / distance) * speed;
-
-        // ✅ สร้างกระสุน (ของศัตรู → ไม่ใช่กระสุน player)
-        Bullet bullet = new Bullet(
-                bulletSprite,
-                bulletX,
-                bulletY,
-                false,  // ไม่จำเป็นต้อง movingRight
-                false   // กระสุนศัตรู
-        );
-
-        // ✅ ตั้งค่าความเร็วให้กระสุน
-        bullet.setVelocity(vx, vy);
-
-        // ✅ เพิ่มกระสุนลงในลิสต์
-        bullets.add(bullet);
+        if (pendingShot) {
+            pendingShot = false;
+            emitter.emit(SHOT_PATTERN, x + width / 2, y + height, playerX, playerY);
+        }
+        emitter.update();
+
+        Bullet.syncAll(bullets);
     }
- 
 
     public void takeDamage(int damage) {
         if (!alive) return;
@@ -162,21 +168,46 @@ public class RegularEnemy extends Pane {
         }
     }
 
-    public boolean checkBulletCollision(Bullet bullet) {
-        if (!alive || !bullet.isPlayerBullet()) return false;
-
-        double bx = bullet.getCenterX();
-        double by = bullet.getCenterY();
-
-        boolean hit = bx >= x && bx <= x + width &&
-                by >= y && by <= y + height;
+    /**
+     * ⭐ เขียน state ลง checkpoint / keyframe รวม random, ชุดที่รอยิงซ้ำ และกระสุนที่ค้างอยู่
+     */
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putDouble(x);
+        out.putDouble(y);
+        out.putInt(health);
+        out.put((byte) (alive ? 1 : 0));
+        out.putInt(animationTick);
+        out.putLong(lastShoot);
+        out.putLong(shootInterval);
+        random.saveState(out);
+        emitter.saveState(out);
+        Bullet.saveAll(bullets, out);
+    }
 
-        if (hit) {
-            takeDamage(1);
-            bullet.deactivate();
-            return true;
-        }
-        return false;
+    /**
+     * คืน state จาก checkpoint - ใช้ node เดิม, ผู้เรียกต้องเอา bullet node ออกจาก pane ก่อน
+     */
+    @Override
+    public void loadState(ByteBuffer in) {
+        x = in.getDouble();
+        y = in.getDouble();
+        health = in.getInt();
+        alive = in.get() != 0;
+        animationTick = in.getInt();
+        lastShoot = in.getLong();
+        shootInterval = in.getLong();
+        random.loadState(in);
+        emitter.loadState(in);
+        bullets.clear();
+        Bullet.loadAll(in, bullets, () -> new Bullet(bulletSprite, x, y, 0, 0, false));
+
+        pendingSpriteTick = false;
+        pendingShot = false;
+        if (sprite != null) sprite.reset();
+        this.setVisible(alive && Viewport.intersects(x, y, width, height));
+        this.setTranslateX(x);
+        this.setTranslateY(y);
     }
 
     public boolean checkPlayerCollision(double playerX, double playerY, double playerWidth, double playerHeight) {
@@ -202,5 +233,16 @@ public class RegularEnemy extends Pane {
     public double getY() { return y; }
     public double getEnemyWidth() { return width; }
     public double getEnemyHeight() { return height; }
+
+    // ⭐ Hittable / Collider
+    @Override public int getCollisionLayer() { return CollisionLayer.ENEMY; }
+    @Override public boolean isCollidable() { return alive; }
+    @Override public double getHitX() { return x; }
+    @Override public double getHitY() { return y; }
+    @Override public double getHitWidth() { return width; }
+    @Override public double getHitHeight() { return height; }
+    @Override public String getColliderName() { return "RegularEnemy"; }
+    @Override public int getKillPoints() { return 1; }
+    @Override public int getSpecialHitPoints() { return 1; }
     public int getHealth() { return health; }
 }
\ No newline at end of file
@@ -3,15 +3,24 @@ package se233.project2.model.enemy;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
+import se233.project2.controller.Snapshotable;
+import se233.project2.controller.SplitUpdatable;
 import se233.project2.model.AnimatedSprite;
+import se233.project2.model.GameRandom;
+import se233.project2.model.Viewport;
+import se233.project2.model.collision.CollisionLayer;
+import se233.project2.model.collision.HitMask;
+import se233.project2.model.collision.Hittable;
 import se233.project2.model.item.Bullet;
+import se233.project2.model.pattern.BulletPattern;
+import se233.project2.model.pattern.PatternEmitter;
 import javafx.scene.image.Image;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
-public class SecondTierEnemy extends Pane {
+public class SecondTierEnemy extends Pane implements SplitUpdatable, Snapshotable, Hittable {
     private AnimatedSprite sprite;
     private Circle fallbackCircle;
     private Image spriteSheet;
@@ -20,6 +29,11 @@ public class SecondTierEnemy extends Pane {
     private double x, y;
     private double width = 100;  // ⭐ ใหญ่กว่า regular (80 → 100)
     private double height = 100;
+
+    // ⭐ hit mask ต่อเฟรมของ sprite sheet (null = ใช้ทั้งกล่อง) และขนาดที่วาดจริงในกรอบ (preserveRatio)
+    private HitMask[] hitMasks;
+    private double drawWidth = width;
+    private double drawHeight = height;
     private int health;
     private int maxHealth;
     private boolean alive = true;
@@ -35,9 +49,17 @@ public class SecondTierEnemy extends Pane {
 
     // Shooting
     private List<Bullet> bullets;
+    private PatternEmitter emitter;
     private long lastShoot = 0;
     private long shootInterval = 1_200_000_000;
-    private Random random;
+    private GameRandom random;  // ⭐ ของตัวเอง (compute อาจรันขนานกับศัตรูตัวอื่น)
+
+    // ⭐ Shot patterns (index = pattern ที่สุ่มได้)
+    private static final BulletPattern[] SHOT_PATTERNS = {
+            BulletPattern.aimed(1, 6),                         // เล็งไปที่ player
+            BulletPattern.aimed(3, 6).velocityStep(2, 0),      // กระจาย 3 ทาง
+            BulletPattern.aimed(1, 6)                          // ยิงเร็ว (second bullet handled by random interval)
+    };
 
     // Sprite sheet
     private static final int SPRITE_WIDTH = 32;
@@ -48,8 +70,20 @@ public class SecondTierEnemy extends Pane {
     private double playerX = 0;
     private double playerY = 0;
 
+    // ⭐ ผลของ compute ที่รอ apply บน FX thread
+    private boolean pendingSpriteTick = false;
+    private int pendingPattern = -1;
+
+    /**
+     * สร้าง hit mask ของทุกเฟรมไว้ก่อน (เรียกตอนโหลด ไม่ให้ไปสร้างตอน spawn)
+     */
+    public static void buildHitMasks(Image spriteSheet) {
+        HitMask.forStrip(spriteSheet, TOTAL_FRAMES, 0, 0, SPRITE_WIDTH, SPRITE_HEIGHT, SPRITE_WIDTH);
+    }
+
     public SecondTierEnemy(Image spriteSheet, Image bulletSprite, double x, double y,
-                           double minX, double maxX, double minY, double maxY, int maxHealth) {
+                           double minX, double maxX, double minY, double maxY, int maxHealth,
+                           GameRandom random) {
         this.x = x;
         this.y = y;
         this.minX = minX;
@@ -61,11 +95,21 @@ public class SecondTierEnemy extends Pane {
         this.spriteSheet = spriteSheet;
         this.bulletSprite = bulletSprite;
         this.bullets = new ArrayList<>();
-        this.random = new Random();
+        this.random = random;
+        this.emitter = new PatternEmitter("SecondTierEnemy.shootPattern", (bx, by, vx, vy) -> {
+            Bullet bullet = new Bullet(bulletSprite, bx, by, vx, vy, false);
+            bullet.step();  // เดินนัดใหม่ใน tick เดียวกับที่ยิงเหมือนเดิม
+            bullets.add(bullet);
+        }, random);
 
         setupSprite();
         this.setTranslateX(x);
         this.setTranslateY(y);
+
+        this.hitMasks = HitMask.forStrip(spriteSheet, TOTAL_FRAMES, 0, 0, SPRITE_WIDTH, SPRITE_HEIGHT, SPRITE_WIDTH);
+        double[] drawn = HitMask.fittedSize(SPRITE_WIDTH, SPRITE_HEIGHT, width, height);
+        drawWidth = drawn[0];
+        drawHeight = drawn[1];
     }
 
     private void setupSprite() {
@@ -92,7 +136,11 @@ public class SecondTierEnemy extends Pane {
         }
     }
 
-    public void update(long now) {
+    /**
+     * Compute phase - movement, animation timer, เลือก pattern และเดินกระสุน (ไม่แตะ node)
+     */
+    @Override
+    public void compute(long now) {
         if (!alive) return;
 
         // ⭐ ลอยช้าๆ (เคลื่อนไหวนิดหน่อย)
@@ -106,95 +154,51 @@ public class SecondTierEnemy extends Pane {
             velocityY = -velocityY;
         }
 
-        this.setTranslateX(x);
-        this.setTranslateY(y);
-
         // Update animation
-        updateAnimation();
+        if (sprite != null) {
+            animationTick++;
+            if (animationTick >= ANIMATION_SPEED) {
+                animationTick = 0;
+                pendingSpriteTick = true;
+            }
+        }
 
         // Shooting pattern
         if (now - lastShoot > shootInterval) {
-            shootPattern();
+            pendingPattern = random.nextInt(3);
             lastShoot = now;
             shootInterval = 800_000_000L + random.nextInt(1_200_000_000);
         }
 
         // Update bullets
-        List<Bullet> toRemove = new ArrayList<>();
-        for (Bullet bullet : bullets) {
-            bullet.update();
-            if (!bullet.isActive()) {
-                toRemove.add(bullet);
-            }
-        }
-        bullets.removeAll(toRemove);
-    }
-
-    private void updateAnimation() {
-        if (sprite == null) return;
-
-        animationTick++;
-        if (animationTick >= ANIMATION_SPEED) {
-            animationTick = 0;
-            sprite.tick();
-        }
-    }
-
-    private void shootPattern() {
-        int pattern = random.nextInt(3);
-
-        switch (pattern) {
-            case 0:
-                shootAimed(); // เล็งไปที่ player
-                break;
-            case 1:
-                shootSpread(); // กระจาย 3 ทาง
-                break;
-            case 2:
-                shootRapid(); // ยิงเร็ว 2 นัด
-                break;
-        }
+        Bullet.stepAll(bullets);
     }
 
-    private void shootAimed() {
-        double bulletX = x + width / 2;
-        double bulletY = y + height;
-
-        double dx = playerX - bulletX;
-        double dy = playerY - bulletY;
-        double distance = Math.sqrt(dx * dx + dy * dy);
-
-        double speed = 6;
-        double vx = (dx / distance) * speed;
-        double vy = (dy / distance) * speed;
-
-        bullets.add(new Bullet(bulletSprite, bulletX, bulletY, vx, vy, false));
-    }
-
-    private void shootSpread() {
-        double bulletX = x + width / 2;
-        double bulletY = y + height;
+    /**
+     * Apply phase - เขียนผลของ compute ลง node (FX thread)
+     */
+    @Override
+    public void apply() {
+        if (!alive) return;
 
-        // Center
-        double dx = playerX - bulletX;
-        double dy = playerY - bulletY;
-        double distance = Math.sqrt(dx * dx + dy * dy);
-        double speed = 6;
-        double vx = (dx / distance) * speed;
-        double vy = (dy / distance) * speed;
+        this.setTranslateX(x);
+        this.setTranslateY(y);
 
-        bullets.add(new Bullet(bulletSprite, bulletX, bulletY, vx, vy, false));
+        // ⭐ นอกจอทั้งตัว → ไม่ render และไม่เดิน animation
+        boolean onScreen = Viewport.cull(this, x, y, width, height);
 
-        // Left spread
-        bullets.add(new Bullet(bulletSprite, bulletX, bulletY, vx - 2, vy, false));
+        if (pendingSpriteTick) {
+            pendingSpriteTick = false;
+            if (onScreen) sprite.tick();
+        }
 
-        // Right spread
-        bullets.add(new Bullet(bulletSprite, bulletX, bulletY, vx + 2, vy, false));
-    }
+        if (pendingPattern >= 0) {
+            emitter.emit(SHOT_PATTERNS[pendingPattern], x + width / 2, y + height, playerX, playerY);
+            pendingPattern = -1;
+        }
+        emitter.update();
 
-    private void shootRapid() {
-        shootAimed();
-        // Second bullet with slight delay (handled by random interval)
+        Bullet.syncAll(bullets);
     }
 
     public void takeDamage(int damage) {
@@ -208,21 +212,51 @@ public class SecondTierEnemy extends Pane {
         }
     }
 
-    public boolean checkBulletCollision(Bullet bullet) {
-        if (!alive || !bullet.isPlayerBullet()) return false;
-
-        double bx = bullet.getCenterX();
-        double by = bullet.getCenterY();
-
-        boolean hit = bx >= x && bx <= x + width &&
-                by >= y && by <= y + height;
+    /**
+     * ⭐ เขียน state ลง checkpoint / keyframe รวม random, ชุดที่รอยิงซ้ำ และกระสุนที่ค้างอยู่
+     */
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putDouble(x);
+        out.putDouble(y);
+        out.putDouble(velocityX);
+        out.putDouble(velocityY);
+        out.putInt(health);
+        out.put((byte) (alive ? 1 : 0));
+        out.putInt(animationTick);
+        out.putLong(lastShoot);
+        out.putLong(shootInterval);
+        random.saveState(out);
+        emitter.saveState(out);
+        Bullet.saveAll(bullets, out);
+        if (sprite != null) sprite.saveState(out);  // ⭐ เฟรมปัจจุบันเลือก hit mask
+    }
 
-        if (hit) {
-            takeDamage(1);
-            bullet.deactivate();
-            return true;
-        }
-        return false;
+    /**
+     * คืน state จาก checkpoint - ใช้ node เดิม, ผู้เรียกต้องเอา bullet node ออกจาก pane ก่อน
+     */
+    @Override
+    public void loadState(ByteBuffer in) {
+        x = in.getDouble();
+        y = in.getDouble();
+        velocityX = in.getDouble();
+        velocityY = in.getDouble();
+        health = in.getInt();
+        alive = in.get() != 0;
+        animationTick = in.getInt();
+        lastShoot = in.getLong();
+        shootInterval = in.getLong();
+        random.loadState(in);
+        emitter.loadState(in);
+        bullets.clear();
+        Bullet.loadAll(in, bullets, () -> new Bullet(bulletSprite, x, y, 0, 0, false));
+        if (sprite != null) sprite.loadState(in);
+
+        pendingSpriteTick = false;
+        pendingPattern = -1;
+        this.setVisible(alive && Viewport.intersects(x, y, width, height));
+        this.setTranslateX(x);
+        this.setTranslateY(y);
     }
 
     public boolean checkPlayerCollision(double playerX, double playerY, double playerWidth, double playerHeight) {
@@ -247,5 +281,20 @@ public class SecondTierEnemy extends Pane {
     public double getY() { return y; }
     public double getEnemyWidth() { return width; }
     public double getEnemyHeight() { return height; }
+
+    // ⭐ Hittable / Collider
+    @Override public int getCollisionLayer() { return CollisionLayer.ENEMY; }
+    @Override public boolean isCollidable() { return alive; }
+    @Override public double getHitX() { return x; }
+    @Override public double getHitY() { return y; }
+    @Override public double getHitWidth() { return width; }
+    @Override public double getHitHeight() { return height; }
+    @Override public boolean isSolidAt(double px, double py) {
+        if (hitMasks == null || sprite == null) return true;
+        return hitMasks[sprite.getColumnIndex() % hitMasks.length].contains(px, py, x, y, drawWidth, drawHeight);
+    }
+    @Override public String getColliderName() { return "SecondTierEnemy"; }
+    @Override public int getKillPoints() { return 1; }
+    @Override public int getSpecialHitPoints() { return 2; }
     public int getHealth() { return health; }
 }
\ No newline at end of file
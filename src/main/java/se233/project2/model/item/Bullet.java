@@ -5,20 +5,29 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
+import se233.project2.controller.Snapshotable;
+import se233.project2.model.collision.Collider;
+import se233.project2.model.collision.CollisionLayer;
+import se233.project2.model.collision.SweptCollision;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Bullet class - รองรับกระสุนทุกแบบ
  */
-public class Bullet extends Pane {
+public class Bullet extends Pane implements Collider, Snapshotable {
     private ImageView imageView;
     private Circle fallbackCircle;
 
     private double x, y;
+    private double prevX, prevY;  // ⭐ ตำแหน่งก่อน step ล่าสุด (ใช้กับ swept collision)
     private double speedX, speedY;
     private boolean active = true;
     private boolean isPlayerBullet;
 
-    private static final int BULLET_SIZE = 24; // ⭐ ขนาดใหญ่ขึ้น
+    public static final int BULLET_SIZE = 24; // ⭐ ขนาดใหญ่ขึ้น
     private static final double GRAVITY = 0.3;
 
     /**
@@ -34,6 +43,8 @@ public class Bullet extends Pane {
     public Bullet(Image sprite, double x, double y, double speedX, double speedY, boolean isPlayerBullet) {
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
         this.speedX = speedX;
         this.speedY = speedY;
         this.isPlayerBullet = isPlayerBullet;
@@ -71,6 +82,16 @@ public class Bullet extends Pane {
      * Update bullet position (like professor's update method)
      */
     public void update() {
+        step();
+        syncNode();
+    }
+
+    /**
+     * เดินตำแหน่งอย่างเดียว ไม่แตะ node (เรียกจาก worker thread ได้)
+     */
+    public void step() {
+        prevX = x;
+        prevY = y;
         x += speedX;
         y += speedY;
 
@@ -79,18 +100,162 @@ public class Bullet extends Pane {
             speedY += GRAVITY;
         }
 
-        this.setTranslateX(x);
-        this.setTranslateY(y);
-
         // Deactivate if out of bounds
         if (x < -50 || x > 1330 || y < -50 || y > 770) {
             active = false;
         }
     }
 
+    /**
+     * เขียนตำแหน่งลง node (FX thread)
+     */
+    public void syncNode() {
+        this.setTranslateX(x);
+        this.setTranslateY(y);
+    }
+
+    /**
+     * Update กระสุนทั้ง list แล้วลบตัวที่ไม่ active ออกแบบ in-place
+     * ⭐ ไม่สร้าง list ชั่วคราว (toRemove) และไม่สร้าง Iterator ทุก tick
+     */
+    public static <T extends Bullet> void updateAll(List<T> bullets) {
+        int live = 0;
+        int size = bullets.size();
+        for (int i = 0; i < size; i++) {
+            T bullet = bullets.get(i);
+            bullet.update();
+            if (bullet.isActive()) {
+                if (live != i) bullets.set(live, bullet);
+                live++;
+            }
+        }
+        // ตัดท้ายจากหลังสุด - ArrayList.remove(last) ไม่ต้อง shift
+        for (int i = size - 1; i >= live; i--) {
+            bullets.remove(i);
+        }
+    }
+
+    /**
+     * compute phase ของ updateAll - เดินตำแหน่งทุกนัดโดยไม่แตะ node
+     */
+    public static <T extends Bullet> void stepAll(List<T> bullets) {
+        for (int i = 0; i < bullets.size(); i++) {
+            bullets.get(i).step();
+        }
+    }
+
+    /**
+     * apply phase ของ updateAll - sync node แล้วลบตัวที่ไม่ active ออกแบบ in-place
+     */
+    public static <T extends Bullet> void syncAll(List<T> bullets) {
+        int live = 0;
+        int size = bullets.size();
+        for (int i = 0; i < size; i++) {
+            T bullet = bullets.get(i);
+            bullet.syncNode();
+            if (bullet.isActive()) {
+                if (live != i) bullets.set(live, bullet);
+                live++;
+            }
+        }
+        for (int i = size - 1; i >= live; i--) {
+            bullets.remove(i);
+        }
+    }
+
+    /**
+     * ⭐ Swept: ชนพื้นถ้าเส้นทางใน tick นี้ข้าม groundY - ถ้าชนจะย้ายกระสุนไปที่จุดกระทบ
+     */
     public boolean checkGroundCollision(int groundY) {
-        return y >= groundY;
+        if ((getCollisionMask() & CollisionLayer.TERRAIN) == 0) return false;
+        double t = SweptCollision.segmentGround(prevY, y, groundY);
+        if (t < 0) return false;
+        moveToImpact(t);
+        return true;
+    }
+
+    /**
+     * ⭐ Swept: ชนพื้นผิวด้านบนของ platform (x ใน [minX,maxX], y ≥ topY) - ใช้มุมซ้ายบนเหมือนเดิม
+     */
+    public boolean checkTerrainCollision(double minX, double topY, double maxX) {
+        if ((getCollisionMask() & CollisionLayer.TERRAIN) == 0) return false;
+        double t = SweptCollision.segmentTerrain(prevX, prevY, x, y, minX, topY, maxX);
+        if (t < 0) return false;
+        moveToImpact(t);
+        return true;
+    }
+
+    /**
+     * Time of impact (0..1) ของจุดศูนย์กลางกระสุนกับ AABB ของเป้า หรือ SweptCollision.NO_HIT
+     */
+    public double sweep(double minX, double minY, double maxX, double maxY) {
+        double half = BULLET_SIZE / 2;
+        return SweptCollision.segmentAabb(prevX + half, prevY + half, getCenterX(), getCenterY(),
+                minX, minY, maxX, maxY);
+    }
+
+    /**
+     * ย้ายกระสุนกลับไปที่จุดกระทบบนเส้นทาง (t จาก sweep) - ระเบิดจะเกิดตรงจุดชนจริง
+     * เส้นทางที่เหลือสั้นลงด้วย ดังนั้นการทดสอบครั้งถัดไปจะเจอเฉพาะสิ่งที่ชนก่อนหน้าเท่านั้น
+     */
+    public void moveToImpact(double t) {
+        if (t >= 1) return;
+        x = prevX + (x - prevX) * t;
+        y = prevY + (y - prevY) * t;
+    }
+
+    /**
+     * ⭐ ตำแหน่ง (ปัจจุบันและก่อน step), ความเร็ว และ active - ชนิดของกระสุนเป็นของผู้ยิง
+     */
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putDouble(x);
+        out.putDouble(y);
+        out.putDouble(prevX);
+        out.putDouble(prevY);
+        out.putDouble(speedX);
+        out.putDouble(speedY);
+        out.put((byte) (active ? 1 : 0));
     }
+
+    @Override
+    public void loadState(ByteBuffer in) {
+        x = in.getDouble();
+        y = in.getDouble();
+        prevX = in.getDouble();
+        prevY = in.getDouble();
+        speedX = in.getDouble();
+        speedY = in.getDouble();
+        active = in.get() != 0;
+        syncNode();
+    }
+
+    /**
+     * เขียนกระสุนทั้ง list (จำนวนแล้วตามด้วยแต่ละนัด)
+     */
+    public static void saveAll(List<? extends Bullet> bullets, ByteBuffer out) {
+        out.putInt(bullets.size());
+        for (int i = 0; i < bullets.size(); i++) {
+            bullets.get(i).saveState(out);
+        }
+    }
+
+    /**
+     * อ่านกระสุนที่ saveAll เขียนไว้ต่อท้าย list - factory สร้าง node ใหม่จาก sprite ที่ decode ไว้แล้ว
+     * (ผู้เรียกต้องถอด node ของกระสุนเดิมออกจาก pane และ clear list ก่อน)
+     */
+    public static <T extends Bullet> void loadAll(ByteBuffer in, List<T> bullets, Supplier<T> factory) {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining()) {
+            throw new IllegalStateException("Invalid bullet count " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            T bullet = factory.get();
+            bullet.loadState(in);
+            bullets.add(bullet);
+        }
+    }
+
     // ✅ ใช้สำหรับกำหนดความเร็วแนวตั้ง (vy)
     public void setVerticalSpeed(double speedY) {
         this.speedY = speedY;
@@ -112,6 +277,18 @@ public class Bullet extends Pane {
     public double getY() { return y; }
     public double getCenterX() { return x + BULLET_SIZE / 2; }
     public double getCenterY() { return y + BULLET_SIZE / 2; }
+    public double getPrevCenterX() { return prevX + BULLET_SIZE / 2; }
+    public double getPrevCenterY() { return prevY + BULLET_SIZE / 2; }
     public double getSpeedX() { return speedX; }
     public double getSpeedY() { return speedY; }
+
+    // ⭐ Collider - layer ขึ้นกับว่าใครยิง
+    @Override public int getCollisionLayer() {
+        return isPlayerBullet ? CollisionLayer.PLAYER_PROJECTILE : CollisionLayer.ENEMY_PROJECTILE;
+    }
+    @Override public boolean isCollidable() { return active; }
+    @Override public double getHitX() { return x; }
+    @Override public double getHitY() { return y; }
+    @Override public double getHitWidth() { return BULLET_SIZE; }
+    @Override public double getHitHeight() { return BULLET_SIZE; }
 }
\ No newline at end of file
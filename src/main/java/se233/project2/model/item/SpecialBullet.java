@@ -5,32 +5,39 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
+import se233.project2.controller.Snapshotable;
+import se233.project2.model.collision.Collider;
+import se233.project2.model.collision.CollisionLayer;
+
+import java.nio.ByteBuffer;
 
 /**
  * SpecialBullet - กระสุนพิเศษที่ยิงกระจายรอบตัว
  * - ยิงออก 8 ทิศทาง
  * - แรงกว่ากระสุนธรรมดา (damage = 3)
- * - ใช้เวลา 1.5 วินาที
+ * - ใช้เวลา 1.5 วินาที (นับเป็น tick ไม่ใช้ nanoTime - replay / rollback ได้ผลเดิม)
  */
-public class SpecialBullet extends Pane {
+public class SpecialBullet extends Pane implements Collider, Snapshotable {
     private ImageView imageView;
     private Circle fallbackCircle;
 
     private double x, y;
+    private double prevX, prevY;  // ⭐ ตำแหน่งก่อน update ล่าสุด (swept collision)
     private double speedX, speedY;
     private boolean active = true;
     private int damage = 3; // แรงกว่ากระสุนธรรมดา
 
-    private static final int BULLET_SIZE = 32; // ใหญ่กว่ากระสุนธรรมดา
-    private long creationTime;
-    private static final long DURATION = 1_500_000_000L; // 1.5 วินาที
+    public static final int BULLET_SIZE = 32; // ใหญ่กว่ากระสุนธรรมดา
+    private int age = 0;  // จำนวน tick ตั้งแต่ยิง
+    private static final int DURATION_TICKS = 90; // 1.5 วินาทีที่ 60 tick/s
 
     public SpecialBullet(Image sprite, double x, double y, double speedX, double speedY) {
         this.x = x;
         this.y = y;
+        this.prevX = x;
+        this.prevY = y;
         this.speedX = speedX;
         this.speedY = speedY;
-        this.creationTime = System.nanoTime();
 
         setupSprite(sprite);
         this.setTranslateX(x);
@@ -62,6 +69,8 @@ public class SpecialBullet extends Pane {
     }
 
     public void update() {
+        prevX = x;
+        prevY = y;
         x += speedX;
         y += speedY;
 
@@ -69,8 +78,7 @@ public class SpecialBullet extends Pane {
         this.setTranslateY(y);
 
         // ตรวจสอบอายุของกระสุน
-        long currentTime = System.nanoTime();
-        if (currentTime - creationTime >= DURATION) {
+        if (++age >= DURATION_TICKS) {
             active = false;
         }
 
@@ -80,6 +88,41 @@ public class SpecialBullet extends Pane {
         }
     }
 
+    /**
+     * ⭐ ย้ายกระสุนกลับไปที่จุดกระทบ (t จาก Hittable.solidImpact)
+     */
+    public void moveToImpact(double t) {
+        if (t >= 1) return;
+        x = prevX + (x - prevX) * t;
+        y = prevY + (y - prevY) * t;
+    }
+
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putDouble(x);
+        out.putDouble(y);
+        out.putDouble(prevX);
+        out.putDouble(prevY);
+        out.putDouble(speedX);
+        out.putDouble(speedY);
+        out.putInt(age);
+        out.put((byte) (active ? 1 : 0));
+    }
+
+    @Override
+    public void loadState(ByteBuffer in) {
+        x = in.getDouble();
+        y = in.getDouble();
+        prevX = in.getDouble();
+        prevY = in.getDouble();
+        speedX = in.getDouble();
+        speedY = in.getDouble();
+        age = in.getInt();
+        active = in.get() != 0;
+        this.setTranslateX(x);
+        this.setTranslateY(y);
+    }
+
     public void deactivate() {
         this.active = false;
     }
@@ -90,5 +133,15 @@ public class SpecialBullet extends Pane {
     public double getY() { return y; }
     public double getCenterX() { return x + BULLET_SIZE / 2; }
     public double getCenterY() { return y + BULLET_SIZE / 2; }
+    public double getPrevCenterX() { return prevX + BULLET_SIZE / 2; }
+    public double getPrevCenterY() { return prevY + BULLET_SIZE / 2; }
     public int getDamage() { return damage; }
+
+    // ⭐ Collider
+    @Override public int getCollisionLayer() { return CollisionLayer.PLAYER_PROJECTILE; }
+    @Override public boolean isCollidable() { return active; }
+    @Override public double getHitX() { return x; }
+    @Override public double getHitY() { return y; }
+    @Override public double getHitWidth() { return BULLET_SIZE; }
+    @Override public double getHitHeight() { return BULLET_SIZE; }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package se233.project2.model.pattern;
+
+/**
+ * AngleTable - ตาราง unit vector ที่คำนวณไว้ล่วงหน้าทุก 1 องศา
+ * ใช้แทน Math.toRadians / cos / sin ต่อกระสุน
+ */
+public final class AngleTable {
+    public static final int STEPS = 360;
+
+    private static final double[] COS = new double[STEPS];
+    private static final double[] SIN = new double[STEPS];
+
+    static {
+        for (int i = 0; i < STEPS; i++) {
+            double radians = Math.toRadians(i);
+            COS[i] = Math.cos(radians);
+            SIN[i] = Math.sin(radians);
+        }
+        // ให้มุมหลักเป็นค่าตรงเป๊ะ (cos 90° = 0 ไม่ใช่ 6e-17)
+        for (int i = 0; i < STEPS; i += 90) {
+            COS[i] = Math.rint(COS[i]);
+            SIN[i] = Math.rint(SIN[i]);
+        }
+    }
+
+    private AngleTable() {}
+
+    /**
+     * องศาใดๆ (ติดลบหรือเกิน 360 ได้) → index ของตาราง
+     */
+    public static int index(int degrees) {
+        return Math.floorMod(degrees, STEPS);
+    }
+
+    public static double cos(int degrees) {
+        return COS[index(degrees)];
+    }
+
+    public static double sin(int degrees) {
+        return SIN[index(degrees)];
+    }
+}
@@ -0,0 +1,141 @@
+package se233.project2.model.pattern;
+
+import java.nio.ByteBuffer;
+
+/**
+ * BulletPattern - รูปแบบการยิงแบบ data (immutable)
+ * - RING:   count นัดรอบวง เริ่มที่ angle แบ่งเท่าๆ กัน
+ * - FAN:    count นัดกระจาย spread องศา โดยมีแกนกลางเล็งไปที่เป้า
+ * - AIMED:  count นัดเล็งไปที่เป้า (ใช้ velocityStep กระจายแบบเส้นตรง)
+ * - LINE:   count นัดความเร็วคงที่ (vx, vy)
+ * - RANDOM: count นัดทิศสุ่มจากตารางมุม
+ * ทุกแบบใช้ spacing/velocityStep (เฉลี่ยรอบนัดกลาง) และ repeat(times, delayTicks) ได้
+ */
+public final class BulletPattern {
+    public enum Type { RING, FAN, AIMED, LINE, RANDOM }
+
+    private final Type type;
+    private final int count;
+    private final double speed;
+    private final int angle;
+    private final int spread;
+    private final double vx, vy;
+    private final double spacingX, spacingY;
+    private final double stepVX, stepVY;
+    private final int repeats;
+    private final int repeatDelay;
+
+    private BulletPattern(Type type, int count, double speed, int angle, int spread,
+                          double vx, double vy, double spacingX, double spacingY,
+                          double stepVX, double stepVY, int repeats, int repeatDelay) {
+        if (count < 1) throw new IllegalArgumentException("count must be at least 1");
+        if (repeats < 1) throw new IllegalArgumentException("repeats must be at least 1");
+        this.type = type;
+        this.count = count;
+        this.speed = speed;
+        this.angle = angle;
+        this.spread = spread;
+        this.vx = vx;
+        this.vy = vy;
+        this.spacingX = spacingX;
+        this.spacingY = spacingY;
+        this.stepVX = stepVX;
+        this.stepVY = stepVY;
+        this.repeats = repeats;
+        this.repeatDelay = repeatDelay;
+    }
+
+    public static BulletPattern ring(int count, double speed, int startAngle) {
+        return new BulletPattern(Type.RING, count, speed, startAngle, 360, 0, 0, 0, 0, 0, 0, 1, 0);
+    }
+
+    public static BulletPattern fan(int count, double speed, int spreadDegrees) {
+        return new BulletPattern(Type.FAN, count, speed, 0, spreadDegrees, 0, 0, 0, 0, 0, 0, 1, 0);
+    }
+
+    public static BulletPattern aimed(int count, double speed) {
+        return new BulletPattern(Type.AIMED, count, speed, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0);
+    }
+
+    public static BulletPattern line(int count, double vx, double vy) {
+        return new BulletPattern(Type.LINE, count, 0, 0, 0, vx, vy, 0, 0, 0, 0, 1, 0);
+    }
+
+    public static BulletPattern random(int count, double speed) {
+        return new BulletPattern(Type.RANDOM, count, speed, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0);
+    }
+
+    /**
+     * ระยะห่างตำแหน่งเกิดระหว่างนัด (นัดกลางอยู่ที่จุดยิงพอดี)
+     */
+    public BulletPattern spacing(double dx, double dy) {
+        return new BulletPattern(type, count, speed, angle, spread, vx, vy, dx, dy,
+                stepVX, stepVY, repeats, repeatDelay);
+    }
+
+    /**
+     * ความเร็วที่บวกเพิ่มต่อนัด (นัดกลางได้ความเร็วตาม pattern)
+     */
+    public BulletPattern velocityStep(double dvx, double dvy) {
+        return new BulletPattern(type, count, speed, angle, spread, vx, vy, spacingX, spacingY,
+                dvx, dvy, repeats, repeatDelay);
+    }
+
+    /**
+     * ยิงซ้ำทั้งชุด times ครั้ง ห่างกัน delayTicks tick (0 = ยิงพร้อมกัน)
+     */
+    public BulletPattern repeat(int times, int delayTicks) {
+        return new BulletPattern(type, count, speed, angle, spread, vx, vy, spacingX, spacingY,
+                stepVX, stepVY, times, Math.max(0, delayTicks));
+    }
+
+    public Type getType() { return type; }
+    public int getCount() { return count; }
+    public double getSpeed() { return speed; }
+    public int getAngle() { return angle; }
+    public int getSpread() { return spread; }
+    public double getVX() { return vx; }
+    public double getVY() { return vy; }
+    public double getSpacingX() { return spacingX; }
+    public double getSpacingY() { return spacingY; }
+    public double getStepVX() { return stepVX; }
+    public double getStepVY() { return stepVY; }
+    public int getRepeats() { return repeats; }
+    public int getRepeatDelay() { return repeatDelay; }
+
+    /**
+     * เขียน pattern ทั้งตัวลง buffer (ใช้กับ snapshot ของชุดที่รอยิงซ้ำใน PatternEmitter)
+     */
+    public void write(ByteBuffer out) {
+        out.put((byte) type.ordinal());
+        out.putInt(count);
+        out.putDouble(speed);
+        out.putInt(angle);
+        out.putInt(spread);
+        out.putDouble(vx);
+        out.putDouble(vy);
+        out.putDouble(spacingX);
+        out.putDouble(spacingY);
+        out.putDouble(stepVX);
+        out.putDouble(stepVY);
+        out.putInt(repeats);
+        out.putInt(repeatDelay);
+    }
+
+    /**
+     * อ่าน pattern ที่ write() เขียนไว้
+     */
+    public static BulletPattern read(ByteBuffer in) {
+        Type type = Type.values()[in.get()];
+        return new BulletPattern(type, in.getInt(), in.getDouble(), in.getInt(), in.getInt(),
+                in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble(),
+                in.getDouble(), in.getDouble(), in.getInt(), in.getInt());
+    }
+
+    /**
+     * จำนวนกระสุนทั้งหมดของ pattern (รวม repeat)
+     */
+    public int getTotalBullets() {
+        return count * repeats;
+    }
+}
@@ -0,0 +1,10 @@
+package se233.project2.model.pattern;
+
+/**
+ * ปลายทางของกระสุนที่ PatternEmitter ปล่อยออกมา
+ * แต่ละผู้ยิงสร้างกระสุนชนิดของตัวเอง (Bullet, AnimatedBullet, SpecialBullet)
+ */
+@FunctionalInterface
+public interface BulletSink {
+    void spawn(double x, double y, double vx, double vy);
+}
@@ -0,0 +1,213 @@
+package se233.project2.model.pattern;
+
+import se233.project2.controller.Snapshotable;
+import se233.project2.controller.jfr.SpawnBurstEvent;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * PatternEmitter - ยิง BulletPattern ผ่าน BulletSink ทางเดียว
+ * - ทิศของกระสุนมาจาก AngleTable (ไม่มี trig ต่อกระสุน, AIMED/FAN ใช้ sqrt ครั้งเดียวต่อชุด)
+ * - repeat ที่มี delay ถูกเก็บใน array ขนาดคงที่ แล้วยิงตอน update() ของ tick ที่ถึงเวลา
+ * - random มาจากผู้ยิง (seed แล้ว) - state ของ random เป็นของผู้ยิง snapshot ของ emitter เก็บแค่ชุดที่รอยิง
+ */
+public class PatternEmitter implements Snapshotable {
+    private static final int MAX_PENDING = 16;
+
+    private final String source;
+    private final BulletSink sink;
+    private final Random random;
+
+    // ชุดที่รอยิงซ้ำ (swap-remove เมื่อยิงครบ)
+    private final BulletPattern[] pendingPatterns = new BulletPattern[MAX_PENDING];
+    private final double[] pendingX = new double[MAX_PENDING];
+    private final double[] pendingY = new double[MAX_PENDING];
+    private final double[] pendingTargetX = new double[MAX_PENDING];
+    private final double[] pendingTargetY = new double[MAX_PENDING];
+    private final int[] pendingRemaining = new int[MAX_PENDING];
+    private final int[] pendingTimers = new int[MAX_PENDING];
+    private int pendingCount = 0;
+
+    public PatternEmitter(String source, BulletSink sink, Random random) {
+        this.source = source;
+        this.sink = sink;
+        this.random = random;
+    }
+
+    /**
+     * ยิง pattern จากจุด (x, y) โดยมีเป้าที่ (targetX, targetY) สำหรับ AIMED/FAN
+     */
+    public void emit(BulletPattern pattern, double x, double y, double targetX, double targetY) {
+        SpawnBurstEvent burst = SpawnBurstEvent.start(source);
+        int fired = fire(pattern, x, y, targetX, targetY);
+
+        int remaining = pattern.getRepeats() - 1;
+        if (remaining > 0) {
+            if (pattern.getRepeatDelay() == 0 || pendingCount == MAX_PENDING) {
+                // ไม่มี delay (หรือคิวเต็ม) → ยิงทุกชุดตอนนี้เลย
+                for (int r = 0; r < remaining; r++) {
+                    fired += fire(pattern, x, y, targetX, targetY);
+                }
+            } else {
+                int slot = pendingCount++;
+                pendingPatterns[slot] = pattern;
+                pendingX[slot] = x;
+                pendingY[slot] = y;
+                pendingTargetX[slot] = targetX;
+                pendingTargetY[slot] = targetY;
+                pendingRemaining[slot] = remaining;
+                pendingTimers[slot] = pattern.getRepeatDelay();
+            }
+        }
+        SpawnBurstEvent.finish(burst, fired);
+    }
+
+    public void emit(BulletPattern pattern, double x, double y) {
+        emit(pattern, x, y, x + 1, y);
+    }
+
+    /**
+     * เดิน timer ของชุดที่รอยิงซ้ำ - เรียกทุก tick จากผู้ยิง
+     */
+    public void update() {
+        for (int i = pendingCount - 1; i >= 0; i--) {
+            if (--pendingTimers[i] > 0) continue;
+
+            BulletPattern pattern = pendingPatterns[i];
+            fire(pattern, pendingX[i], pendingY[i], pendingTargetX[i], pendingTargetY[i]);
+
+            if (--pendingRemaining[i] > 0) {
+                pendingTimers[i] = pattern.getRepeatDelay();
+            } else {
+                removePending(i);
+            }
+        }
+    }
+
+    private void removePending(int i) {
+        int last = --pendingCount;
+        pendingPatterns[i] = pendingPatterns[last];
+        pendingX[i] = pendingX[last];
+        pendingY[i] = pendingY[last];
+        pendingTargetX[i] = pendingTargetX[last];
+        pendingTargetY[i] = pendingTargetY[last];
+        pendingRemaining[i] = pendingRemaining[last];
+        pendingTimers[i] = pendingTimers[last];
+        pendingPatterns[last] = null;
+    }
+
+    /**
+     * ยิงหนึ่งชุดของ pattern ผ่าน sink - คืนจำนวนนัดที่ยิง
+     */
+    private int fire(BulletPattern pattern, double x, double y, double targetX, double targetY) {
+        int count = pattern.getCount();
+        double speed = pattern.getSpeed();
+        double middle = (count - 1) / 2.0;
+
+        // ทิศไปหาเป้า (ใช้กับ AIMED และ FAN) - sqrt ครั้งเดียวต่อชุด
+        double aimX = 1;
+        double aimY = 0;
+        BulletPattern.Type type = pattern.getType();
+        if (type == BulletPattern.Type.AIMED || type == BulletPattern.Type.FAN) {
+            double dx = targetX - x;
+            double dy = targetY - y;
+            double distance = Math.sqrt(dx * dx + dy * dy);
+            if (distance > 0) {
+                aimX = dx / distance;
+                aimY = dy / distance;
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            double offset = i - middle;
+            double vx;
+            double vy;
+
+            switch (type) {
+                case RING: {
+                    int angle = pattern.getAngle() + i * AngleTable.STEPS / count;
+                    vx = speed * AngleTable.cos(angle);
+                    vy = speed * AngleTable.sin(angle);
+                    break;
+                }
+                case FAN: {
+                    int angle = count == 1 ? 0
+                            : (int) Math.round(pattern.getSpread() * (i / (double) (count - 1) - 0.5));
+                    double cos = AngleTable.cos(angle);
+                    double sin = AngleTable.sin(angle);
+                    vx = speed * (aimX * cos - aimY * sin);
+                    vy = speed * (aimX * sin + aimY * cos);
+                    break;
+                }
+                case AIMED:
+                    vx = speed * aimX;
+                    vy = speed * aimY;
+                    break;
+                case RANDOM: {
+                    int angle = random.nextInt(AngleTable.STEPS);
+                    vx = speed * AngleTable.cos(angle);
+                    vy = speed * AngleTable.sin(angle);
+                    break;
+                }
+                default:  // LINE
+                    vx = pattern.getVX();
+                    vy = pattern.getVY();
+                    break;
+            }
+
+            sink.spawn(x + offset * pattern.getSpacingX(),
+                    y + offset * pattern.getSpacingY(),
+                    vx + offset * pattern.getStepVX(),
+                    vy + offset * pattern.getStepVY());
+        }
+        return count;
+    }
+
+    public void clear() {
+        for (int i = 0; i < pendingCount; i++) {
+            pendingPatterns[i] = null;
+        }
+        pendingCount = 0;
+    }
+
+    /**
+     * ⭐ ชุดที่รอยิงซ้ำทั้งหมด (pattern, จุดยิง, เป้า, จำนวนที่เหลือ, timer)
+     */
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putInt(pendingCount);
+        for (int i = 0; i < pendingCount; i++) {
+            pendingPatterns[i].write(out);
+            out.putDouble(pendingX[i]);
+            out.putDouble(pendingY[i]);
+            out.putDouble(pendingTargetX[i]);
+            out.putDouble(pendingTargetY[i]);
+            out.putInt(pendingRemaining[i]);
+            out.putInt(pendingTimers[i]);
+        }
+    }
+
+    @Override
+    public void loadState(ByteBuffer in) {
+        clear();
+        int count = in.getInt();
+        if (count < 0 || count > MAX_PENDING) {
+            throw new IllegalStateException("Invalid pending pattern count " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            pendingPatterns[i] = BulletPattern.read(in);
+            pendingX[i] = in.getDouble();
+            pendingY[i] = in.getDouble();
+            pendingTargetX[i] = in.getDouble();
+            pendingTargetY[i] = in.getDouble();
+            pendingRemaining[i] = in.getInt();
+            pendingTimers[i] = in.getInt();
+        }
+        pendingCount = count;
+    }
+
+    public int getPendingCount() {
+        return pendingCount;
+    }
+}
@@ -2,19 +2,34 @@ package se233.project2.view;
 
 import javafx.scene.image.Image;
 import javafx.scene.layout.Pane;
+import se233.project2.controller.ParallelUpdater;
+import se233.project2.controller.Snapshotable;
+import se233.project2.model.GameRandom;
 import se233.project2.model.boss.*;
+import se233.project2.model.collision.Hittable;
 import se233.project2.model.item.Bullet;
-import se233.project2.model.effect.Explosion;
+import se233.project2.model.effect.ExplosionPool;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 /**
  * BossHandler - จัดการบอสทั้งหมด
+ * บอสแต่ละตัวได้ random ของตัวเองที่ split จาก random ของ stage ตอน spawn
  */
-public class BossHandler {
+public class BossHandler implements Snapshotable {
+    // ⭐ จำนวน wave ของ small boss ใน stage 3
+    private static final int SMALL_BOSS_WAVES = 3;
+    // Target X positions for each wave
+    private static final double[] SMALL_BOSS_TARGETS = {
+            200,   // Wave 1 - land at position 200
+            600,   // Wave 2 - land at position 600
+            1000   // Wave 3 - land at position 1000
+    };
+
     private Pane gamePane;
+    private final GameRandom random;
     private WallBoss wallBoss;
     private JavaBoss javaBoss;
     private List<SmallBoss> smallBosses;
@@ -28,12 +43,13 @@ public class BossHandler {
 
     private int smallBossWave = 0;
 
-    public BossHandler(Pane gamePane,
+    public BossHandler(Pane gamePane, GameRandom random,
                        Image wbNormal, Image wbDead, Image wbBullet,
                        Image jbNormal, Image jbDead, Image jbWeapon, Image jbBullet,
                        Image sbSprite, Image sbWeapon, Image sbBullet,
                        Image b3Sprite, Image b3Weapon, Image b3Bullet) {
         this.gamePane = gamePane;
+        this.random = random;
         this.smallBosses = new ArrayList<>();
         this.activeSmallBosses = new ArrayList<>();
 
@@ -53,71 +69,84 @@ public class BossHandler {
         this.boss3Sprite = b3Sprite;
         this.boss3WeaponSprite = b3Weapon;
         this.boss3BulletSprite = b3Bullet;
+
+        // ⭐ สร้าง hit mask ตอนโหลด (spawn ใช้ mask จาก cache)
+        WallBoss.buildHitMasks(wbNormal);
+        JavaBoss.buildHitMasks(jbNormal);
+        SmallBoss.buildHitMasks(sbSprite);
+        Boss3.buildHitMasks(b3Sprite);
     }
 
     public void spawnWallBoss() {
         clearAll();
-        wallBoss = new WallBoss(1050, 200, 180, 400, 30,
-                wallBossNormalSprite, wallBossDeadSprite, wallBossBulletSprite);
+        wallBoss = newWallBoss();
         gamePane.getChildren().add(wallBoss);
     }
 
     public void spawnJavaBoss() {
         clearAll();
-        javaBoss = new JavaBoss(1100, 100, 200, 300, 50,
-                javaBossNormalSprite, javaBossDeadSprite, javaBossWeaponSprite, javaBossBulletSprite);
+        javaBoss = newJavaBoss();
         gamePane.getChildren().add(javaBoss);
     }
 
     // ⭐ Spawn small bosses ONE AT A TIME for each wave
     public void spawnSmallBossWave() {
-        if (smallBossWave >= 3) return;
+        if (smallBossWave >= SMALL_BOSS_WAVES) return;
 
-        double startX = 1400;  // Start off-screen right
-        double bossY = 460;
-
-        // Target X positions for each wave
-        double[] targetPositions = {
-                200,   // Wave 1 - land at position 200
-                600,   // Wave 2 - land at position 600
-                1000   // Wave 3 - land at position 1000
-        };
-
-        double targetX = targetPositions[smallBossWave];
-
-        SmallBoss boss = new SmallBoss(
-                smallBossSprite, smallBossWeaponSprite, smallBossBulletSprite,
-                startX, bossY, targetX, 10
-        );
+        SmallBoss boss = newSmallBoss(smallBossWave);
 
         smallBosses.add(boss);
         activeSmallBosses.add(boss);
         gamePane.getChildren().add(boss);
 
-        System.out.println("🔥 Spawned SmallBoss wave " + (smallBossWave + 1) + " targeting X=" + targetX);
+        System.out.println("🔥 Spawned SmallBoss wave " + (smallBossWave + 1)
+                + " targeting X=" + SMALL_BOSS_TARGETS[smallBossWave]);
 
         smallBossWave++;
     }
 
     public void spawnBoss3() {
         clearAll();
+        boss3 = newBoss3();
+        gamePane.getChildren().add(boss3);
+    }
+
+    // ⭐ สร้างบอสจาก sprite ที่โหลดไว้แล้ว (ใช้ทั้งตอน spawn และตอน loadState)
+    private WallBoss newWallBoss() {
+        return new WallBoss(1050, 200, 180, 400, 30,
+                wallBossNormalSprite, wallBossDeadSprite, wallBossBulletSprite, random.split());
+    }
+
+    private JavaBoss newJavaBoss() {
+        return new JavaBoss(1100, 100, 200, 300, 50,
+                javaBossNormalSprite, javaBossDeadSprite, javaBossWeaponSprite, javaBossBulletSprite,
+                random.split());
+    }
+
+    private SmallBoss newSmallBoss(int wave) {
+        double startX = 1400;  // Start off-screen right
+        double bossY = 460;
+        return new SmallBoss(
+                smallBossSprite, smallBossWeaponSprite, smallBossBulletSprite,
+                startX, bossY, SMALL_BOSS_TARGETS[wave], 10, random.split()
+        );
+    }
+
+    private Boss3 newBoss3() {
         // ⭐ Boss3 ขนาด 500x500 - เกือบเต็มจอ!
         // Stage 3 platform: y=585 (actual platform position)
         // Center boss horizontally: x = (1280 - 500) / 2 = 390
         // Place boss ON platform: y = 585 - 490 = 95 (overlap 10px for better visual)
-        boss3 = new Boss3(boss3Sprite, boss3WeaponSprite, boss3BulletSprite,
-                390, 165, 50);
-        gamePane.getChildren().add(boss3);
+        return new Boss3(boss3Sprite, boss3WeaponSprite, boss3BulletSprite,
+                390, 165, 50, random.split());
     }
 
     public void update(long now) {
         if (wallBoss != null && wallBoss.isAlive()) wallBoss.update(now);
         if (javaBoss != null && javaBoss.isAlive()) javaBoss.update(now);
 
-        // ⭐ Only update active small bosses
-        for (SmallBoss boss : activeSmallBosses) {
-            if (boss.isAlive()) boss.update(now);
-        }
+        // ⭐ Only update active small bosses (compute ขนานได้ถ้าจำนวนถึง threshold)
+        ParallelUpdater.update(activeSmallBosses, now);
 
         if (boss3 != null && boss3.isAlive()) boss3.update(now);
     }
@@ -132,134 +161,144 @@ public class BossHandler {
         }
 
         // ⭐ Update SmallBoss positions for jumping attacks
-        for (SmallBoss boss : activeSmallBosses) {
+        for (int k = 0; k < activeSmallBosses.size(); k++) {
+            SmallBoss boss = activeSmallBosses.get(k);
             if (boss.isAlive()) {
                 boss.setPlayerPosition(playerX, playerY);
             }
         }
     }
 
-    public void updateBossBullets(List<Explosion> explosions, Image explosionSprite, int groundY) {
+    public void updateBossBullets(ExplosionPool explosions, int groundY) {
         if (wallBoss != null) {
-            updateWallBossBullets(wallBoss, explosions, explosionSprite, groundY);
+            updateWallBossBullets(wallBoss, explosions, groundY);
         }
 
         if (javaBoss != null) {
-            updateGenericBossBullets(javaBoss.getBullets(), javaBoss.isAlive(), explosions, explosionSprite, groundY);
+            updateGenericBossBullets(javaBoss.getBullets(), javaBoss.isAlive(), explosions, groundY);
         }
 
         // ⭐ Update small boss bullets with cleanup check
-        for (SmallBoss boss : activeSmallBosses) {
-            updateGenericBossBullets(boss.getBullets(), boss.isAlive(), explosions, explosionSprite, groundY);
+        for (int k = 0; k < activeSmallBosses.size(); k++) {
+            SmallBoss boss = activeSmallBosses.get(k);
+            updateGenericBossBullets(boss.getBullets(), boss.isAlive(), explosions, groundY);
         }
 
         if (boss3 != null) {
-            updateBoss3Bullets(boss3.getBullets(), boss3.isAlive(), explosions, explosionSprite, groundY);
+            updateBoss3Bullets(boss3.getBullets(), boss3.isAlive(), explosions, groundY);
+        }
+
+        compactDead();
+    }
+
+    /**
+     * ⭐ small boss ที่ตายและไม่มีกระสุนค้างถูกตัดออกจาก activeSmallBosses และถอด node ออก
+     * (smallBosses ยังเก็บครบทุก wave สำหรับเช็คเงื่อนไข Boss3)
+     * Boss3 ที่ตายแล้วถูกถอด node ออกแต่ยังเก็บ reference ไว้ให้เช็ค stage clear
+     * WallBoss / JavaBoss ไม่ถูกถอดเพราะแสดงสภาพพังค้างไว้จนจบ stage
+     */
+    private void compactDead() {
+        int live = 0;
+        for (int i = 0; i < activeSmallBosses.size(); i++) {
+            SmallBoss boss = activeSmallBosses.get(i);
+            if (boss.isAlive() || !boss.getBullets().isEmpty()) {
+                activeSmallBosses.set(live++, boss);
+            } else {
+                gamePane.getChildren().remove(boss);
+            }
+        }
+        for (int i = activeSmallBosses.size() - 1; i >= live; i--) activeSmallBosses.remove(i);
+
+        if (boss3 != null && !boss3.isAlive() && boss3.getBullets().isEmpty() && boss3.getParent() != null) {
+            gamePane.getChildren().remove(boss3);
         }
     }
 
-    private void updateWallBossBullets(WallBoss boss, List<Explosion> explosions, Image explosionSprite, int groundY) {
+    private void updateWallBossBullets(WallBoss boss, ExplosionPool explosions, int groundY) {
         final double P1_X = 543, P1_Y = 516, P1_W = 168;
         final double P2_X = 716, P2_Y = 552, P2_W = 568;
 
-        Iterator<Bullet> it = boss.getBossBullets().iterator();
-        while (it.hasNext()) {
-            Bullet bullet = it.next();
+        List<Bullet> bullets = boss.getBossBullets();
+        for (int i = bullets.size() - 1; i >= 0; i--) {
+            Bullet bullet = bullets.get(i);
 
             if (!gamePane.getChildren().contains(bullet)) {
                 gamePane.getChildren().add(bullet);
             }
 
-            double bx = bullet.getX(), by = bullet.getY();
-
-            boolean hit1 = by >= P1_Y && bx >= P1_X && bx <= P1_X + P1_W;
-            boolean hit2 = by >= P2_Y && bx >= P2_X && bx <= P2_X + P2_W;
+            // ⭐ Swept: ทดสอบเส้นทางทั้ง tick (ชนแล้วกระสุนถูกย้ายไปที่จุดกระทบ)
+            boolean hit1 = bullet.checkTerrainCollision(P1_X, P1_Y, P1_X + P1_W);
+            boolean hit2 = bullet.checkTerrainCollision(P2_X, P2_Y, P2_X + P2_W);
+            boolean hitGround = bullet.checkGroundCollision(groundY);
 
             // ⭐ Clean up if boss is dead OR bullet hits something
-            if (!boss.isAlive() || hit1 || hit2 || bullet.checkGroundCollision(groundY) || !bullet.isActive()) {
-                if (hit1 || hit2 || bullet.checkGroundCollision(groundY)) {
-                    createExplosion(bx, by, explosions, explosionSprite);
+            if (!boss.isAlive() || hit1 || hit2 || hitGround || !bullet.isActive()) {
+                if (hit1 || hit2 || hitGround) {
+                    explosions.spawn(bullet.getX(), bullet.getY());
                 }
                 gamePane.getChildren().remove(bullet);
-                it.remove();
+                bullets.remove(i);
             }
         }
     }
 
     private void updateGenericBossBullets(List<Bullet> bullets, boolean bossAlive,
-                                          List<Explosion> explosions, Image explosionSprite, int groundY) {
+                                          ExplosionPool explosions, int groundY) {
         // Stage 2 Platform collision area
         final double PLATFORM_X = 196;
         final double PLATFORM_Y = 503;
         final double PLATFORM_WIDTH = 1084;
 
-        Iterator<Bullet> it = bullets.iterator();
-        while (it.hasNext()) {
-            Bullet bullet = it.next();
+        for (int i = bullets.size() - 1; i >= 0; i--) {
+            Bullet bullet = bullets.get(i);
 
             if (!gamePane.getChildren().contains(bullet)) {
                 gamePane.getChildren().add(bullet);
             }
 
-            double bx = bullet.getX();
-            double by = bullet.getY();
-
-            boolean hitPlatform = by >= PLATFORM_Y &&
-                    bx >= PLATFORM_X &&
-                    bx <= PLATFORM_X + PLATFORM_WIDTH;
+            boolean hitPlatform = bullet.checkTerrainCollision(PLATFORM_X, PLATFORM_Y, PLATFORM_X + PLATFORM_WIDTH);
+            boolean hitGround = bullet.checkGroundCollision(groundY);
 
             // ⭐ Clean up if boss is dead OR bullet hits something
-            if (!bossAlive || !bullet.isActive() || bullet.checkGroundCollision(groundY) || hitPlatform) {
-                if (bullet.checkGroundCollision(groundY) || hitPlatform) {
-                    createExplosion(bullet.getX(), bullet.getY(), explosions, explosionSprite);
+            if (!bossAlive || !bullet.isActive() || hitGround || hitPlatform) {
+                if (hitGround || hitPlatform) {
+                    explosions.spawn(bullet.getX(), bullet.getY());
                 }
                 gamePane.getChildren().remove(bullet);
-                it.remove();
+                bullets.remove(i);
             }
         }
     }
 
     // ⭐ Boss3 bullets track player and explode on ground
     private void updateBoss3Bullets(List<Bullet> bullets, boolean bossAlive,
-                                    List<Explosion> explosions, Image explosionSprite, int groundY) {
+                                    ExplosionPool explosions, int groundY) {
         // Stage 3 platform: x=0, y=585, width=1280, height=135
         final double PLATFORM_X = 0;
         final double PLATFORM_Y = 585;
         final double PLATFORM_WIDTH = 1280;
 
-        Iterator<Bullet> it = bullets.iterator();
-        while (it.hasNext()) {
-            Bullet bullet = it.next();
+        for (int i = bullets.size() - 1; i >= 0; i--) {
+            Bullet bullet = bullets.get(i);
 
             if (!gamePane.getChildren().contains(bullet)) {
                 gamePane.getChildren().add(bullet);
             }
 
-            double bx = bullet.getX();
-            double by = bullet.getY();
-
-            // ⭐ Check platform collision - กระสุนต้องแตกที่ y >= 585 เท่านั้น
-            boolean hitPlatform = by >= PLATFORM_Y &&
-                    bx >= PLATFORM_X &&
-                    bx <= PLATFORM_X + PLATFORM_WIDTH;
+            // ⭐ Check platform collision - กระสุนต้องแตกที่ y >= 585 เท่านั้น (swept)
+            boolean hitPlatform = bullet.checkTerrainCollision(PLATFORM_X, PLATFORM_Y, PLATFORM_X + PLATFORM_WIDTH);
 
             // ⭐ Clean up if boss is dead OR bullet hits platform OR bullet is inactive
             if (!bossAlive || !bullet.isActive() || hitPlatform) {
                 if (hitPlatform) {
-                    createExplosion(bullet.getX(), bullet.getY(), explosions, explosionSprite);
+                    explosions.spawn(bullet.getX(), bullet.getY());
                 }
                 gamePane.getChildren().remove(bullet);
-                it.remove();
+                bullets.remove(i);
             }
         }
     }
 
-    private void createExplosion(double x, double y, List<Explosion> explosions, Image sprite) {
-        Explosion exp = new Explosion(sprite, x, y);
-        explosions.add(exp);
-        gamePane.getChildren().add(exp);
-    }
-
     public void clearAll() {
         if (wallBoss != null) {
             cleanupBossBullets(wallBoss.getBossBullets());
@@ -286,6 +325,101 @@ public class BossHandler {
         smallBossWave = 0;
     }
 
+    /**
+     * ⭐ Checkpoint / keyframe: wave counter แล้วตามด้วยบอสแต่ละแบบ (flag ว่ามีอยู่ + state ของตัวนั้น)
+     * small boss เก็บครบทุก wave พร้อม flag ว่ายังอยู่ใน activeSmallBosses, Boss3 เก็บ flag ว่ายังอยู่บน pane
+     */
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putInt(smallBossWave);
+        saveBoss(wallBoss, out);
+        saveBoss(javaBoss, out);
+        out.putInt(smallBosses.size());
+        for (int i = 0; i < smallBosses.size(); i++) {
+            SmallBoss boss = smallBosses.get(i);
+            boss.saveState(out);
+            out.put((byte) (activeSmallBosses.contains(boss) ? 1 : 0));
+        }
+        saveBoss(boss3, out);
+        if (boss3 != null) out.put((byte) (boss3.getParent() != null ? 1 : 0));
+    }
+
+    /**
+     * คืน state ของบอสทั้งหมด - บอสที่มีอยู่แล้วถูกใช้ซ้ำ (rollback โหลดบ่อย) ตัวที่ขาดถูกสร้างจาก sprite เดิม
+     */
+    @Override
+    public void loadState(ByteBuffer in) {
+        detachAll();
+
+        int wave = in.getInt();
+        if (wave < 0 || wave > SMALL_BOSS_WAVES) {
+            throw new IllegalStateException("Checkpoint has small boss wave " + wave);
+        }
+        smallBossWave = wave;
+
+        wallBoss = in.get() == 0 ? null : wallBoss != null ? wallBoss : newWallBoss();
+        if (wallBoss != null) {
+            wallBoss.loadState(in);
+            attach(wallBoss, wallBoss.getBossBullets());
+        }
+
+        javaBoss = in.get() == 0 ? null : javaBoss != null ? javaBoss : newJavaBoss();
+        if (javaBoss != null) {
+            javaBoss.loadState(in);
+            attach(javaBoss, javaBoss.getBullets());
+        }
+
+        int smallCount = in.getInt();
+        if (smallCount < 0 || smallCount > SMALL_BOSS_WAVES) {
+            throw new IllegalStateException("Checkpoint has " + smallCount + " small bosses");
+        }
+        while (smallBosses.size() > smallCount) smallBosses.remove(smallBosses.size() - 1);
+        activeSmallBosses.clear();
+        for (int i = 0; i < smallCount; i++) {
+            if (i == smallBosses.size()) smallBosses.add(newSmallBoss(i));
+            SmallBoss boss = smallBosses.get(i);
+            boss.loadState(in);
+            if (in.get() != 0) {
+                activeSmallBosses.add(boss);
+                attach(boss, boss.getBullets());
+            }
+        }
+
+        boss3 = in.get() == 0 ? null : boss3 != null ? boss3 : newBoss3();
+        if (boss3 != null) {
+            boss3.loadState(in);
+            if (in.get() != 0) attach(boss3, boss3.getBullets());
+        }
+    }
+
+    private static void saveBoss(Snapshotable boss, ByteBuffer out) {
+        out.put((byte) (boss != null ? 1 : 0));
+        if (boss != null) boss.saveState(out);
+    }
+
+    /**
+     * ถอด node ของบอสและกระสุนทั้งหมดออกจาก pane แต่เก็บ reference ไว้ให้ loadState ใช้ซ้ำ
+     */
+    private void detachAll() {
+        if (wallBoss != null) detach(wallBoss, wallBoss.getBossBullets());
+        if (javaBoss != null) detach(javaBoss, javaBoss.getBullets());
+        for (int i = 0; i < smallBosses.size(); i++) {
+            SmallBoss boss = smallBosses.get(i);
+            detach(boss, boss.getBullets());
+        }
+        if (boss3 != null) detach(boss3, boss3.getBullets());
+    }
+
+    private void detach(Pane boss, List<Bullet> bullets) {
+        gamePane.getChildren().remove(boss);
+        gamePane.getChildren().removeAll(bullets);
+    }
+
+    private void attach(Pane boss, List<Bullet> bullets) {
+        gamePane.getChildren().add(boss);
+        gamePane.getChildren().addAll(bullets);
+    }
+
     // ⭐ Helper method to clean up bullets
     private void cleanupBossBullets(List<Bullet> bullets) {
         for (Bullet bullet : bullets) {
@@ -298,7 +432,7 @@ public class BossHandler {
         if (stage == 1 && wallBoss != null) return !wallBoss.isAlive();
         if (stage == 2 && javaBoss != null) return !javaBoss.isAlive();
         if (stage == 3) {
-            boolean allSmallBossesDefeated = smallBosses.stream().allMatch(b -> !b.isAlive());
+            boolean allSmallBossesDefeated = allDefeated(smallBosses);
             if (boss3 != null) return !boss3.isAlive();
             return allSmallBossesDefeated && smallBossWave >= 3;
         }
@@ -312,7 +446,76 @@ public class BossHandler {
         }
 
         // ⭐ Spawn next wave only if current wave is defeated and we haven't spawned all 3 waves
-        return smallBossWave < 3 && activeSmallBosses.stream().allMatch(b -> !b.isAlive());
+        return smallBossWave < SMALL_BOSS_WAVES && allDefeated(activeSmallBosses);
+    }
+
+    /**
+     * ⭐ เช็คว่า small boss ใน list ตายหมดแล้ว (loop ธรรมดาแทน stream เพราะถูกเรียกทุก tick)
+     */
+    public static boolean allDefeated(List<SmallBoss> bosses) {
+        for (int i = 0; i < bosses.size(); i++) {
+            if (bosses.get(i).isAlive()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * รายงานบอสและกระสุนที่ถือไว้ให้ SceneAuditor (ไม่รวมตัวที่ถูก compact ออกไปแล้ว)
+     */
+    public void trackNodes(SceneAuditor auditor) {
+        if (wallBoss != null) {
+            auditor.track(wallBoss, wallBoss.isAlive());
+            EnemyHandler.trackBullets(auditor, wallBoss.getBossBullets());
+        }
+        if (javaBoss != null) {
+            auditor.track(javaBoss, javaBoss.isAlive());
+            EnemyHandler.trackBullets(auditor, javaBoss.getBullets());
+        }
+        for (int i = 0; i < activeSmallBosses.size(); i++) {
+            SmallBoss boss = activeSmallBosses.get(i);
+            auditor.track(boss, boss.isAlive());
+            EnemyHandler.trackBullets(auditor, boss.getBullets());
+        }
+        if (boss3 != null && (boss3.isAlive() || boss3.getParent() != null)) {
+            auditor.track(boss3, boss3.isAlive());
+            EnemyHandler.trackBullets(auditor, boss3.getBullets());
+        }
+    }
+
+    /**
+     * จำนวนบอสที่ยังมีชีวิต (telemetry)
+     */
+    public int getAliveCount() {
+        int count = 0;
+        if (wallBoss != null && wallBoss.isAlive()) count++;
+        if (javaBoss != null && javaBoss.isAlive()) count++;
+        for (int i = 0; i < activeSmallBosses.size(); i++) {
+            if (activeSmallBosses.get(i).isAlive()) count++;
+        }
+        if (boss3 != null && boss3.isAlive()) count++;
+        return count;
+    }
+
+    /**
+     * จำนวนกระสุนของบอสทั้งหมด (telemetry)
+     */
+    public int getBulletCount() {
+        int count = 0;
+        if (wallBoss != null) count += wallBoss.getBossBullets().size();
+        if (javaBoss != null) count += javaBoss.getBullets().size();
+        for (int i = 0; i < activeSmallBosses.size(); i++) count += activeSmallBosses.get(i).getBullets().size();
+        if (boss3 != null) count += boss3.getBullets().size();
+        return count;
+    }
+
+    /**
+     * ⭐ ใส่บอสที่มีอยู่ลง list เป้าของ collision pass
+     */
+    public void collectHittables(List<Hittable> out) {
+        if (wallBoss != null) out.add(wallBoss);
+        if (javaBoss != null) out.add(javaBoss);
+        for (int i = 0; i < activeSmallBosses.size(); i++) out.add(activeSmallBosses.get(i));
+        if (boss3 != null) out.add(boss3);
     }
 
     // Getters
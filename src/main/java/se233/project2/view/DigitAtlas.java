@@ -0,0 +1,73 @@
+package se233.project2.view;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+/**
+ * DigitAtlas - pre-render ตัวเลข 0-9 และ '-' (index DigitRow.MINUS) ลงใน glyph strip เดียว
+ * ใช้กับ Score เพื่อเปลี่ยนแค่ viewport แทนการสร้าง String / layout Label ใหม่ทุกครั้ง
+ */
+public class DigitAtlas {
+    private static DigitAtlas instance;
+
+    private final Image strip;
+    private static final String GLYPHS = "0123456789-";
+
+    private final Rectangle2D[] viewports = new Rectangle2D[GLYPHS.length()];
+    private final int cellWidth;
+    private final int cellHeight;
+
+    private DigitAtlas(Font font, Color color) {
+        Text glyph = new Text();
+        glyph.setFont(font);
+        glyph.setFill(color);
+
+        // หาขนาด cell ที่ใหญ่ที่สุด เพื่อให้ทุกตัวเลขกว้างเท่ากัน (monospace)
+        double maxWidth = 0;
+        double maxHeight = 0;
+        for (int d = 0; d < GLYPHS.length(); d++) {
+            glyph.setText(GLYPHS.substring(d, d + 1));
+            maxWidth = Math.max(maxWidth, glyph.getLayoutBounds().getWidth());
+            maxHeight = Math.max(maxHeight, glyph.getLayoutBounds().getHeight());
+        }
+        cellWidth = (int) Math.ceil(maxWidth);
+        cellHeight = (int) Math.ceil(maxHeight);
+
+        WritableImage atlas = new WritableImage(cellWidth * GLYPHS.length(), cellHeight);
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+
+        for (int d = 0; d < GLYPHS.length(); d++) {
+            glyph.setText(GLYPHS.substring(d, d + 1));
+            WritableImage rendered = glyph.snapshot(params, null);
+            int w = Math.min(cellWidth, (int) rendered.getWidth());
+            int h = Math.min(cellHeight, (int) rendered.getHeight());
+            int offsetX = (cellWidth - w) / 2;
+            atlas.getPixelWriter().setPixels(d * cellWidth + offsetX, 0, w, h,
+                    rendered.getPixelReader(), 0, 0);
+            viewports[d] = new Rectangle2D(d * cellWidth, 0, cellWidth, cellHeight);
+        }
+
+        this.strip = atlas;
+    }
+
+    /**
+     * Atlas ของ HUD (Arial Bold 24 สีขาว) - สร้างครั้งเดียวบน FX thread
+     */
+    public static DigitAtlas getInstance() {
+        if (instance == null) {
+            instance = new DigitAtlas(Score.FONT, Score.COLOR);
+        }
+        return instance;
+    }
+
+    public Image getStrip() { return strip; }
+    public Rectangle2D getViewport(int digit) { return viewports[digit]; }
+    public int getCellWidth() { return cellWidth; }
+    public int getCellHeight() { return cellHeight; }
+}
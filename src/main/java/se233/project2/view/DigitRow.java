@@ -0,0 +1,60 @@
+package se233.project2.view;
+
+import java.util.Arrays;
+
+/**
+ * DigitRow - glyph ของแต่ละช่องในแถวตัวเลขของ HUD (ไม่มี node - ทดสอบได้โดยไม่ต้องมี FX)
+ * - ช่อง 0 อยู่ซ้ายสุด, ค่าติดลบมีเครื่องหมายลบที่ช่อง 0
+ * - รองรับทุกค่าของ int (เครื่องหมาย + 10 หลัก) ไม่มีการตัดหลักทิ้ง
+ * - update() บอกว่าช่องไหนเปลี่ยน → Score แตะเฉพาะ ImageView ของช่องนั้น
+ */
+public class DigitRow {
+    public static final int MINUS = 10;        // index ของ '-' ใน DigitAtlas
+    public static final int HIDDEN = -1;
+    public static final int MAX_GLYPHS = 11;   // '-' + 10 หลักของ Integer.MIN_VALUE
+
+    private final int[] glyphs = new int[MAX_GLYPHS];
+    private final boolean[] changed = new boolean[MAX_GLYPHS];
+    private int length = 0;
+
+    public DigitRow() {
+        Arrays.fill(glyphs, HIDDEN);
+    }
+
+    /**
+     * จัดตัวเลขของ value ลงช่อง - คืนจำนวนช่องที่ glyph เปลี่ยน (0 = ไม่ต้องแตะ node)
+     */
+    public int update(int value) {
+        Arrays.fill(changed, false);
+        long remaining = Math.abs((long) value);  // long: Math.abs(Integer.MIN_VALUE) ติดลบ
+        int digits = 1;
+        for (long v = remaining / 10; v > 0; v /= 10) {
+            digits++;
+        }
+        int sign = value < 0 ? 1 : 0;
+        int newLength = digits + sign;
+
+        int count = 0;
+        for (int i = newLength - 1; i >= sign; i--) {
+            count += set(i, (int) (remaining % 10));
+            remaining /= 10;
+        }
+        if (sign == 1) count += set(0, MINUS);
+        for (int i = newLength; i < length; i++) {
+            count += set(i, HIDDEN);
+        }
+        length = newLength;
+        return count;
+    }
+
+    private int set(int slot, int glyph) {
+        if (glyphs[slot] == glyph) return 0;
+        glyphs[slot] = glyph;
+        changed[slot] = true;
+        return 1;
+    }
+
+    public int getGlyph(int slot) { return glyphs[slot]; }
+    public boolean isChanged(int slot) { return changed[slot]; }
+    public int getLength() { return length; }
+}
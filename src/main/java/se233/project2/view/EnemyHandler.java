@@ -2,88 +2,107 @@ package se233.project2.view;
 
 import javafx.scene.image.Image;
 import javafx.scene.layout.Pane;
+import se233.project2.model.GameRandom;
+import se233.project2.model.collision.Hittable;
 import se233.project2.model.enemy.RegularEnemy;
 import se233.project2.model.enemy.SecondTierEnemy;
 import se233.project2.model.item.Bullet;
-import se233.project2.model.effect.Explosion;
+import se233.project2.model.effect.ExplosionPool;
+import se233.project2.controller.ParallelUpdater;
+import se233.project2.controller.Snapshotable;
+import se233.project2.controller.jfr.SpawnBurstEvent;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 /**
  * EnemyHandler - จัดการศัตรูทั้งหมด
+ * ⭐ regularEnemies / secondTierEnemies = ศัตรูทั้งหมดของ stage (ใช้กับ checkpoint)
+ * liveRegular / liveSecondTier = ชุดที่ถูกเดินทุก tick - ตัวที่ตายและไม่มีกระสุนค้างแล้วจะถูกตัดออก
+ * และถอด node ออกจาก pane
+ * ศัตรูแต่ละตัวได้ random ของตัวเองที่ split จาก random ของ stage ตอน spawn (compute รันขนานได้โดยผลไม่เปลี่ยน)
  */
-public class EnemyHandler {
+public class EnemyHandler implements Snapshotable {
     private List<RegularEnemy> regularEnemies;
     private List<SecondTierEnemy> secondTierEnemies;
+    private final List<RegularEnemy> liveRegular = new ArrayList<>();
+    private final List<SecondTierEnemy> liveSecondTier = new ArrayList<>();
     private Pane gamePane;
+    private final GameRandom random;
 
     private Image regularEnemySprite;
     private Image regularEnemyBulletSprite;
     private Image secondTierEnemySprite;
     private Image secondTierEnemyBulletSprite;
 
-    public EnemyHandler(Pane gamePane, Image regularSprite, Image regularBullet,
+    public EnemyHandler(Pane gamePane, GameRandom random, Image regularSprite, Image regularBullet,
                         Image secondTierSprite, Image secondTierBullet) {
         this.gamePane = gamePane;
+        this.random = random;
         this.regularEnemySprite = regularSprite;
         this.regularEnemyBulletSprite = regularBullet;
         this.secondTierEnemySprite = secondTierSprite;
         this.secondTierEnemyBulletSprite = secondTierBullet;
         this.regularEnemies = new ArrayList<>();
         this.secondTierEnemies = new ArrayList<>();
+
+        // ⭐ ศัตรูตัวใหญ่ใช้ hit mask - สร้างตอนโหลด (RegularEnemy เล็กพอใช้กล่อง)
+        SecondTierEnemy.buildHitMasks(secondTierSprite);
     }
 
     public void spawnStage1Enemies() {
+        SpawnBurstEvent burst = SpawnBurstEvent.start("Stage1.minions");
         clearAll();
         regularEnemies.add(new RegularEnemy(regularEnemySprite, regularEnemyBulletSprite,
-                900, 200, 700, 1230, 100, 400, 3));
+                900, 200, 700, 1230, 100, 400, 3, random.split()));
         regularEnemies.add(new RegularEnemy(regularEnemySprite, regularEnemyBulletSprite,
-                1000, 300, 700, 1230, 100, 500, 3));
+                1000, 300, 700, 1230, 100, 500, 3, random.split()));
         regularEnemies.add(new RegularEnemy(regularEnemySprite, regularEnemyBulletSprite,
-                850, 400, 700, 1230, 200, 500, 3));
+                850, 400, 700, 1230, 200, 500, 3, random.split()));
 
         for (RegularEnemy enemy : regularEnemies) {
             gamePane.getChildren().add(enemy);
         }
+        liveRegular.addAll(regularEnemies);
+        SpawnBurstEvent.finish(burst, regularEnemies.size());
     }
 
     public void spawnStage2Enemies() {
+        SpawnBurstEvent burst = SpawnBurstEvent.start("Stage2.minions");
         clearAll();
         secondTierEnemies.add(new SecondTierEnemy(secondTierEnemySprite, secondTierEnemyBulletSprite,
-                900, 200, 700, 1230, 100, 400, 5));
+                900, 200, 700, 1230, 100, 400, 5, random.split()));
         secondTierEnemies.add(new SecondTierEnemy(secondTierEnemySprite, secondTierEnemyBulletSprite,
-                1000, 250, 700, 1230, 100, 450, 5));
+                1000, 250, 700, 1230, 100, 450, 5, random.split()));
         secondTierEnemies.add(new SecondTierEnemy(secondTierEnemySprite, secondTierEnemyBulletSprite,
-                1100, 300, 700, 1230, 150, 500, 5));
+                1100, 300, 700, 1230, 150, 500, 5, random.split()));
         secondTierEnemies.add(new SecondTierEnemy(secondTierEnemySprite, secondTierEnemyBulletSprite,
-                950, 350, 700, 1230, 200, 500, 5));
+                950, 350, 700, 1230, 200, 500, 5, random.split()));
         secondTierEnemies.add(new SecondTierEnemy(secondTierEnemySprite, secondTierEnemyBulletSprite,
-                1050, 150, 700, 1230, 100, 400, 5));
+                1050, 150, 700, 1230, 100, 400, 5, random.split()));
 
         for (SecondTierEnemy enemy : secondTierEnemies) {
             gamePane.getChildren().add(enemy);
         }
+        liveSecondTier.addAll(secondTierEnemies);
+        SpawnBurstEvent.finish(burst, secondTierEnemies.size());
     }
 
     public void update(long now, double playerX, double playerY) {
-        for (RegularEnemy enemy : regularEnemies) {
-            if (enemy.isAlive()) {
-                enemy.setPlayerPosition(playerX, playerY);
-                enemy.update(now);
-            }
+        for (int k = 0; k < liveRegular.size(); k++) {
+            liveRegular.get(k).setPlayerPosition(playerX, playerY);
         }
-
-        for (SecondTierEnemy enemy : secondTierEnemies) {
-            if (enemy.isAlive()) {
-                enemy.setPlayerPosition(playerX, playerY);
-                enemy.update(now);
-            }
+        for (int k = 0; k < liveSecondTier.size(); k++) {
+            liveSecondTier.get(k).setPlayerPosition(playerX, playerY);
         }
+
+        // ⭐ compute แบบขนานเมื่อศัตรูเยอะเกิน threshold แล้ว apply บน FX thread
+        ParallelUpdater.update(liveRegular, now);
+        ParallelUpdater.update(liveSecondTier, now);
     }
 
-    public void updateEnemyBullets(List<Explosion> explosions, Image explosionSprite, int groundY) {
+    public void updateEnemyBullets(ExplosionPool explosions, int groundY) {
         // Stage 1 platforms
         final double P1_X = 544, P1_Y = 516, P1_W = 168;
         final double P2_X = 712, P2_Y = 552, P2_W = 568;
@@ -94,77 +113,94 @@ public class EnemyHandler {
         final double STAGE2_PLATFORM_WIDTH = 1084;
 
         // Regular enemies
-        for (RegularEnemy enemy : regularEnemies) {
-            Iterator<Bullet> it = enemy.getBullets().iterator();
-            while (it.hasNext()) {
-                Bullet bullet = it.next();
+        for (int k = 0; k < liveRegular.size(); k++) {
+            RegularEnemy enemy = liveRegular.get(k);
+            List<Bullet> bullets = enemy.getBullets();
+            for (int i = bullets.size() - 1; i >= 0; i--) {
+                Bullet bullet = bullets.get(i);
 
                 if (!gamePane.getChildren().contains(bullet)) {
                     gamePane.getChildren().add(bullet);
                 }
 
-                double bx = bullet.getX();
-                double by = bullet.getY();
-
-                // ⭐ Check Stage 1 platform collisions
-                boolean hitPlatform1 = by >= P1_Y && bx >= P1_X && bx <= P1_X + P1_W;
-                boolean hitPlatform2 = by >= P2_Y && bx >= P2_X && bx <= P2_X + P2_W;
+                // ⭐ Check Stage 1 platform collisions (swept: ทดสอบเส้นทางทั้ง tick)
+                boolean hitPlatform1 = bullet.checkTerrainCollision(P1_X, P1_Y, P1_X + P1_W);
+                boolean hitPlatform2 = bullet.checkTerrainCollision(P2_X, P2_Y, P2_X + P2_W);
 
                 // ⭐ Check Stage 2 platform collision
-                boolean hitStage2Platform = by >= STAGE2_PLATFORM_Y &&
-                        bx >= STAGE2_PLATFORM_X &&
-                        bx <= STAGE2_PLATFORM_X + STAGE2_PLATFORM_WIDTH;
+                boolean hitStage2Platform = bullet.checkTerrainCollision(STAGE2_PLATFORM_X,
+                        STAGE2_PLATFORM_Y, STAGE2_PLATFORM_X + STAGE2_PLATFORM_WIDTH);
+                boolean hitGround = bullet.checkGroundCollision(groundY);
 
                 // ⭐ Clean up if enemy is dead OR bullet hits something
                 if (!enemy.isAlive() || !bullet.isActive() ||
-                        bullet.checkGroundCollision(groundY) ||
-                        hitPlatform1 || hitPlatform2 || hitStage2Platform) {
+                        hitGround || hitPlatform1 || hitPlatform2 || hitStage2Platform) {
 
-                    if (bullet.checkGroundCollision(groundY) || hitPlatform1 ||
-                            hitPlatform2 || hitStage2Platform) {
-                        createExplosion(bullet.getX(), bullet.getY(), explosions, explosionSprite);
+                    if (hitGround || hitPlatform1 || hitPlatform2 || hitStage2Platform) {
+                        explosions.spawn(bullet.getX(), bullet.getY());
                     }
                     gamePane.getChildren().remove(bullet);
-                    it.remove();
+                    bullets.remove(i);
                 }
             }
         }
 
         // Second-tier enemies
-        for (SecondTierEnemy enemy : secondTierEnemies) {
-            Iterator<Bullet> it = enemy.getBullets().iterator();
-            while (it.hasNext()) {
-                Bullet bullet = it.next();
+        for (int k = 0; k < liveSecondTier.size(); k++) {
+            SecondTierEnemy enemy = liveSecondTier.get(k);
+            List<Bullet> bullets = enemy.getBullets();
+            for (int i = bullets.size() - 1; i >= 0; i--) {
+                Bullet bullet = bullets.get(i);
 
                 if (!gamePane.getChildren().contains(bullet)) {
                     gamePane.getChildren().add(bullet);
                 }
 
-                double bx = bullet.getX();
-                double by = bullet.getY();
-
-                boolean hitStage2Platform = by >= STAGE2_PLATFORM_Y &&
-                        bx >= STAGE2_PLATFORM_X &&
-                        bx <= STAGE2_PLATFORM_X + STAGE2_PLATFORM_WIDTH;
+                boolean hitStage2Platform = bullet.checkTerrainCollision(STAGE2_PLATFORM_X,
+                        STAGE2_PLATFORM_Y, STAGE2_PLATFORM_X + STAGE2_PLATFORM_WIDTH);
+                boolean hitGround = bullet.checkGroundCollision(groundY);
 
                 // ⭐ Clean up if enemy is dead OR bullet hits something
-                if (!enemy.isAlive() || !bullet.isActive() ||
-                        bullet.checkGroundCollision(groundY) || hitStage2Platform) {
+                if (!enemy.isAlive() || !bullet.isActive() || hitGround || hitStage2Platform) {
 
-                    if (bullet.checkGroundCollision(groundY) || hitStage2Platform) {
-                        createExplosion(bullet.getX(), bullet.getY(), explosions, explosionSprite);
+                    if (hitGround || hitStage2Platform) {
+                        explosions.spawn(bullet.getX(), bullet.getY());
                     }
                     gamePane.getChildren().remove(bullet);
-                    it.remove();
+                    bullets.remove(i);
                 }
             }
         }
+
+        compactDead();
     }
 
-    private void createExplosion(double x, double y, List<Explosion> explosions, Image sprite) {
-        Explosion exp = new Explosion(sprite, x, y);
-        explosions.add(exp);
-        gamePane.getChildren().add(exp);
+    /**
+     * ⭐ ตัดศัตรูที่ตายแล้วและไม่มีกระสุนค้างออกจากชุดที่เดินทุก tick แล้วถอด node ออกจาก pane
+     * (compact in-place คงลำดับเดิม ไม่สร้าง list ใหม่)
+     */
+    private void compactDead() {
+        int live = 0;
+        for (int i = 0; i < liveRegular.size(); i++) {
+            RegularEnemy enemy = liveRegular.get(i);
+            if (enemy.isAlive() || !enemy.getBullets().isEmpty()) {
+                liveRegular.set(live++, enemy);
+            } else {
+                gamePane.getChildren().remove(enemy);
+            }
+        }
+        for (int i = liveRegular.size() - 1; i >= live; i--) liveRegular.remove(i);
+
+        live = 0;
+        for (int i = 0; i < liveSecondTier.size(); i++) {
+            SecondTierEnemy enemy = liveSecondTier.get(i);
+            if (enemy.isAlive() || !enemy.getBullets().isEmpty()) {
+                liveSecondTier.set(live++, enemy);
+            } else {
+                gamePane.getChildren().remove(enemy);
+            }
+        }
+        for (int i = liveSecondTier.size() - 1; i >= live; i--) liveSecondTier.remove(i);
     }
 
     public void clearAll() {
@@ -185,13 +221,156 @@ public class EnemyHandler {
         }
         regularEnemies.clear();
         secondTierEnemies.clear();
+        liveRegular.clear();
+        liveSecondTier.clear();
+    }
+
+    /**
+     * ⭐ Checkpoint / keyframe: จำนวนศัตรูแต่ละแบบ แล้วตามด้วย state ของแต่ละตัว (รวมกระสุนที่ค้างอยู่)
+     */
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putInt(regularEnemies.size());
+        out.putInt(secondTierEnemies.size());
+        for (int k = 0; k < regularEnemies.size(); k++) {
+            regularEnemies.get(k).saveState(out);
+        }
+        for (int k = 0; k < secondTierEnemies.size(); k++) {
+            secondTierEnemies.get(k).saveState(out);
+        }
+    }
+
+    /**
+     * คืน state ให้ศัตรูชุดเดิม (ต้อง spawn ชุดของ stage เดียวกันไว้แล้ว)
+     */
+    @Override
+    public void loadState(ByteBuffer in) {
+        int regularCount = in.getInt();
+        int secondTierCount = in.getInt();
+        if (regularCount != regularEnemies.size() || secondTierCount != secondTierEnemies.size()) {
+            throw new IllegalStateException("Checkpoint has " + regularCount + "/" + secondTierCount
+                    + " enemies but " + regularEnemies.size() + "/" + secondTierEnemies.size() + " are spawned");
+        }
+        for (int k = 0; k < regularCount; k++) {
+            RegularEnemy enemy = regularEnemies.get(k);
+            gamePane.getChildren().removeAll(enemy.getBullets());
+            enemy.loadState(in);
+        }
+        for (int k = 0; k < secondTierCount; k++) {
+            SecondTierEnemy enemy = secondTierEnemies.get(k);
+            gamePane.getChildren().removeAll(enemy.getBullets());
+            enemy.loadState(in);
+        }
+
+        // สร้างชุดที่เดินทุก tick ใหม่จาก state ที่คืนมา
+        // (ตัวที่ตายแล้วแต่กระสุนยังค้างอยู่ยังถูกเดินต่อจนกระสุนหมด เหมือน compactDead)
+        liveRegular.clear();
+        liveSecondTier.clear();
+        for (int k = 0; k < regularCount; k++) {
+            RegularEnemy enemy = regularEnemies.get(k);
+            if (enemy.isAlive() || !enemy.getBullets().isEmpty()) {
+                liveRegular.add(enemy);
+                attach(enemy, enemy.getBullets());
+            } else {
+                gamePane.getChildren().remove(enemy);
+            }
+        }
+        for (int k = 0; k < secondTierCount; k++) {
+            SecondTierEnemy enemy = secondTierEnemies.get(k);
+            if (enemy.isAlive() || !enemy.getBullets().isEmpty()) {
+                liveSecondTier.add(enemy);
+                attach(enemy, enemy.getBullets());
+            } else {
+                gamePane.getChildren().remove(enemy);
+            }
+        }
+    }
+
+    /**
+     * ใส่ node ของศัตรู (ถ้าถูกถอดไปแล้ว) และกระสุนที่เพิ่งสร้างจาก state กลับเข้า pane
+     */
+    private void attach(Pane enemy, List<Bullet> bullets) {
+        if (enemy.getParent() != gamePane) gamePane.getChildren().add(enemy);
+        gamePane.getChildren().addAll(bullets);
+    }
+
+    /**
+     * ใส่ node ของศัตรูทั้งหมดกลับเข้า pane (หลัง GameStage clear children)
+     */
+    public void attachAll() {
+        gamePane.getChildren().addAll(regularEnemies);
+        gamePane.getChildren().addAll(secondTierEnemies);
     }
 
     public boolean allCleared() {
-        return regularEnemies.stream().allMatch(e -> !e.isAlive()) &&
-                secondTierEnemies.stream().allMatch(e -> !e.isAlive());
+        // ⭐ loop ธรรมดาแทน stream (ถูกเรียกทุก tick)
+        for (int i = 0; i < liveRegular.size(); i++) {
+            if (liveRegular.get(i).isAlive()) return false;
+        }
+        for (int i = 0; i < liveSecondTier.size(); i++) {
+            if (liveSecondTier.get(i).isAlive()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * รายงานศัตรูและกระสุนที่ถือไว้ให้ SceneAuditor
+     */
+    public void trackNodes(SceneAuditor auditor) {
+        for (int i = 0; i < liveRegular.size(); i++) {
+            RegularEnemy enemy = liveRegular.get(i);
+            auditor.track(enemy, enemy.isAlive());
+            trackBullets(auditor, enemy.getBullets());
+        }
+        for (int i = 0; i < liveSecondTier.size(); i++) {
+            SecondTierEnemy enemy = liveSecondTier.get(i);
+            auditor.track(enemy, enemy.isAlive());
+            trackBullets(auditor, enemy.getBullets());
+        }
+    }
+
+    static void trackBullets(SceneAuditor auditor, List<? extends Bullet> bullets) {
+        for (int i = 0; i < bullets.size(); i++) {
+            Bullet bullet = bullets.get(i);
+            auditor.track(bullet, bullet.isActive());
+        }
+    }
+
+    /**
+     * จำนวนศัตรูที่ยังมีชีวิต (telemetry)
+     */
+    public int getAliveCount() {
+        int count = 0;
+        for (int i = 0; i < liveRegular.size(); i++) {
+            if (liveRegular.get(i).isAlive()) count++;
+        }
+        for (int i = 0; i < liveSecondTier.size(); i++) {
+            if (liveSecondTier.get(i).isAlive()) count++;
+        }
+        return count;
+    }
+
+    /**
+     * จำนวนกระสุนของศัตรูทั้งหมด (telemetry)
+     */
+    public int getBulletCount() {
+        int count = 0;
+        for (int i = 0; i < liveRegular.size(); i++) count += liveRegular.get(i).getBullets().size();
+        for (int i = 0; i < liveSecondTier.size(); i++) count += liveSecondTier.get(i).getBullets().size();
+        return count;
+    }
+
+    /**
+     * ⭐ ใส่ศัตรูทุกตัวลง list เป้าของ collision pass (regular ก่อน second tier)
+     * ใช้ loop แทน addAll เพราะ addAll สร้าง array ชั่วคราวทุกครั้ง
+     */
+    public void collectHittables(List<Hittable> out) {
+        for (int i = 0; i < liveRegular.size(); i++) out.add(liveRegular.get(i));
+        for (int i = 0; i < liveSecondTier.size(); i++) out.add(liveSecondTier.get(i));
     }
 
     public List<RegularEnemy> getRegularEnemies() { return regularEnemies; }
     public List<SecondTierEnemy> getSecondTierEnemies() { return secondTierEnemies; }
+    public List<RegularEnemy> getLiveRegularEnemies() { return liveRegular; }
+    public List<SecondTierEnemy> getLiveSecondTierEnemies() { return liveSecondTier; }
 }
\ No newline at end of file
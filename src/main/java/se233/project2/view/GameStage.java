@@ -1,6 +1,8 @@
 package se233.project2.view;
 
+import javafx.scene.Node;
 import javafx.scene.control.Button;
+import javafx.scene.effect.ColorAdjust;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
@@ -9,38 +11,85 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
+import se233.project2.controller.AssetLoader;
+import se233.project2.controller.EncounterDirector;
+import se233.project2.controller.EncounterScript;
+import se233.project2.controller.GameException;
 import se233.project2.controller.GameLogger;
+import se233.project2.controller.GameLoop;
+import se233.project2.controller.ManagedScreen;
+import se233.project2.controller.PulseProfiler;
+import se233.project2.controller.QualityGovernor;
 import se233.project2.controller.SoundController;
+import se233.project2.controller.StageCheckpoint;
+import se233.project2.controller.TelemetryRecorder;
+import se233.project2.controller.TelemetrySource;
 import se233.project2.controller.Updatable;
+import se233.project2.controller.bot.BotDriver;
+import se233.project2.controller.bot.BotView;
+import se233.project2.controller.event.GameEventBatch;
+import se233.project2.controller.event.GameEventBus;
+import se233.project2.controller.event.GameEventType;
+import se233.project2.controller.event.LoggingEventListener;
+import se233.project2.controller.jfr.CollisionPassEvent;
+import se233.project2.controller.jfr.SimulationTickEvent;
+import se233.project2.controller.jfr.StageLoadEvent;
+import se233.project2.controller.net.InputBits;
+import se233.project2.controller.net.NetplayDriver;
+import se233.project2.controller.net.RollbackSimulation;
+import se233.project2.controller.replay.ReplayRecorder;
 import se233.project2.model.GameCharacter;
+import se233.project2.model.GameRandom;
 import se233.project2.model.Keys;
 import se233.project2.model.Platform;
-import se233.project2.model.effect.Explosion;
+import se233.project2.model.ScoreStore;
+import se233.project2.model.collision.CollisionMatrix;
+import se233.project2.model.collision.Hittable;
+import se233.project2.model.effect.ExplosionPool;
 import se233.project2.model.item.Bullet;
 import se233.project2.model.item.SpecialBullet;
+import se233.project2.model.pattern.BulletPattern;
+import se233.project2.model.pattern.PatternEmitter;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
-public class GameStage extends Pane implements Updatable {
+public class GameStage extends Pane implements Updatable, RollbackSimulation, ManagedScreen, TelemetrySource, BotView {
     public static final int WIDTH = 1280;
     public static final int HEIGHT = 720;
     public static final int GROUND_Y = 668;
 
     private ImageView backgroundImageView;
+    private final Node[] backgroundNodes = new Node[4];  // ⭐ cache background ต่อ stage (decode ครั้งเดียว)
     private GameCharacter player;
     private Keys keys;
 
+    // ⭐ Netplay co-op: ผู้เล่นคนที่สอง (null = เล่นคนเดียว) ขับด้วย input จาก advance เท่านั้น
+    private static final int PLAYER_SPAWN_X = 100;
+    private static final int PARTNER_SPAWN_X = 160;
+    private GameCharacter partner;
+    private Keys partnerKeys;
+    private Keys inputKeys;  // ปุ่มของเครื่องนี้ (= keys ถ้าไม่ได้เล่น netplay)
+    private NetplayDriver netplay;
+    private boolean netplayFinished = false;  // จอจบแสดงแล้ว (tick ที่จบถูกยืนยันทั้งสองฝั่ง)
+
     // ⭐ Sound controller
     private SoundController soundController;
 
     // ⭐ Logger
     private GameLogger logger;
 
+    // ⭐ Adaptive quality
+    private QualityGovernor governor;
+
     // ⭐ Callback สำหรับย้อนกลับไปหน้า Start Screen
     private Runnable onShowStartScreen;
 
+    // ⭐ Loop ของหน้าจอนี้ (start/stop ตาม resume/suspend)
+    private GameLoop gameLoop;
+
     // Handlers
     private GameUIHandler uiHandler;
     private EnemyHandler enemyHandler;
@@ -49,7 +98,13 @@ public class GameStage extends Pane implements Updatable {
     private List<Bullet> playerBullets;
     private List<SpecialBullet> specialBullets;  // ⭐ กระสุนพิเศษ
     private List<Platform> platforms;
-    private List<Explosion> explosions;
+    private final List<Hittable> hitTargets = new ArrayList<>();  // ⭐ เป้าของ collision pass (ใช้ซ้ำทุก tick)
+    private ExplosionPool explosions;  // ⭐ ring ของระเบิดทั้งหมด วาดใน Canvas เดียว
+
+    // ⭐ กระสุนพิเศษ: วง 8 นัด ความเร็ว 8 เริ่มที่ 0°
+    private static final BulletPattern SPECIAL_PATTERN = BulletPattern.ring(8, 8, 0);
+    private static final long SHUTDOWN_WAIT_MILLIS = 500;  // รอ logging ของ event สุดท้ายตอนปิดเกม
+    private PatternEmitter specialEmitter;
 
     // Sprites
     private Image playerBulletSprite;
@@ -57,57 +112,157 @@ public class GameStage extends Pane implements Updatable {
     private Image explosionSprite;
     private Image liveIconSprite;
 
-    private long lastShoot = 0;
-    private long lastSpecialShoot = 0;  // ⭐ track special bullet cooldown
+    private final long[] lastShoot = new long[2];         // ⭐ ต่อผู้เล่น (index 0 = player, 1 = partner)
+    private final long[] lastSpecialShoot = new long[2];  // ⭐ track special bullet cooldown
     private final long SHOOT_DELAY = 200_000_000;
     private final long SPECIAL_COOLDOWN = 5_000_000_000L;  // 5 วินาที cooldown
 
+    // ⭐ เวลาเกมนับจาก tick ของ simulation (ไม่ใช่เวลาจริง) และสุ่มจาก random ตัวเดียว → replay / rollback ได้ผลเดิม
+    // เริ่มที่ 1 ชั่วโมง: timer ที่ยังเป็น 0 ยิงได้ทันทีเหมือนตอนใช้ nanoTime
+    private static final long CLOCK_ORIGIN = 3_600_000_000_000L;
+    private final GameRandom random;
+    private long simTick = 0;
+
     // Game state
     private int playerLives = 3;
     private int currentStage = 1;
-    private boolean minionsCleared = false;
-    private boolean bossSpawned = false;
-    private boolean bossDefeated = false;
-    private boolean stageCleared = false;
     private boolean gameOver = false;
-    private int stageClearDelay = 0;
-    private int bossSpawnDelay = 0;
-    private final int STAGE_CLEAR_WAIT = 180;
-    private final int BOSS_SPAWN_WAIT = 120;
+    private boolean gameCompleted = false;
+
+    // ⭐ ลำดับ wave ของ stage (minions → boss / small boss waves → Boss3) ขับด้วย spawn/kill event
+    private final EncounterDirector director = new EncounterDirector(new EncounterHost());
 
-    // Stage 3
-    private boolean waitingForNextWave = false;
-    private int waveDelay = 0;
-    private final int WAVE_WAIT = 90;
+    // ⭐ Checkpoint ตอนเริ่มแต่ละ stage (index = stage) ใช้กับ RESTART / RETRY STAGE
+    private final StageCheckpoint[] checkpoints = new StageCheckpoint[4];
+
+    // ⭐ Event ของ gameplay - collision loop แค่ publish, side effect ทำตอน dispatch ท้าย tick
+    private final GameEventBus events = new GameEventBus();
+    private int pendingPoints = 0;  // คะแนนที่ publish แล้วแต่ HUD ยังไม่ได้บวก (ใน tick นี้)
+
+    // ⭐ Debug: ตรวจ node ที่รั่ว (เปิดด้วย -Dgame.audit=true)
+    private final SceneAuditor auditor = SceneAuditor.ENABLED ? new SceneAuditor(SceneAuditor.DEFAULT_INTERVAL) : null;
+
+    // ⭐ ตัวนับสำหรับ CollisionPassEvent (reset ทุก tick)
+    private int collisionPairs = 0;
+    private int collisionHits = 0;
 
     public GameStage(Runnable onShowStartScreen) {
         this.onShowStartScreen = onShowStartScreen;
         this.soundController = SoundController.getInstance();
         this.logger = GameLogger.getInstance();
+        this.governor = QualityGovernor.getInstance();
 
         this.setPrefWidth(WIDTH);
         this.setPrefHeight(HEIGHT);
 
+        // ⭐ seed: netplay (สองเครื่องต้องตรงกัน) > replay ที่กำลังบันทึก (ตรงกับ header ของไฟล์) > เวลาเริ่ม
+        NetplayDriver driver = NetplayDriver.getInstance();
+        ReplayRecorder replay = ReplayRecorder.getInstance();
+        long seed = driver != null ? driver.getSeed() : replay != null ? replay.getSeed() : System.nanoTime();
+        this.random = new GameRandom(seed);
+
         loadAllSprites();
         keys = new Keys();
+        inputKeys = keys;
+        if (driver != null) {
+            inputKeys = new Keys();
+            partnerKeys = new Keys();
+            partner = new GameCharacter(PARTNER_SPAWN_X, 100);
+            partner.setEffect(new ColorAdjust(0.5, 0, 0, 0));  // ⭐ สีต่างจากผู้เล่น 1
+        }
         playerBullets = new ArrayList<>();
         specialBullets = new ArrayList<>();  // ⭐
         platforms = new ArrayList<>();
-        explosions = new ArrayList<>();
+        explosions = new ExplosionPool(explosionSprite, WIDTH, HEIGHT);
+        specialEmitter = new PatternEmitter("Player.specialBullet", (x, y, vx, vy) -> {
+            SpecialBullet bullet = new SpecialBullet(playerSpecialBulletSprite, x, y, vx, vy);
+            specialBullets.add(bullet);
+            this.getChildren().add(bullet);
+        }, random);
+
+        for (int stage = 1; stage < checkpoints.length; stage++) {
+            checkpoints[stage] = new StageCheckpoint();
+        }
 
         setupHandlers();
+        events.subscribe(this::applyHudEvents);
+        events.subscribe(this::applyEffectEvents);
+        events.subscribe(this::applyAudioEvents);
+        events.subscribe(director);
+        events.subscribeAsync(new LoggingEventListener());
         loadStage(1);
 
-        this.setOnKeyPressed(event -> keys.update(event.getCode(), true));
-        this.setOnKeyReleased(event -> keys.update(event.getCode(), false));
+        // ⭐ Netplay: session เก็บ snapshot จาก state เริ่มต้นที่เพิ่งโหลด (เหมือนกันทั้งสองเครื่องเพราะ seed ตรงกัน)
+        if (driver != null) {
+            try {
+                driver.attach(this, ReplayRecorder.STATE_CAPACITY);
+                netplay = driver;
+            } catch (IOException e) {
+                logger.logError("Netplay", "Could not open netplay socket: " + e.getMessage());
+                endNetplay();
+            }
+        }
+
+        this.setOnKeyPressed(event -> inputKeys.update(event.getCode(), true));
+        this.setOnKeyReleased(event -> inputKeys.update(event.getCode(), false));
         this.setFocusTraversable(true);
+
+        gameLoop = new GameLoop(this);
+
+        TelemetryRecorder telemetry = TelemetryRecorder.getInstance();
+        if (telemetry != null) {
+            telemetry.setSource(this);
+        }
+        PulseProfiler profiler = PulseProfiler.getInstance();
+        if (profiler != null) {
+            profiler.setSource(this);
+        }
+    }
+
+    /**
+     * ⭐ เริ่มเกมใหม่จาก checkpoint ของ stage 1 (ใช้ node และ asset เดิม)
+     */
+    @Override
+    public void reset() {
+        restoreCheckpoint(1);
+    }
+
+    /**
+     * ⭐ หน้าจอถูกซ่อน → หยุด loop และล้างปุ่มที่ค้าง
+     */
+    @Override
+    public void suspend() {
+        gameLoop.stop();
+        if (netplay != null) endNetplay();  // ⭐ ซ่อนหน้าจอ = ออกจาก match
+        keys.clear();
+    }
+
+    @Override
+    public void resume() {
+        keys.clear();
+        inputKeys.clear();
+        this.requestFocus();
+        gameLoop.start();
+    }
+
+    /**
+     * ⭐ ปิดเกม: รอ async subscriber (logging) เขียน batch สุดท้าย เช่น GAME_OVER ให้เสร็จ
+     * thread "game-events" เป็น daemon - ถ้าไม่รอ batch ที่ค้างจะหายไปพร้อม JVM
+     */
+    public void shutdown() {
+        gameLoop.stop();
+        if (!events.awaitAsync(SHUTDOWN_WAIT_MILLIS)) {
+            logger.logError("EventBus", "Async subscribers did not drain before shutdown");
+        }
     }
 
     private void loadAllSprites() {
-        playerBulletSprite = loadImage("item/bullet-player.png");
-        playerSpecialBulletSprite = loadImage("item/bullet-player-special.png");  // ⭐
+        // ⭐ รูปเดี่ยวที่แสดงเล็กกว่าไฟล์ decode ที่ขนาดจริงบนจอ (กระสุน 256px → 24/32px)
+        playerBulletSprite = loadImage("item/bullet-player.png", Bullet.BULLET_SIZE, Bullet.BULLET_SIZE);
+        playerSpecialBulletSprite = loadImage("item/bullet-player-special.png",
+                SpecialBullet.BULLET_SIZE, SpecialBullet.BULLET_SIZE);  // ⭐
         explosionSprite = loadImage("effect/Boom.png");
-        liveIconSprite = loadImage("effect/live.png");
+        liveIconSprite = loadImage("effect/live.png", GameUIHandler.LIVE_ICON_SIZE, GameUIHandler.LIVE_ICON_SIZE);
     }
 
     // ในไฟล์ GameStage.java
@@ -117,14 +272,14 @@ public class GameStage extends Pane implements Updatable {
         // ⭐ สร้าง uiHandler เพียงครั้งเดียวตอน setup
         uiHandler = new GameUIHandler(this, liveIconSprite);
 
-        enemyHandler = new EnemyHandler(this,
+        enemyHandler = new EnemyHandler(this, random,
                 loadImage("enemy/regular_enemy.png"),
-                loadImage("enemy/bullet_regular-enemy.png"),
+                loadImage("enemy/bullet_regular-enemy.png", Bullet.BULLET_SIZE, Bullet.BULLET_SIZE),
                 loadImage("enemy/secound-tier_enemy.png"),
-                loadImage("enemy/bullet_secound-tier-enemy.png")
+                loadImage("enemy/bullet_secound-tier-enemy.png", Bullet.BULLET_SIZE, Bullet.BULLET_SIZE)
         );
 
-        bossHandler = new BossHandler(this,
+        bossHandler = new BossHandler(this, random,
                 loadImage("boss/boss1/wall-boss-normal.png"),
                 loadImage("effect/Boom_removebg.png"),
                 loadImage("boss/boss1/bullet-wall.png"),
@@ -142,6 +297,10 @@ public class GameStage extends Pane implements Updatable {
     }
 
     private void loadStage(int stage) {
+        StageLoadEvent loadEvent = new StageLoadEvent();
+        loadEvent.stage = stage;
+        loadEvent.begin();
+
         // ⭐ เก็บ score เดิมไว้ก่อน clear
         int previousScore = (uiHandler != null) ? uiHandler.getScore() : 0;
 
@@ -150,58 +309,245 @@ public class GameStage extends Pane implements Updatable {
         specialBullets.clear();
         platforms.clear();
         explosions.clear();
+        specialEmitter.clear();
 
         enemyHandler.clearAll();
         bossHandler.clearAll();
 
-        minionsCleared = false;
-        bossSpawned = false;
-        bossDefeated = false;
-        stageCleared = false;
-        bossSpawnDelay = 0;
-        stageClearDelay = 0;
-        waitingForNextWave = false;
-
         currentStage = stage;
 
-        // Log stage start
-        logger.logStageStart(stage);
+        events.stageStart(stage);
 
         // Background
         loadBackground(stage);
-        createPlatforms(stage);
+        createPlatforms(stage, platforms);
 
+        // ⭐ ใช้ player node เดิม (ไม่ decode sprite ใหม่ทุก stage)
         if (player == null) {
-            player = new GameCharacter(100, 100);
+            player = new GameCharacter(PLAYER_SPAWN_X, 100);
         } else {
-            this.getChildren().remove(player);
-            player = new GameCharacter(100, 100);
+            player.respawn(PLAYER_SPAWN_X, 100);
+        }
+        if (partner != null) {
+            partner.respawn(PARTNER_SPAWN_X, 100);
         }
-
-        spawnMinions(stage);
 
         // ⭐ Re-initialize UI และเก็บ score เดิมไว้
         uiHandler.initialize(stage);
         uiHandler.setScore(previousScore);  // คืนค่า score เดิม
-        uiHandler.createLiveIcons(playerLives);
+        uiHandler.setLives(playerLives);
 
-        this.getChildren().add(player);
+        // wave แรก (minions) spawn ทันที, stage 3 ตั้งเวลา small boss wave 1
+        director.start(EncounterScript.forStage(stage));
+
+        addPlayers();
+        this.getChildren().add(explosions);
+        uiHandler.forceFlush();
+
+        // ⭐ ส่ง event ของการเริ่ม stage ก่อน capture เพื่อให้ตัวนับของ director รวมศัตรูที่เพิ่ง spawn
+        events.dispatch();
+
+        // ⭐ เก็บ state ตอนเริ่ม stage ไว้สำหรับ restart / retry
+        checkpoints[stage].capture(this);
+        if (auditor != null) auditor.resetTrend();
+
+        loadEvent.commit();
+    }
+
+    /**
+     * ⭐ กลับไปเริ่ม stage จาก checkpoint ในหน่วยความจำ
+     * ใช้ node, sprite และ background เดิมทั้งหมด ถ้าเป็น stage อื่นจะ spawn ศัตรูชุดใหม่จาก sprite ที่ decode ไว้แล้ว
+     * ถ้ายังไม่มี checkpoint (หรือ restore ไม่ได้) จะ fallback ไป loadStage
+     */
+    private void restoreCheckpoint(int stage) {
+        // ⭐ เริ่มใหม่หลังจบ match = เล่นคนเดียว (checkpoint ที่มีผู้เล่นสองคนถูก invalidate)
+        if (netplay != null) endNetplay();
+
+        StageCheckpoint checkpoint = checkpoints[stage];
+        gameOver = false;
+        gameCompleted = false;
+        events.discard();
+
+        // ⭐ Replay: เริ่ม stage ใหม่ = run ใหม่ (ไฟล์ถัดไป เริ่ม tick 0 จาก state หลัง restore)
+        ReplayRecorder replay = ReplayRecorder.getInstance();
+        if (replay != null) {
+            replay.endRun();
+        }
+        if (!checkpoint.isValid()) {
+            playerLives = GameUIHandler.MAX_LIVES;
+            loadStage(stage);
+            return;
+        }
+
+        StageLoadEvent loadEvent = new StageLoadEvent();
+        loadEvent.stage = stage;
+        loadEvent.restored = true;
+        loadEvent.begin();
+
+        this.getChildren().clear();
+        playerBullets.clear();
+        specialBullets.clear();
+        explosions.clear();
+        specialEmitter.clear();
+
+        // ⭐ ใส่ node ของ stage ปัจจุบันกลับ - ถ้า checkpoint เป็นของ stage อื่น loadState จะสลับให้เอง
+        loadBackground(currentStage);
+        enemyHandler.attachAll();
+
+        // ⭐ HUD ก่อน restore - initialize ตั้ง wave label เริ่มต้น แล้ว loadState ตั้งตาม director ที่ restore แล้ว
+        uiHandler.initialize(currentStage);
+        try {
+            checkpoint.restore(this);
+        } catch (RuntimeException e) {
+            GameException.handleAny(e);
+            checkpoint.invalidate();
+            playerLives = GameUIHandler.MAX_LIVES;
+            loadStage(stage);
+            return;
+        }
+
+        events.stageStart(stage);
+        addPlayers();
+        this.getChildren().add(explosions);
+        uiHandler.forceFlush();
+        if (auditor != null) auditor.resetTrend();
+
+        loadEvent.commit();
+    }
+
+    /**
+     * ⭐ State ของ stage: stage, score, lives, tick, จบเกมแล้วหรือยัง, encounter director, cooldown
+     * แล้วตามด้วย player (และ partner ถ้าเล่น co-op) / กระสุนของผู้เล่น / ศัตรู / บอส และ random ท้ายสุด
+     * (ระเบิดและ weapon flash เป็นภาพล้วน ไม่ถูกเก็บ)
+     */
+    @Override
+    public void saveState(ByteBuffer out) {
+        out.putInt(currentStage);
+        out.putInt(uiHandler.getScore());
+        out.putInt(playerLives);
+        out.putLong(simTick);
+        out.put((byte) (gameOver ? 1 : 0));
+        out.put((byte) (gameCompleted ? 1 : 0));
+
+        director.saveState(out);
+        for (int i = 0; i < playerCount(); i++) {
+            out.putLong(lastShoot[i]);
+            out.putLong(lastSpecialShoot[i]);
+        }
+
+        player.saveState(out);
+        if (partner != null) partner.saveState(out);
+        Bullet.saveAll(playerBullets, out);
+        out.putInt(specialBullets.size());
+        for (int i = 0; i < specialBullets.size(); i++) {
+            specialBullets.get(i).saveState(out);
+        }
+        specialEmitter.saveState(out);
+        enemyHandler.saveState(out);
+        bossHandler.saveState(out);
+
+        // ⭐ random ท้ายสุด - การสลับ stage และการสร้างบอสใน loadState ของ handler เรียก split
+        random.saveState(out);
+    }
+
+    /**
+     * คืน state (checkpoint / keyframe ของ replay / rollback) - ถ้าเป็นของ stage อื่นจะสลับ background,
+     * platform และ roster ของ minions ให้ก่อน ใช้ sprite ที่ decode ไว้แล้วทั้งหมด
+     */
+    @Override
+    public void loadState(ByteBuffer in) {
+        int stage = in.getInt();
+        if (stage < 1 || stage >= checkpoints.length) {
+            throw new IllegalStateException("State is for unknown stage " + stage);
+        }
+        if (stage != currentStage) {
+            switchStage(stage);
+        }
+        int score = in.getInt();
+        playerLives = in.getInt();
+        simTick = in.getLong();
+        gameOver = in.get() != 0;
+        gameCompleted = in.get() != 0;
+
+        director.loadState(in);
+        for (int i = 0; i < playerCount(); i++) {
+            lastShoot[i] = in.getLong();
+            lastSpecialShoot[i] = in.getLong();
+        }
+
+        player.loadState(in);
+        if (partner != null) partner.loadState(in);
+
+        this.getChildren().removeAll(playerBullets);
+        playerBullets.clear();
+        Bullet.loadAll(in, playerBullets, () -> new Bullet(playerBulletSprite, 0, 0, 0, 0, true));
+        this.getChildren().addAll(playerBullets);
+
+        this.getChildren().removeAll(specialBullets);
+        specialBullets.clear();
+        int specialCount = in.getInt();
+        if (specialCount < 0 || specialCount > in.remaining()) {
+            throw new IllegalStateException("Invalid special bullet count " + specialCount);
+        }
+        for (int i = 0; i < specialCount; i++) {
+            SpecialBullet bullet = new SpecialBullet(playerSpecialBulletSprite, 0, 0, 0, 0);
+            bullet.loadState(in);
+            specialBullets.add(bullet);
+        }
+        this.getChildren().addAll(specialBullets);
+        specialEmitter.loadState(in);
+
+        enemyHandler.loadState(in);
+        bossHandler.loadState(in);
+        random.loadState(in);
+
+        uiHandler.setScore(score);
+        uiHandler.setLives(playerLives);
+        showRestoredWaveLabel();
+    }
+
+    /**
+     * ⭐ สลับ node ของ stage ให้ state ของ stage อื่นอ่านทับได้ (ไม่ publish event และไม่เก็บ checkpoint)
+     */
+    private void switchStage(int stage) {
+        this.getChildren().remove(backgroundNodes[currentStage]);
+        loadBackground(stage);
+        platforms.clear();
+        createPlatforms(stage, platforms);
+        currentStage = stage;
+
+        enemyHandler.clearAll();
+        spawnMinions(stage);
+        uiHandler.initialize(stage);
     }
 
     private void loadBackground(int stage) {
-        Image bg = loadImage("stage/Stage" + stage + ".png");
-        if (bg != null) {
-            backgroundImageView = new ImageView(bg);
-            backgroundImageView.setFitWidth(WIDTH);
-            backgroundImageView.setFitHeight(HEIGHT);
-            backgroundImageView.setPreserveRatio(false);
-            this.getChildren().add(backgroundImageView);
-        } else {
-            this.getChildren().add(new Rectangle(WIDTH, HEIGHT, Color.SKYBLUE));
+        Node background = backgroundNodes[stage];
+        if (background == null) {
+            Image bg = loadImage("stage/Stage" + stage + ".png", WIDTH, HEIGHT);
+            if (bg != null) {
+                ImageView view = new ImageView(bg);
+                view.setFitWidth(WIDTH);
+                view.setFitHeight(HEIGHT);
+                view.setPreserveRatio(false);
+                background = view;
+            } else {
+                background = new Rectangle(WIDTH, HEIGHT, Color.SKYBLUE);
+            }
+            backgroundNodes[stage] = background;
+        }
+
+        backgroundImageView = (background instanceof ImageView) ? (ImageView) background : null;
+        if (backgroundImageView != null) {
+            backgroundImageView.setSmooth(governor.isSmoothingEnabled());
         }
+        this.getChildren().add(0, background);  // ⭐ ชั้นล่างสุดเสมอ (switchStage ใส่ตอนที่มี node อื่นอยู่แล้ว)
     }
 
-    private void createPlatforms(int stage) {
+    /**
+     * ⭐ Platform ของแต่ละ stage (ใช้ร่วมกับ simulation ที่ไม่มี GameStage เช่น netplay)
+     */
+    public static void createPlatforms(int stage, List<Platform> platforms) {
         if (stage == 1) {
             platforms.add(new Platform(0, 260, 352, 96));
             platforms.add(new Platform(364, 408, 176, 60));
@@ -218,42 +564,173 @@ public class GameStage extends Pane implements Updatable {
         }
     }
 
+    /**
+     * สร้าง roster ของ minions ให้ checkpoint ของ stage อื่น restore ทับ (ไม่ publish SPAWN)
+     */
     private void spawnMinions(int stage) {
         if (stage == 1) {
             enemyHandler.spawnStage1Enemies();
         } else if (stage == 2) {
             enemyHandler.spawnStage2Enemies();
-        } else if (stage == 3) {
-            minionsCleared = true;
-            bossSpawnDelay = BOSS_SPAWN_WAIT;
-            uiHandler.updateWaveLabel("Small Boss Wave 1 Incoming...", Color.YELLOW);
         }
     }
 
     public void update(long now) {
-        if (gameOver) return;
+        if (netplay != null) {
+            updateNetplay();
+            return;
+        }
 
-        if (stageCleared) {
-            handleStageTransition();
+        BotDriver bot = BotDriver.getInstance();
+        if (gameOver) {
+            // ⭐ Bot run: ตายแล้วเริ่ม stage เดิมใหม่ทันที (โหลดต่อเนื่องจนครบ stage)
+            if (bot != null && !bot.isFinished()) {
+                bot.onRetry();
+                retryStage();
+            }
             return;
         }
+        if (gameCompleted) return;
 
-        checkMinionsCleared();
-        handleBossSpawn();
-        handleStage3Waves();
-        checkBossDefeated();
+        // ⭐ Bot: กดปุ่มให้ก่อนดึง input ของ tick นี้
+        if (bot != null) {
+            if (bot.isLimitReached()) {
+                bot.finish(currentStage, uiHandler.getScore(), false);
+                return;
+            }
+            bot.drive(this, keys, now);
+        }
 
-        // Update game objects
-        player.update(keys, platforms);
-        if (player.isShooting() && now - lastShoot > SHOOT_DELAY) {
-            shootPlayerBullet();
-            lastShoot = now;
+        // ⭐ ดึง input ที่เข้ามาตั้งแต่ tick ก่อน (รวม tap ที่สั้นกว่า 1 frame)
+        keys.beginTick();
+
+        // ⭐ Replay (เปิดด้วย --replay=<file>): input ของ tick นี้ + keyframe ของ state ก่อน simulate
+        ReplayRecorder replay = ReplayRecorder.getInstance();
+        if (replay != null) {
+            replay.record(InputBits.fromKeys(keys), currentStage, this);
         }
 
-        // ⭐ Special bullet (กด F)
-        if (keys.isPressed(KeyCode.F) && now - lastSpecialShoot > SPECIAL_COOLDOWN) {
-            shootSpecialBullet();
-            lastSpecialShoot = now;
+        simulateTick();
+
+        // จอจบสร้างหลัง dispatch เพื่อให้คะแนนของ tick สุดท้ายถูกนับแล้ว
+        showEndScreen();
+    }
+
+    /**
+     * ⭐ Netplay: ปุ่มของเครื่องนี้เข้า RollbackSession ซึ่งเดิน simulation ผ่าน advance (อาจ rollback แล้ว re-simulate)
+     * จอจบแสดงเมื่อ tick ที่จบถูกยืนยันทั้งสองฝั่งแล้วเท่านั้น - จบจาก input ที่เดาผิดยังถูก rollback ได้
+     */
+    private void updateNetplay() {
+        long nowMillis = System.currentTimeMillis();
+        try {
+            if (netplayFinished) {
+                // จอจบแสดงแล้ว: รับ/ส่งต่อ ให้ peer ได้ ack ของ input สุดท้ายและจบตามได้
+                netplay.service(nowMillis);
+                return;
+            }
+            inputKeys.beginTick();
+            netplay.tick(InputBits.fromKeys(inputKeys), nowMillis);
+        } catch (IOException e) {
+            logger.logError("Netplay", "Connection failed: " + e.getMessage());
+            endNetplay();
+            return;
+        }
+
+        if ((gameOver || gameCompleted) && netplay.isConfirmed((int) simTick - 1)) {
+            netplayFinished = true;
+            showEndScreen();
+        } else if (netplay.isDisconnected(nowMillis)) {
+            logger.logError("Netplay", "Peer disconnected, continuing alone");
+            endNetplay();
+        }
+    }
+
+    /**
+     * ⭐ จบ netplay: ปิด socket แล้วกลับเป็นเกมคนเดียว
+     * (ถอดผู้เล่นคนที่สอง และ invalidate checkpoint ที่มี state ของสองคน)
+     */
+    private void endNetplay() {
+        NetplayDriver.stop();
+        netplay = null;
+        netplayFinished = false;
+        if (partner != null) {
+            this.getChildren().remove(partner);
+            partner = null;
+            partnerKeys = null;
+        }
+        inputKeys = keys;
+        keys.clear();
+        for (int stage = 1; stage < checkpoints.length; stage++) {
+            checkpoints[stage].invalidate();
+        }
+    }
+
+    /**
+     * ⭐ Replay / rollback: ตั้ง keys ตาม input ที่บันทึกไว้แล้ว simulate หนึ่ง tick
+     * (inputs[0] = player, inputs[1] = partner ถ้าเล่น co-op)
+     */
+    @Override
+    public void advance(int[] inputs) {
+        if (gameOver || gameCompleted) return;
+        InputBits.apply(inputs[0], keys, simTick);
+        if (partner != null) {
+            InputBits.apply(inputs[1], partnerKeys, simTick);
+        }
+        simulateTick();
+    }
+
+    /**
+     * หนึ่ง tick ของเกม - ผลขึ้นกับ state + keys เท่านั้น (เวลาเกมคำนวณจาก simTick)
+     */
+    private void simulateTick() {
+        long now = CLOCK_ORIGIN + simTick * GameLoop.FRAME_TIME;
+
+        // ⭐ JFR: สร้าง event เฉพาะตอนมี recording เปิดอยู่
+        SimulationTickEvent tickEvent = null;
+        if (SimulationTickEvent.enabled()) {
+            tickEvent = new SimulationTickEvent();
+            tickEvent.stage = currentStage;
+            tickEvent.begin();
+        }
+
+        // ⭐ Timer ของ wave / stage clear (ไม่มี timer ครบกำหนด = เทียบตัวเลขตัวเดียว)
+        boolean transition = director.isCleared();
+        director.tick();
+        if (!transition) {
+            updateGameplay(now);
+        }
+
+        // ⭐ ส่ง event ทั้ง tick ให้ subscriber ครั้งเดียว (HUD / effects / audio / logging)
+        events.dispatch();
+        pendingPoints = 0;
+        if (!transition) {
+            updateExplosions();
+        }
+
+        // ⭐ HUD apply การเปลี่ยนแปลงทั้งหมดของ tick นี้ครั้งเดียว
+        uiHandler.flush();
+
+        if (auditor != null && !gameOver && auditor.tick()) {
+            auditScene();
+        }
+
+        simTick++;
+
+        if (tickEvent != null) {
+            tickEvent.nodeCount = this.getChildren().size();
+            tickEvent.commit();
+        }
+    }
+
+    private void updateGameplay(long now) {
+        applyQualitySettings();
+
+        // Update game objects
+        player.update(keys, platforms);
+        updateShooting(player, keys, 0, now);
+        if (partner != null) {
+            partner.update(partnerKeys, platforms);
+            updateShooting(partner, partnerKeys, 1, now);
         }
 
         enemyHandler.update(now, player.getCenterX(), player.getCenterY());
@@ -264,136 +741,125 @@ public class GameStage extends Pane implements Updatable {
             bossHandler.getBoss3().setPlayerPosition(player.getCenterX(), player.getCenterY());
         }
 
+        // ⭐ JFR: collision pass = เดินกระสุน + เช็คชนทั้งหมดของ tick นี้
+        collisionPairs = 0;
+        collisionHits = 0;
+        CollisionPassEvent collisionEvent = null;
+        if (CollisionPassEvent.enabled()) {
+            collisionEvent = new CollisionPassEvent();
+            collisionEvent.begin();
+        }
+
+        specialEmitter.update();
         updatePlayerBullets();
         updateSpecialBullets();  // ⭐ Update special bullets
-        enemyHandler.updateEnemyBullets(explosions, explosionSprite, GROUND_Y);
-        bossHandler.updateBossBullets(explosions, explosionSprite, GROUND_Y);
+        enemyHandler.updateEnemyBullets(explosions, GROUND_Y);
+        bossHandler.updateBossBullets(explosions, GROUND_Y);
 
         checkEnemyBulletHits();
         checkBossBulletHits();
-        updateExplosions();
-    }
 
-    private void handleStageTransition() {
-        stageClearDelay--;
-        if (stageClearDelay <= 0) {
-            if (currentStage < 3) {
-                // Log stage complete
-                logger.logStageComplete(currentStage, uiHandler.getScore());
-                loadStage(currentStage + 1);
-            } else {
-                // Log game complete
-                logger.logGameComplete(uiHandler.getScore());
-                showGameCompleted();
-            }
+        if (collisionEvent != null) {
+            collisionEvent.pairsTested = collisionPairs;
+            collisionEvent.hits = collisionHits;
+            collisionEvent.commit();
         }
     }
 
-    private void checkMinionsCleared() {
-        if (!minionsCleared && !bossSpawned && enemyHandler.allCleared()) {
-            minionsCleared = true;
-            bossSpawnDelay = BOSS_SPAWN_WAIT;
-            uiHandler.updateWaveLabel("Boss Incoming...", Color.YELLOW);
+    /**
+     * ⭐ ยิงตาม input ของผู้เล่นแต่ละคน (cooldown แยกกัน)
+     */
+    private void updateShooting(GameCharacter shooter, Keys input, int index, long now) {
+        if (shooter.isShooting() && now - lastShoot[index] > SHOOT_DELAY) {
+            shootPlayerBullet(shooter);
+            lastShoot[index] = now;
         }
-    }
 
-    private void handleBossSpawn() {
-        if (minionsCleared && !bossSpawned) {
-            bossSpawnDelay--;
-            if (bossSpawnDelay <= 0) {
-                spawnBoss(currentStage);
-                bossSpawned = true;
-                if (currentStage == 3) {
-                    uiHandler.updateWaveLabel("Small Boss Wave 1", Color.ORANGE);
-                } else {
-                    uiHandler.updateWaveLabel("BOSS FIGHT!", Color.RED);
-                }
-            }
+        // ⭐ Special bullet (กด F)
+        if (input.isPressed(KeyCode.F) && now - lastSpecialShoot[index] > SPECIAL_COOLDOWN) {
+            shootSpecialBullet(shooter);
+            lastSpecialShoot[index] = now;
         }
     }
 
-    private void handleStage3Waves() {
-        if (currentStage != 3 || !bossSpawned) return;
+    private int playerCount() {
+        return partner != null ? 2 : 1;
+    }
 
-        if (bossHandler.shouldSpawnNextSmallBossWave() && !waitingForNextWave) {
-            waitingForNextWave = true;
-            waveDelay = WAVE_WAIT;
-        }
+    /**
+     * ใส่ node ของผู้เล่น (และ partner) ไว้บนสุดของ pane
+     */
+    private void addPlayers() {
+        this.getChildren().add(player);
+        if (partner != null) this.getChildren().add(partner);
+    }
 
-        if (waitingForNextWave) {
-            waveDelay--;
-            if (waveDelay <= 0) {
-                bossHandler.spawnSmallBossWave();
-                waitingForNextWave = false;
-                uiHandler.updateWaveLabel("Small Boss Wave " + bossHandler.getSmallBossWave(), Color.ORANGE);
-            }
+    /**
+     * ⭐ ปรับ filtering ของ background ตามระดับของ governor (แตะ node เฉพาะตอนค่าเปลี่ยน)
+     */
+    private void applyQualitySettings() {
+        boolean smooth = governor.isSmoothingEnabled();
+        if (backgroundImageView != null && backgroundImageView.isSmooth() != smooth) {
+            backgroundImageView.setSmooth(smooth);
         }
+    }
 
-        // Spawn Boss3
-        if (bossHandler.getSmallBossWave() >= 3 &&
-                bossHandler.getSmallBosses().stream().allMatch(b -> !b.isAlive()) &&
-                bossHandler.getBoss3() == null) {
-            bossHandler.spawnBoss3();
-            uiHandler.updateWaveLabel("FINAL BOSS!", Color.RED);
-
-            // ⭐ Re-add player to front layer (เพื่อให้ player อยู่หน้า boss3)
-            if (player != null && this.getChildren().contains(player)) {
-                this.getChildren().remove(player);
-                this.getChildren().add(player);
-            }
+    private void publishMinionSpawns() {
+        hitTargets.clear();
+        enemyHandler.collectHittables(hitTargets);
+        for (int i = 0; i < hitTargets.size(); i++) {
+            Hittable enemy = hitTargets.get(i);
+            events.spawn(enemy.getColliderName(), enemy.getHitX(), enemy.getHitY(), false);
         }
     }
 
-    private void spawnBoss(int stage) {
-        if (stage == 1) {
-            bossHandler.spawnWallBoss();
-        } else if (stage == 2) {
-            bossHandler.spawnJavaBoss();
-        } else if (stage == 3) {
-            bossHandler.spawnSmallBossWave();
+    private void publishSmallBossSpawn() {
+        var bosses = bossHandler.getActiveSmallBosses();
+        if (!bosses.isEmpty()) {
+            publishBossSpawn(bosses.get(bosses.size() - 1));
         }
     }
 
-    private void checkBossDefeated() {
-        if (bossSpawned && !bossDefeated && bossHandler.isCurrentBossDefeated(currentStage)) {
-            onBossDefeated();
+    private void publishBossSpawn(Hittable boss) {
+        if (boss != null) {
+            events.spawn(boss.getColliderName(), boss.getHitX(), boss.getHitY(), true);
         }
     }
 
-    private void shootPlayerBullet() {
+    private void shootPlayerBullet(GameCharacter shooter) {
         // ⭐ เล่นเสียงยิง
         soundController.playBulletSound();
 
         double bulletX, bulletY, speedX, speedY;
         String direction;
 
-        if (player.isShootingUp()) {
+        if (shooter.isShootingUp()) {
             // ⭐ ยิงขึ้นตรง (จากหัวตัวละคร)
-            bulletX = player.getCenterX();
-            bulletY = player.getY();  // จากหัว
+            bulletX = shooter.getCenterX();
+            bulletY = shooter.getY();  // จากหัว
             speedX = 0;  // ไม่เคลื่อนที่แนวนอน
             speedY = -10;  // ยิงขึ้นตรง
             direction = "UP";
-        } else if (player.isShootingDown()) {
+        } else if (shooter.isShootingDown()) {
             // ⭐ ยิงเฉียงลง 45 องศา (จากตัวละคร)
-            bulletX = player.getCenterX();
-            bulletY = player.getCenterY();
+            bulletX = shooter.getCenterX();
+            bulletY = shooter.getCenterY();
             double angle = Math.toRadians(45);
             double speed = 10;
-            speedX = (player.isFacingRight() ? 1 : -1) * speed * Math.cos(angle);
+            speedX = (shooter.isFacingRight() ? 1 : -1) * speed * Math.cos(angle);
             speedY = speed * Math.sin(angle);  // ลง
             direction = "DOWN";
         } else {
             // ⭐ ยิงตรง (ธรรมดา)
-            bulletX = player.getCenterX() + (player.isFacingRight() ? 30 : -30);
-            bulletY = player.getCenterY();
-            speedX = player.isFacingRight() ? 10 : -10;
+            bulletX = shooter.getCenterX() + (shooter.isFacingRight() ? 30 : -30);
+            bulletY = shooter.getCenterY();
+            speedX = shooter.isFacingRight() ? 10 : -10;
             speedY = 0;
-            direction = player.isFacingRight() ? "RIGHT" : "LEFT";
+            direction = shooter.isFacingRight() ? "RIGHT" : "LEFT";
         }
 
         // Log shooting action
-        logger.logShoot("Player", bulletX, bulletY, direction);
+        logger.logShoot(shooterName(shooter), bulletX, bulletY, direction);
 
         Bullet bullet = new Bullet(playerBulletSprite, bulletX, bulletY, speedX, speedY, true);
         playerBullets.add(bullet);
@@ -404,51 +870,41 @@ public class GameStage extends Pane implements Updatable {
      * ⭐ ยิงกระสุนพิเศษกระจาย 8 ทิศทาง รอบตัวคาแรคเตอร์
      * กด F key เพื่อใช้งาน (cooldown 5 วินาที)
      */
-    private void shootSpecialBullet() {
+    private void shootSpecialBullet(GameCharacter shooter) {
         soundController.playBulletSound();
 
-        double centerX = player.getCenterX();
-        double centerY = player.getCenterY();
-        double speed = 8;
+        double centerX = shooter.getCenterX();
+        double centerY = shooter.getCenterY();
 
         // Log special attack
-        logger.logSpecialAttack("Player", centerX, centerY);
+        logger.logSpecialAttack(shooterName(shooter), centerX, centerY);
 
         // ⭐ ยิง 8 ทิศทาง (0°, 45°, 90°, 135°, 180°, 225°, 270°, 315°)
-        for (int i = 0; i < 8; i++) {
-            double angle = Math.toRadians(i * 45);
-            double speedX = speed * Math.cos(angle);
-            double speedY = speed * Math.sin(angle);
-
-            SpecialBullet bullet = new SpecialBullet(
-                    playerSpecialBulletSprite,
-                    centerX,
-                    centerY,
-                    speedX,
-                    speedY
-            );
-
-            specialBullets.add(bullet);
-            this.getChildren().add(bullet);
-        }
+        specialEmitter.emit(SPECIAL_PATTERN, centerX, centerY);
 
         System.out.println("💥 Special Bullet fired! 8 directions");
     }
 
+    private String shooterName(GameCharacter shooter) {
+        return shooter == partner ? "Player2" : "Player";
+    }
+
     private void updatePlayerBullets() {
-        Iterator<Bullet> it = playerBullets.iterator();
-        while (it.hasNext()) {
-            Bullet b = it.next();
+        collectHitTargets();
+        for (int i = playerBullets.size() - 1; i >= 0; i--) {
+            Bullet b = playerBullets.get(i);
             b.update();
 
-            if (!b.isActive()) {
-                it.remove();
+            // ⭐ เช็คชนก่อน - กระสุนที่ชนเป้าแล้วออกนอกจอใน tick เดียวกันยังนับเป็น hit
+            if (checkTargetHit(b)) {
+                collisionHits++;
+                playerBullets.remove(i);
                 this.getChildren().remove(b);
                 continue;
             }
 
-            if (checkEnemyHit(b) || checkBossHit(b)) {
-                it.remove();
+            if (!b.isActive()) {
+                playerBullets.remove(i);
                 this.getChildren().remove(b);
             }
         }
@@ -458,322 +914,367 @@ public class GameStage extends Pane implements Updatable {
      * ⭐ Update special bullets - แรงกว่ากระสุนธรรมดา
      */
     private void updateSpecialBullets() {
-        Iterator<SpecialBullet> it = specialBullets.iterator();
-        while (it.hasNext()) {
-            SpecialBullet b = it.next();
+        collectHitTargets();
+        for (int i = specialBullets.size() - 1; i >= 0; i--) {
+            SpecialBullet b = specialBullets.get(i);
             b.update();
 
-            if (!b.isActive()) {
-                it.remove();
+            if (checkTargetHitSpecial(b)) {
+                collisionHits++;
+                specialBullets.remove(i);
                 this.getChildren().remove(b);
                 continue;
             }
 
-            if (checkEnemyHitSpecial(b) || checkBossHitSpecial(b)) {
-                it.remove();
+            if (!b.isActive()) {
+                specialBullets.remove(i);
                 this.getChildren().remove(b);
             }
         }
     }
 
-    private boolean checkEnemyHitSpecial(SpecialBullet bullet) {
-        for (var enemy : enemyHandler.getRegularEnemies()) {
-            double bx = bullet.getCenterX();
-            double by = bullet.getCenterY();
-
-            if (enemy.isAlive() &&
-                    bx >= enemy.getX() && bx <= enemy.getX() + enemy.getWidth() &&
-                    by >= enemy.getY() && by <= enemy.getY() + enemy.getHeight()) {
+    /**
+     * ⭐ รวมเป้าทั้งหมด (ศัตรู แล้วตามด้วยบอส) ลง list ที่ใช้ซ้ำทุก tick
+     * เป้าชนิดใหม่แค่ implement Hittable แล้วให้ handler ใส่ลง list - ไม่ต้องเพิ่ม loop ที่นี่
+     */
+    private void collectHitTargets() {
+        hitTargets.clear();
+        enemyHandler.collectHittables(hitTargets);
+        bossHandler.collectHittables(hitTargets);
+    }
 
-                enemy.takeDamage(bullet.getDamage());  // ⭐ แรงกว่า (damage = 3)
-                uiHandler.addScore(1);
-                createExplosion(bullet.getX(), bullet.getY());
+    private boolean checkTargetHit(Bullet bullet) {
+        for (int k = 0; k < hitTargets.size(); k++) {
+            Hittable target = hitTargets.get(k);
+            collisionPairs++;
+            boolean wasAlive = target.isCollidable();
+            if (target.checkBulletCollision(bullet)) {
+                events.hit("Player", target.getColliderName(), bullet.getX(), bullet.getY(), 0);
+
+                // Award score only when target is destroyed
+                if (wasAlive && !target.isCollidable()) {
+                    int points = target.getKillPoints();
+                    pendingPoints += points;
+                    events.kill(target.getColliderName(), bullet.getX(), bullet.getY(),
+                            points, currentScore(), target.isBoss());
+                }
                 return true;
             }
         }
+        return false;
+    }
 
-        for (var enemy : enemyHandler.getSecondTierEnemies()) {
-            double bx = bullet.getCenterX();
-            double by = bullet.getCenterY();
-
-            if (enemy.isAlive() &&
-                    bx >= enemy.getX() && bx <= enemy.getX() + enemy.getWidth() &&
-                    by >= enemy.getY() && by <= enemy.getY() + enemy.getHeight()) {
-
-                enemy.takeDamage(bullet.getDamage());  // ⭐ แรงกว่า
-                uiHandler.addScore(2);
-                createExplosion(bullet.getX(), bullet.getY());
+    private boolean checkTargetHitSpecial(SpecialBullet bullet) {
+        for (int k = 0; k < hitTargets.size(); k++) {
+            Hittable target = hitTargets.get(k);
+            collisionPairs++;
+            if (!target.isCollidable() || !CollisionMatrix.canCollide(bullet, target)) continue;
+
+            // ⭐ Swept: ไล่ hit mask ของเป้าตามเส้นทางทั้ง tick → จุดทึบแรกคือจุดกระทบ
+            double t = target.solidImpact(bullet.getPrevCenterX(), bullet.getPrevCenterY(),
+                    bullet.getCenterX(), bullet.getCenterY());
+            if (t >= 0) {
+                bullet.moveToImpact(t);
+
+                target.takeDamage(bullet.getDamage());  // ⭐ แรงกว่า (damage = 3)
+                int points = target.getSpecialHitPoints();
+                pendingPoints += points;
+                events.hit("Player", target.getColliderName(), bullet.getX(), bullet.getY(), points);
+
+                // kill จากกระสุนพิเศษไม่มีคะแนนเพิ่ม แต่ director ต้องนับ
+                if (!target.isCollidable()) {
+                    events.kill(target.getColliderName(), bullet.getX(), bullet.getY(),
+                            0, currentScore(), target.isBoss());
+                }
                 return true;
             }
         }
-
         return false;
     }
 
-    private boolean checkBossHitSpecial(SpecialBullet bullet) {
-        // Check WallBoss
-        if (bossHandler.getWallBoss() != null) {
-            double bx = bullet.getCenterX();
-            double by = bullet.getCenterY();
-            var boss = bossHandler.getWallBoss();
+    private void checkEnemyBulletHits() {
+        var regularEnemies = enemyHandler.getLiveRegularEnemies();
+        for (int k = 0; k < regularEnemies.size(); k++) {
+            var enemy = regularEnemies.get(k);
+            checkBulletPlayerHit(enemy.getBullets());
+        }
+        var secondTierEnemies = enemyHandler.getLiveSecondTierEnemies();
+        for (int k = 0; k < secondTierEnemies.size(); k++) {
+            var enemy = secondTierEnemies.get(k);
+            checkBulletPlayerHit(enemy.getBullets());
+        }
+    }
 
-            if (boss.isAlive() &&
-                    bx >= boss.getBossX() && bx <= boss.getBossX() + boss.getBossWidth() &&
-                    by >= boss.getBossY() && by <= boss.getBossY() + boss.getBossHeight()) {
+    private void checkBossBulletHits() {
+        if (bossHandler.getWallBoss() != null) {
+            checkBulletPlayerHit(bossHandler.getWallBoss().getBossBullets());
+        }
+        if (bossHandler.getJavaBoss() != null) {
+            checkBulletPlayerHit(bossHandler.getJavaBoss().getBullets());
+        }
+        var smallBosses = bossHandler.getActiveSmallBosses();
+        for (int k = 0; k < smallBosses.size(); k++) {
+            var boss = smallBosses.get(k);
+            checkBulletPlayerHit(boss.getBullets());
+        }
+        if (bossHandler.getBoss3() != null) {
+            checkBulletPlayerHit(bossHandler.getBoss3().getBullets());
+        }
+    }
 
-                boss.takeDamage(bullet.getDamage());  // ⭐ แรงกว่า
-                createExplosion(bullet.getX(), bullet.getY());
-                return true;
+    private void checkBulletPlayerHit(List<Bullet> bullets) {
+        for (int i = bullets.size() - 1; i >= 0 && !gameOver; i--) {
+            Bullet b = bullets.get(i);
+            GameCharacter target = checkPlayerHit(b, player) ? player
+                    : partner != null && checkPlayerHit(b, partner) ? partner : null;
+            if (target != null) {
+                collisionHits++;
+                playerHit(target, b.getX(), b.getY());
+                this.getChildren().remove(b);
+                bullets.remove(i);
             }
         }
+    }
 
-        // Check JavaBoss
-        if (bossHandler.getJavaBoss() != null) {
-            double bx = bullet.getCenterX();
-            double by = bullet.getCenterY();
-            var boss = bossHandler.getJavaBoss();
+    private boolean checkPlayerHit(Bullet bullet, GameCharacter target) {
+        collisionPairs++;
+        if (!target.isCollidable() || !CollisionMatrix.canCollide(bullet, target)) return false;
 
-            if (boss.isAlive() &&
-                    bx >= boss.getBossX() && bx <= boss.getBossX() + boss.getBossWidth() &&
-                    by >= boss.getBossY() && by <= boss.getBossY() + boss.getBossHeight()) {
+        // ⭐ Swept: กระสุนที่ตกเร็ว (มี gravity) จะไม่ทะลุตัวผู้เล่น
+        double t = bullet.sweep(target.getHitX(), target.getHitY(),
+                target.getHitX() + target.getHitWidth(), target.getHitY() + target.getHitHeight());
+        if (t < 0) return false;
+        bullet.moveToImpact(t);
+        return true;
+    }
 
-                boss.takeDamage(bullet.getDamage());  // ⭐ แรงกว่า
-                createExplosion(bullet.getX(), bullet.getY());
-                return true;
-            }
-        }
+    /**
+     * ผู้เล่นโดนยิง - co-op ใช้ชีวิตร่วมกัน คนที่โดนเกิดใหม่ที่จุดเกิดของตัวเอง
+     */
+    private void playerHit(GameCharacter target, double x, double y) {
+        playerLives--;
+        events.playerHit(x, y, playerLives);
 
-        // Check SmallBoss
-        for (var boss : bossHandler.getActiveSmallBosses()) {
-            double bx = bullet.getCenterX();
-            double by = bullet.getCenterY();
+        if (playerLives <= 0) {
+            // ⭐ จอจบเกมจะแสดงหลัง dispatch ท้าย tick
+            events.gameOver(currentScore());
+            gameOver = true;
+        } else {
+            this.getChildren().remove(target);
+            target.respawn(target == partner ? PARTNER_SPAWN_X : PLAYER_SPAWN_X, 100);
+            this.getChildren().add(1, target);
+        }
+    }
 
-            if (boss.isAlive() &&
-                    bx >= boss.getX() && bx <= boss.getX() + boss.getBossWidth() &&
-                    by >= boss.getY() && by <= boss.getY() + boss.getBossHeight()) {
+    /**
+     * คะแนนรวมรวมถึงคะแนนที่ publish ไปแล้วใน tick นี้
+     */
+    private int currentScore() {
+        return uiHandler.getScore() + pendingPoints;
+    }
 
-                boss.takeDamage(bullet.getDamage());  // ⭐ แรงกว่า
-                createExplosion(bullet.getX(), bullet.getY());
-                return true;
-            }
+    /**
+     * ⭐ Debug: รายงานทุก node ที่ stage ถือไว้แล้วให้ auditor เทียบกับ children จริง
+     */
+    private void auditScene() {
+        auditor.track(backgroundNodes[currentStage]);
+        auditor.track(player);
+        if (partner != null) auditor.track(partner);
+        auditor.track(explosions);
+        for (int i = 0; i < playerBullets.size(); i++) {
+            auditor.track(playerBullets.get(i), playerBullets.get(i).isActive());
+        }
+        for (int i = 0; i < specialBullets.size(); i++) {
+            auditor.track(specialBullets.get(i), specialBullets.get(i).isActive());
         }
+        uiHandler.trackNodes(auditor);
+        enemyHandler.trackNodes(auditor);
+        bossHandler.trackNodes(auditor);
+        auditor.audit(this);
+    }
 
-        // Check Boss3
-        if (bossHandler.getBoss3() != null) {
-            double bx = bullet.getCenterX();
-            double by = bullet.getCenterY();
-            var boss = bossHandler.getBoss3();
+    // ==================== Telemetry ====================
 
-            if (boss.isAlive() &&
-                    bx >= boss.getX() && bx <= boss.getX() + boss.getBossWidth() &&
-                    by >= boss.getY() && by <= boss.getY() + boss.getBossHeight()) {
+    @Override
+    public int getTelemetryStage() { return currentStage; }
 
-                boss.takeDamage(bullet.getDamage());  // ⭐ แรงกว่า
-                createExplosion(bullet.getX(), bullet.getY());
-                return true;
-            }
-        }
+    @Override
+    public int getEnemyCount() { return enemyHandler.getAliveCount(); }
 
-        return false;
-    }
+    @Override
+    public int getBossCount() { return bossHandler.getAliveCount(); }
 
-    private boolean checkEnemyHit(Bullet bullet) {
-        // Regular enemies - award 1 point when destroyed
-        for (var enemy : enemyHandler.getRegularEnemies()) {
-            double prevHealth = enemy.getHealth();
-            if (enemy.checkBulletCollision(bullet)) {
-                logger.logBulletHit("Player", "RegularEnemy", bullet.getX(), bullet.getY());
-                createExplosion(bullet.getX(), bullet.getY());
-
-                // Award score only when enemy is destroyed (health reaches 0)
-                if (!enemy.isAlive() && prevHealth > 0) {
-                    int points = 1;
-                    int newScore = uiHandler.getScore() + points;
-                    uiHandler.addScore(points);
-                    logger.logEnemyDefeated("RegularEnemy", points, newScore);
-                }
-                return true;
-            }
-        }
+    @Override
+    public int getPlayerProjectileCount() { return playerBullets.size() + specialBullets.size(); }
 
-        // Second-tier enemies - award 1 point when destroyed
-        for (var enemy : enemyHandler.getSecondTierEnemies()) {
-            double prevHealth = enemy.getHealth();
-            if (enemy.checkBulletCollision(bullet)) {
-                logger.logBulletHit("Player", "SecondTierEnemy", bullet.getX(), bullet.getY());
-                createExplosion(bullet.getX(), bullet.getY());
+    @Override
+    public int getEnemyProjectileCount() { return enemyHandler.getBulletCount() + bossHandler.getBulletCount(); }
 
-                // Award score only when enemy is destroyed (health reaches 0)
-                if (!enemy.isAlive() && prevHealth > 0) {
-                    int points = 1;
-                    int newScore = uiHandler.getScore() + points;
-                    uiHandler.addScore(points);
-                    logger.logEnemyDefeated("SecondTierEnemy", points, newScore);
-                }
-                return true;
-            }
-        }
+    @Override
+    public int getNodeCount() { return this.getChildren().size(); }
 
-        return false;
-    }
+    // ==================== Bot ====================
 
-    private boolean checkBossHit(Bullet bullet) {
-        // WallBoss - award 3 points when destroyed
-        if (bossHandler.getWallBoss() != null) {
-            var boss = bossHandler.getWallBoss();
-            int prevHealth = boss.isAlive() ? 1 : 0;
-            if (boss.checkBulletCollision(bullet)) {
-                logger.logBulletHit("Player", "WallBoss", bullet.getX(), bullet.getY());
-                createExplosion(bullet.getX(), bullet.getY());
-
-                // Award score only when boss is destroyed
-                if (!boss.isAlive() && prevHealth > 0) {
-                    int points = 3;
-                    int newScore = uiHandler.getScore() + points;
-                    uiHandler.addScore(points);
-                    logger.logBossDefeated("WallBoss", points, newScore);
-                }
-                return true;
-            }
-        }
+    @Override
+    public GameCharacter getPlayer() { return player; }
 
-        // JavaBoss - award 3 points when destroyed
-        if (bossHandler.getJavaBoss() != null) {
-            var boss = bossHandler.getJavaBoss();
-            int prevHealth = boss.isAlive() ? 1 : 0;
-            if (boss.checkBulletCollision(bullet)) {
-                logger.logBulletHit("Player", "JavaBoss", bullet.getX(), bullet.getY());
-                createExplosion(bullet.getX(), bullet.getY());
-
-                // Award score only when boss is destroyed
-                if (!boss.isAlive() && prevHealth > 0) {
-                    int points = 3;
-                    int newScore = uiHandler.getScore() + points;
-                    uiHandler.addScore(points);
-                    logger.logBossDefeated("JavaBoss", points, newScore);
-                }
-                return true;
-            }
-        }
+    @Override
+    public List<Platform> getPlatforms() { return platforms; }
 
-        // SmallBoss - award 2 points when destroyed
-        for (var boss : bossHandler.getActiveSmallBosses()) {
-            int prevHealth = boss.getHealth();
-            if (boss.checkBulletCollision(bullet)) {
-                logger.logBulletHit("Player", "SmallBoss", bullet.getX(), bullet.getY());
-                createExplosion(bullet.getX(), bullet.getY());
+    @Override
+    public double getWorldWidth() { return WIDTH; }
 
-                // Award score only when boss is destroyed
-                if (!boss.isAlive() && prevHealth > 0) {
-                    int points = 2;
-                    int newScore = uiHandler.getScore() + points;
-                    uiHandler.addScore(points);
-                    logger.logBossDefeated("SmallBoss", points, newScore);
-                }
-                return true;
+    @Override
+    public void collectBotTargets(List<Hittable> out) {
+        enemyHandler.collectHittables(out);
+        bossHandler.collectHittables(out);
+    }
+
+    // ==================== Event subscribers ====================
+
+    /**
+     * HUD: คะแนนและชีวิต
+     */
+    private void applyHudEvents(GameEventBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            switch (batch.getType(i)) {
+                case BULLET_HIT:
+                case KILL:
+                    if (batch.getValue(i) > 0) uiHandler.addScore(batch.getValue(i));
+                    break;
+                case PLAYER_HIT:
+                    uiHandler.setLives(batch.getValue(i));
+                    break;
+                default:
+                    break;
             }
         }
+    }
 
-        // Boss3 - award 5 points when destroyed
-        if (bossHandler.getBoss3() != null) {
-            var boss = bossHandler.getBoss3();
-            int prevHealth = boss.getHealth();
-            if (boss.checkBulletCollision(bullet)) {
-                logger.logBulletHit("Player", "Boss3", bullet.getX(), bullet.getY());
-                createExplosion(bullet.getX(), bullet.getY());
-
-                // Award score only when boss is destroyed
-                if (!boss.isAlive() && prevHealth > 0) {
-                    int points = 5;
-                    int newScore = uiHandler.getScore() + points;
-                    uiHandler.addScore(points);
-                    logger.logBossDefeated("Boss3", points, newScore);
-                }
-                return true;
+    /**
+     * Effects: ระเบิดตรงจุดกระทบ
+     */
+    private void applyEffectEvents(GameEventBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            switch (batch.getType(i)) {
+                case BULLET_HIT:
+                case PLAYER_HIT:
+                    createExplosion(batch.getX(i), batch.getY(i));
+                    break;
+                default:
+                    break;
             }
         }
-
-        return false;
     }
 
-    private void checkEnemyBulletHits() {
-        for (var enemy : enemyHandler.getRegularEnemies()) {
-            checkBulletPlayerHit(enemy.getBullets());
-        }
-        for (var enemy : enemyHandler.getSecondTierEnemies()) {
-            checkBulletPlayerHit(enemy.getBullets());
+    /**
+     * Audio: เสียงตอนจบเกม
+     */
+    private void applyAudioEvents(GameEventBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.getType(i) == GameEventType.GAME_OVER) {
+                // ⭐ เล่นเสียงตาย
+                soundController.playDeadSound();
+            }
         }
     }
 
-    private void checkBossBulletHits() {
-        if (bossHandler.getWallBoss() != null) {
-            checkBulletPlayerHit(bossHandler.getWallBoss().getBossBullets());
-        }
-        if (bossHandler.getJavaBoss() != null) {
-            checkBulletPlayerHit(bossHandler.getJavaBoss().getBullets());
+    // ==================== Encounter ====================
+
+    /**
+     * ⭐ ฝั่งเกมของ EncounterDirector - spawn ตาม Kind ของ wave และจัดการ stage clear
+     */
+    private class EncounterHost implements EncounterDirector.Host {
+        @Override
+        public void spawnWave(EncounterScript.Wave wave) {
+            switch (wave.getKind()) {
+                case REGULAR_MINIONS:
+                    enemyHandler.spawnStage1Enemies();
+                    publishMinionSpawns();
+                    break;
+                case SECOND_TIER_MINIONS:
+                    enemyHandler.spawnStage2Enemies();
+                    publishMinionSpawns();
+                    break;
+                case WALL_BOSS:
+                    bossHandler.spawnWallBoss();
+                    publishBossSpawn(bossHandler.getWallBoss());
+                    break;
+                case JAVA_BOSS:
+                    bossHandler.spawnJavaBoss();
+                    publishBossSpawn(bossHandler.getJavaBoss());
+                    break;
+                case SMALL_BOSS:
+                    bossHandler.spawnSmallBossWave();
+                    publishSmallBossSpawn();
+                    break;
+                case BOSS3:
+                    bossHandler.spawnBoss3();
+                    publishBossSpawn(bossHandler.getBoss3());
+                    // ⭐ Re-add player to front layer (เพื่อให้ player อยู่หน้า boss3)
+                    if (player != null && getChildren().contains(player)) {
+                        getChildren().remove(player);
+                        getChildren().remove(partner);
+                        addPlayers();
+                    }
+                    break;
+            }
+            showWaveLabel(wave);
         }
-        for (var boss : bossHandler.getActiveSmallBosses()) {
-            checkBulletPlayerHit(boss.getBullets());
+
+        @Override
+        public void onWaveQueued(EncounterScript.Wave wave) {
+            showIncomingLabel(wave);
         }
-        if (bossHandler.getBoss3() != null) {
-            checkBulletPlayerHit(bossHandler.getBoss3().getBullets());
+
+        @Override
+        public void onEncounterCleared() {
+            createBossExplosions();
         }
-    }
 
-    private void checkBulletPlayerHit(List<Bullet> bullets) {
-        Iterator<Bullet> it = bullets.iterator();
-        while (it.hasNext()) {
-            Bullet b = it.next();
-            if (checkPlayerHit(b)) {
-                playerHit();
-                createExplosion(b.getX(), b.getY());
-                this.getChildren().remove(b);
-                it.remove();
+        @Override
+        public void onStageComplete() {
+            if (currentStage < 3) {
+                events.stageComplete(currentStage, currentScore());
+                loadStage(currentStage + 1);
+            } else {
+                events.gameComplete(currentScore());
+                gameCompleted = true;  // ⭐ จอจบแสดงหลัง tick (netplay: หลัง tick นี้ถูกยืนยัน)
+                if (BotDriver.getInstance() != null) {
+                    BotDriver.getInstance().finish(currentStage, currentScore(), true);
+                }
             }
         }
     }
 
-    private boolean checkPlayerHit(Bullet bullet) {
-        double bx = bullet.getCenterX();
-        double by = bullet.getCenterY();
-        return bx >= player.getX() && bx <= player.getX() + 47 &&
-                by >= player.getY() && by <= player.getY() + 36;
+    private void showWaveLabel(EncounterScript.Wave wave) {
+        if (wave.getLabel() != null) {
+            Color color = wave.getKind() == EncounterScript.Kind.SMALL_BOSS ? Color.ORANGE : Color.RED;
+            uiHandler.updateWaveLabel(wave.getLabel(), color);
+        }
     }
 
-    private void playerHit() {
-        playerLives--;
-        uiHandler.createLiveIcons(playerLives);
-
-        // Log player hit
-        logger.logPlayerHit(playerLives);
-
-        if (playerLives <= 0) {
-            // ⭐ เล่นเสียงตาย
-            soundController.playDeadSound();
-
-            // Log game over
-            logger.logGameOver(uiHandler.getScore());
-
-            gameOver = true;
-            showGameOver();
-        } else {
-            this.getChildren().remove(player);
-            player = new GameCharacter(100, 100);
-            this.getChildren().add(1, player);
+    private void showIncomingLabel(EncounterScript.Wave wave) {
+        if (wave.getIncomingLabel() != null) {
+            uiHandler.updateWaveLabel(wave.getIncomingLabel(), Color.YELLOW);
         }
     }
 
-    private void onBossDefeated() {
-        bossDefeated = true;
-        createBossExplosions();
-        stageCleared = true;
-        stageClearDelay = STAGE_CLEAR_WAIT;
+    /**
+     * ⭐ director.loadState ไม่เรียก host ซ้ำ → ตั้ง label จาก state ที่ restore แล้ว
+     * (wave ที่รอ spawn ก่อน, ไม่มีก็ใช้ wave ปัจจุบัน)
+     */
+    private void showRestoredWaveLabel() {
+        EncounterScript.Wave queued = director.getQueuedWave();
+        if (queued != null) {
+            showIncomingLabel(queued);
+        } else if (director.getWaveIndex() >= 0) {
+            showWaveLabel(director.getScript().getWave(director.getWaveIndex()));
+        }
     }
 
     private void createExplosion(double x, double y) {
-        Explosion exp = new Explosion(explosionSprite, x, y);
-        explosions.add(exp);
-        this.getChildren().add(exp);
+        explosions.spawn(x, y);
     }
 
     private void createBossExplosions() {
@@ -791,21 +1292,21 @@ public class GameStage extends Pane implements Updatable {
         }
 
         for (int i = 0; i < 10; i++) {
-            double randomX = x + Math.random() * w;
-            double randomY = y + Math.random() * h;
+            double randomX = x + random.nextDouble() * w;
+            double randomY = y + random.nextDouble() * h;
             createExplosion(randomX, randomY);
         }
     }
 
     private void updateExplosions() {
-        Iterator<Explosion> it = explosions.iterator();
-        while (it.hasNext()) {
-            Explosion exp = it.next();
-            exp.update();
-            if (exp.isFinished()) {
-                it.remove();
-                this.getChildren().remove(exp);
-            }
+        explosions.update();
+    }
+
+    private void showEndScreen() {
+        if (gameOver) {
+            showGameOver();
+        } else if (gameCompleted) {
+            showGameCompleted();
         }
     }
 
@@ -826,25 +1327,34 @@ public class GameStage extends Pane implements Updatable {
         scoreText.setTranslateX(WIDTH / 2 - 120);
         scoreText.setTranslateY(HEIGHT / 2 + 20);
 
+        Text highScoreText = createHighScoreText(recordResult(false));
+
         // ⭐ Restart button
         Button restartButton = new Button("RESTART");
         restartButton.setFont(Font.font("Arial", 24));
         restartButton.setTranslateX(WIDTH / 2 - 120);
-        restartButton.setTranslateY(HEIGHT / 2 + 80);
+        restartButton.setTranslateY(HEIGHT / 2 + 100);
         restartButton.setOnAction(e -> restartGame());
 
         // ⭐ Home button (ย้อนกลับไปหน้า Start Screen)
         Button homeButton = new Button("HOME");
         homeButton.setFont(Font.font("Arial", 24));
         homeButton.setTranslateX(WIDTH / 2 + 20);
-        homeButton.setTranslateY(HEIGHT / 2 + 80);
+        homeButton.setTranslateY(HEIGHT / 2 + 100);
         homeButton.setOnAction(e -> {
             if (onShowStartScreen != null) {
                 onShowStartScreen.run();
             }
         });
 
-        this.getChildren().addAll(bg, gameOverText, scoreText, restartButton, homeButton);
+        // ⭐ Retry stage (เริ่ม stage ปัจจุบันใหม่จาก checkpoint)
+        Button retryButton = new Button("RETRY STAGE");
+        retryButton.setFont(Font.font("Arial", 24));
+        retryButton.setTranslateX(WIDTH / 2 - 85);
+        retryButton.setTranslateY(HEIGHT / 2 + 160);
+        retryButton.setOnAction(e -> retryStage());
+
+        this.getChildren().addAll(bg, gameOverText, scoreText, highScoreText, restartButton, homeButton, retryButton);
     }
 
     private void showGameCompleted() {
@@ -864,30 +1374,59 @@ public class GameStage extends Pane implements Updatable {
         scoreText.setTranslateX(WIDTH / 2 - 150);
         scoreText.setTranslateY(HEIGHT / 2 + 20);
 
+        Text highScoreText = createHighScoreText(recordResult(true));
+
         Button restartButton = new Button("PLAY AGAIN");
         restartButton.setFont(Font.font("Arial", 24));
         restartButton.setTranslateX(WIDTH / 2 - 75);
-        restartButton.setTranslateY(HEIGHT / 2 + 80);
+        restartButton.setTranslateY(HEIGHT / 2 + 100);
         restartButton.setOnAction(e -> restartGame());
 
-        this.getChildren().addAll(bg, completedText, scoreText, restartButton);
+        this.getChildren().addAll(bg, completedText, scoreText, highScoreText, restartButton);
+    }
+
+    /**
+     * ⭐ บันทึกผลลง ScoreStore (async, ไม่ block FX thread) แล้วคืน high score ที่รวมรอบนี้แล้ว
+     * Bot run (benchmark / telemetry) ไม่บันทึก - ไม่ให้ปน leaderboard ของผู้เล่นจริง
+     */
+    private int recordResult(boolean completed) {
+        int score = uiHandler.getScore();
+        if (BotDriver.getInstance() != null) return score;
+        ScoreStore store = ScoreStore.getIfOpen();  // ⭐ ไม่รอ: ยังเปิดไม่เสร็จ / เปิดไม่ได้ = ไม่บันทึก
+        if (store == null) return score;
+        store.record(score, currentStage, completed);
+        return Math.max(score, store.getBestScore());
+    }
+
+    private Text createHighScoreText(int highScore) {
+        Text highScoreText = new Text("High Score: " + highScore);
+        highScoreText.setFont(Font.font("Arial", 24));
+        highScoreText.setFill(Color.GOLD);
+        highScoreText.setTranslateX(WIDTH / 2 - 90);
+        highScoreText.setTranslateY(HEIGHT / 2 + 60);
+        return highScoreText;
     }
 
     private void restartGame() {
-        gameOver = false;
-        playerLives = 3;
-        loadStage(1);
+        restoreCheckpoint(1);
+    }
+
+    private void retryStage() {
+        restoreCheckpoint(currentStage);
     }
 
+    /**
+     * รูปเต็มขนาด (sprite sheet ที่ต้อง pixel-exact)
+     */
     private Image loadImage(String filename) {
-        try {
-            String path = "/se233/project2/assets/" + filename;
-            var stream = getClass().getResourceAsStream(path);
-            if (stream != null) return new Image(stream);
-        } catch (Exception e) {
-            System.err.println("Error loading " + filename);
-        }
-        return null;
+        return AssetLoader.getInstance().load(filename);
+    }
+
+    /**
+     * รูปเดี่ยวที่ decode ตามขนาดที่แสดงบนจอ
+     */
+    private Image loadImage(String filename, int displayWidth, int displayHeight) {
+        return AssetLoader.getInstance().load(filename, displayWidth, displayHeight);
     }
 
     public Keys getKeys() { return keys; }
@@ -7,44 +7,53 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
-
-import java.util.ArrayList;
-import java.util.List;
+import se233.project2.controller.QualityGovernor;
 
 /**
  * GameUIHandler - จัดการ UI elements (Lives, Score, Stage)
+ * ⭐ Retained HUD: node ถูกสร้างครั้งเดียว, การเปลี่ยนแปลงระหว่าง tick ถูกเก็บเป็น dirty flag
+ * แล้ว apply ครั้งเดียวตอน flush() ท้าย frame
  */
 public class GameUIHandler {
+    public static final int MAX_LIVES = 3;
+    public static final int LIVE_ICON_SIZE = 48;  // ⭐ เพิ่มขนาดจาก 32 → 48
+
     private Pane gamePane;
     private Score scoreLabel;
     private Text stageLabel;
     private Text waveLabel;
     private Text liveLabel;  // ⭐ เพิ่ม label "Live:"
+    private Text extraLivesLabel;  // ⭐ "+N" เมื่อชีวิตเกินจำนวน icon
+    private ImageView[] liveIcons;
+
+    // Pending state (apply ตอน flush)
+    private int pendingStage = 1;
+    private int pendingLives = MAX_LIVES;
+    private String pendingWaveText = "Clear Enemies!";
+    private Color pendingWaveColor = Color.ORANGE;
+    private boolean stageDirty = true;
+    private boolean livesDirty = true;
+    private boolean waveDirty = true;
 
-    private List<ImageView> liveIcons;
-    private Image liveIcon;
+    private final QualityGovernor governor = QualityGovernor.getInstance();
+    private int framesSinceFlush = 0;
 
     public GameUIHandler(Pane gamePane, Image liveIconImage) {
         this.gamePane = gamePane;
-        this.liveIcon = liveIconImage;
-        this.liveIcons = new ArrayList<>();
-    }
 
-    public void initialize(int stage) {
         // Score
         scoreLabel = new Score(20, 20);
 
         // Stage label
-        stageLabel = new Text("STAGE " + stage);
+        stageLabel = new Text();
         stageLabel.setFont(Font.font("Arial", 32));
         stageLabel.setFill(Color.YELLOW);
         stageLabel.setTranslateX(1280 / 2 - 80);
         stageLabel.setTranslateY(50);
 
         // Wave label
-        waveLabel = new Text("Clear Enemies!");
+        waveLabel = new Text();
         waveLabel.setFont(Font.font("Arial", 24));
-        waveLabel.setFill(Color.ORANGE);
         waveLabel.setTranslateX(1280 / 2 - 100);
         waveLabel.setTranslateY(100);
 
@@ -55,34 +64,62 @@ public class GameUIHandler {
         liveLabel.setTranslateX(1280 - 220);
         liveLabel.setTranslateY(40);
 
-        gamePane.getChildren().addAll(scoreLabel, stageLabel, waveLabel, liveLabel);
-    }
-
-    public void createLiveIcons(int lives) {
-        for (ImageView icon : liveIcons) {
-            gamePane.getChildren().remove(icon);
-        }
-        liveIcons.clear();
-
-        for (int i = 0; i < lives; i++) {
-            ImageView icon = new ImageView(liveIcon);
-            icon.setFitWidth(48);      // ⭐ เพิ่มขนาดจาก 32 → 48
-            icon.setFitHeight(48);
+        // ⭐ สร้าง icon ครบตามจำนวนชีวิตสูงสุด แล้วใช้ setVisible แทนการสร้างใหม่
+        liveIcons = new ImageView[MAX_LIVES];
+        for (int i = 0; i < MAX_LIVES; i++) {
+            ImageView icon = new ImageView(liveIconImage);
+            icon.setFitWidth(LIVE_ICON_SIZE);
+            icon.setFitHeight(LIVE_ICON_SIZE);
             icon.setPreserveRatio(true);
             icon.setTranslateX(1280 - 150 + (i * 55));  // ⭐ เพิ่มช่องว่าง
             icon.setTranslateY(15);
-            liveIcons.add(icon);
-            gamePane.getChildren().add(icon);
+            liveIcons[i] = icon;
+        }
+
+        extraLivesLabel = new Text();
+        extraLivesLabel.setFont(Font.font("Arial", FontWeight.BOLD, 20));
+        extraLivesLabel.setFill(Color.WHITE);
+        extraLivesLabel.setTranslateX(1280 - 150);
+        extraLivesLabel.setTranslateY(85);
+        extraLivesLabel.setVisible(false);
+    }
+
+    /**
+     * ใส่ HUD nodes เดิมกลับเข้า pane (หลัง loadStage clear children)
+     */
+    public void initialize(int stage) {
+        clear();
+        gamePane.getChildren().addAll(scoreLabel, stageLabel, waveLabel, liveLabel, extraLivesLabel);
+        gamePane.getChildren().addAll(liveIcons);
+
+        updateStageLabel(stage);
+        updateWaveLabel("Clear Enemies!", Color.ORANGE);
+    }
+
+    /**
+     * จำนวนชีวิตจริง (ไม่ตัดที่ MAX_LIVES) - icon แสดงได้ MAX_LIVES อัน ส่วนเกินแสดงเป็น "+N"
+     */
+    public void setLives(int lives) {
+        int value = Math.max(0, lives);
+        if (value != pendingLives) {
+            pendingLives = value;
+            livesDirty = true;
         }
     }
 
     public void updateStageLabel(int stage) {
-        stageLabel.setText("STAGE " + stage);
+        if (stage != pendingStage) {
+            pendingStage = stage;
+            stageDirty = true;
+        }
     }
 
     public void updateWaveLabel(String text, Color color) {
-        waveLabel.setText(text);
-        waveLabel.setFill(color);
+        if (!text.equals(pendingWaveText) || !color.equals(pendingWaveColor)) {
+            pendingWaveText = text;
+            pendingWaveColor = color;
+            waveDirty = true;
+        }
     }
 
     public void addScore(int points) {
@@ -93,8 +130,64 @@ public class GameUIHandler {
      * ⭐ ตั้งค่า score โดยตรง (ใช้สำหรับเก็บ score ข้าม stage)
      */
     public void setScore(int score) {
-        if (scoreLabel != null) {
-            scoreLabel.setScore(score);
+        scoreLabel.setScore(score);
+    }
+
+    /**
+     * Apply การเปลี่ยนแปลงที่สะสมไว้ใน tick นี้ - เรียกครั้งเดียวต่อ frame
+     * frame ที่ไม่มีอะไรเปลี่ยนจะไม่แตะ scene graph เลย
+     * ⭐ ถ้า governor ลด HUD refresh rate จะ apply แค่ทุก N frame
+     */
+    public void flush() {
+        framesSinceFlush++;
+        if (framesSinceFlush < governor.getHudRefreshInterval()) return;
+        forceFlush();
+    }
+
+    /**
+     * Apply ทันทีโดยไม่สน refresh rate (ใช้ตอนโหลด stage)
+     */
+    public void forceFlush() {
+        framesSinceFlush = 0;
+        scoreLabel.refresh();
+
+        if (stageDirty) {
+            stageLabel.setText("STAGE " + pendingStage);
+            stageDirty = false;
+        }
+
+        if (waveDirty) {
+            waveLabel.setText(pendingWaveText);
+            waveLabel.setFill(pendingWaveColor);
+            waveDirty = false;
+        }
+
+        if (livesDirty) {
+            for (int i = 0; i < MAX_LIVES; i++) {
+                liveIcons[i].setVisible(i < pendingLives);
+            }
+            int extra = pendingLives - MAX_LIVES;
+            extraLivesLabel.setVisible(extra > 0);
+            if (extra > 0) extraLivesLabel.setText("+" + extra);
+            livesDirty = false;
+        }
+    }
+
+    public boolean isDirty() {
+        return stageDirty || waveDirty || livesDirty || scoreLabel.isDirty();
+    }
+
+    /**
+     * รายงาน HUD nodes ให้ SceneAuditor
+     */
+    public void trackNodes(SceneAuditor auditor) {
+        auditor.track(scoreLabel);
+        auditor.track(stageLabel);
+        auditor.track(waveLabel);
+        auditor.track(liveLabel);
+        auditor.track(extraLivesLabel);
+        for (ImageView icon : liveIcons) {
+            auditor.track(icon);
         }
     }
 
@@ -103,13 +196,11 @@ public class GameUIHandler {
         gamePane.getChildren().remove(stageLabel);
         gamePane.getChildren().remove(waveLabel);
         gamePane.getChildren().remove(liveLabel);
-        for (ImageView icon : liveIcons) {
-            gamePane.getChildren().remove(icon);
-        }
-        liveIcons.clear();
+        gamePane.getChildren().remove(extraLivesLabel);
+        gamePane.getChildren().removeAll(liveIcons);
     }
 
     public int getScore() {
-        return scoreLabel != null ? scoreLabel.getScore() : 0;
+        return scoreLabel.getScore();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,177 @@
+package se233.project2.view;
+
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * SceneAuditor - debug mode ตรวจหา node/entity ที่รั่วใน game pane ทุก N tick
+ * GameStage และ handler รายงาน node ที่ตัวเองถือไว้ (track = ยังใช้งาน, trackDead = ตาย/ไม่ active)
+ * แล้ว auditor เทียบกับ children จริงของ pane:
+ * - orphan: อยู่ใน pane แต่ไม่มีใครถือไว้ (จะไม่มีวันถูกลบ)
+ * - dead-but-attached: entity ที่ตายแล้วแต่ยังอยู่ใน pane
+ * - detached: ถือไว้ใน list แต่ไม่อยู่ใน pane
+ * - growth: จำนวน children เพิ่มขึ้นทุกครั้งติดต่อกันหลาย audit
+ *
+ * Usage: java -Dgame.audit=true [-Dgame.audit.interval=300] -jar project2.jar
+ */
+public class SceneAuditor {
+    private static final Logger logger = LoggerFactory.getLogger(SceneAuditor.class);
+
+    public static final boolean ENABLED = Boolean.getBoolean("game.audit");
+    public static final int DEFAULT_INTERVAL = Integer.getInteger("game.audit.interval", 300);
+    static final int GROWTH_AUDITS = 5;
+
+    /**
+     * ผลของ audit หนึ่งครั้ง
+     */
+    public static class Report {
+        private final int childCount;
+        private final int orphanCount;
+        private final int deadAttachedCount;
+        private final int detachedCount;
+        private final boolean growing;
+        private final Map<String, Integer> orphansByType;
+        private final Map<String, Integer> deadByType;
+
+        Report(int childCount, int orphanCount, int deadAttachedCount, int detachedCount, boolean growing,
+               Map<String, Integer> orphansByType, Map<String, Integer> deadByType) {
+            this.childCount = childCount;
+            this.orphanCount = orphanCount;
+            this.deadAttachedCount = deadAttachedCount;
+            this.detachedCount = detachedCount;
+            this.growing = growing;
+            this.orphansByType = orphansByType;
+            this.deadByType = deadByType;
+        }
+
+        public int getChildCount() { return childCount; }
+        public int getOrphanCount() { return orphanCount; }
+        public int getDeadAttachedCount() { return deadAttachedCount; }
+        public int getDetachedCount() { return detachedCount; }
+        public boolean isGrowing() { return growing; }
+        public Map<String, Integer> getOrphansByType() { return orphansByType; }
+        public Map<String, Integer> getDeadByType() { return deadByType; }
+
+        public boolean isClean() {
+            return orphanCount == 0 && deadAttachedCount == 0 && detachedCount == 0 && !growing;
+        }
+    }
+
+    private final int interval;
+    private int ticks = 0;
+
+    private final Set<Node> live = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Node> dead = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // ⭐ จำนวน children ของ audit ล่าสุด (ring) สำหรับดู trend
+    private final int[] history = new int[GROWTH_AUDITS + 1];
+    private int audits = 0;
+
+    private Report lastReport;
+
+    public SceneAuditor(int interval) {
+        this.interval = Math.max(1, interval);
+    }
+
+    /**
+     * นับ tick - คืน true เมื่อถึงรอบ audit
+     */
+    public boolean tick() {
+        if (++ticks < interval) return false;
+        ticks = 0;
+        return true;
+    }
+
+    public void track(Node node) {
+        if (node != null) live.add(node);
+    }
+
+    public void trackDead(Node node) {
+        if (node != null) dead.add(node);
+    }
+
+    public void track(Node node, boolean alive) {
+        if (alive) track(node); else trackDead(node);
+    }
+
+    public void trackAll(List<? extends Node> nodes) {
+        for (int i = 0; i < nodes.size(); i++) track(nodes.get(i));
+    }
+
+    /**
+     * เทียบ node ที่ถูก track ไว้ตั้งแต่ audit ก่อนกับ children ของ pane แล้วเริ่มรอบใหม่
+     */
+    public Report audit(Pane pane) {
+        List<Node> children = pane.getChildren();
+        Map<String, Integer> orphans = new TreeMap<>();
+        Map<String, Integer> deadAttached = new TreeMap<>();
+        int orphanCount = 0;
+        int deadCount = 0;
+        int attachedTracked = 0;
+
+        for (int i = 0; i < children.size(); i++) {
+            Node child = children.get(i);
+            if (dead.contains(child)) {
+                deadCount++;
+                deadAttached.merge(child.getClass().getSimpleName(), 1, Integer::sum);
+            } else if (live.contains(child)) {
+                attachedTracked++;
+            } else {
+                orphanCount++;
+                orphans.merge(child.getClass().getSimpleName(), 1, Integer::sum);
+            }
+        }
+        int detached = live.size() - attachedTracked;
+
+        history[audits % history.length] = children.size();
+        audits++;
+        boolean growing = isGrowing();
+
+        lastReport = new Report(children.size(), orphanCount, deadCount, detached, growing, orphans, deadAttached);
+        live.clear();
+        dead.clear();
+
+        if (lastReport.isClean()) {
+            logger.debug("Scene audit clean: {} nodes", children.size());
+        } else {
+            logger.warn("Scene audit: {} nodes, {} orphan {}, {} dead-but-attached {}, {} detached{}",
+                    children.size(), orphanCount, orphans, deadCount, deadAttached, detached,
+                    growing ? ", node count grew for " + GROWTH_AUDITS + " audits in a row" : "");
+        }
+        return lastReport;
+    }
+
+    /**
+     * children เพิ่มขึ้นทุกครั้งใน GROWTH_AUDITS audit ล่าสุด
+     */
+    private boolean isGrowing() {
+        if (audits <= GROWTH_AUDITS) return false;
+        for (int k = 0; k < GROWTH_AUDITS; k++) {
+            int newer = history[(audits - 1 - k) % history.length];
+            int older = history[(audits - 2 - k) % history.length];
+            if (newer <= older) return false;
+        }
+        return true;
+    }
+
+    /**
+     * เริ่มนับ trend ใหม่ (เช่นหลังโหลด stage ซึ่งจำนวน node เปลี่ยนตามฉาก)
+     */
+    public void resetTrend() {
+        audits = 0;
+        ticks = 0;
+        live.clear();
+        dead.clear();
+    }
+
+    public Report getLastReport() { return lastReport; }
+}
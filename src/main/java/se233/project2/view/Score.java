@@ -1,41 +1,84 @@
 package se233.project2.view;
 
-import javafx.scene.control.Label;
+import javafx.geometry.VPos;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
 import se233.project2.model.ScoreModel;
 
 /**
  * Score - UI Component สำหรับแสดงคะแนน
  * ใช้ ScoreModel จัดการ logic ภายใน
+ * ⭐ ตัวเลขวาดจาก DigitAtlas (ImageView ต่อหลัก) และ apply ตอน refresh() เท่านั้น
  */
-public class Score extends Label {
+public class Score extends Pane {
+    static final Font FONT = Font.font("Arial", FontWeight.BOLD, 24);
+    static final Color COLOR = Color.WHITE;
+
     private ScoreModel scoreModel;
+    private Text prefix;
+    private ImageView[] digitViews;
+    private final DigitRow digits = new DigitRow();  // ⭐ ช่องพอสำหรับทุกค่าของ int (รวมเครื่องหมายลบ)
+    private Text fallbackText;  // ใช้เมื่อสร้าง atlas ไม่ได้
+    private boolean dirty = true;
 
     public Score(int x, int y) {
         this.scoreModel = new ScoreModel();
         this.setTranslateX(x);
         this.setTranslateY(y);
-        this.setFont(Font.font("Arial", FontWeight.BOLD, 24));
-        this.setTextFill(Color.WHITE);
-        updateDisplay();
+
+        prefix = createText("SCORE: ");
+        this.getChildren().add(prefix);
+        double digitsX = prefix.getLayoutBounds().getWidth();
+
+        try {
+            DigitAtlas atlas = DigitAtlas.getInstance();
+            digitViews = new ImageView[DigitRow.MAX_GLYPHS];
+            for (int i = 0; i < DigitRow.MAX_GLYPHS; i++) {
+                ImageView view = new ImageView(atlas.getStrip());
+                view.setViewport(atlas.getViewport(0));
+                view.setLayoutX(digitsX + i * atlas.getCellWidth());
+                view.setVisible(false);
+                digitViews[i] = view;
+            }
+            this.getChildren().addAll(digitViews);
+        } catch (RuntimeException e) {
+            digitViews = null;
+            fallbackText = createText("");
+            fallbackText.setLayoutX(digitsX);
+            this.getChildren().add(fallbackText);
+        }
+
+        refresh();
+    }
+
+    private Text createText(String content) {
+        Text text = new Text(content);
+        text.setFont(FONT);
+        text.setFill(COLOR);
+        text.setTextOrigin(VPos.TOP);
+        return text;
     }
 
     /**
      * เพิ่มคะแนน
      */
     public void addScore(int points) {
+        if (points == 0) return;
         scoreModel.addScore(points);
-        updateDisplay();
+        dirty = true;
     }
 
     /**
      * ตั้งค่าคะแนนโดยตรง (สำหรับ restore ระหว่าง stage)
      */
     public void setScore(int newScore) {
+        if (newScore == scoreModel.getScore()) return;
         scoreModel.setScore(newScore);
-        updateDisplay();
+        dirty = true;
     }
 
     /**
@@ -43,14 +86,40 @@ public class Score extends Label {
      */
     public void resetScore() {
         scoreModel.resetScore();
-        updateDisplay();
+        dirty = true;
     }
 
     /**
-     * อัพเดตการแสดงผล
+     * อัพเดตการแสดงผล - เรียกครั้งเดียวตอนจบ frame (ไม่ทำอะไรถ้าคะแนนไม่เปลี่ยน)
      */
-    private void updateDisplay() {
-        this.setText("SCORE: " + scoreModel.getScore());
+    public void refresh() {
+        if (!dirty) return;
+        dirty = false;
+
+        int value = scoreModel.getScore();
+        if (digitViews == null) {
+            fallbackText.setText(Integer.toString(value));
+            return;
+        }
+
+        // แยกหลักตัวเลขโดยไม่สร้าง String แล้วแตะเฉพาะช่องที่ glyph เปลี่ยน
+        if (digits.update(value) == 0) return;
+
+        DigitAtlas atlas = DigitAtlas.getInstance();
+        for (int i = 0; i < DigitRow.MAX_GLYPHS; i++) {
+            if (!digits.isChanged(i)) continue;
+            int glyph = digits.getGlyph(i);
+            if (glyph == DigitRow.HIDDEN) {
+                digitViews[i].setVisible(false);
+            } else {
+                digitViews[i].setViewport(atlas.getViewport(glyph));
+                digitViews[i].setVisible(true);
+            }
+        }
+    }
+
+    public boolean isDirty() {
+        return dirty;
     }
 
     /**
@@ -66,4 +135,4 @@ public class Score extends Label {
     public ScoreModel getModel() {
         return scoreModel;
     }
-}
\ No newline at end of file
+}
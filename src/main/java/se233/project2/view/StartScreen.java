@@ -6,11 +6,35 @@ import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
+import se233.project2.controller.ManagedScreen;
+import se233.project2.controller.SoundController;
 
 /**
  * StartScreen - หน้าจอเริ่มเกม
+ * ⭐ สร้างครั้งเดียว (ScreenManager ใช้ instance เดิมทุกครั้งที่กด HOME)
  */
-public class StartScreen extends Pane {
+public class StartScreen extends Pane implements ManagedScreen {
+    private static final String BUTTON_STYLE =
+            "-fx-font-size: 36px; " +
+                    "-fx-font-weight: bold; " +
+                    "-fx-background-color: #FF6B6B; " +
+                    "-fx-text-fill: white; " +
+                    "-fx-padding: 20 60; " +
+                    "-fx-background-radius: 10; " +
+                    "-fx-border-radius: 10; " +
+                    "-fx-border-color: white; " +
+                    "-fx-border-width: 3;";
+    private static final String BUTTON_HOVER_STYLE =
+            "-fx-font-size: 36px; " +
+                    "-fx-font-weight: bold; " +
+                    "-fx-background-color: #FF4444; " +
+                    "-fx-text-fill: white; " +
+                    "-fx-padding: 20 60; " +
+                    "-fx-background-radius: 10; " +
+                    "-fx-border-radius: 10; " +
+                    "-fx-border-color: yellow; " +
+                    "-fx-border-width: 3;";
+
     private Button startButton;
     private Runnable onStartGame;
     private Runnable onShowStartScreen; // ⭐ เพิ่มสำหรับปุ่ม Home
@@ -31,46 +55,11 @@ public class StartScreen extends Pane {
 
         // Start button
         startButton = new Button("START");
-        startButton.setStyle(
-                "-fx-font-size: 36px; " +
-                        "-fx-font-weight: bold; " +
-                        "-fx-background-color: #FF6B6B; " +
-                        "-fx-text-fill: white; " +
-                        "-fx-padding: 20 60; " +
-                        "-fx-background-radius: 10; " +
-                        "-fx-border-radius: 10; " +
-                        "-fx-border-color: white; " +
-                        "-fx-border-width: 3;"
-        );
+        startButton.setStyle(BUTTON_STYLE);
 
         // Hover effect
-        startButton.setOnMouseEntered(e ->
-                startButton.setStyle(
-                        "-fx-font-size: 36px; " +
-                                "-fx-font-weight: bold; " +
-                                "-fx-background-color: #FF4444; " +
-                                "-fx-text-fill: white; " +
-                                "-fx-padding: 20 60; " +
-                                "-fx-background-radius: 10; " +
-                                "-fx-border-radius: 10; " +
-                                "-fx-border-color: yellow; " +
-                                "-fx-border-width: 3;"
-                )
-        );
-
-        startButton.setOnMouseExited(e ->
-                startButton.setStyle(
-                        "-fx-font-size: 36px; " +
-                                "-fx-font-weight: bold; " +
-                                "-fx-background-color: #FF6B6B; " +
-                                "-fx-text-fill: white; " +
-                                "-fx-padding: 20 60; " +
-                                "-fx-background-radius: 10; " +
-                                "-fx-border-radius: 10; " +
-                                "-fx-border-color: white; " +
-                                "-fx-border-width: 3;"
-                )
-        );
+        startButton.setOnMouseEntered(e -> startButton.setStyle(BUTTON_HOVER_STYLE));
+        startButton.setOnMouseExited(e -> startButton.setStyle(BUTTON_STYLE));
 
         startButton.setOnAction(e -> {
             if (onStartGame != null) {
@@ -86,4 +75,26 @@ public class StartScreen extends Pane {
 
         this.getChildren().add(buttonBox);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void reset() {
+        startButton.setStyle(BUTTON_STYLE);
+    }
+
+    /**
+     * ⭐ ออกจากหน้าเมนู → หยุดเพลง
+     */
+    @Override
+    public void suspend() {
+        SoundController.getInstance().stopStartScreenMusic();
+    }
+
+    /**
+     * ⭐ กลับมาหน้าเมนู → reset ปุ่ม (hover ค้าง) แล้วเล่นเพลง
+     */
+    @Override
+    public void resume() {
+        reset();
+        SoundController.getInstance().playStartScreenMusic();
+    }
+}
@@ -0,0 +1,71 @@
+package se233.project2;
+
+import javafx.scene.image.Image;
+import org.junit.jupiter.api.Test;
+import se233.project2.controller.AssetLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AssetLoader
+ * Tests display-size decoding, the no-upscale rule, caching and the memory report
+ */
+public class AssetLoaderTest {
+
+    @Test
+    public void testDownscalesToDisplaySize() {
+        AssetLoader loader = new AssetLoader(true);
+        Image bullet = loader.load("item/bullet-player.png", 24, 24);
+
+        assertNotNull(bullet);
+        assertEquals(24.0, bullet.getWidth());
+        assertEquals(24.0, bullet.getHeight());
+
+        AssetLoader.Entry entry = loader.getEntries().get(0);
+        assertEquals(256, entry.getSourceWidth());
+        assertEquals(256L * 256 * 4 - 24L * 24 * 4, entry.getSavedBytes());
+        assertEquals(entry.getSavedBytes(), loader.getSavedBytes());
+    }
+
+    @Test
+    public void testNeverUpscalesAtDecode() {
+        AssetLoader loader = new AssetLoader(true);
+        Image icon = loader.load("effect/live.png", 48, 48);
+
+        assertNotNull(icon);
+        assertEquals(32.0, icon.getWidth(), "Icon smaller than its display size keeps source pixels");
+        assertEquals(26.0, icon.getHeight());
+        assertEquals(0, loader.getSavedBytes());
+    }
+
+    @Test
+    public void testFullResolutionForSheetsAndFullPolicy() {
+        AssetLoader loader = new AssetLoader(true);
+        Image sheet = loader.load("player/kitty_walk.png");
+        assertEquals(141.0, sheet.getWidth(), "Sprite sheets are decoded pixel-exact");
+
+        AssetLoader full = new AssetLoader(false);
+        Image bullet = full.load("item/bullet-player.png", 24, 24);
+        assertEquals(256.0, bullet.getWidth(), "Full policy ignores the display size");
+    }
+
+    @Test
+    public void testCachesPerFileAndSize() {
+        AssetLoader loader = new AssetLoader(true);
+        Image first = loader.load("effect/Boom_removebg.png");
+        Image second = loader.load("effect/Boom_removebg.png");
+        Image small = loader.load("item/bullet-player.png", 24, 24);
+        Image large = loader.load("item/bullet-player.png", 32, 32);
+
+        assertSame(first, second);
+        assertFalse(small == large, "Different display sizes are separate images");
+        assertEquals(3, loader.getEntries().size());
+    }
+
+    @Test
+    public void testMissingFileReturnsNull() {
+        AssetLoader loader = new AssetLoader(true);
+        assertNull(loader.load("missing/nothing.png", 10, 10));
+        assertTrue(loader.getEntries().isEmpty());
+    }
+}
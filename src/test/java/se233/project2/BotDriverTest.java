@@ -0,0 +1,194 @@
+package se233.project2;
+
+import javafx.scene.input.KeyCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.project2.controller.bot.BotDriver;
+import se233.project2.controller.bot.BotPolicy;
+import se233.project2.controller.bot.BotView;
+import se233.project2.controller.net.InputBits;
+import se233.project2.model.GameCharacter;
+import se233.project2.model.GameRandom;
+import se233.project2.model.Keys;
+import se233.project2.model.Platform;
+import se233.project2.model.collision.CollisionLayer;
+import se233.project2.model.collision.Hittable;
+import se233.project2.model.enemy.SecondTierEnemy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the bot player
+ * Tests seeded determinism, targeting of flying enemies, platform hops and the special key
+ */
+public class BotDriverTest {
+    private GameCharacter player;
+    private List<Platform> platforms;
+    private List<Hittable> targets;
+    private BotView view;
+    private double worldWidth;
+
+    @BeforeEach
+    public void setUp() {
+        player = new GameCharacter(600, 600);
+        platforms = new ArrayList<>();
+        platforms.add(new Platform(0, 668, 1280, 52));
+        targets = new ArrayList<>();
+        worldWidth = 1280;
+        view = new BotView() {
+            @Override public GameCharacter getPlayer() { return player; }
+            @Override public List<Platform> getPlatforms() { return platforms; }
+            @Override public double getWorldWidth() { return worldWidth; }
+            @Override public void collectBotTargets(List<Hittable> out) { out.addAll(targets); }
+        };
+
+        // ลงถึงพื้นก่อน
+        Keys idle = new Keys();
+        for (int i = 0; i < 60; i++) {
+            idle.beginTick();
+            player.update(idle, platforms);
+        }
+    }
+
+    /**
+     * เป้าธรรมดาบนพื้น (ไม่ใช่ SecondTierEnemy)
+     */
+    private static Hittable groundTarget(double x, double y) {
+        return new Hittable() {
+            @Override public int getCollisionLayer() { return CollisionLayer.ENEMY; }
+            @Override public boolean isCollidable() { return true; }
+            @Override public double getHitX() { return x; }
+            @Override public double getHitY() { return y; }
+            @Override public double getHitWidth() { return 40; }
+            @Override public double getHitHeight() { return 40; }
+            @Override public void takeDamage(int damage) { }
+            @Override public String getColliderName() { return "Dummy"; }
+            @Override public int getKillPoints() { return 1; }
+        };
+    }
+
+    private List<Integer> play(BotDriver bot, int ticks) {
+        Keys keys = new Keys();
+        List<Integer> inputs = new ArrayList<>();
+        for (int tick = 0; tick < ticks; tick++) {
+            bot.drive(view, keys, tick);
+            keys.beginTick();
+            player.update(keys, platforms);
+            inputs.add(InputBits.fromKeys(keys));
+        }
+        return inputs;
+    }
+
+    @Test
+    public void testSameSeedPlaysTheSameInputs() {
+        targets.add(groundTarget(1000, 620));
+        List<Integer> first = play(new BotDriver(BotPolicy.MIXED, 7), 600);
+
+        setUp();
+        targets.add(groundTarget(1000, 620));
+        List<Integer> second = play(new BotDriver(BotPolicy.MIXED, 7), 600);
+
+        setUp();
+        targets.add(groundTarget(1000, 620));
+        List<Integer> other = play(new BotDriver(BotPolicy.MIXED, 8), 600);
+
+        assertEquals(first, second, "Same policy and seed should replay identically");
+        assertFalse(first.equals(other), "Different seed should play differently");
+    }
+
+    @Test
+    public void testAntiAirShootsUpAtFlyingEnemyOverhead() {
+        targets.add(groundTarget(700, 620));
+        SecondTierEnemy flyer = new SecondTierEnemy(null, null, player.getCenterX() - 50, 300,
+                700, 1230, 100, 500, 5, new GameRandom(1));
+        targets.add(flyer);
+
+        int bits = new BotDriver(BotPolicy.ANTI_AIR, 1).nextInput(view);
+        assertEquals(InputBits.SHOOT | InputBits.SHOOT_UP, bits,
+                "Flying enemy should be preferred over the closer ground target and shot from below");
+    }
+
+    @Test
+    public void testAntiAirAimsDownAlongDiagonal() {
+        player = new GameCharacter(300, 200);
+        platforms.add(new Platform(250, 236, 200, 20));
+        Keys idle = new Keys();
+        for (int i = 0; i < 30; i++) {
+            idle.beginTick();
+            player.update(idle, platforms);
+        }
+        double dx = 200;
+        targets.add(new SecondTierEnemy(null, null, player.getCenterX() + dx - 50, player.getCenterY() + dx - 50,
+                0, 1280, 0, 720, 5, new GameRandom(1)));
+
+        int bits = new BotDriver(BotPolicy.ANTI_AIR, 1).nextInput(view);
+        assertTrue((bits & InputBits.SHOOT_DOWN) != 0, "Target on the 45° line below should be shot diagonally");
+        assertTrue((bits & InputBits.SHOOT) != 0);
+    }
+
+    @Test
+    public void testHopperJumpsOntoPlatformAhead() {
+        // platform สูง 100px อยู่ทางขวาติดกับผู้เล่น
+        double feet = player.getHitY() + player.getHitHeight();
+        int left = (int) (player.getHitX() + player.getHitWidth() + 20);
+        platforms.add(new Platform(left, (int) feet - 100, 200, 100));
+        targets.add(groundTarget(1200, 620));
+
+        BotDriver bot = new BotDriver(BotPolicy.HOPPER, 3);
+        int movingRight = 0;
+        for (int tick = 0; tick < 120; tick++) {
+            int bits = bot.nextInput(view);
+            if ((bits & InputBits.RIGHT) == 0) continue;
+            movingRight++;
+            assertTrue((bits & InputBits.JUMP) != 0, "Reachable platform ahead should trigger a jump");
+        }
+        assertTrue(movingRight > 0, "Hopper should walk toward the distant target");
+    }
+
+    @Test
+    public void testSpecialPolicyHoldsF() {
+        targets.add(groundTarget(900, 620));
+        Keys keys = new Keys();
+
+        new BotDriver(BotPolicy.SPECIAL, 1).drive(view, keys, 0);
+        keys.beginTick();
+        assertTrue(keys.isPressed(KeyCode.F));
+        assertTrue(keys.isPressed(KeyCode.SPACE));
+
+        keys = new Keys();
+        new BotDriver(BotPolicy.STRAFE, 1).drive(view, keys, 0);
+        keys.beginTick();
+        assertFalse(keys.isPressed(KeyCode.F));
+        assertTrue(keys.isPressed(KeyCode.SPACE));
+    }
+
+    @Test
+    public void testStaysOnScreenAndReachesRange() {
+        targets.add(groundTarget(1100, 620));
+        play(new BotDriver(BotPolicy.STRAFE, 11), 1200);
+        assertTrue(player.getX() >= 0 && player.getX() <= 1280);
+        assertTrue(Math.abs(player.getCenterX() - 1120) < 600, "Strafer should close in on the target");
+    }
+
+    @Test
+    public void testSpecParsing() {
+        BotDriver bot = BotDriver.fromSpec("anti-air:9", 100);
+        assertEquals(BotPolicy.ANTI_AIR, bot.getPolicy());
+        assertEquals(9L, bot.getSeed());
+        assertEquals(BotPolicy.MIXED, BotDriver.fromSpec("Mixed", 0).getPolicy());
+        assertThrows(IllegalArgumentException.class, () -> BotDriver.fromSpec("camper", 0));
+    }
+
+    @Test
+    public void testStaysInsideWorldBounds() {
+        // เป้าอยู่ขวา แต่ขอบโลกอยู่ชิดขวาผู้เล่น → ต้องเดินกลับซ้าย
+        targets.add(groundTarget(1000, 620));
+        worldWidth = player.getHitX() + player.getHitWidth() + 5;
+
+        int bits = new BotDriver(BotPolicy.STRAFE, 1).nextInput(view);
+        assertEquals(InputBits.LEFT, bits & (InputBits.LEFT | InputBits.RIGHT));
+    }
+}
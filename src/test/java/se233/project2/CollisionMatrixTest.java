@@ -0,0 +1,79 @@
+package se233.project2;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import se233.project2.model.GameRandom;
+import se233.project2.model.Platform;
+import se233.project2.model.collision.CollisionLayer;
+import se233.project2.model.collision.CollisionMatrix;
+import se233.project2.model.enemy.RegularEnemy;
+import se233.project2.model.item.Bullet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for collision layers and the interaction matrix
+ * Tests default pairs, symmetric reconfiguration and the layer filter on bullets
+ */
+public class CollisionMatrixTest {
+    private final CollisionMatrix matrix = CollisionMatrix.getInstance();
+
+    @AfterEach
+    public void tearDown() {
+        matrix.reset();
+    }
+
+    @Test
+    public void testDefaultInteractions() {
+        assertTrue(matrix.interacts(CollisionLayer.PLAYER_PROJECTILE, CollisionLayer.ENEMY));
+        assertTrue(matrix.interacts(CollisionLayer.ENEMY_PROJECTILE, CollisionLayer.PLAYER));
+        assertTrue(matrix.interacts(CollisionLayer.ENEMY_PROJECTILE, CollisionLayer.TERRAIN));
+
+        assertFalse(matrix.interacts(CollisionLayer.PLAYER_PROJECTILE, CollisionLayer.PLAYER));
+        assertFalse(matrix.interacts(CollisionLayer.ENEMY_PROJECTILE, CollisionLayer.ENEMY));
+        assertFalse(matrix.interacts(CollisionLayer.PLAYER_PROJECTILE, CollisionLayer.TERRAIN));
+    }
+
+    @Test
+    public void testSetInteractsIsSymmetric() {
+        matrix.setInteracts(CollisionLayer.PLAYER_PROJECTILE, CollisionLayer.TERRAIN, true);
+        assertTrue(matrix.interacts(CollisionLayer.PLAYER_PROJECTILE, CollisionLayer.TERRAIN));
+        assertTrue(matrix.interacts(CollisionLayer.TERRAIN, CollisionLayer.PLAYER_PROJECTILE));
+
+        matrix.setInteracts(CollisionLayer.TERRAIN, CollisionLayer.PLAYER_PROJECTILE, false);
+        assertFalse(matrix.interacts(CollisionLayer.PLAYER_PROJECTILE, CollisionLayer.TERRAIN));
+    }
+
+    @Test
+    public void testRejectsMultiBitLayer() {
+        assertThrows(IllegalArgumentException.class,
+                () -> matrix.maskOf(CollisionLayer.PLAYER | CollisionLayer.ENEMY));
+    }
+
+    @Test
+    public void testBulletLayerFollowsOwner() {
+        Bullet playerBullet = new Bullet(null, 0, 0, 10, 0, true);
+        Bullet enemyBullet = new Bullet(null, 0, 0, 10, 0, false);
+        Platform platform = new Platform(0, 0, 100, 20);
+
+        assertEquals(CollisionLayer.PLAYER_PROJECTILE, playerBullet.getCollisionLayer());
+        assertEquals(CollisionLayer.ENEMY_PROJECTILE, enemyBullet.getCollisionLayer());
+        assertFalse(CollisionMatrix.canCollide(playerBullet, platform));
+        assertTrue(CollisionMatrix.canCollide(enemyBullet, platform));
+    }
+
+    @Test
+    public void testEnemyBulletIsFilteredBeforeGeometry() {
+        RegularEnemy enemy = new RegularEnemy(null, null, 100, 100, 0, 1280, 0, 720, 3, new GameRandom(1));
+        Bullet enemyBullet = new Bullet(null, 80, 110, 10, 0, false);
+        enemyBullet.step();
+
+        assertFalse(enemy.checkBulletCollision(enemyBullet), "Enemy bullets must not hit enemies");
+        assertTrue(enemyBullet.isActive());
+
+        // เปิด pair แล้วกระสุนนัดเดียวกันต้องชน
+        matrix.setInteracts(CollisionLayer.ENEMY_PROJECTILE, CollisionLayer.ENEMY, true);
+        assertTrue(enemy.checkBulletCollision(enemyBullet));
+        assertFalse(enemyBullet.isActive());
+    }
+}
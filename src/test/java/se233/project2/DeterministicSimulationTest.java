@@ -0,0 +1,138 @@
+package se233.project2;
+
+import javafx.scene.layout.Pane;
+import org.junit.jupiter.api.Test;
+import se233.project2.controller.QualityGovernor;
+import se233.project2.model.GameRandom;
+import se233.project2.model.effect.ExplosionPool;
+import se233.project2.view.BossHandler;
+import se233.project2.view.EnemyHandler;
+import se233.project2.view.GameStage;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for deterministic simulation
+ * Tests that the same seed gives the same fight and that saved state (bullets, emitters, random) replays exactly
+ */
+public class DeterministicSimulationTest {
+    private static final long TICK = 16_666_666;
+
+    /**
+     * ศัตรู + บอสบน pane เดียว ขับด้วยเวลา tick และ random ตัวเดียวเหมือน GameStage (ไม่มีผู้เล่นและ HUD)
+     */
+    private static class World {
+        final Pane gamePane = new Pane();
+        final GameRandom random;
+        final EnemyHandler enemyHandler;
+        final BossHandler bossHandler;
+        final ExplosionPool explosions = new ExplosionPool(null, GameStage.WIDTH, GameStage.HEIGHT);
+        long tick = 0;
+        int maxBullets = 0;
+
+        World(long seed) {
+            random = new GameRandom(seed);
+            enemyHandler = new EnemyHandler(gamePane, random, null, null, null, null);
+            bossHandler = new BossHandler(gamePane, random,
+                    null, null, null,
+                    null, null, null, null,
+                    null, null, null,
+                    null, null, null);
+        }
+
+        void run(int ticks) {
+            for (int i = 0; i < ticks; i++) {
+                long now = ++tick * TICK;
+                enemyHandler.update(now, 200, 500);
+                bossHandler.updatePlayerPosition(200, 500);
+                bossHandler.update(now);
+                enemyHandler.updateEnemyBullets(explosions, GameStage.GROUND_Y);
+                bossHandler.updateBossBullets(explosions, GameStage.GROUND_Y);
+                maxBullets = Math.max(maxBullets, enemyHandler.getBulletCount() + bossHandler.getBulletCount());
+            }
+        }
+
+        ByteBuffer save() {
+            ByteBuffer out = ByteBuffer.allocate(256 * 1024);
+            out.putLong(tick);
+            enemyHandler.saveState(out);
+            bossHandler.saveState(out);
+            random.saveState(out);
+            return out.flip();
+        }
+
+        void load(ByteBuffer in) {
+            tick = in.getLong();
+            enemyHandler.loadState(in);
+            bossHandler.loadState(in);
+            random.loadState(in);
+        }
+    }
+
+    private static byte[] bytes(ByteBuffer state) {
+        byte[] copy = new byte[state.remaining()];
+        state.duplicate().get(copy);
+        return copy;
+    }
+
+    @Test
+    public void testSameSeedPlaysSameFight() {
+        QualityGovernor.getInstance().reset();
+        World a = new World(42);
+        World b = new World(42);
+        for (World world : new World[]{a, b}) {
+            world.enemyHandler.spawnStage2Enemies();
+            world.bossHandler.spawnJavaBoss();
+            world.run(600);
+        }
+
+        assertTrue(a.maxBullets > 0, "The fight should fire bullets");
+        assertArrayEquals(bytes(a.save()), bytes(b.save()), "Same seed must give the same state");
+    }
+
+    @Test
+    public void testLoadStateReplaysBulletsAndRandom() {
+        QualityGovernor.getInstance().reset();
+        World world = new World(7);
+        world.enemyHandler.spawnStage2Enemies();
+        world.bossHandler.spawnSmallBossWave();
+        world.bossHandler.spawnSmallBossWave();
+        world.run(300);
+        ByteBuffer middle = world.save();
+        assertTrue(world.enemyHandler.getBulletCount() + world.bossHandler.getBulletCount() > 0,
+                "Saved state should carry bullets in flight");
+
+        world.run(300);
+        byte[] expected = bytes(world.save());
+        int expectedNodes = world.gamePane.getChildren().size();
+
+        world.load(middle);
+        world.run(300);
+        assertArrayEquals(expected, bytes(world.save()), "Replay from saved state must match");
+        assertEquals(expectedNodes, world.gamePane.getChildren().size());
+    }
+
+    @Test
+    public void testBossesRecreatedFromState() {
+        World world = new World(3);
+        world.bossHandler.spawnSmallBossWave();
+        world.bossHandler.spawnSmallBossWave();
+        world.run(120);
+        ByteBuffer state = world.save();
+
+        world.bossHandler.spawnBoss3();
+        assertTrue(world.bossHandler.getSmallBosses().isEmpty());
+
+        world.load(state);
+        assertNull(world.bossHandler.getBoss3());
+        assertEquals(2, world.bossHandler.getSmallBosses().size());
+        assertEquals(2, world.bossHandler.getSmallBossWave());
+        for (int i = 0; i < world.bossHandler.getActiveSmallBosses().size(); i++) {
+            assertTrue(world.gamePane.getChildren().contains(world.bossHandler.getActiveSmallBosses().get(i)));
+        }
+        assertTrue(Arrays.equals(bytes(state.rewind()), bytes(world.save())), "Loaded bosses save the same state");
+    }
+}
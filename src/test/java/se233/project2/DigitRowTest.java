@@ -0,0 +1,70 @@
+package se233.project2;
+
+import org.junit.jupiter.api.Test;
+import se233.project2.view.DigitRow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the HUD digit row
+ * Tests digit layout, large and negative values, and that only changed slots are updated
+ */
+public class DigitRowTest {
+
+    private static String shown(DigitRow row) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < row.getLength(); i++) {
+            int glyph = row.getGlyph(i);
+            text.append(glyph == DigitRow.MINUS ? '-' : (char) ('0' + glyph));
+        }
+        return text.toString();
+    }
+
+    @Test
+    public void testLaysOutDigitsLeftToRight() {
+        DigitRow row = new DigitRow();
+        assertEquals(4, row.update(1234));
+        assertEquals("1234", shown(row));
+
+        row.update(0);
+        assertEquals("0", shown(row));
+    }
+
+    @Test
+    public void testLargeScoresKeepEveryDigit() {
+        DigitRow row = new DigitRow();
+        row.update(12_345_678);
+        assertEquals("12345678", shown(row));
+
+        row.update(Integer.MAX_VALUE);
+        assertEquals(Integer.toString(Integer.MAX_VALUE), shown(row));
+    }
+
+    @Test
+    public void testNegativeScoresShowTheSign() {
+        DigitRow row = new DigitRow();
+        row.update(-42);
+        assertEquals("-42", shown(row));
+
+        row.update(Integer.MIN_VALUE);
+        assertEquals(Integer.toString(Integer.MIN_VALUE), shown(row));
+        assertEquals(DigitRow.MAX_GLYPHS, row.getLength());
+    }
+
+    @Test
+    public void testOnlyChangedSlotsAreUpdated() {
+        DigitRow row = new DigitRow();
+        row.update(1234);
+
+        assertEquals(0, row.update(1234), "Same value touches nothing");
+        assertEquals(1, row.update(1235));
+        assertTrue(row.isChanged(3));
+        assertFalse(row.isChanged(0));
+
+        // 1235 → 99: ช่อง 0,1 เปลี่ยน ช่อง 2,3 ถูกซ่อน
+        assertEquals(4, row.update(99));
+        assertEquals(DigitRow.HIDDEN, row.getGlyph(2));
+        assertTrue(row.isChanged(3));
+        assertEquals("99", shown(row));
+    }
+}
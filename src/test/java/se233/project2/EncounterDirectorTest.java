@@ -0,0 +1,161 @@
+package se233.project2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.project2.controller.EncounterDirector;
+import se233.project2.controller.EncounterScript;
+import se233.project2.controller.StageCheckpoint;
+import se233.project2.controller.event.GameEventBus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EncounterDirector
+ * Tests event-driven wave counters, timer-queued transitions and checkpoint restore
+ */
+public class EncounterDirectorTest {
+    private GameEventBus bus;
+    private EncounterDirector director;
+    private final List<String> calls = new ArrayList<>();
+    private final int[] spawnSize = {3};
+
+    private class RecordingHost implements EncounterDirector.Host {
+        @Override
+        public void spawnWave(EncounterScript.Wave wave) {
+            calls.add("spawn:" + wave.getKind());
+            for (int i = 0; i < spawnSize[0]; i++) {
+                bus.spawn(wave.getKind().name(), 0, 0, false);
+            }
+        }
+
+        @Override
+        public void onWaveQueued(EncounterScript.Wave wave) {
+            calls.add("queued:" + wave.getKind());
+        }
+
+        @Override
+        public void onEncounterCleared() {
+            calls.add("cleared");
+        }
+
+        @Override
+        public void onStageComplete() {
+            calls.add("complete");
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        bus = new GameEventBus();
+        director = new EncounterDirector(new RecordingHost());
+        bus.subscribe(director);
+    }
+
+    private void killAll(int count) {
+        for (int i = 0; i < count; i++) {
+            bus.kill("Enemy", 0, 0, 1, 0, false);
+        }
+        bus.dispatch();
+    }
+
+    private void ticks(int count) {
+        for (int i = 0; i < count; i++) {
+            director.tick();
+            bus.dispatch();
+        }
+    }
+
+    @Test
+    public void testMinionsThenBossAfterDelay() {
+        director.start(EncounterScript.forStage(1));
+        bus.dispatch();
+        assertEquals(List.of("spawn:REGULAR_MINIONS"), calls);
+        assertEquals(3, director.getLiveCount());
+
+        killAll(2);
+        assertEquals(1, director.getLiveCount());
+        assertEquals(0, director.getPendingTimers(), "Wave is not cleared while one minion lives");
+
+        killAll(1);
+        assertEquals("queued:WALL_BOSS", calls.get(1));
+
+        ticks(EncounterScript.BOSS_SPAWN_WAIT - 1);
+        assertEquals(2, calls.size(), "Boss waits for its delay");
+        ticks(1);
+        assertEquals("spawn:WALL_BOSS", calls.get(2));
+        assertEquals(1, director.getWaveIndex());
+    }
+
+    @Test
+    public void testLastWaveClearsThenCompletes() {
+        spawnSize[0] = 1;
+        director.start(EncounterScript.forStage(1));
+        bus.dispatch();
+        killAll(1);
+        ticks(EncounterScript.BOSS_SPAWN_WAIT);
+        killAll(1);
+
+        assertFalse(director.isCleared(), "Clear goes through the timer queue");
+        ticks(1);
+        assertTrue(director.isCleared());
+        assertEquals("cleared", calls.get(calls.size() - 1));
+
+        ticks(EncounterScript.STAGE_CLEAR_WAIT);
+        assertEquals("complete", calls.get(calls.size() - 1));
+        assertEquals(0, director.getPendingTimers());
+    }
+
+    @Test
+    public void testStageThreeRunsSmallBossWavesThenBoss3() {
+        spawnSize[0] = 1;
+        director.start(EncounterScript.forStage(3));
+        assertEquals(List.of("queued:SMALL_BOSS"), calls);
+
+        for (int wave = 0; wave < 3; wave++) {
+            int delay = wave == 0 ? EncounterScript.BOSS_SPAWN_WAIT : EncounterScript.WAVE_WAIT;
+            ticks(delay);
+            assertEquals("spawn:SMALL_BOSS", calls.get(calls.size() - 1));
+            killAll(1);
+        }
+        ticks(1);
+        assertEquals("spawn:BOSS3", calls.get(calls.size() - 1));
+        assertNull(director.getQueuedWave());
+        assertEquals(3, director.getWaveIndex());
+    }
+
+    @Test
+    public void testTickWithoutEventsChangesNothing() {
+        director.start(EncounterScript.forStage(1));
+        bus.dispatch();
+        ticks(1000);
+        assertEquals(1, calls.size());
+        assertEquals(3, director.getLiveCount());
+    }
+
+    @Test
+    public void testCheckpointRestoresCountersAndTimers() {
+        director.start(EncounterScript.forStage(3));
+        ticks(10);
+        StageCheckpoint checkpoint = new StageCheckpoint();
+        checkpoint.capture(director);
+
+        ticks(EncounterScript.BOSS_SPAWN_WAIT);
+        killAll(3);
+        assertEquals(0, director.getLiveCount());
+
+        calls.clear();
+        assertTrue(checkpoint.restore(director));
+        assertEquals(-1, director.getWaveIndex());
+        assertEquals(1, director.getPendingTimers());
+        assertEquals(EncounterScript.Kind.SMALL_BOSS, director.getQueuedWave().getKind(),
+                "Restored director still knows which wave is incoming");
+
+        ticks(EncounterScript.BOSS_SPAWN_WAIT - 11);
+        assertTrue(calls.isEmpty());
+        ticks(1);
+        assertEquals(List.of("spawn:SMALL_BOSS"), calls);
+    }
+}
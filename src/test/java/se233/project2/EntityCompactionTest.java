@@ -0,0 +1,120 @@
+package se233.project2;
+
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.project2.controller.StageCheckpoint;
+import se233.project2.model.GameRandom;
+import se233.project2.model.Viewport;
+import se233.project2.model.boss.SmallBoss;
+import se233.project2.model.effect.ExplosionPool;
+import se233.project2.model.enemy.RegularEnemy;
+import se233.project2.view.BossHandler;
+import se233.project2.view.EnemyHandler;
+import se233.project2.view.GameStage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for dead-entity compaction and off-screen culling
+ * Tests that killed entities leave the per-tick sets and the pane, and that restore brings them back
+ */
+public class EntityCompactionTest {
+    private static final long TICK = 16_666_666;
+
+    private Pane gamePane;
+    private EnemyHandler enemyHandler;
+    private BossHandler bossHandler;
+    private ExplosionPool explosions;
+
+    @BeforeEach
+    public void setUp() {
+        gamePane = new Pane();
+        enemyHandler = new EnemyHandler(gamePane, new GameRandom(1), null, null, null, null);
+        bossHandler = new BossHandler(gamePane, new GameRandom(1),
+                null, null, null,
+                null, null, null, null,
+                null, null, null,
+                null, null, null);
+        explosions = new ExplosionPool(null, GameStage.WIDTH, GameStage.HEIGHT);
+    }
+
+    @Test
+    public void testDeadEnemyIsCompactedAndDetached() {
+        enemyHandler.spawnStage1Enemies();
+        RegularEnemy victim = enemyHandler.getRegularEnemies().get(1);
+        victim.takeDamage(100);
+
+        enemyHandler.updateEnemyBullets(explosions, GameStage.GROUND_Y);
+
+        assertEquals(2, enemyHandler.getLiveRegularEnemies().size());
+        assertFalse(enemyHandler.getLiveRegularEnemies().contains(victim));
+        assertFalse(gamePane.getChildren().contains(victim), "Dead enemy node should be detached");
+        assertEquals(3, enemyHandler.getRegularEnemies().size(), "Stage roster keeps every enemy");
+        assertFalse(enemyHandler.allCleared());
+    }
+
+    @Test
+    public void testRestoreBringsCompactedEnemiesBack() {
+        enemyHandler.spawnStage1Enemies();
+        StageCheckpoint checkpoint = new StageCheckpoint();
+        checkpoint.capture(enemyHandler);
+
+        for (RegularEnemy enemy : enemyHandler.getRegularEnemies()) {
+            enemy.takeDamage(100);
+        }
+        enemyHandler.updateEnemyBullets(explosions, GameStage.GROUND_Y);
+        assertTrue(enemyHandler.getLiveRegularEnemies().isEmpty());
+        assertTrue(enemyHandler.allCleared());
+
+        // เหมือน GameStage.restoreCheckpoint: clear pane แล้วใส่ roster กลับก่อน restore
+        gamePane.getChildren().clear();
+        enemyHandler.attachAll();
+        assertTrue(checkpoint.restore(enemyHandler));
+
+        assertEquals(3, enemyHandler.getLiveRegularEnemies().size());
+        assertEquals(3, gamePane.getChildren().size());
+    }
+
+    @Test
+    public void testDefeatedSmallBossLeavesActiveSet() {
+        bossHandler.spawnSmallBossWave();
+        SmallBoss boss = bossHandler.getActiveSmallBosses().get(0);
+        boss.takeDamage(100);
+
+        bossHandler.updateBossBullets(explosions, GameStage.GROUND_Y);
+
+        assertTrue(bossHandler.getActiveSmallBosses().isEmpty());
+        assertFalse(gamePane.getChildren().contains(boss));
+        assertTrue(BossHandler.allDefeated(bossHandler.getSmallBosses()));
+        assertTrue(bossHandler.shouldSpawnNextSmallBossWave());
+    }
+
+    @Test
+    public void testSmallBossIsCulledUntilOnScreen() {
+        bossHandler.spawnSmallBossWave();
+        SmallBoss boss = bossHandler.getActiveSmallBosses().get(0);
+
+        long now = 0;
+        bossHandler.update(now += TICK);
+        assertFalse(boss.isVisible(), "Small boss starts off-screen at x=1400");
+
+        for (int i = 0; i < 600 && boss.getX() >= Viewport.WIDTH; i++) {
+            bossHandler.update(now += TICK);
+        }
+        bossHandler.update(now + TICK);
+        assertTrue(boss.getX() < Viewport.WIDTH);
+        assertTrue(boss.isVisible(), "Small boss should be drawn once it walks on-screen");
+    }
+
+    @Test
+    public void testCullTogglesVisibility() {
+        Rectangle node = new Rectangle(10, 10);
+        assertFalse(Viewport.cull(node, 1300, 100, 50, 50));
+        assertFalse(node.isVisible());
+        assertTrue(Viewport.cull(node, 1250, 100, 50, 50), "Partially visible boxes are drawn");
+        assertTrue(node.isVisible());
+        assertFalse(Viewport.cull(node, -60, 100, 50, 50));
+    }
+}
@@ -0,0 +1,84 @@
+package se233.project2;
+
+import org.junit.jupiter.api.Test;
+import se233.project2.model.effect.ExplosionPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExplosionPool
+ * Tests spawn, per-slot expiry, oldest-first eviction and ring wraparound
+ */
+public class ExplosionPoolTest {
+
+    private static void step(ExplosionPool pool, int frames) {
+        for (int i = 0; i < frames; i++) {
+            pool.update();
+        }
+    }
+
+    @Test
+    public void testSpawnAndDefaultExpiry() {
+        ExplosionPool pool = new ExplosionPool(null, 100, 100, 4);
+        pool.spawn(10, 10);
+        pool.spawn(20, 20);
+        assertEquals(2, pool.getLiveCount());
+
+        step(pool, ExplosionPool.DEFAULT_LIFETIME - 1);
+        assertEquals(2, pool.getLiveCount());
+        step(pool, 1);
+        assertEquals(0, pool.getLiveCount());
+    }
+
+    @Test
+    public void testSlotsExpireByTheirOwnLifetime() {
+        ExplosionPool pool = new ExplosionPool(null, 100, 100, 4);
+        pool.spawn(1, 0, 50);   // เก่ากว่าแต่อยู่นานกว่า
+        pool.spawn(2, 0, 10);
+        pool.spawn(3, 0, 30);
+
+        step(pool, 10);
+        assertEquals(2, pool.getLiveCount());
+        assertEquals(1.0, pool.getLiveX(0));
+        assertEquals(3.0, pool.getLiveX(1));
+
+        step(pool, 20);
+        assertEquals(1, pool.getLiveCount());
+        assertEquals(1.0, pool.getLiveX(0));
+    }
+
+    @Test
+    public void testFullPoolEvictsOldest() {
+        ExplosionPool pool = new ExplosionPool(null, 100, 100, 3);
+        for (int i = 1; i <= 5; i++) {
+            pool.spawn(i, 0);
+        }
+        assertEquals(3, pool.getLiveCount());
+        assertEquals(2, pool.getEvictions());
+        assertEquals(3.0, pool.getLiveX(0));
+        assertEquals(5.0, pool.getLiveX(2));
+    }
+
+    @Test
+    public void testExpiryAcrossWraparound() {
+        ExplosionPool pool = new ExplosionPool(null, 100, 100, 3);
+        pool.spawn(1, 0, 100);
+        pool.spawn(2, 0, 100);
+        pool.spawn(3, 0, 2);
+        pool.spawn(4, 0, 100);  // เต็ม → ทับตัวที่ 1, ตัวที่ 4 อยู่ slot 0 (ring วนรอบแล้ว)
+        assertEquals(1, pool.getEvictions());
+
+        step(pool, 2);          // ตัวที่ 3 หมดอายุกลาง ring → ตัวที่ 4 ถูกอัดข้ามรอยต่อ
+        assertEquals(2, pool.getLiveCount());
+        assertEquals(2.0, pool.getLiveX(0));
+        assertEquals(4.0, pool.getLiveX(1));
+
+        pool.spawn(5, 0, 100);
+        assertEquals(3, pool.getLiveCount());
+        assertEquals(5.0, pool.getLiveX(2));
+        assertEquals(1, pool.getEvictions());
+
+        step(pool, 100);
+        assertEquals(0, pool.getLiveCount());
+    }
+}
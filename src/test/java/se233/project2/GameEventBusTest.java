@@ -0,0 +1,151 @@
+package se233.project2;
+
+import org.junit.jupiter.api.Test;
+import se233.project2.controller.event.GameEventBatch;
+import se233.project2.controller.event.GameEventBus;
+import se233.project2.controller.event.GameEventType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GameEventBus
+ * Tests per-tick batching, discard, ordering, batch growth on overflow, async subscribers and drop counting
+ */
+public class GameEventBusTest {
+
+    @Test
+    public void testEventsAreDeliveredOncePerTick() {
+        GameEventBus bus = new GameEventBus();
+        List<Integer> batchSizes = new ArrayList<>();
+        bus.subscribe(batch -> batchSizes.add(batch.size()));
+
+        bus.hit("Player", "RegularEnemy", 10, 20, 0);
+        bus.kill("RegularEnemy", 10, 20, 1, 1, false);
+        assertTrue(batchSizes.isEmpty(), "Nothing is delivered before dispatch");
+        assertEquals(2, bus.getPendingCount());
+
+        bus.dispatch();
+        bus.dispatch();  // tick ที่ไม่มี event ไม่เรียก subscriber
+
+        assertEquals(List.of(2), batchSizes);
+        assertEquals(0, bus.getPendingCount());
+        assertEquals(2, bus.getTick());
+    }
+
+    @Test
+    public void testDiscardDropsUndeliveredEvents() {
+        GameEventBus bus = new GameEventBus();
+        List<Integer> batchSizes = new ArrayList<>();
+        bus.subscribe(batch -> batchSizes.add(batch.size()));
+
+        bus.playerHit(0, 0, 0);
+        bus.gameOver(100);
+        bus.discard();  // restore checkpoint: event ของรอบเดิมไม่ถูกส่ง
+        bus.stageStart(1);
+        bus.dispatch();
+
+        assertEquals(List.of(1), batchSizes);
+    }
+
+    @Test
+    public void testBatchKeepsPublishOrderAndFields() {
+        GameEventBus bus = new GameEventBus();
+        List<String> seen = new ArrayList<>();
+        bus.subscribe(batch -> {
+            for (int i = 0; i < batch.size(); i++) {
+                seen.add(batch.getType(i) + ":" + batch.getTarget(i) + ":" + batch.getValue(i));
+            }
+            assertTrue(batch.getFlag(1), "Boss flag should be kept");
+            assertEquals(30, batch.getTotal(1));
+        });
+
+        bus.hit("Player", "Boss3", 1, 2, 0);
+        bus.kill("Boss3", 1, 2, 5, 30, true);
+        bus.playerHit(3, 4, 2);
+        bus.dispatch();
+
+        assertEquals(List.of("BULLET_HIT:Boss3:0", "KILL:Boss3:5", "PLAYER_HIT:Player:2"), seen);
+    }
+
+    @Test
+    public void testFullBatchGrowsAndDeliversOnlyAtDispatch() {
+        GameEventBus bus = new GameEventBus(4);
+        int[] total = {0};
+        int[] deliveries = {0};
+        bus.subscribe(batch -> {
+            deliveries[0]++;
+            for (int i = 0; i < batch.size(); i++) total[0] += batch.getValue(i);
+        });
+
+        for (int i = 0; i < 10; i++) {
+            bus.hit("Player", "RegularEnemy", 0, 0, 1);
+        }
+        assertEquals(0, deliveries[0], "Subscribers must not run inside the collision loop");
+        assertEquals(10, bus.getPendingCount());
+        bus.dispatch();
+
+        assertEquals(10, total[0]);
+        assertEquals(1, deliveries[0]);
+    }
+
+    @Test
+    public void testPublishDuringDispatchIsRejected() {
+        GameEventBus bus = new GameEventBus();
+        bus.subscribe(batch -> bus.gameOver(0));
+        bus.stageStart(1);
+
+        assertThrows(IllegalStateException.class, bus::dispatch);
+    }
+
+    @Test
+    public void testAsyncSubscriberReceivesCopy() {
+        GameEventBus bus = new GameEventBus();
+        List<GameEventType> seen = new ArrayList<>();
+        List<String> threads = new ArrayList<>();
+        bus.subscribeAsync((GameEventBatch batch) -> {
+            synchronized (seen) {
+                threads.add(Thread.currentThread().getName());
+                for (int i = 0; i < batch.size(); i++) seen.add(batch.getType(i));
+            }
+        });
+
+        bus.stageComplete(1, 12);
+        bus.dispatch();
+        bus.gameComplete(40);
+        bus.dispatch();
+
+        assertTrue(bus.awaitAsync(2000), "Async subscriber should drain");
+        synchronized (seen) {
+            assertEquals(List.of(GameEventType.STAGE_COMPLETE, GameEventType.GAME_COMPLETE), seen);
+            assertEquals("game-events", threads.get(0));
+        }
+        assertEquals(0, bus.getDroppedAsyncBatches());
+    }
+
+    @Test
+    public void testAsyncDropsAreCounted() throws Exception {
+        GameEventBus bus = new GameEventBus();
+        CountDownLatch release = new CountDownLatch(1);
+        bus.subscribeAsync(batch -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // worker ค้างอยู่ที่ batch แรก → pool 4 ชุดหมดแล้ว tick ที่เหลือถูกข้าม
+        for (int i = 0; i < 10; i++) {
+            bus.stageStart(i);
+            bus.dispatch();
+        }
+        assertEquals(6, bus.getDroppedAsyncBatches());
+
+        release.countDown();
+        assertTrue(bus.awaitAsync(2000));
+    }
+}
@@ -0,0 +1,55 @@
+package se233.project2;
+
+import org.junit.jupiter.api.Test;
+import se233.project2.model.GameRandom;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GameRandom
+ * Tests that the sequence matches java.util.Random and round-trips through saveState
+ */
+public class GameRandomTest {
+
+    @Test
+    public void testSameSequenceAsJavaUtilRandom() {
+        Random expected = new Random(1234);
+        GameRandom random = new GameRandom(1234);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(expected.nextInt(100), random.nextInt(100));
+            assertEquals(expected.nextDouble(), random.nextDouble());
+            assertEquals(expected.nextLong(), random.nextLong());
+            assertEquals(expected.nextBoolean(), random.nextBoolean());
+        }
+    }
+
+    @Test
+    public void testLoadStateRestoresSequence() {
+        GameRandom random = new GameRandom(99);
+        for (int i = 0; i < 10; i++) random.nextInt();
+
+        ByteBuffer state = ByteBuffer.allocate(8);
+        random.saveState(state);
+        state.flip();
+
+        int[] first = new int[20];
+        for (int i = 0; i < first.length; i++) first[i] = random.nextInt(1000);
+
+        random.loadState(state);
+        for (int i = 0; i < first.length; i++) {
+            assertEquals(first[i], random.nextInt(1000));
+        }
+    }
+
+    @Test
+    public void testSplitIsDeterministic() {
+        GameRandom a = new GameRandom(7).split();
+        GameRandom b = new GameRandom(7).split();
+        for (int i = 0; i < 20; i++) {
+            assertEquals(a.nextDouble(), b.nextDouble());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package se233.project2;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import org.junit.jupiter.api.Test;
+import se233.project2.controller.AssetLoader;
+import se233.project2.model.GameRandom;
+import se233.project2.model.boss.Boss3;
+import se233.project2.model.collision.HitMask;
+import se233.project2.model.collision.Hittable;
+import se233.project2.model.item.Bullet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HitMask
+ * Tests alpha → bitset packing, frame lookup, per-image caching and the swept bullet hit path on a boss
+ */
+public class HitMaskTest {
+
+    /**
+     * รูป 8x4: ครึ่งซ้ายทึบ ครึ่งขวาใส ยกเว้น pixel จาง ๆ ที่ (7, 0)
+     */
+    private static Image halfSolid() {
+        WritableImage image = new WritableImage(8, 4);
+        PixelWriter writer = image.getPixelWriter();
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 8; x++) {
+                writer.setArgb(x, y, x < 4 ? 0xFF00FF00 : 0x00000000);
+            }
+        }
+        writer.setArgb(7, 0, 0x10FFFFFF);  // alpha 16 ต่ำกว่า threshold
+        return image;
+    }
+
+    @Test
+    public void testPacksAlphaIntoCells() {
+        HitMask mask = HitMask.fromImage(halfSolid(), null, 2, HitMask.DEFAULT_ALPHA_THRESHOLD);
+
+        assertEquals(4, mask.getColumns());
+        assertEquals(2, mask.getRows());
+        assertEquals(4, mask.getSolidCells());
+        assertEquals(0.5, mask.getCoverage(), 1e-9);
+        assertTrue(mask.isSolid(0, 0));
+        assertTrue(mask.isSolid(1, 1));
+        assertFalse(mask.isSolid(3, 0), "Faint pixel is below the alpha threshold");
+        assertFalse(mask.isSolid(4, 0), "Outside the mask is never solid");
+        assertEquals(8, mask.getMemoryBytes());
+    }
+
+    @Test
+    public void testContainsScalesToDrawnSize() {
+        HitMask mask = HitMask.fromImage(halfSolid(), null, 2, HitMask.DEFAULT_ALPHA_THRESHOLD);
+
+        // วาด 8x4 เป็น 80x40 ที่ (100, 100)
+        assertTrue(mask.contains(110, 120, 100, 100, 80, 40));
+        assertFalse(mask.contains(170, 120, 100, 100, 80, 40));
+        assertTrue(mask.contains(100, 140, 100, 100, 80, 40), "Bottom edge maps to the last row");
+        assertFalse(mask.contains(90, 120, 100, 100, 80, 40));
+    }
+
+    @Test
+    public void testFrameMasksAreCachedPerImage() {
+        Image sheet = halfSolid();
+        HitMask left = HitMask.forFrame(sheet, new Rectangle2D(0, 0, 4, 4));
+        HitMask right = HitMask.forFrame(sheet, new Rectangle2D(4, 0, 4, 4));
+
+        assertEquals(1.0, left.getCoverage(), 1e-9);
+        assertEquals(0, right.getSolidCells());
+        assertSame(left, HitMask.forFrame(sheet, new Rectangle2D(0, 0, 4, 4)));
+
+        HitMask[] strip = HitMask.forStrip(sheet, 2, 0, 0, 4, 4, 4);
+        assertSame(left, strip[0]);
+        assertSame(right, strip[1]);
+
+        assertNull(HitMask.forFrame(null, null));
+        assertNull(HitMask.forStrip(null, 2, 0, 0, 4, 4, 4));
+    }
+
+    @Test
+    public void testBossSpriteIsNotAFullBox() {
+        Image image = new AssetLoader(true).load("boss/boss3/boss3.png", 500, 500);
+        HitMask mask = HitMask.forFrame(image, null);
+
+        assertNotNull(mask);
+        assertTrue(mask.getCoverage() > 0.1 && mask.getCoverage() < 0.9,
+                "Boss sprite should be partly transparent: " + mask.getCoverage());
+    }
+
+    @Test
+    public void testBulletPassesTransparentPartOfBoss() {
+        Image image = new AssetLoader(true).load("boss/boss3/boss3.png", 500, 500);
+        Boss3 boss = new Boss3(image, null, null, 600, 100, 10, new GameRandom(1));
+        HitMask mask = HitMask.forFrame(image, null);
+        double[] drawn = HitMask.fittedSize(image.getWidth(), image.getHeight(), 500, 500);
+
+        // ⭐ มุมล่างของกล่อง 500x500 อยู่นอกรูปที่วาด (รักษาสัดส่วน) → ไม่โดน
+        Bullet miss = shootAt(605, 100 + drawn[1] + 30);
+        assertFalse(boss.checkBulletCollision(miss));
+        assertTrue(miss.isActive());
+        assertEquals(10, boss.getHealth());
+
+        // ยิงผ่าน cell ที่ทึบ → โดน
+        double[] solid = firstSolidCell(mask, drawn);
+        Bullet hit = shootAt(600 + solid[0], 100 + solid[1]);
+        assertTrue(boss.checkBulletCollision(hit));
+        assertEquals(9, boss.getHealth());
+    }
+
+    @Test
+    public void testFastBulletHitsSolidCoreBeforeTransparentRim() {
+        // รูป 20x20: แกนทึบ 12x12 ตรงกลาง (ตรง cell 2 pixel) ขอบใสรอบ ๆ → วาด 500x500 ที่ (600, 100) แกนอยู่ x 700..1000
+        WritableImage image = new WritableImage(20, 20);
+        PixelWriter writer = image.getPixelWriter();
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 20; x++) {
+                boolean core = x >= 4 && x < 16 && y >= 4 && y < 16;
+                writer.setArgb(x, y, core ? 0xFFFF0000 : 0x00000000);
+            }
+        }
+        Boss3 boss = new Boss3(image, null, null, 600, 100, 10, new GameRandom(1));
+
+        // ⭐ tick เดียว: ศูนย์กลางจาก x=650 (ขอบใสซ้าย) ผ่านแกนทั้งหมดไปจบที่ x=1050 (ขอบใสขวา)
+        double half = Bullet.BULLET_SIZE / 2.0;
+        Bullet bullet = new Bullet(null, 650 - half, 350 - half, 400, 0, true);
+        bullet.step();
+        assertFalse(boss.isSolidAt(bullet.getCenterX(), bullet.getCenterY()), "Tick ends over the rim");
+
+        assertTrue(boss.checkBulletCollision(bullet));
+        assertEquals(9, boss.getHealth());
+        assertFalse(bullet.isActive());
+        assertEquals(700.0, bullet.getCenterX(), Hittable.SOLID_SAMPLE_STEP,
+                "Impact is the first solid cell on the path");
+    }
+
+    @Test
+    public void testMissingImageFallsBackToBox() {
+        Boss3 boss = new Boss3(null, null, null, 600, 100, 10, new GameRandom(1));
+        Bullet bullet = shootAt(605, 590);
+
+        assertTrue(boss.isSolidAt(1099, 599));
+        assertTrue(boss.checkBulletCollision(bullet));
+    }
+
+    /**
+     * กระสุนผู้เล่นที่เดินจากซ้ายเข้าหา (x, y) ใน tick เดียว (ศูนย์กลางจบที่ x)
+     */
+    private static Bullet shootAt(double x, double y) {
+        double half = Bullet.BULLET_SIZE / 2.0;
+        Bullet bullet = new Bullet(null, x - half - 20, y - half, 20, 0, true);
+        bullet.step();
+        return bullet;
+    }
+
+    /**
+     * จุดกลางของ cell ทึบแรกในแถวกลางของรูป (พิกัดในกรอบที่วาด)
+     */
+    private static double[] firstSolidCell(HitMask mask, double[] drawn) {
+        int row = mask.getRows() / 2;
+        for (int column = 0; column < mask.getColumns(); column++) {
+            if (mask.isSolid(column, row)) {
+                return new double[]{(column + 0.5) * drawn[0] / mask.getColumns(),
+                        (row + 0.5) * drawn[1] / mask.getRows()};
+            }
+        }
+        throw new AssertionError("No solid cell in the middle row");
+    }
+}
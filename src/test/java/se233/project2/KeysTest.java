@@ -0,0 +1,106 @@
+package se233.project2;
+
+import javafx.scene.input.KeyCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.project2.model.Keys;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Keys
+ * Tests held state, press edges, sub-frame taps and event ordering
+ */
+public class KeysTest {
+    private Keys keys;
+
+    @BeforeEach
+    public void setUp() {
+        keys = new Keys();
+    }
+
+    @Test
+    public void testHeldKeyIsPressed() {
+        keys.update(KeyCode.D, true);
+        keys.beginTick();
+        assertTrue(keys.isPressed(KeyCode.D));
+        assertFalse(keys.isPressed(KeyCode.A));
+
+        keys.update(KeyCode.D, false);
+        keys.beginTick();
+        assertFalse(keys.isPressed(KeyCode.D));
+    }
+
+    @Test
+    public void testTapShorterThanFrameIsNotLost() {
+        keys.beginTick();
+        // กดและปล่อยระหว่าง tick
+        keys.update(KeyCode.W, true, 100);
+        keys.update(KeyCode.W, false, 200);
+
+        keys.beginTick();
+        assertTrue(keys.isPressed(KeyCode.W), "A sub-frame tap should be visible for one tick");
+        assertTrue(keys.justPressed(KeyCode.W));
+        assertEquals(100, keys.getPressTime(KeyCode.W));
+
+        keys.beginTick();
+        assertFalse(keys.isPressed(KeyCode.W), "The tap should only last one tick");
+    }
+
+    @Test
+    public void testJustPressedOnlyOnFirstTick() {
+        keys.update(KeyCode.F, true);
+        keys.beginTick();
+        assertTrue(keys.justPressed(KeyCode.F));
+
+        // auto-repeat ไม่นับเป็นการกดใหม่
+        keys.update(KeyCode.F, true);
+        keys.beginTick();
+        assertFalse(keys.justPressed(KeyCode.F));
+        assertTrue(keys.isPressed(KeyCode.F));
+    }
+
+    @Test
+    public void testEventsDrainInOrder() {
+        keys.update(KeyCode.A, true, 10);
+        keys.update(KeyCode.SPACE, true, 20);
+        keys.update(KeyCode.A, false, 30);
+
+        List<String> events = new ArrayList<>();
+        keys.beginTick((code, pressed, time) -> events.add(code + ":" + pressed + "@" + time));
+
+        assertEquals(List.of("A:true@10", "SPACE:true@20", "A:false@30"), events);
+    }
+
+    @Test
+    public void testOverflowKeepsPressEdges() {
+        for (int i = 0; i < 200; i++) {
+            keys.update(KeyCode.A, true, i * 2);
+            keys.update(KeyCode.A, false, i * 2 + 1);
+        }
+        keys.update(KeyCode.W, true, 1000);
+        keys.update(KeyCode.W, false, 1001);
+
+        keys.beginTick();
+        assertTrue(keys.getDroppedEvents() > 0);
+        assertTrue(keys.justPressed(KeyCode.W), "Press edge should survive a full ring");
+    }
+
+    @Test
+    public void testClearDropsHeldAndQueuedKeys() {
+        keys.update(KeyCode.D, true);
+        keys.update(KeyCode.SPACE, true);
+        keys.clear();
+        keys.beginTick();
+
+        assertFalse(keys.isPressed(KeyCode.D), "Held key should be released by clear");
+        assertFalse(keys.justPressed(KeyCode.SPACE), "Queued press should be dropped by clear");
+
+        keys.update(KeyCode.D, true);
+        keys.beginTick();
+        assertTrue(keys.justPressed(KeyCode.D), "Keys should work normally after clear");
+    }
+}
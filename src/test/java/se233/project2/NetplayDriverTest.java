@@ -0,0 +1,101 @@
+package se233.project2;
+
+import org.junit.jupiter.api.Test;
+import se233.project2.controller.net.NetplayDriver;
+import se233.project2.controller.net.NetplaySimulation;
+import se233.project2.controller.net.RollbackBenchmark;
+import se233.project2.controller.net.RollbackSession;
+
+import java.net.DatagramSocket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the netplay launch mode
+ * Tests spec parsing and two drivers playing over 127.0.0.1 with latency and loss
+ */
+public class NetplayDriverTest {
+
+    @Test
+    public void testSpecDefaults() {
+        NetplayDriver driver = NetplayDriver.fromSpec("7000:127.0.0.1:7001:1");
+        assertEquals(1, driver.getLocalPlayer());
+        assertEquals(1, driver.getSeed());
+    }
+
+    @Test
+    public void testSpecWithSeedAndLink() {
+        NetplayDriver driver = NetplayDriver.fromSpec(" 7000:localhost:7001:0:42:80:0.1 ");
+        assertEquals(0, driver.getLocalPlayer());
+        assertEquals(42, driver.getSeed());
+    }
+
+    @Test
+    public void testInvalidSpecIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> NetplayDriver.fromSpec("7000:127.0.0.1"));
+        assertThrows(IllegalArgumentException.class, () -> NetplayDriver.fromSpec("7000:127.0.0.1:7001:2"));
+        assertThrows(IllegalArgumentException.class, () -> NetplayDriver.fromSpec("x:127.0.0.1:7001:0"));
+    }
+
+    @Test
+    public void testStartIfRequestedWithoutSpecIsOff() {
+        assertNull(NetplayDriver.startIfRequested(null));
+        assertNull(NetplayDriver.getInstance());
+    }
+
+    @Test
+    public void testDriversConfirmSameStateOverLoopback() throws Exception {
+        int[] ports = freePorts();
+        NetplayDriver[] drivers = {
+                NetplayDriver.fromSpec(ports[0] + ":127.0.0.1:" + ports[1] + ":0:7:30:0.1"),
+                NetplayDriver.fromSpec(ports[1] + ":127.0.0.1:" + ports[0] + ":1:7:30:0.1")
+        };
+        NetplaySimulation[] sims = new NetplaySimulation[drivers.length];
+        int ticks = 180;
+        try {
+            for (int p = 0; p < drivers.length; p++) {
+                sims[p] = new NetplaySimulation(1, NetplaySimulation.Mode.COOP);
+                drivers[p].attach(sims[p], RollbackSession.DEFAULT_STATE_CAPACITY);
+            }
+
+            boolean done = false;
+            for (long frame = 0; frame < ticks * 50L && !done; frame++) {
+                long now = frame * 1000 / 60;
+                done = true;
+                for (int p = 0; p < drivers.length; p++) {
+                    RollbackSession session = drivers[p].getSession();
+                    if (session.getCurrentTick() < ticks) {
+                        drivers[p].tick(RollbackBenchmark.botInput(p, session.getCurrentTick(), 7), now);
+                    } else {
+                        drivers[p].service(now);
+                    }
+                    done &= drivers[p].isConfirmed(ticks - 1);
+                }
+                LockSupport.parkNanos(100_000);
+            }
+
+            assertTrue(done, "Both peers must confirm every tick");
+            assertFalse(drivers[0].isDisconnected(0));
+            assertArrayEquals(stateOf(sims[0]), stateOf(sims[1]));
+        } finally {
+            for (NetplayDriver driver : drivers) driver.close();
+        }
+    }
+
+    private static int[] freePorts() throws Exception {
+        try (DatagramSocket a = new DatagramSocket(0); DatagramSocket b = new DatagramSocket(0)) {
+            return new int[]{a.getLocalPort(), b.getLocalPort()};
+        }
+    }
+
+    private static byte[] stateOf(NetplaySimulation sim) {
+        ByteBuffer buffer = ByteBuffer.allocate(RollbackSession.DEFAULT_STATE_CAPACITY);
+        sim.saveState(buffer);
+        buffer.flip();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
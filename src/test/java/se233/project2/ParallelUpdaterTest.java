@@ -0,0 +1,76 @@
+package se233.project2;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import se233.project2.controller.ParallelUpdater;
+import se233.project2.model.GameRandom;
+import se233.project2.model.enemy.SecondTierEnemy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ParallelUpdater
+ * Tests that the parallel compute/apply split matches the sequential update
+ */
+public class ParallelUpdaterTest {
+    private static final long TICK = 16_666_666;
+    private static final int ENEMIES = 200;
+
+    private final int originalThreshold = ParallelUpdater.getThreshold();
+
+    @AfterEach
+    public void tearDown() {
+        ParallelUpdater.setThreshold(originalThreshold);
+    }
+
+    private List<SecondTierEnemy> createEnemies() {
+        List<SecondTierEnemy> enemies = new ArrayList<>();
+        for (int i = 0; i < ENEMIES; i++) {
+            enemies.add(new SecondTierEnemy(null, null, 700 + (i % 50) * 10, 100 + (i % 40) * 10,
+                    700, 1230, 100, 500, 5, new GameRandom(1)));
+        }
+        return enemies;
+    }
+
+    private void run(List<SecondTierEnemy> enemies, int ticks) {
+        long now = 0;
+        for (int i = 0; i < ticks; i++) {
+            now += TICK;
+            ParallelUpdater.update(enemies, now);
+        }
+    }
+
+    @Test
+    public void testParallelMatchesSequentialMovement() {
+        List<SecondTierEnemy> sequential = createEnemies();
+        List<SecondTierEnemy> parallel = createEnemies();
+
+        ParallelUpdater.setThreshold(Integer.MAX_VALUE);
+        run(sequential, 120);
+        ParallelUpdater.setThreshold(1);
+        run(parallel, 120);
+
+        for (int i = 0; i < ENEMIES; i++) {
+            assertEquals(sequential.get(i).getX(), parallel.get(i).getX(), 1e-9);
+            assertEquals(sequential.get(i).getY(), parallel.get(i).getY(), 1e-9);
+            assertEquals(parallel.get(i).getX(), parallel.get(i).getTranslateX(), 1e-9,
+                    "Apply phase should sync the node position");
+        }
+    }
+
+    @Test
+    public void testParallelPathFiresBullets() {
+        List<SecondTierEnemy> enemies = createEnemies();
+        ParallelUpdater.setThreshold(1);
+        run(enemies, 100);
+
+        int bullets = 0;
+        for (SecondTierEnemy enemy : enemies) {
+            bullets += enemy.getBullets().size();
+        }
+        assertTrue(bullets > 0, "Shots decided in compute should be created in apply");
+    }
+}
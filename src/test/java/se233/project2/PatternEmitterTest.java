@@ -0,0 +1,131 @@
+package se233.project2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.project2.model.GameRandom;
+import se233.project2.model.pattern.BulletPattern;
+import se233.project2.model.pattern.PatternEmitter;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the bullet pattern engine
+ * Tests ring, fan, aimed and line patterns plus delayed repeats
+ */
+public class PatternEmitterTest {
+    private static final double EPSILON = 1e-9;
+
+    private List<double[]> spawned;
+    private PatternEmitter emitter;
+
+    @BeforeEach
+    public void setUp() {
+        spawned = new ArrayList<>();
+        emitter = new PatternEmitter("test", (x, y, vx, vy) -> spawned.add(new double[]{x, y, vx, vy}), new Random(1));
+    }
+
+    @Test
+    public void testRingSpreadsEvenly() {
+        emitter.emit(BulletPattern.ring(8, 8, 0), 100, 100);
+
+        assertEquals(8, spawned.size());
+        assertEquals(8, spawned.get(0)[2], EPSILON);   // 0°
+        assertEquals(0, spawned.get(0)[3], EPSILON);
+        assertEquals(0, spawned.get(2)[2], EPSILON);   // 90°
+        assertEquals(8, spawned.get(2)[3], EPSILON);
+        assertEquals(-8, spawned.get(4)[2], EPSILON);  // 180°
+        for (double[] b : spawned) {
+            assertEquals(8, Math.hypot(b[2], b[3]), EPSILON);
+        }
+    }
+
+    @Test
+    public void testAimedPointsAtTarget() {
+        emitter.emit(BulletPattern.aimed(1, 5), 0, 0, 30, 40);
+
+        assertEquals(1, spawned.size());
+        assertEquals(3, spawned.get(0)[2], EPSILON);
+        assertEquals(4, spawned.get(0)[3], EPSILON);
+    }
+
+    @Test
+    public void testFanIsSymmetricAroundAim() {
+        emitter.emit(BulletPattern.fan(3, 10, 90), 0, 0, 100, 0);
+
+        assertEquals(3, spawned.size());
+        assertEquals(10, spawned.get(1)[2], EPSILON);
+        assertEquals(0, spawned.get(1)[3], EPSILON);
+        assertEquals(-spawned.get(0)[3], spawned.get(2)[3], EPSILON);
+        assertEquals(10 * Math.cos(Math.toRadians(45)), spawned.get(0)[2], EPSILON);
+    }
+
+    @Test
+    public void testLineSpacingAndVelocityStep() {
+        emitter.emit(BulletPattern.line(3, -7, -2).spacing(0, 20).velocityStep(0, 1), 50, 100);
+
+        assertEquals(80, spawned.get(0)[1], EPSILON);
+        assertEquals(100, spawned.get(1)[1], EPSILON);
+        assertEquals(120, spawned.get(2)[1], EPSILON);
+        assertEquals(-3, spawned.get(0)[3], EPSILON);
+        assertEquals(-1, spawned.get(2)[3], EPSILON);
+        assertEquals(-7, spawned.get(1)[2], EPSILON);
+    }
+
+    @Test
+    public void testDelayedRepeatsFireOnSchedule() {
+        emitter.emit(BulletPattern.random(5, 7).repeat(3, 10), 0, 0);
+        assertEquals(5, spawned.size(), "First volley fires immediately");
+        assertEquals(1, emitter.getPendingCount());
+
+        for (int i = 0; i < 9; i++) emitter.update();
+        assertEquals(5, spawned.size());
+        emitter.update();
+        assertEquals(10, spawned.size());
+
+        for (int i = 0; i < 10; i++) emitter.update();
+        assertEquals(15, spawned.size());
+        assertEquals(0, emitter.getPendingCount());
+    }
+
+    @Test
+    public void testRepeatWithoutDelayFiresTogether() {
+        emitter.emit(BulletPattern.random(5, 7).repeat(3, 0), 0, 0);
+        assertEquals(15, spawned.size());
+        assertEquals(0, emitter.getPendingCount());
+    }
+
+    @Test
+    public void testPendingRepeatsReplayAfterLoad() {
+        GameRandom random = new GameRandom(5);
+        PatternEmitter seeded = new PatternEmitter("test", (x, y, vx, vy) -> spawned.add(new double[]{x, y, vx, vy}), random);
+        seeded.emit(BulletPattern.random(4, 6).repeat(4, 3), 10, 20);
+        seeded.emit(BulletPattern.aimed(2, 5).repeat(2, 7), 0, 0, 50, 50);
+        seeded.update();
+
+        ByteBuffer state = ByteBuffer.allocate(1024);
+        seeded.saveState(state);
+        random.saveState(state);
+        state.flip();
+
+        int before = spawned.size();
+        for (int i = 0; i < 20; i++) seeded.update();
+        List<double[]> expected = new ArrayList<>(spawned.subList(before, spawned.size()));
+        assertEquals(0, seeded.getPendingCount());
+
+        seeded.loadState(state);
+        random.loadState(state);
+        assertEquals(2, seeded.getPendingCount());
+        spawned.clear();
+        for (int i = 0; i < 20; i++) seeded.update();
+
+        assertEquals(expected.size(), spawned.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), spawned.get(i), EPSILON);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package se233.project2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.project2.controller.PulseProfiler;
+import se233.project2.controller.PulseProfiler.Phase;
+import se233.project2.controller.TelemetrySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PulseProfiler
+ * Tests phase splitting, per-stage buckets and spike attribution with synthetic pulse timestamps
+ */
+public class PulseProfilerTest {
+    private static final long MS = 1_000_000;
+
+    private PulseProfiler profiler;
+    private int stage = 1;
+    private int nodes = 40;
+
+    @BeforeEach
+    public void setUp() {
+        profiler = new PulseProfiler();
+        profiler.setSource(new TelemetrySource() {
+            @Override public int getTelemetryStage() { return stage; }
+            @Override public int getEnemyCount() { return 0; }
+            @Override public int getBossCount() { return 0; }
+            @Override public int getPlayerProjectileCount() { return 0; }
+            @Override public int getEnemyProjectileCount() { return 0; }
+            @Override public int getNodeCount() { return nodes; }
+        });
+    }
+
+    /**
+     * pulse หนึ่งครั้ง: simulation อยู่ในช่วง animation (ms ทั้งหมด, simulation < 0 = ไม่มี tick)
+     */
+    private void pulse(long start, long animation, long simulation, long cssLayout, long syncRender) {
+        profiler.beginPulse(start * MS);
+        if (simulation >= 0) profiler.recordSimulation(simulation * MS);
+        long pre = (start + animation) * MS;
+        profiler.markPreLayout(pre);
+        profiler.markPostLayout(pre + cssLayout * MS);
+        profiler.endPulse(pre + (cssLayout + syncRender) * MS);
+    }
+
+    @Test
+    public void testPhasesAreSplit() {
+        pulse(0, 5, 4, 2, 3);
+        pulse(17, 5, 4, 2, 3);
+
+        assertEquals(2, profiler.getPulseCount(1));
+        assertEquals(4.0, profiler.getPhaseMeanMillis(1, Phase.SIMULATION), 1e-9);
+        assertEquals(1.0, profiler.getPhaseMeanMillis(1, Phase.ANIMATION), 1e-9, "Animation excludes simulation");
+        assertEquals(2.0, profiler.getPhaseMeanMillis(1, Phase.CSS_LAYOUT), 1e-9);
+        assertEquals(3.0, profiler.getPhaseMeanMillis(1, Phase.SYNC_RENDER), 1e-9);
+        assertEquals(40.0, profiler.getNodeMean(1), 1e-9);
+        assertEquals(0, profiler.getSpikeCount(1));
+    }
+
+    @Test
+    public void testPulsesWithoutSimulationGoToStageZero() {
+        pulse(0, 1, -1, 1, 1);
+        stage = 2;
+        pulse(17, 3, 2, 1, 1);
+
+        assertEquals(1, profiler.getPulseCount(0));
+        assertEquals(1, profiler.getPulseCount(2));
+        assertEquals(0, profiler.getPulseCount(1));
+    }
+
+    @Test
+    public void testSpikesAreAttributedToDominantPhase() {
+        pulse(0, 20, 18, 1, 1);     // simulation
+        nodes = 900;
+        pulse(40, 2, 1, 3, 25);     // sync / render
+        pulse(80, 2, 1, 12, 2);     // ไม่เกิน frame
+
+        assertEquals(2, profiler.getSpikeCount(1));
+        assertEquals(1, profiler.getSpikeCount(1, Phase.SIMULATION));
+        assertEquals(1, profiler.getSpikeCount(1, Phase.SYNC_RENDER));
+        assertEquals(0, profiler.getSpikeCount(1, Phase.CSS_LAYOUT));
+        assertEquals(12 * MS, profiler.getPhaseMax(1, Phase.CSS_LAYOUT));
+    }
+
+    @Test
+    public void testIncompletePulseIsIgnored() {
+        profiler.beginPulse(0);
+        profiler.endPulse(5 * MS);
+        assertEquals(0, profiler.getPulseCount(0));
+        assertNull(profiler.summarize(0));
+    }
+
+    @Test
+    public void testSummaryLine() {
+        pulse(0, 5, 4, 2, 3);
+        String line = profiler.summarize(1);
+        assertTrue(line.startsWith("PULSE stage=1 pulses=1 "));
+        assertTrue(line.contains("simulationMeanMs=4.000"));
+        assertTrue(line.contains("css_layoutMeanMs=2.000"));
+        assertTrue(line.contains("nodesMax=40"));
+    }
+}
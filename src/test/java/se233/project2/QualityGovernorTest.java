@@ -0,0 +1,120 @@
+package se233.project2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.project2.controller.GameLoop;
+import se233.project2.controller.QualityGovernor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QualityGovernor
+ * Tests step-down under sustained pressure, hysteresis, restore order and the loop's pulse measurement
+ */
+public class QualityGovernorTest {
+    private static final long FRAME = QualityGovernor.FRAME_BUDGET;
+
+    private QualityGovernor governor;
+
+    @BeforeEach
+    public void setUp() {
+        governor = QualityGovernor.getInstance();
+        governor.setEnabled(true);
+        governor.reset();
+    }
+
+    private void feed(int frames, long updateNanos, long pulseNanos) {
+        for (int i = 0; i < frames; i++) {
+            governor.recordFrame(updateNanos, pulseNanos);
+        }
+    }
+
+    @Test
+    public void testStartsAtFullQuality() {
+        assertEquals(QualityGovernor.Level.FULL, governor.getLevel());
+        assertEquals(1, governor.getAnimationFrameSkip());
+        assertTrue(governor.isSmoothingEnabled());
+        assertTrue(governor.isWeaponFlashEnabled());
+        assertEquals(1, governor.getHudRefreshInterval());
+    }
+
+    @Test
+    public void testShortSpikeDoesNotStepDown() {
+        feed(20, 30_000_000, 40_000_000);
+        feed(200, 2_000_000, FRAME);
+
+        assertEquals(QualityGovernor.Level.FULL, governor.getLevel(), "A short spike should not change quality");
+    }
+
+    @Test
+    public void testSustainedPressureStepsDownInOrder() {
+        feed(100, 14_000_000, 25_000_000);
+        assertEquals(QualityGovernor.Level.REDUCED_EXPLOSIONS, governor.getLevel());
+        assertTrue(governor.isReducedExplosions());
+        assertEquals(1, governor.getAnimationFrameSkip(), "Animation should not be reduced yet");
+
+        feed(200, 14_000_000, 25_000_000);
+        assertEquals(QualityGovernor.Level.REDUCED_ANIMATION, governor.getLevel());
+        assertEquals(2, governor.getAnimationFrameSkip());
+    }
+
+    @Test
+    public void testNeverStepsBelowLowestLevel() {
+        feed(5000, 30_000_000, 40_000_000);
+
+        assertEquals(QualityGovernor.Level.REDUCED_HUD, governor.getLevel());
+        assertFalse(governor.isWeaponFlashEnabled());
+        assertEquals(4, governor.getHudRefreshInterval());
+    }
+
+    @Test
+    public void testRestoresWithHeadroom() {
+        feed(100, 14_000_000, 25_000_000);
+        assertEquals(QualityGovernor.Level.REDUCED_EXPLOSIONS, governor.getLevel());
+
+        // Moderate frames (neither pressure nor headroom) keep the current level
+        feed(600, 7_000_000, FRAME);
+        assertEquals(QualityGovernor.Level.REDUCED_EXPLOSIONS, governor.getLevel(), "Hysteresis band should hold the level");
+
+        feed(600, 1_000_000, FRAME);
+        assertEquals(QualityGovernor.Level.FULL, governor.getLevel());
+    }
+
+    @Test
+    public void testDisabledGovernorKeepsLevel() {
+        governor.setEnabled(false);
+        feed(1000, 30_000_000, 40_000_000);
+
+        assertEquals(QualityGovernor.Level.FULL, governor.getLevel());
+        governor.setEnabled(true);
+    }
+
+    /**
+     * เดิน GameLoop ด้วย pulse ตามช่วงห่างที่ให้ วนซ้ำจนครบ pulses ครั้ง
+     */
+    private void pulse(GameLoop loop, int pulses, long... intervals) {
+        long now = 1_000_000_000L;
+        for (int i = 0; i < pulses; i++) {
+            now += intervals[i % intervals.length];
+            loop.handle(now);
+        }
+    }
+
+    @Test
+    public void testPulseJitterDoesNotDegrade() {
+        // pulse มาเร็วกว่า FRAME_TIME นิดหน่อยสลับกับ vsync ที่หลุดไป 1 ครั้ง:
+        // gate ข้าม pulse → ช่วงระหว่าง update เป็น 16.7/33ms ปนกัน แต่ไม่มีโหลดจริง
+        GameLoop loop = new GameLoop(now -> { });
+        pulse(loop, 2000, 16_400_000, 16_900_000, 16_700_000, 33_300_000, 16_700_000, 16_700_000);
+
+        assertEquals(QualityGovernor.Level.FULL, governor.getLevel(), "Jitter on a healthy display should not degrade");
+    }
+
+    @Test
+    public void testSustainedSlowPulsesStillDegrade() {
+        GameLoop loop = new GameLoop(now -> { });
+        pulse(loop, 200, 33_300_000);
+
+        assertEquals(QualityGovernor.Level.REDUCED_EXPLOSIONS, governor.getLevel());
+    }
+}
@@ -0,0 +1,184 @@
+package se233.project2;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.project2.controller.net.NetplaySimulation;
+import se233.project2.controller.net.RollbackBenchmark;
+import se233.project2.controller.replay.ReplayPlayer;
+import se233.project2.controller.replay.ReplayReader;
+import se233.project2.controller.replay.ReplayRecorder;
+import se233.project2.controller.replay.ReplayWriter;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for replay files
+ * Tests keyframe seeking, in-segment scrubbing, header fields and recovery without a footer
+ */
+public class ReplayTest {
+    private static final int TICKS = 450;
+    private static final int INTERVAL = 60;
+    private static final long SEED = 42;
+
+    private Path file;
+    private ByteBuffer[] states;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        file = Files.createTempFile("replay", ".rpl");
+        states = new ByteBuffer[TICKS + 1];
+
+        NetplaySimulation sim = newSimulation();
+        int[] inputs = new int[2];
+        try (ReplayWriter writer = ReplayWriter.create(file, 2, SEED, 1, INTERVAL, 4096)) {
+            for (int tick = 0; tick < TICKS; tick++) {
+                states[tick] = stateOf(sim);
+                inputs[0] = RollbackBenchmark.botInput(0, tick, SEED);
+                inputs[1] = RollbackBenchmark.botInput(1, tick, SEED);
+                writer.record(tick, inputs, sim);
+                sim.advance(inputs);
+            }
+        }
+        states[TICKS] = stateOf(sim);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    private static NetplaySimulation newSimulation() {
+        return new NetplaySimulation(1, NetplaySimulation.Mode.VERSUS);
+    }
+
+    private static ByteBuffer stateOf(NetplaySimulation sim) {
+        ByteBuffer state = ByteBuffer.allocate(4096);
+        sim.saveState(state);
+        return state.flip();
+    }
+
+    @Test
+    public void testHeaderAndIndex() throws Exception {
+        try (ReplayReader reader = ReplayReader.open(file)) {
+            assertEquals(2, reader.getPlayers());
+            assertEquals(SEED, reader.getSeed());
+            assertEquals(1, reader.getStage());
+            assertEquals(TICKS, reader.getTickCount());
+            assertEquals(8, reader.getKeyframeCount());
+            assertFalse(reader.isRecovered());
+
+            int[] inputs = new int[2];
+            reader.readInputs(137, inputs);
+            assertEquals(RollbackBenchmark.botInput(0, 137, SEED), inputs[0]);
+            assertEquals(RollbackBenchmark.botInput(1, 137, SEED), inputs[1]);
+        }
+    }
+
+    @Test
+    public void testSeekRestoresExactState() throws Exception {
+        try (ReplayReader reader = ReplayReader.open(file)) {
+            NetplaySimulation sim = newSimulation();
+            for (int tick : new int[]{0, 1, 59, 60, 61, 299, 420, TICKS - 1, TICKS}) {
+                int simulated = reader.seek(sim, tick);
+                assertTrue(simulated < INTERVAL, "Seek simulates at most one keyframe interval");
+                assertEquals(states[tick], stateOf(sim), "State at tick " + tick);
+            }
+            assertThrows(IllegalArgumentException.class, () -> reader.seek(sim, TICKS + 1));
+        }
+    }
+
+    @Test
+    public void testPlayerScrubsForwardWithoutRestoring() throws Exception {
+        try (ReplayReader reader = ReplayReader.open(file)) {
+            NetplaySimulation sim = newSimulation();
+            ReplayPlayer player = new ReplayPlayer(reader, sim);
+
+            player.seek(130);
+            long afterJump = player.getSimulatedTicks();
+            assertEquals(10, afterJump, "Jump restores keyframe 120 then simulates 10 ticks");
+
+            player.seek(150);
+            assertEquals(afterJump + 20, player.getSimulatedTicks(), "Same segment continues forward");
+            assertEquals(states[150], stateOf(sim));
+
+            player.seek(30);
+            assertEquals(states[30], stateOf(sim), "Seeking backwards restores a keyframe");
+
+            while (player.stepForward()) { }
+            assertEquals(TICKS, player.getTick());
+            assertEquals(states[TICKS], stateOf(sim));
+        }
+    }
+
+    @Test
+    public void testFileWithoutFooterIsRecovered() throws Exception {
+        byte[] bytes = Files.readAllBytes(file);
+        // ตัด footer ทิ้งและตัดกลาง segment สุดท้าย เหมือนเกมปิดกลางการเขียน
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 8 * 12 - 12 - 7));
+
+        try (ReplayReader reader = ReplayReader.open(file)) {
+            assertTrue(reader.isRecovered());
+            assertTrue(reader.getTickCount() < TICKS && reader.getTickCount() > 420);
+
+            NetplaySimulation sim = newSimulation();
+            reader.seek(sim, 400);
+            assertEquals(states[400], stateOf(sim));
+        }
+    }
+
+    @Test
+    public void testTicksMustBeRecordedInOrder() throws Exception {
+        Path other = Files.createTempFile("replay", ".rpl");
+        try (ReplayWriter writer = ReplayWriter.create(other, 2, SEED, 1, INTERVAL, 4096)) {
+            NetplaySimulation sim = newSimulation();
+            writer.record(0, new int[2], sim);
+            assertThrows(IllegalArgumentException.class, () -> writer.record(2, new int[2], sim));
+        } finally {
+            Files.deleteIfExists(other);
+        }
+    }
+
+    @Test
+    public void testRecorderWritesOneFilePerRun() throws Exception {
+        Path dir = Files.createTempDirectory("replays");
+        Path first = dir.resolve("run.rpl");
+        Path second = dir.resolve("run-2.rpl");
+        try {
+            ReplayRecorder recorder = new ReplayRecorder(first, SEED);
+            NetplaySimulation sim = newSimulation();
+            for (int tick = 0; tick < 400; tick++) {
+                recorder.record(tick & 0xFF, 1, sim);
+            }
+            recorder.endRun();
+            for (int tick = 0; tick < 10; tick++) {
+                recorder.record(7, 2, sim);
+            }
+            recorder.endRun();
+
+            try (ReplayReader reader = ReplayReader.open(first)) {
+                assertEquals(1, reader.getPlayers());
+                assertEquals(SEED, reader.getSeed());
+                assertEquals(400, reader.getTickCount());
+                assertEquals(2, reader.getKeyframeCount());
+                int[] inputs = new int[1];
+                reader.readInputs(321, inputs);
+                assertEquals(321 & 0xFF, inputs[0]);
+            }
+            try (ReplayReader reader = ReplayReader.open(second)) {
+                assertEquals(2, reader.getStage());
+                assertEquals(10, reader.getTickCount());
+                assertFalse(reader.isRecovered());
+            }
+        } finally {
+            Files.deleteIfExists(first);
+            Files.deleteIfExists(second);
+            Files.deleteIfExists(dir);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package se233.project2;
+
+import org.junit.jupiter.api.Test;
+import se233.project2.controller.net.InputBits;
+import se233.project2.controller.net.LinkSimulator;
+import se233.project2.controller.net.NetplaySimulation;
+import se233.project2.controller.net.RollbackBenchmark;
+import se233.project2.controller.net.RollbackSession;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for rollback netcode
+ * Tests misprediction correction, stalling, the link simulator and a UDP loopback session
+ */
+public class RollbackSessionTest {
+
+    private static NetplaySimulation newSimulation() {
+        return new NetplaySimulation(1, NetplaySimulation.Mode.VERSUS);
+    }
+
+    @Test
+    public void testRollbackMatchesSimulationWithTrueInputs() {
+        NetplaySimulation reference = newSimulation();
+        NetplaySimulation predicted = newSimulation();
+        RollbackSession session = new RollbackSession(predicted, 0);
+        int[] frame = new int[2];
+
+        int remoteInput = InputBits.LEFT | InputBits.SHOOT;
+        for (int tick = 0; tick < 6; tick++) {
+            int local = RollbackBenchmark.botInput(0, tick, 5);
+            assertTrue(session.advance(local));
+            frame[0] = local;
+            frame[1] = remoteInput;
+            reference.advance(frame);
+        }
+        assertFalse(RollbackBenchmark.sameState(reference, predicted), "Remote was predicted as idle");
+
+        for (int tick = 0; tick < 6; tick++) {
+            session.receiveRemote(tick, remoteInput);
+        }
+        session.reconcile();
+
+        assertTrue(RollbackBenchmark.sameState(reference, predicted));
+        assertEquals(1, session.getRollbackCount());
+        assertEquals(6, session.getMaxRollbackDepth());
+        assertEquals(5, session.getConfirmedTick());
+    }
+
+    @Test
+    public void testCorrectPredictionDoesNotRollBack() {
+        RollbackSession session = new RollbackSession(newSimulation(), 1);
+        for (int tick = 0; tick < 4; tick++) {
+            session.advance(InputBits.RIGHT);
+        }
+        for (int tick = 0; tick < 4; tick++) {
+            session.receiveRemote(tick, 0);  // ตรงกับที่เดา (idle)
+        }
+        session.reconcile();
+        assertEquals(0, session.getRollbackCount());
+        assertEquals(3, session.getConfirmedRemoteTick());
+    }
+
+    @Test
+    public void testStallsWhenRemoteFallsTooFarBehind() {
+        RollbackSession session = new RollbackSession(newSimulation(), 0, 4, RollbackSession.DEFAULT_STATE_CAPACITY);
+        for (int tick = 0; tick < 4; tick++) {
+            assertTrue(session.advance(0));
+        }
+        assertFalse(session.advance(0), "Cannot predict more than maxRollback ticks");
+        assertEquals(1, session.getStallCount());
+
+        session.receiveRemote(0, 0);
+        assertTrue(session.advance(0));
+        assertEquals(5, session.getCurrentTick());
+    }
+
+    @Test
+    public void testOutOfOrderRemoteInputsConfirmContiguously() {
+        RollbackSession session = new RollbackSession(newSimulation(), 0);
+        for (int tick = 0; tick < 3; tick++) {
+            session.advance(0);
+        }
+        session.receiveRemote(2, 0);
+        assertEquals(-1, session.getConfirmedRemoteTick());
+        session.receiveRemote(0, 0);
+        session.receiveRemote(1, 0);
+        assertEquals(2, session.getConfirmedRemoteTick());
+    }
+
+    @Test
+    public void testLinkSimulatorDelaysAndDrops() throws Exception {
+        LinkSimulator link = new LinkSimulator(40, 0, 0.5, 11);
+        ByteBuffer packet = ByteBuffer.allocate(4);
+        for (int i = 0; i < 100; i++) {
+            packet.clear();
+            packet.putInt(i).flip();
+            link.offer(packet, 0);
+        }
+        assertTrue(link.getDropped() > 20 && link.getDropped() < 80, "About half should be lost");
+
+        List<Integer> delivered = new ArrayList<>();
+        link.flush(39, p -> delivered.add(p.getInt()));
+        assertTrue(delivered.isEmpty(), "Nothing arrives before the latency");
+        link.flush(40, p -> delivered.add(p.getInt()));
+        assertEquals(100 - link.getDropped(), delivered.size());
+        for (int i = 1; i < delivered.size(); i++) {
+            assertTrue(delivered.get(i) > delivered.get(i - 1), "Without jitter packets stay in order");
+        }
+    }
+
+    @Test
+    public void testLoopbackPeersStayInSync() throws Exception {
+        RollbackBenchmark.LoopbackResult result = RollbackBenchmark.runLoopback(240, 8, 30, 10, 0.1, 3);
+        assertTrue(result.inSync, "Both peers must end in the same state");
+        for (RollbackSession session : result.sessions) {
+            assertEquals(239, session.getConfirmedTick());
+        }
+    }
+}
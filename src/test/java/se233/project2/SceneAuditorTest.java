@@ -0,0 +1,91 @@
+package se233.project2;
+
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.project2.model.GameRandom;
+import se233.project2.model.enemy.RegularEnemy;
+import se233.project2.view.EnemyHandler;
+import se233.project2.view.SceneAuditor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SceneAuditor
+ * Tests orphan detection, dead-but-attached entities, detached nodes and growth trends
+ */
+public class SceneAuditorTest {
+    private Pane gamePane;
+    private EnemyHandler enemyHandler;
+    private SceneAuditor auditor;
+
+    @BeforeEach
+    public void setUp() {
+        gamePane = new Pane();
+        enemyHandler = new EnemyHandler(gamePane, new GameRandom(1), null, null, null, null);
+        enemyHandler.spawnStage1Enemies();
+        auditor = new SceneAuditor(10);
+    }
+
+    private SceneAuditor.Report audit() {
+        enemyHandler.trackNodes(auditor);
+        return auditor.audit(gamePane);
+    }
+
+    @Test
+    public void testTrackedSceneIsClean() {
+        SceneAuditor.Report report = audit();
+        assertTrue(report.isClean());
+        assertEquals(3, report.getChildCount());
+    }
+
+    @Test
+    public void testOrphanNodeIsReported() {
+        gamePane.getChildren().add(new Rectangle(10, 10));
+
+        SceneAuditor.Report report = audit();
+        assertEquals(1, report.getOrphanCount());
+        assertEquals(Integer.valueOf(1), report.getOrphansByType().get("Rectangle"));
+    }
+
+    @Test
+    public void testDeadEnemyStillAttachedIsReported() {
+        RegularEnemy enemy = enemyHandler.getRegularEnemies().get(0);
+        enemy.takeDamage(100);
+
+        SceneAuditor.Report report = audit();
+        assertEquals(1, report.getDeadAttachedCount());
+        assertEquals(Integer.valueOf(1), report.getDeadByType().get("RegularEnemy"));
+        assertEquals(0, report.getOrphanCount());
+    }
+
+    @Test
+    public void testDetachedEntityIsReported() {
+        gamePane.getChildren().remove(enemyHandler.getRegularEnemies().get(1));
+
+        assertEquals(1, audit().getDetachedCount());
+    }
+
+    @Test
+    public void testSteadyGrowthIsReported() {
+        for (int i = 0; i < 5; i++) {
+            gamePane.getChildren().add(new Rectangle(1, 1));
+            assertFalse(audit().isGrowing(), "Growth needs several audits in a row");
+        }
+        gamePane.getChildren().add(new Rectangle(1, 1));
+        assertTrue(audit().isGrowing());
+
+        auditor.resetTrend();
+        assertFalse(audit().isGrowing());
+    }
+
+    @Test
+    public void testTickFiresEveryInterval() {
+        int fired = 0;
+        for (int i = 0; i < 35; i++) {
+            if (auditor.tick()) fired++;
+        }
+        assertEquals(3, fired);
+    }
+}
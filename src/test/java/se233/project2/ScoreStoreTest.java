@@ -0,0 +1,212 @@
+package se233.project2;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.project2.model.ScoreStore;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ScoreStore
+ * Tests persistence across reopen, top-K ordering, recovery from torn writes, concurrent readers
+ * and the non-blocking main store accessor
+ */
+public class ScoreStoreTest {
+    private Path file;
+    private ScoreStore store;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        file = Files.createTempFile("scores", ".dat");
+        store = ScoreStore.open(file);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (store != null) store.close();
+        Files.deleteIfExists(file);
+    }
+
+    private ScoreStore reopen() throws Exception {
+        store.close();
+        store = ScoreStore.open(file);
+        return store;
+    }
+
+    @Test
+    public void testResultsSurviveReopen() throws Exception {
+        store.record(1500, 2, false);
+        store.record(4200, 3, true);
+        store.flush();
+
+        reopen();
+        assertEquals(2, store.getRunCount());
+        assertEquals(4200, store.getBestScore());
+
+        List<ScoreStore.Entry> top = store.getTopScores(10);
+        assertEquals(2, top.size());
+        assertEquals(4200, top.get(0).getScore());
+        assertTrue(top.get(0).isCompleted());
+        assertEquals(1500, top.get(1).getScore());
+        assertEquals(2, top.get(1).getStage());
+    }
+
+    @Test
+    public void testTopScoresSortedAndBounded() {
+        for (int i = 0; i < ScoreStore.TOP_K + 50; i++) {
+            store.record((i * 37) % 1000, 1, false);
+        }
+        store.flush();
+
+        List<ScoreStore.Entry> top = store.getTopScores(ScoreStore.TOP_K);
+        assertEquals(ScoreStore.TOP_K, top.size());
+        for (int i = 1; i < top.size(); i++) {
+            assertTrue(top.get(i - 1).getScore() >= top.get(i).getScore(), "Top scores must be sorted");
+        }
+        assertEquals(999, top.get(0).getScore());
+    }
+
+    @Test
+    public void testRecentRunsNewestFirst() {
+        store.record(10, 1, false);
+        store.record(20, 1, false);
+        store.record(30, 2, false);
+
+        List<ScoreStore.Entry> recent = store.getRecentRuns(2);
+        assertEquals(2, recent.size());
+        assertEquals(30, recent.get(0).getScore());
+        assertEquals(20, recent.get(1).getScore());
+    }
+
+    @Test
+    public void testCorruptHeadersRebuiltFromJournal() throws Exception {
+        store.record(700, 1, false);
+        store.record(900, 2, false);
+        store.close();
+        store = null;
+
+        // ทำลาย header ทั้งสอง slot
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(0);
+            raf.write(new byte[8192]);
+        }
+
+        store = ScoreStore.open(file);
+        assertEquals(2, store.getRunCount());
+        assertEquals(900, store.getTopScores(1).get(0).getScore());
+    }
+
+    @Test
+    public void testTornRecordIgnored() throws Exception {
+        store.record(500, 1, false);
+        store.close();
+        store = null;
+
+        // จำลอง record ที่สองเขียนไม่จบ (CRC ไม่ตรง) และ header ยังไม่ commit
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(8192 + 32);
+            raf.writeLong(1);
+            raf.writeLong(123456789L);
+            raf.writeInt(99999);
+        }
+
+        store = ScoreStore.open(file);
+        assertEquals(1, store.getRunCount());
+        assertEquals(500, store.getBestScore());
+        assertEquals(0, store.getRecoveredCount());
+    }
+
+    @Test
+    public void testBestScoreNeverDecreasesUnderConcurrentRecords() throws Exception {
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    store.record(i * threads.length + offset, 1, false);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+        store.flush();
+
+        assertEquals(799, store.getBestScore());
+        assertEquals(799, store.getTopScores(1).get(0).getScore());
+    }
+
+    @Test
+    public void testTopScoresReadDuringWritesAreConsistent() throws Exception {
+        AtomicReference<String> problem = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            while (problem.get() == null && !Thread.currentThread().isInterrupted()) {
+                List<ScoreStore.Entry> top = store.getTopScores(ScoreStore.TOP_K);
+                for (int i = 0; i < top.size(); i++) {
+                    ScoreStore.Entry entry = top.get(i);
+                    // record ที่ sequence n มีคะแนน n * 10 เสมอ - entry ที่ปนกันระหว่าง slot จะไม่ตรง
+                    if (entry.getScore() != entry.getSequence() * 10) {
+                        problem.set("Torn entry " + entry);
+                    } else if (i > 0 && top.get(i - 1).getScore() < entry.getScore()) {
+                        problem.set("Unsorted snapshot at " + i);
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 500; i++) {
+            store.record(i * 10, 1, false);
+        }
+        store.flush();
+        reader.interrupt();
+        reader.join();
+
+        assertNull(problem.get(), String.valueOf(problem.get()));
+    }
+
+    @Test
+    public void testMainStoreIsOnlyHandedOutOnceOpened() throws Exception {
+        Path main = Files.createTempFile("main-scores", ".dat");
+        System.setProperty("game.scores", main.toString());
+        try {
+            ScoreStore.shutdown();
+            assertNull(ScoreStore.getIfOpen(), "Nothing before the background open starts");
+
+            ScoreStore opened = ScoreStore.openInBackground().join();
+            assertNotNull(opened);
+            assertSame(opened, ScoreStore.getIfOpen());
+            assertSame(ScoreStore.openInBackground().join(), opened, "Second call reuses the open");
+
+            ScoreStore.shutdown();
+            assertNull(ScoreStore.getIfOpen());
+        } finally {
+            ScoreStore.shutdown();
+            System.clearProperty("game.scores");
+            Files.deleteIfExists(main);
+        }
+    }
+
+    @Test
+    public void testFailedMainOpenIsNotRetried() throws Exception {
+        // parent เป็นไฟล์ → สร้าง directory ไม่ได้
+        Path blocker = Files.createTempFile("not-a-dir", ".tmp");
+        System.setProperty("game.scores", blocker.resolve("scores.dat").toString());
+        try {
+            ScoreStore.shutdown();
+            assertNull(ScoreStore.openInBackground().join());
+
+            System.setProperty("game.scores", file.toString());
+            assertNull(ScoreStore.getIfOpen(), "A failed open stays failed instead of reopening on game over");
+        } finally {
+            ScoreStore.shutdown();
+            System.clearProperty("game.scores");
+            Files.deleteIfExists(blocker);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package se233.project2;
+
+import javafx.scene.layout.Pane;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.project2.controller.QualityGovernor;
+import se233.project2.model.GameRandom;
+import se233.project2.model.effect.ExplosionPool;
+import se233.project2.view.BossHandler;
+import se233.project2.view.EnemyHandler;
+import se233.project2.view.GameStage;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allocation regression tests for the simulation
+ * Runs each stage scenario headless (no sprites) and measures bytes allocated by the
+ * simulation thread per tick. Ticks that spawn bullets allocate legitimately, so the
+ * median tick must stay near zero and the average must stay under a budget.
+ */
+public class SimulationAllocationTest {
+    private static final long TICK = 16_666_666;
+
+    // Warmup ให้ JIT compile hot path ก่อนเริ่มวัด
+    private static final int WARMUP_TICKS = 3000;
+    private static final int MEASURED_TICKS = 300;
+
+    private static final long MEDIAN_BUDGET = 64;       // bytes ของ tick ที่ไม่มีการ spawn
+    private static final long AVERAGE_BUDGET = 4096;    // รวม tick ที่สร้างกระสุนใหม่
+
+    private com.sun.management.ThreadMXBean threads;
+    private Pane gamePane;
+    private EnemyHandler enemyHandler;
+    private BossHandler bossHandler;
+    private ExplosionPool explosions;
+    private long now;
+
+    @BeforeEach
+    public void setUp() {
+        QualityGovernor.getInstance().reset();
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported(), "JVM must support per-thread allocation counters");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        gamePane = new Pane();
+        enemyHandler = new EnemyHandler(gamePane, new GameRandom(1), null, null, null, null);
+        bossHandler = new BossHandler(gamePane, new GameRandom(1),
+                null, null, null,
+                null, null, null, null,
+                null, null, null,
+                null, null, null);
+        explosions = new ExplosionPool(null, GameStage.WIDTH, GameStage.HEIGHT);
+        now = 0;
+    }
+
+    /**
+     * หนึ่ง tick ของ simulation เหมือน GameStage.updateGameplay (ไม่มีผู้เล่นและ HUD)
+     */
+    private void tick() {
+        now += TICK;
+        enemyHandler.update(now, 200, 500);
+        bossHandler.updatePlayerPosition(200, 500);
+        bossHandler.update(now);
+        enemyHandler.updateEnemyBullets(explosions, GameStage.GROUND_Y);
+        bossHandler.updateBossBullets(explosions, GameStage.GROUND_Y);
+        enemyHandler.allCleared();
+        bossHandler.shouldSpawnNextSmallBossWave();
+        explosions.update();
+    }
+
+    private long[] measure() {
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            tick();
+        }
+
+        long[] perTick = new long[MEASURED_TICKS];
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_TICKS; i++) {
+            tick();
+            long after = threads.getCurrentThreadAllocatedBytes();
+            perTick[i] = after - before;
+            before = after;
+        }
+        return perTick;
+    }
+
+    private void assertWithinBudget(String scenario, long[] perTick) {
+        long total = 0;
+        for (long bytes : perTick) total += bytes;
+        long average = total / perTick.length;
+
+        long[] sorted = perTick.clone();
+        Arrays.sort(sorted);
+        long median = sorted[sorted.length / 2];
+
+        assertTrue(median <= MEDIAN_BUDGET,
+                scenario + ": median tick allocated " + median + " bytes (budget " + MEDIAN_BUDGET + ")");
+        assertTrue(average <= AVERAGE_BUDGET,
+                scenario + ": average tick allocated " + average + " bytes (budget " + AVERAGE_BUDGET + ")");
+    }
+
+    @Test
+    public void testStage1MinionsSteadyState() {
+        enemyHandler.spawnStage1Enemies();
+        assertWithinBudget("Stage 1 minions", measure());
+    }
+
+    @Test
+    public void testJavaBossSteadyState() {
+        bossHandler.spawnJavaBoss();
+        assertWithinBudget("JavaBoss", measure());
+    }
+
+    @Test
+    public void testSmallBossWavesSteadyState() {
+        bossHandler.spawnSmallBossWave();
+        bossHandler.spawnSmallBossWave();
+        bossHandler.spawnSmallBossWave();
+        assertWithinBudget("SmallBoss waves", measure());
+    }
+
+    @Test
+    public void testBoss3SteadyState() {
+        bossHandler.spawnBoss3();
+        assertWithinBudget("Boss3", measure());
+    }
+}
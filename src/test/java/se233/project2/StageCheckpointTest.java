@@ -0,0 +1,85 @@
+package se233.project2;
+
+import javafx.scene.layout.Pane;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.project2.controller.StageCheckpoint;
+import se233.project2.model.GameRandom;
+import se233.project2.model.enemy.RegularEnemy;
+import se233.project2.model.enemy.SecondTierEnemy;
+import se233.project2.view.EnemyHandler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StageCheckpoint
+ * Tests that enemy state round-trips through the reusable buffer onto the same nodes
+ */
+public class StageCheckpointTest {
+    private Pane gamePane;
+    private EnemyHandler enemyHandler;
+    private StageCheckpoint checkpoint;
+
+    @BeforeEach
+    public void setUp() {
+        gamePane = new Pane();
+        enemyHandler = new EnemyHandler(gamePane, new GameRandom(1), null, null, null, null);
+        checkpoint = new StageCheckpoint();
+    }
+
+    @Test
+    public void testRestoreWithoutCaptureFails() {
+        assertFalse(checkpoint.restore(enemyHandler));
+    }
+
+    @Test
+    public void testEnemiesRestoredOnSameNodes() {
+        enemyHandler.spawnStage1Enemies();
+        checkpoint.capture(enemyHandler);
+        assertTrue(checkpoint.isValid());
+
+        RegularEnemy first = enemyHandler.getRegularEnemies().get(0);
+        first.takeDamage(100);
+        for (int i = 0; i < 200; i++) {
+            enemyHandler.update(i * 16_666_666L, 200, 500);
+        }
+        assertFalse(first.isAlive());
+
+        assertTrue(checkpoint.restore(enemyHandler));
+        assertSame(first, enemyHandler.getRegularEnemies().get(0), "Restore must reuse the existing node");
+        assertTrue(first.isAlive());
+        assertTrue(first.isVisible());
+        assertEquals(3, first.getHealth());
+        for (RegularEnemy enemy : enemyHandler.getRegularEnemies()) {
+            assertTrue(enemy.getBullets().isEmpty(), "In-flight bullets are discarded on restore");
+        }
+    }
+
+    @Test
+    public void testMovingEnemiesReturnToCheckpointPosition() {
+        enemyHandler.spawnStage2Enemies();
+        SecondTierEnemy enemy = enemyHandler.getSecondTierEnemies().get(0);
+        double startX = enemy.getX();
+        double startY = enemy.getY();
+        checkpoint.capture(enemyHandler);
+
+        for (int i = 0; i < 50; i++) {
+            enemyHandler.update(i * 16_666_666L, 200, 500);
+        }
+        assertTrue(enemy.getX() != startX, "Enemy should have moved");
+
+        checkpoint.restore(enemyHandler);
+        assertEquals(startX, enemy.getX());
+        assertEquals(startY, enemy.getY());
+        assertEquals(startX, enemy.getTranslateX());
+    }
+
+    @Test
+    public void testCheckpointForDifferentEnemiesRejected() {
+        enemyHandler.spawnStage1Enemies();
+        checkpoint.capture(enemyHandler);
+
+        enemyHandler.spawnStage2Enemies();
+        assertThrows(IllegalStateException.class, () -> checkpoint.restore(enemyHandler));
+    }
+}
@@ -0,0 +1,73 @@
+package se233.project2;
+
+import org.junit.jupiter.api.Test;
+import se233.project2.model.collision.SweptCollision;
+import se233.project2.model.item.Bullet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for swept (continuous) collision
+ * Tests time of impact, tunnelling through thin targets and terrain contact points
+ */
+public class SweptCollisionTest {
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    public void testTimeOfImpactOnEntry() {
+        double t = SweptCollision.segmentAabb(0, 5, 100, 5, 40, 0, 60, 10);
+        assertEquals(0.4, t, EPSILON);
+    }
+
+    @Test
+    public void testSegmentStartingInsideHitsAtZero() {
+        assertEquals(0, SweptCollision.segmentAabb(50, 5, 100, 5, 40, 0, 60, 10), EPSILON);
+    }
+
+    @Test
+    public void testMissReturnsNoHit() {
+        assertEquals(SweptCollision.NO_HIT, SweptCollision.segmentAabb(0, 50, 100, 50, 40, 0, 60, 10));
+        assertEquals(SweptCollision.NO_HIT, SweptCollision.segmentAabb(0, 5, 30, 5, 40, 0, 60, 10));
+    }
+
+    @Test
+    public void testGroundCrossing() {
+        assertEquals(0.5, SweptCollision.segmentGround(600, 700, 650), EPSILON);
+        assertEquals(SweptCollision.NO_HIT, SweptCollision.segmentGround(600, 640, 650));
+    }
+
+    @Test
+    public void testFastBulletDoesNotTunnelThroughThinTarget() {
+        // กระสุนเร็ว 80 px/tick ผ่านเป้าหนา 10 px - จุดศูนย์กลางไม่เคยอยู่ในเป้า
+        Bullet bullet = new Bullet(null, 0, 0, 80, 0, true);
+        double cy = bullet.getCenterY();
+        bullet.step();
+        bullet.step();
+        assertFalse(bullet.getCenterX() >= 100 && bullet.getCenterX() <= 110, "Point test would miss");
+
+        double t = bullet.sweep(100, cy - 10, 110, cy + 10);
+        assertTrue(t >= 0, "Swept test must catch the hit");
+
+        bullet.moveToImpact(t);
+        assertEquals(100, bullet.getCenterX(), EPSILON);
+    }
+
+    @Test
+    public void testTerrainContactPoint() {
+        Bullet bullet = new Bullet(null, 200, 480, 0, 60, false);
+        bullet.step();
+        assertTrue(bullet.checkTerrainCollision(100, 500, 300));
+        assertEquals(500, bullet.getY(), EPSILON);
+
+        // เรียกซ้ำได้โดยไม่ย้ายกระสุนอีก
+        assertTrue(bullet.checkTerrainCollision(100, 500, 300));
+        assertEquals(500, bullet.getY(), EPSILON);
+    }
+
+    @Test
+    public void testTerrainMissedOutsideRange() {
+        Bullet bullet = new Bullet(null, 400, 480, 0, 60, false);
+        bullet.step();
+        assertFalse(bullet.checkTerrainCollision(100, 500, 300));
+    }
+}
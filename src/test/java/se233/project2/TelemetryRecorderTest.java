@@ -0,0 +1,127 @@
+package se233.project2;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import se233.project2.controller.TelemetryRecorder;
+import se233.project2.controller.TelemetrySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TelemetryRecorder
+ * Tests one row per second, p99 tick time, source counts and pause handling
+ */
+public class TelemetryRecorderTest {
+    private static final long TICK = 16_666_667;
+
+    private Path file;
+    private TelemetryRecorder recorder;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        file = Files.createTempFile("telemetry", ".csv");
+        recorder = TelemetryRecorder.open(file);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        recorder.close();
+        Files.deleteIfExists(file);
+    }
+
+    private static class FixedSource implements TelemetrySource {
+        public int getTelemetryStage() { return 2; }
+        public int getEnemyCount() { return 5; }
+        public int getBossCount() { return 1; }
+        public int getPlayerProjectileCount() { return 7; }
+        public int getEnemyProjectileCount() { return 11; }
+        public int getNodeCount() { return 42; }
+    }
+
+    private List<String> closeAndRead() throws Exception {
+        recorder.close();
+        return Files.readAllLines(file);
+    }
+
+    @Test
+    public void testWritesOneRowPerSecond() throws Exception {
+        recorder.setSource(new FixedSource());
+        long now = 1_000_000_000L;
+        for (int i = 0; i <= 180; i++) {
+            recorder.recordTick(now, 2_000_000);
+            now += TICK;
+        }
+
+        List<String> lines = closeAndRead();
+        assertEquals(TelemetryRecorder.HEADER.trim(), lines.get(0));
+        assertEquals(4, lines.size(), "Header plus three one-second samples");
+        assertEquals(3, recorder.getWrittenRows());
+
+        String[] row = lines.get(1).split(",");
+        assertEquals(15, row.length);
+        assertEquals("2", row[2]);
+        assertEquals(60.0, Double.parseDouble(row[3]), 1.0);
+        assertEquals("5", row[6]);
+        assertEquals("1", row[7]);
+        assertEquals("7", row[8]);
+        assertEquals("11", row[9]);
+        assertEquals("42", row[10]);
+    }
+
+    @Test
+    public void testP99ReflectsSlowTicks() throws Exception {
+        long now = 1_000_000_000L;
+        for (int i = 0; i <= 60; i++) {
+            // หนึ่ง tick ช้า 50ms ในหนึ่งวินาที → p99 ของ 60 tick = tick ที่ช้าที่สุด
+            recorder.recordTick(now, i == 30 ? 50_000_000 : 1_000_000);
+            now += TICK;
+        }
+
+        String[] row = closeAndRead().get(1).split(",");
+        assertEquals(50.0, Double.parseDouble(row[4]), 0.001);
+        assertTrue(Double.parseDouble(row[5]) < 2.0, "Average should stay near 1ms");
+    }
+
+    @Test
+    public void testPauseDoesNotProduceLowFpsSample() throws Exception {
+        long now = 1_000_000_000L;
+        for (int i = 0; i < 30; i++) {
+            recorder.recordTick(now, 1_000_000);
+            now += TICK;
+        }
+        // loop หยุด 10 วินาที (อยู่หน้า Start Screen) แล้วกลับมาเล่นต่อ
+        now += 10_000_000_000L;
+        for (int i = 0; i <= 60; i++) {
+            recorder.recordTick(now, 1_000_000);
+            now += TICK;
+        }
+
+        List<String> lines = closeAndRead();
+        assertEquals(2, lines.size());
+        assertEquals(60.0, Double.parseDouble(lines.get(1).split(",")[3]), 1.0);
+    }
+
+    @Test
+    public void testAppendsToExistingFile() throws Exception {
+        long now = 1_000_000_000L;
+        for (int i = 0; i <= 60; i++) {
+            recorder.recordTick(now, 1_000_000);
+            now += TICK;
+        }
+        recorder.close();
+
+        recorder = TelemetryRecorder.open(file);
+        for (int i = 0; i <= 60; i++) {
+            recorder.recordTick(now, 1_000_000);
+            now += TICK;
+        }
+
+        List<String> lines = closeAndRead();
+        assertEquals(3, lines.size(), "Header is written only once");
+    }
+}